@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.integration.channel.NullChannel;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+/**
+ * Benchmarks for an {@link AggregatingMessageHandler} (an {@link AbstractCorrelatingMessageHandler})
+ * accumulating and releasing a complete sequence of messages.
+ * One operation is a full group: all messages are added and the group is released.
+ *
+ * @since 6.0.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AggregatorReleaseBenchmark {
+
+	@Benchmark
+	public void aggregateGroup(AggregatorState state) {
+		for (Message<?> message : state.messages) {
+			state.aggregator.handleMessage(message);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class AggregatorState {
+
+		@Param({ "10", "100", "1000" })
+		public int groupSize;
+
+		public AggregatingMessageHandler aggregator;
+
+		public Message<?>[] messages;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.aggregator =
+					new AggregatingMessageHandler(new DefaultAggregatingMessageGroupProcessor(),
+							new SimpleMessageStore());
+			this.aggregator.setExpireGroupsUponCompletion(true);
+			this.aggregator.setOutputChannel(new NullChannel());
+			this.aggregator.setBeanFactory(new DefaultListableBeanFactory());
+			this.aggregator.setBeanName("benchmarkAggregator");
+			this.aggregator.afterPropertiesSet();
+
+			this.messages = new Message<?>[this.groupSize];
+			for (int i = 0; i < this.groupSize; i++) {
+				this.messages[i] =
+						MessageBuilder.withPayload(i)
+								.setCorrelationId("group")
+								.setSequenceNumber(i + 1)
+								.setSequenceSize(this.groupSize)
+								.build();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.integration.channel.NullChannel;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+/**
+ * Benchmarks for a {@link ResequencingMessageHandler} releasing partial sequences
+ * while the second half of the sequence arrives first and stays in the group:
+ * every message of the first half is then released on its own next to that backlog.
+ * One operation is a full sequence.
+ *
+ * @since 6.0.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResequencerReleaseBenchmark {
+
+	@Benchmark
+	public void resequenceGroup(ResequencerState state) {
+		for (Message<?> message : state.messages) {
+			state.resequencer.handleMessage(message);
+		}
+		// the group with the last released sequence number stays in the store after partial releases
+		state.messageStore.removeMessageGroup("group");
+	}
+
+	@State(Scope.Benchmark)
+	public static class ResequencerState {
+
+		@Param({ "1000", "10000" })
+		public int sequenceSize;
+
+		public SimpleMessageStore messageStore;
+
+		public ResequencingMessageHandler resequencer;
+
+		public Message<?>[] messages;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.messageStore = new SimpleMessageStore();
+			this.resequencer =
+					new ResequencingMessageHandler(new ResequencingMessageGroupProcessor(), this.messageStore,
+							null, new SequenceSizeReleaseStrategy(true));
+			this.resequencer.setOutputChannel(new NullChannel());
+			this.resequencer.setBeanFactory(new DefaultListableBeanFactory());
+			this.resequencer.setBeanName("benchmarkResequencer");
+			this.resequencer.afterPropertiesSet();
+
+			this.messages = new Message<?>[this.sequenceSize];
+			int half = this.sequenceSize / 2;
+			for (int i = 0; i < this.sequenceSize; i++) {
+				int sequenceNumber = i < half ? half + i + 1 : i - half + 1;
+				this.messages[i] =
+						MessageBuilder.withPayload(sequenceNumber)
+								.setCorrelationId("group")
+								.setSequenceNumber(sequenceNumber)
+								.setSequenceSize(this.sequenceSize)
+								.build();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.channel;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+/**
+ * Benchmarks for the {@code send()} hot path of the standard {@link MessageChannel}
+ * implementations with a configurable number of pass-through interceptors.
+ * Run with the {@code gc} profiler to compare allocation rates ({@code gc.alloc.rate.norm}),
+ * e.g. for the {@code observedDirectChannel} with a non-propagating observation handler.
+ *
+ * @since 6.0.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageChannelSendBenchmark {
+
+	@Benchmark
+	public boolean directChannel(ChannelState state) {
+		return state.directChannel.send(state.message);
+	}
+
+	@Benchmark
+	public boolean observedDirectChannel(ChannelState state) {
+		return state.observedDirectChannel.send(state.message);
+	}
+
+	@Benchmark
+	public boolean queueChannel(ChannelState state, Blackhole blackhole) {
+		boolean sent = state.queueChannel.send(state.message);
+		blackhole.consume(state.queueChannel.receive(0));
+		return sent;
+	}
+
+	@Benchmark
+	public boolean ringBufferChannel(ChannelState state, Blackhole blackhole) {
+		boolean sent = state.ringBufferChannel.send(state.message);
+		blackhole.consume(state.ringBufferChannel.receive(0));
+		return sent;
+	}
+
+	@Benchmark
+	public boolean executorChannel(ChannelState state) {
+		return state.executorChannel.send(state.message);
+	}
+
+	@Benchmark
+	public boolean publishSubscribeChannel(ChannelState state) {
+		return state.publishSubscribeChannel.send(state.message);
+	}
+
+	@State(Scope.Benchmark)
+	public static class ChannelState {
+
+		@Param({ "0", "1", "20" })
+		public int interceptors;
+
+		@Param({ "2" })
+		public int subscribers;
+
+		public DirectChannel directChannel;
+
+		public DirectChannel observedDirectChannel;
+
+		public QueueChannel queueChannel;
+
+		public RingBufferChannel ringBufferChannel;
+
+		public ExecutorChannel executorChannel;
+
+		public PublishSubscribeChannel publishSubscribeChannel;
+
+		public Message<?> message;
+
+		private ThreadPoolExecutor executor;
+
+		@Setup(Level.Trial)
+		public void setup(Blackhole blackhole) {
+			DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+			this.executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1024),
+					new ThreadPoolExecutor.CallerRunsPolicy());
+			this.directChannel = new DirectChannel();
+			this.observedDirectChannel = new DirectChannel();
+			ObservationRegistry observationRegistry = ObservationRegistry.create();
+			observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+
+				@Override
+				public boolean supportsContext(Observation.Context context) {
+					return true;
+				}
+
+			});
+			this.observedDirectChannel.registerObservationRegistry(observationRegistry);
+			this.queueChannel = new QueueChannel();
+			this.ringBufferChannel = new RingBufferChannel(1024);
+			this.executorChannel = new ExecutorChannel(this.executor);
+			this.publishSubscribeChannel = new PublishSubscribeChannel();
+			AbstractMessageChannel[] channels =
+					{ this.directChannel, this.observedDirectChannel, this.queueChannel, this.ringBufferChannel,
+							this.executorChannel, this.publishSubscribeChannel };
+			for (AbstractMessageChannel channel : channels) {
+				channel.setBeanFactory(beanFactory);
+				channel.setBeanName(channel.getClass().getSimpleName());
+				for (int i = 0; i < this.interceptors; i++) {
+					channel.addInterceptor(new ChannelInterceptor() {
+
+					});
+				}
+				channel.afterPropertiesSet();
+			}
+			this.directChannel.subscribe(blackhole::consume);
+			this.observedDirectChannel.subscribe(blackhole::consume);
+			this.executorChannel.subscribe(blackhole::consume);
+			for (int i = 0; i < this.subscribers; i++) {
+				this.publishSubscribeChannel.subscribe(blackhole::consume);
+			}
+			this.message = MessageBuilder.withPayload("test").setHeader("foo", "bar").build();
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.executor.shutdownNow();
+		}
+
+	}
+
+}
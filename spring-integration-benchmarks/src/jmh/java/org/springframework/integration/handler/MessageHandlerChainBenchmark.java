@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.integration.channel.NullChannel;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.transformer.MessageTransformingHandler;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+
+/**
+ * Benchmarks for a {@link MessageHandlerChain} of header-enriching transformers,
+ * each step building a new message from the previous one.
+ *
+ * @since 6.0.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageHandlerChainBenchmark {
+
+	@Benchmark
+	public void chain(ChainState state) {
+		state.chain.handleMessage(state.message);
+	}
+
+	@State(Scope.Benchmark)
+	public static class ChainState {
+
+		@Param({ "1", "5", "20" })
+		public int handlers;
+
+		@Param({ "10", "40" })
+		public int headerCount;
+
+		public MessageHandlerChain chain;
+
+		public Message<?> message;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+			List<MessageHandler> chainHandlers = new ArrayList<>();
+			for (int i = 0; i < this.handlers; i++) {
+				String headerName = "step" + i;
+				MessageTransformingHandler handler =
+						new MessageTransformingHandler(message ->
+								MessageBuilder.fromMessage(message)
+										.setHeader(headerName, message.getPayload())
+										.build());
+				handler.setBeanFactory(beanFactory);
+				handler.afterPropertiesSet();
+				chainHandlers.add(handler);
+			}
+			this.chain = new MessageHandlerChain();
+			this.chain.setHandlers(chainHandlers);
+			this.chain.setOutputChannel(new NullChannel());
+			this.chain.setBeanFactory(beanFactory);
+			this.chain.setBeanName("benchmarkChain");
+			this.chain.afterPropertiesSet();
+
+			MessageBuilder<String> builder = MessageBuilder.withPayload("test");
+			for (int i = 0; i < this.headerCount; i++) {
+				builder.setHeader("header" + i, "value" + i);
+			}
+			this.message = builder.build();
+		}
+
+	}
+
+}
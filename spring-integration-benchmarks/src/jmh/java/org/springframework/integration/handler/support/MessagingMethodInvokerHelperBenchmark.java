@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.handler.support;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.Header;
+
+/**
+ * Benchmarks for the {@link MessagingMethodInvokerHelper} POJO method invocation
+ * through the {@code InvocableHandlerMethod} (default), SpEL and direct {@code MethodHandle} invokers.
+ *
+ * @since 6.0.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessagingMethodInvokerHelperBenchmark {
+
+	@Benchmark
+	public Object payloadMethod(InvokerState state) {
+		return state.payloadInvoker.process(state.message);
+	}
+
+	@Benchmark
+	public Object payloadAndHeaderMethod(InvokerState state) {
+		return state.headerInvoker.process(state.message);
+	}
+
+	@State(Scope.Benchmark)
+	public static class InvokerState {
+
+		@Param({ "default", "spel", "direct" })
+		public String invoker;
+
+		public MessagingMethodInvokerHelper payloadInvoker;
+
+		public MessagingMethodInvokerHelper headerInvoker;
+
+		public Message<?> message;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+			TestService service = new TestService();
+			this.payloadInvoker = createInvoker(service, "upperCase", beanFactory);
+			this.headerInvoker = createInvoker(service, "concat", beanFactory);
+			this.message = MessageBuilder.withPayload("test").setHeader("suffix", "Suffix").build();
+		}
+
+		private MessagingMethodInvokerHelper createInvoker(Object service, String methodName,
+				DefaultListableBeanFactory beanFactory) {
+
+			MessagingMethodInvokerHelper helper = new MessagingMethodInvokerHelper(service, methodName, false);
+			helper.setBeanFactory(beanFactory);
+			helper.setUseSpelInvoker("spel".equals(this.invoker));
+			helper.setUseDirectInvoker("direct".equals(this.invoker));
+			return helper;
+		}
+
+	}
+
+	public static class TestService {
+
+		public String upperCase(String payload) {
+			return payload.toUpperCase();
+		}
+
+		public String concat(String payload, @Header("suffix") String suffix) {
+			return payload + suffix;
+		}
+
+	}
+
+}
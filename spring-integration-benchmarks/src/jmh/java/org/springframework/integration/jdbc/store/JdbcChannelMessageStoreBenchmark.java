@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.jdbc.store;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.integration.jdbc.store.channel.H2ChannelMessageStoreQueryProvider;
+import org.springframework.integration.jdbc.store.channel.HsqlChannelMessageStoreQueryProvider;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.messaging.Message;
+
+/**
+ * Benchmarks for the {@link JdbcChannelMessageStore} polling against in-process databases.
+ * One operation stores a number of messages into the channel group and then polls them
+ * all with the given batch size; the batch size of {@code 1} is the message by message polling.
+ *
+ * @since 6.0.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JdbcChannelMessageStoreBenchmark {
+
+	private static final int MESSAGES = 100;
+
+	@Benchmark
+	public int addAndPoll(StoreState state) {
+		for (Message<?> message : state.messages) {
+			state.store.addMessageToGroup("channel", message);
+		}
+		int polled = 0;
+		List<Message<?>> batch;
+		do {
+			batch = state.store.pollMessagesFromGroup("channel", state.batchSize);
+			polled += batch.size();
+		}
+		while (!batch.isEmpty());
+		return polled;
+	}
+
+	@State(Scope.Benchmark)
+	public static class StoreState {
+
+		@Param({ "H2", "HSQL" })
+		public EmbeddedDatabaseType database;
+
+		@Param({ "1", "10", "100" })
+		public int batchSize;
+
+		public EmbeddedDatabase dataSource;
+
+		public JdbcChannelMessageStore store;
+
+		public Message<?>[] messages;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			boolean h2 = this.database == EmbeddedDatabaseType.H2;
+			this.dataSource =
+					new EmbeddedDatabaseBuilder()
+							.setType(this.database)
+							.generateUniqueName(true)
+							.addScript("classpath:/org/springframework/integration/jdbc/schema-"
+									+ (h2 ? "h2" : "hsqldb") + ".sql")
+							.build();
+			this.store = new JdbcChannelMessageStore(this.dataSource);
+			this.store.setChannelMessageStoreQueryProvider(h2
+					? new H2ChannelMessageStoreQueryProvider()
+					: new HsqlChannelMessageStoreQueryProvider());
+			this.store.afterPropertiesSet();
+			this.messages = new Message<?>[MESSAGES];
+			for (int i = 0; i < MESSAGES; i++) {
+				this.messages[i] = MessageBuilder.withPayload(i).build();
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.dataSource.shutdown();
+		}
+
+	}
+
+}
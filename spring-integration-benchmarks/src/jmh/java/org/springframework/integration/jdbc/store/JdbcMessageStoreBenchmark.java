@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.jdbc.store;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.messaging.Message;
+
+/**
+ * Benchmarks for the {@link JdbcMessageStore} group operations against in-process databases.
+ * One operation adds a group of messages at once (like a splitter output stored by an aggregator)
+ * and then removes them from the group (like a group release).
+ *
+ * @since 6.0.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JdbcMessageStoreBenchmark {
+
+	@Benchmark
+	public void addAllAndRemove(StoreState state) {
+		state.store.addMessagesToGroup("group", state.messages);
+		state.store.removeMessagesFromGroup("group", state.messageList);
+	}
+
+	@State(Scope.Benchmark)
+	public static class StoreState {
+
+		@Param({ "H2", "HSQL" })
+		public EmbeddedDatabaseType database;
+
+		@Param({ "10", "1000" })
+		public int groupSize;
+
+		public EmbeddedDatabase dataSource;
+
+		public JdbcMessageStore store;
+
+		public Message<?>[] messages;
+
+		public List<Message<?>> messageList;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			String schema = this.database == EmbeddedDatabaseType.H2 ? "h2" : "hsqldb";
+			this.dataSource =
+					new EmbeddedDatabaseBuilder()
+							.setType(this.database)
+							.generateUniqueName(true)
+							.addScript("classpath:/org/springframework/integration/jdbc/schema-" + schema + ".sql")
+							.build();
+			this.store = new JdbcMessageStore(this.dataSource);
+			this.messages = new Message<?>[this.groupSize];
+			for (int i = 0; i < this.groupSize; i++) {
+				this.messages[i] = MessageBuilder.withPayload(i).setSequenceNumber(i + 1).build();
+			}
+			this.messageList = Arrays.asList(this.messages);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.dataSource.shutdown();
+		}
+
+	}
+
+}
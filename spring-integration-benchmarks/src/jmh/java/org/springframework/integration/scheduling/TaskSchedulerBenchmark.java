@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.scheduling;
+
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Benchmarks for the schedule-then-cancel pattern of the aggregator group timeouts
+ * with a large number of already pending tasks, for the {@link ThreadPoolTaskScheduler}
+ * and the {@link HashedWheelTaskScheduler}.
+ *
+ * @since 6.0.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSchedulerBenchmark {
+
+	private static final Runnable NO_OP = () -> { };
+
+	@Benchmark
+	public boolean singleThread(SchedulerState state) {
+		return scheduleAndCancel(state);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public boolean eightThreads(SchedulerState state) {
+		return scheduleAndCancel(state);
+	}
+
+	private static boolean scheduleAndCancel(SchedulerState state) {
+		ScheduledFuture<?> future = state.taskScheduler.schedule(NO_OP, Instant.now().plusSeconds(600));
+		return future.cancel(true);
+	}
+
+	@State(Scope.Benchmark)
+	public static class SchedulerState {
+
+		@Param({ "threadPool", "wheel" })
+		public String scheduler;
+
+		@Param({ "100000" })
+		public int pendingTasks;
+
+		public TaskScheduler taskScheduler;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			if ("threadPool".equals(this.scheduler)) {
+				ThreadPoolTaskScheduler threadPoolTaskScheduler = new ThreadPoolTaskScheduler();
+				threadPoolTaskScheduler.setPoolSize(10);
+				threadPoolTaskScheduler.setRemoveOnCancelPolicy(true);
+				threadPoolTaskScheduler.afterPropertiesSet();
+				this.taskScheduler = threadPoolTaskScheduler;
+			}
+			else {
+				this.taskScheduler = new HashedWheelTaskScheduler();
+			}
+			for (int i = 0; i < this.pendingTasks; i++) {
+				this.taskScheduler.schedule(NO_OP, Instant.now().plusSeconds(3600));
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			if (this.taskScheduler instanceof ThreadPoolTaskScheduler threadPoolTaskScheduler) {
+				threadPoolTaskScheduler.shutdown();
+			}
+			else {
+				((HashedWheelTaskScheduler) this.taskScheduler).destroy();
+			}
+		}
+
+	}
+
+}
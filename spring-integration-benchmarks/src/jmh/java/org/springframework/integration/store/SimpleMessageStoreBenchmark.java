@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+/**
+ * Benchmarks for the {@link SimpleMessageStore} group operations.
+ * One operation fills a group and then empties it again.
+ *
+ * @since 6.0.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SimpleMessageStoreBenchmark {
+
+	@Benchmark
+	public void addAndPoll(StoreState state, Blackhole blackhole) {
+		for (Message<?> message : state.messages) {
+			state.store.addMessagesToGroup("group", message);
+		}
+		for (int i = 0; i < state.groupSize; i++) {
+			blackhole.consume(state.store.pollMessageFromGroup("group"));
+		}
+	}
+
+	@Benchmark
+	public void addAllAndRemove(StoreState state) {
+		state.store.addMessagesToGroup("group", state.messages);
+		state.store.removeMessagesFromGroup("group", state.messageList);
+	}
+
+	@Benchmark
+	public void addAllAndRemoveGroup(StoreState state, Blackhole blackhole) {
+		state.store.addMessagesToGroup("group", state.messages);
+		blackhole.consume(state.store.getMessageGroup("group").size());
+		state.store.removeMessageGroup("group");
+	}
+
+	@State(Scope.Benchmark)
+	public static class StoreState {
+
+		@Param({ "10", "100", "1000" })
+		public int groupSize;
+
+		public SimpleMessageStore store;
+
+		public Message<?>[] messages;
+
+		public List<Message<?>> messageList;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.store = new SimpleMessageStore();
+			this.messages = new Message<?>[this.groupSize];
+			for (int i = 0; i < this.groupSize; i++) {
+				this.messages[i] = MessageBuilder.withPayload(i).setSequenceNumber(i + 1).build();
+			}
+			this.messageList = Arrays.asList(this.messages);
+		}
+
+	}
+
+}
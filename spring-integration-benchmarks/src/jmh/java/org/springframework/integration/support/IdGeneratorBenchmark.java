@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import org.springframework.util.AlternativeJdkIdGenerator;
+import org.springframework.util.IdGenerator;
+
+/**
+ * Benchmarks for the {@link IdGenerator} implementations available for the message
+ * {@link org.springframework.messaging.MessageHeaders#ID}, in a single thread and
+ * under contention.
+ *
+ * @since 6.0.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdGeneratorBenchmark {
+
+	@Benchmark
+	public UUID singleThread(GeneratorState state) {
+		return state.idGenerator.generateId();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public UUID eightThreads(GeneratorState state) {
+		return state.idGenerator.generateId();
+	}
+
+	@State(Scope.Benchmark)
+	public static class GeneratorState {
+
+		@Param({ "jdk", "alternativeJdk", "simpleIncrementing", "timeOrdered" })
+		public String generator;
+
+		public IdGenerator idGenerator;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.idGenerator =
+					switch (this.generator) {
+						case "jdk" -> new IdGenerators.JdkIdGenerator();
+						case "alternativeJdk" -> new AlternativeJdkIdGenerator();
+						case "simpleIncrementing" -> new IdGenerators.SimpleIncrementingIdGenerator();
+						case "timeOrdered" -> new IdGenerators.TimeOrderedIdGenerator();
+						default -> throw new IllegalArgumentException("Unknown generator: " + this.generator);
+					};
+		}
+
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.messaging.Message;
+
+/**
+ * Benchmarks for {@link MessageBuilder#build()} from scratch and from an existing message
+ * with a configurable number of headers.
+ *
+ * @since 6.0.3
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageBuilderBenchmark {
+
+	@Benchmark
+	public Message<?> withPayload(BuilderState state) {
+		return MessageBuilder.withPayload(state.payload)
+				.copyHeaders(state.headers)
+				.build();
+	}
+
+	@Benchmark
+	public Message<?> fromMessageSetHeader(BuilderState state) {
+		return MessageBuilder.fromMessage(state.message)
+				.setHeader("enriched", state.payload)
+				.build();
+	}
+
+	@Benchmark
+	public Message<?> mutableFromMessageSetHeader(BuilderState state) {
+		return MutableMessageBuilder.fromMessage(state.message)
+				.setHeader("enriched", state.payload)
+				.build();
+	}
+
+	@State(Scope.Benchmark)
+	public static class BuilderState {
+
+		@Param({ "2", "10", "40" })
+		public int headerCount;
+
+		public final String payload = "test";
+
+		public Map<String, Object> headers;
+
+		public Message<?> message;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.headers = new HashMap<>();
+			for (int i = 0; i < this.headerCount; i++) {
+				this.headers.put("header" + i, "value" + i);
+			}
+			this.message = MessageBuilder.withPayload(this.payload).copyHeaders(this.headers).build();
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -556,7 +556,7 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 	private boolean processMessageForGroup(Message<?> message, Object correlationKey, UUID groupIdUuid, Lock lock) {
 		boolean noOutput = true;
 		cancelScheduledFutureIfAny(correlationKey, groupIdUuid, true);
-		MessageGroup messageGroup = this.messageStore.getMessageGroup(correlationKey);
+		MessageGroup messageGroup = obtainMessageGroup(correlationKey);
 		if (this.sequenceAware) {
 			messageGroup = new SequenceAwareMessageGroup(messageGroup);
 		}
@@ -631,7 +631,7 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 									 * Obtain a fresh state for group from the MessageStore,
 									 * since it could be changed while we have waited for lock.
 									 */
-									MessageGroup groupNow = this.messageStore.getMessageGroup(groupId);
+									MessageGroup groupNow = obtainMessageGroup(groupId);
 									boolean removeGroup = groupNow.size() == 0 &&
 											groupNow.getLastModified()
 													<= (System.currentTimeMillis() - this.minimumTimeoutForEmptyGroups);
@@ -700,12 +700,12 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 	}
 
 	private void scheduleGroupToForceComplete(Object groupId) {
-		MessageGroup messageGroup = this.messageStore.getMessageGroup(groupId);
+		MessageGroup messageGroup = obtainMessageGroup(groupId);
 		scheduleGroupToForceComplete(messageGroup);
 	}
 
 	private void processForceRelease(Object groupId, long timestamp, long lastModified) {
-		MessageGroup messageGroup = this.messageStore.getMessageGroup(groupId);
+		MessageGroup messageGroup = obtainMessageGroup(groupId);
 		if (messageGroup.getTimestamp() == timestamp && messageGroup.getLastModified() == lastModified) {
 			this.forceReleaseProcessor.processMessageGroup(messageGroup);
 		}
@@ -772,7 +772,7 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 				 * for reaping if it's empty (and both timestamps are unaltered).
 				 */
 				if (!group.isComplete()) {
-					groupNow = this.messageStore.getMessageGroup(correlationKey);
+					groupNow = obtainMessageGroup(correlationKey);
 				}
 				long lastModifiedNow = groupNow.getLastModified();
 				int groupSize = groupNow.size();
@@ -855,6 +855,20 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 		return this.messageStore.addMessageToGroup(correlationKey, message);
 	}
 
+	/**
+	 * Obtain the current state of the group for the correlation key from the
+	 * {@link #getMessageStore()}.
+	 * Subclasses may override to present the stored group in a different form
+	 * to the release strategy, group timeout and output processor.
+	 * @param correlationKey the correlation key.
+	 * @return the group.
+	 * @since 6.0.3
+	 * @see #store(Object, Message)
+	 */
+	protected MessageGroup obtainMessageGroup(Object correlationKey) {
+		return this.messageStore.getMessageGroup(correlationKey);
+	}
+
 	protected void expireGroup(Object correlationKey, MessageGroup group, Lock lock) {
 		this.logger.info(() -> "Expiring MessageGroup with correlationKey[" + correlationKey + "]");
 		if (this.sendPartialResultOnExpiry) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.integration.aggregator;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.springframework.expression.Expression;
 import org.springframework.expression.ParseException;
@@ -105,4 +106,9 @@ public class ExpressionEvaluatingMessageListProcessor extends AbstractExpression
 		return this.evaluateExpression(this.expression, messages, this.expectedType);
 	}
 
+	@Override
+	protected Collection<Expression> getExpressions() {
+		return List.of(this.expression);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.integration.aggregator;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.expression.Expression;
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.util.AbstractExpressionEvaluator;
@@ -49,4 +52,9 @@ public class ExpressionEvaluatingReleaseStrategy extends AbstractExpressionEvalu
 		return Boolean.TRUE.equals(evaluateExpression(this.expression, messages, Boolean.class));
 	}
 
+	@Override
+	protected Collection<Expression> getExpressions() {
+		return List.of(this.expression);
+	}
+
 }
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collector;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.integration.support.AbstractIntegrationMessageBuilder;
+import org.springframework.integration.support.DefaultMessageBuilderFactory;
+import org.springframework.integration.support.MessageBuilderFactory;
+import org.springframework.integration.support.utils.IntegrationUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link AggregatingMessageHandler} which folds the messages of a group into a running
+ * accumulation as they arrive instead of storing all of them until the release.
+ * <p>The accumulation is defined by a {@link Collector}: its supplier initializes the
+ * accumulation for a new group, its accumulator folds each message into it, its finisher
+ * produces the payload of the output message, and its combiner merges the accumulations
+ * (storing back a single one) when several of them are found in the same group, e.g. written
+ * concurrently by other application instances sharing a persistent {@link MessageGroupStore}
+ * without a shared {@link org.springframework.integration.support.locks.LockRegistry}.
+ * <p>The {@link MessageGroupStore} holds only a single message per group with an
+ * {@link Accumulation} payload (so the accumulation must be {@link Serializable} for
+ * persistent stores) and the headers of the first message in the group, except
+ * {@link IntegrationMessageHeaderAccessor#SEQUENCE_NUMBER}.
+ * <p>The release strategy, group timeout expression and discard logic see a
+ * {@link MessageGroup} whose {@link MessageGroup#size()} is the number of folded messages
+ * and whose only message carries the finished result of the current accumulation.
+ * Therefore, strategies based on the group size, the sequence size, the group condition
+ * or the current result are supported (e.g. the default {@link SimpleSequenceSizeReleaseStrategy},
+ * {@link MessageCountReleaseStrategy} or a {@code messages[0].payload > 100} expression),
+ * but not the ones based on individual messages, e.g. releasing partial sequences.
+ * The same finished result message is sent to the discard channel when a group expires
+ * without {@code sendPartialResultOnExpiry}.
+ *
+ * @since 6.0.3
+ */
+public class IncrementalAggregatingMessageHandler extends AggregatingMessageHandler {
+
+	private final Collector<Object, Object, Object> collector;
+
+	/**
+	 * Create a handler with the provided collector over a {@link SimpleMessageStore}.
+	 * @param collector the collector to fold messages of the group.
+	 */
+	public IncrementalAggregatingMessageHandler(Collector<? super Message<?>, ?, ?> collector) {
+		this(collector, new SimpleMessageStore(0));
+	}
+
+	/**
+	 * Create a handler with the provided collector and store.
+	 * @param collector the collector to fold messages of the group.
+	 * @param store the store for accumulations.
+	 */
+	public IncrementalAggregatingMessageHandler(Collector<? super Message<?>, ?, ?> collector,
+			MessageGroupStore store) {
+
+		this(collector, store, null, null);
+	}
+
+	/**
+	 * Create a handler with the provided collector, store and strategies.
+	 * @param collector the collector to fold messages of the group.
+	 * @param store the store for accumulations.
+	 * @param correlationStrategy the correlation strategy; defaults to the correlation id header.
+	 * @param releaseStrategy the release strategy; defaults to {@link SimpleSequenceSizeReleaseStrategy}.
+	 */
+	@SuppressWarnings("unchecked")
+	public IncrementalAggregatingMessageHandler(Collector<? super Message<?>, ?, ?> collector,
+			MessageGroupStore store, @Nullable CorrelationStrategy correlationStrategy,
+			@Nullable ReleaseStrategy releaseStrategy) {
+
+		super(new AccumulationMessageGroupProcessor(), store, correlationStrategy, releaseStrategy);
+		Assert.notNull(collector, "'collector' must not be null");
+		this.collector = (Collector<Object, Object, Object>) collector;
+	}
+
+	@Override
+	protected void onInit() {
+		super.onInit();
+		Assert.state(!isSequenceAware(),
+				"The 'IncrementalAggregatingMessageHandler' does not retain individual messages, " +
+						"so it cannot work with a 'SequenceSizeReleaseStrategy' or release partial sequences.");
+	}
+
+	@Override
+	protected MessageGroup store(Object correlationKey, Message<?> message) {
+		MessageGroupStore messageStore = getMessageStore();
+		AccumulatingMessageGroup current =
+				accumulatingGroup(correlationKey, messageStore.getMessageGroup(correlationKey));
+		Message<?> currentState = current.state;
+		Object accumulation;
+		MessageHeaders headers;
+		int count;
+		if (currentState != null) {
+			Accumulation currentAccumulation = (Accumulation) currentState.getPayload();
+			accumulation = currentAccumulation.value();
+			count = currentAccumulation.count();
+			headers = currentState.getHeaders();
+		}
+		else {
+			accumulation = this.collector.supplier().get();
+			count = 0;
+			headers = message.getHeaders();
+		}
+		this.collector.accumulator().accept(accumulation, message);
+		Message<Accumulation> state = stateMessage(new Accumulation(accumulation, count + 1), headers);
+		if (currentState != null) {
+			messageStore.removeMessagesFromGroup(correlationKey, currentState);
+		}
+		return new AccumulatingMessageGroup(messageStore.addMessageToGroup(correlationKey, state), state);
+	}
+
+	@Override
+	protected MessageGroup obtainMessageGroup(Object correlationKey) {
+		return accumulatingGroup(correlationKey, super.obtainMessageGroup(correlationKey));
+	}
+
+	@Override
+	protected void afterRelease(MessageGroup messageGroup, Collection<Message<?>> completedMessages) {
+		MessageGroup storedGroup =
+				messageGroup instanceof AccumulatingMessageGroup accumulatingMessageGroup
+						? accumulatingMessageGroup.storedGroup
+						: messageGroup;
+		super.afterRelease(storedGroup, completedMessages);
+	}
+
+	@Override
+	protected void expireGroup(Object correlationKey, MessageGroup group, Lock lock) {
+		super.expireGroup(correlationKey, accumulatingGroup(correlationKey, group), lock);
+	}
+
+	@Override
+	protected void completeGroup(Object correlationKey, MessageGroup group, Lock lock) {
+		super.completeGroup(correlationKey, accumulatingGroup(correlationKey, group), lock);
+	}
+
+	/**
+	 * Present the stored group as an {@link AccumulatingMessageGroup}.
+	 * Several accumulations in the group are combined and stored back as a single one,
+	 * since the combiner may modify them.
+	 */
+	private AccumulatingMessageGroup accumulatingGroup(Object correlationKey, MessageGroup group) {
+		if (group instanceof AccumulatingMessageGroup accumulatingMessageGroup) {
+			return accumulatingMessageGroup;
+		}
+		List<Message<?>> states = new ArrayList<>(group.getMessages());
+		states.forEach((state) ->
+				Assert.state(state.getPayload() instanceof Accumulation, () ->
+						"The group [" + group.getGroupId() + "] contains messages not produced by " +
+								"an 'IncrementalAggregatingMessageHandler': " + state));
+		if (states.size() < 2) {
+			return new AccumulatingMessageGroup(group, states.isEmpty() ? null : states.get(0));
+		}
+		Accumulation combined = (Accumulation) states.get(0).getPayload();
+		for (Message<?> state : states.subList(1, states.size())) {
+			Accumulation accumulation = (Accumulation) state.getPayload();
+			Object value = this.collector.combiner().apply(combined.value(), accumulation.value());
+			combined = new Accumulation(value, combined.count() + accumulation.count());
+		}
+		Message<Accumulation> state = stateMessage(combined, states.get(0).getHeaders());
+		MessageGroupStore messageStore = getMessageStore();
+		messageStore.removeMessagesFromGroup(correlationKey, states);
+		return new AccumulatingMessageGroup(messageStore.addMessageToGroup(correlationKey, state), state);
+	}
+
+	private Message<Accumulation> stateMessage(Accumulation accumulation, MessageHeaders headers) {
+		return getMessageBuilderFactory()
+				.withPayload(accumulation)
+				.copyHeaders(headers)
+				.removeHeader(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER)
+				.build();
+	}
+
+	/**
+	 * The payload of the message holding the state of a group in the
+	 * {@link MessageGroupStore}.
+	 * @param value the accumulation produced by the collector.
+	 * @param count the number of messages folded into the accumulation.
+	 */
+	public record Accumulation(Object value, int count) implements Serializable {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+	}
+
+	/**
+	 * A view of the stored group presenting the accumulation state as the group
+	 * of all the folded messages.
+	 */
+	private final class AccumulatingMessageGroup implements MessageGroup {
+
+		private final MessageGroup storedGroup;
+
+		@Nullable
+		private final Message<?> state;
+
+		@Nullable
+		private Message<?> result;
+
+		AccumulatingMessageGroup(MessageGroup storedGroup, @Nullable Message<?> state) {
+			this.storedGroup = storedGroup;
+			this.state = state;
+		}
+
+		@Override
+		public boolean canAdd(Message<?> message) {
+			return this.storedGroup.canAdd(message);
+		}
+
+		@Override
+		public void add(Message<?> messageToAdd) {
+			throw new UnsupportedOperationException("The accumulating group can only be updated by its handler");
+		}
+
+		@Override
+		public boolean remove(Message<?> messageToRemove) {
+			throw new UnsupportedOperationException("The accumulating group can only be updated by its handler");
+		}
+
+		@Override
+		public Collection<Message<?>> getMessages() {
+			Message<?> one = getOne();
+			return one != null ? Collections.singletonList(one) : Collections.emptyList();
+		}
+
+		@Override
+		public Object getGroupId() {
+			return this.storedGroup.getGroupId();
+		}
+
+		@Override
+		public int getLastReleasedMessageSequenceNumber() {
+			return this.storedGroup.getLastReleasedMessageSequenceNumber();
+		}
+
+		@Override
+		public void setLastReleasedMessageSequenceNumber(int sequenceNumber) {
+			this.storedGroup.setLastReleasedMessageSequenceNumber(sequenceNumber);
+		}
+
+		@Override
+		public boolean isComplete() {
+			return this.storedGroup.isComplete();
+		}
+
+		@Override
+		public void complete() {
+			this.storedGroup.complete();
+		}
+
+		@Override
+		public int getSequenceSize() {
+			if (this.state == null) {
+				return 0;
+			}
+			Integer sequenceSize =
+					this.state.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_SIZE, Integer.class);
+			return sequenceSize != null ? sequenceSize : 0;
+		}
+
+		@Override
+		public int size() {
+			return this.state != null ? ((Accumulation) this.state.getPayload()).count() : 0;
+		}
+
+		/**
+		 * Return a message with the finished result of the current accumulation.
+		 * @return the result message or null if the group is empty.
+		 */
+		@Override
+		@Nullable
+		public Message<?> getOne() {
+			if (this.result == null && this.state != null) {
+				Object payload =
+						IncrementalAggregatingMessageHandler.this.collector.finisher()
+								.apply(((Accumulation) this.state.getPayload()).value());
+				this.result =
+						getMessageBuilderFactory()
+								.withPayload(payload)
+								.copyHeaders(this.state.getHeaders())
+								.build();
+			}
+			return this.result;
+		}
+
+		@Override
+		public long getTimestamp() {
+			return this.storedGroup.getTimestamp();
+		}
+
+		@Override
+		public long getLastModified() {
+			return this.storedGroup.getLastModified();
+		}
+
+		@Override
+		public void setLastModified(long lastModified) {
+			this.storedGroup.setLastModified(lastModified);
+		}
+
+		@Override
+		public void setCondition(String condition) {
+			this.storedGroup.setCondition(condition);
+		}
+
+		@Override
+		@Nullable
+		public String getCondition() {
+			return this.storedGroup.getCondition();
+		}
+
+		@Override
+		public void clear() {
+			this.storedGroup.clear();
+		}
+
+		@Override
+		public String toString() {
+			return "AccumulatingMessageGroup{" +
+					"groupId=" + getGroupId() +
+					", state=" + this.state +
+					'}';
+		}
+
+	}
+
+	/**
+	 * Produces the output from the result message of an {@link AccumulatingMessageGroup}.
+	 */
+	private static final class AccumulationMessageGroupProcessor implements MessageGroupProcessor, BeanFactoryAware {
+
+		private MessageBuilderFactory messageBuilderFactory = new DefaultMessageBuilderFactory();
+
+		AccumulationMessageGroupProcessor() {
+		}
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+			this.messageBuilderFactory = IntegrationUtils.getMessageBuilderFactory(beanFactory);
+		}
+
+		@Override
+		@Nullable
+		public AbstractIntegrationMessageBuilder<?> processMessageGroup(MessageGroup group) {
+			Message<?> result = group.getOne();
+			return result != null ? this.messageBuilderFactory.fromMessage(result) : null;
+		}
+
+	}
+
+}
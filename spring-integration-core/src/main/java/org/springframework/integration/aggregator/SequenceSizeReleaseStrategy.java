@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,12 +25,15 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.integration.StaticMessageHeaderAccessor;
 import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.SimpleMessageGroup;
 import org.springframework.messaging.Message;
 
 /**
  * An implementation of {@link ReleaseStrategy} that simply compares the current size of
  * the message list to the expected 'sequenceSize'. Supports release of partial sequences.
  * Correlating message handlers prevent the addition of duplicate sequences to the group.
+ * <p>For a {@link SimpleMessageGroup} the partial release decision is made in constant
+ * time against its sequence number index instead of scanning the whole group.
  *
  * @author Mark Fisher
  * @author Marius Bogoevici
@@ -58,7 +61,7 @@ public class SequenceSizeReleaseStrategy implements ReleaseStrategy {
 	/**
 	 * Construct an instance that supports releasing partial sequences if
 	 * releasePartialSequences is true. This can be an expensive operation on large
-	 * groups.
+	 * groups other than {@link SimpleMessageGroup}.
 	 * @param releasePartialSequences true to allow the release of partial sequences.
 	 */
 	public SequenceSizeReleaseStrategy(boolean releasePartialSequences) {
@@ -69,7 +72,7 @@ public class SequenceSizeReleaseStrategy implements ReleaseStrategy {
 	 * Flag that determines if partial sequences are allowed. If true then as soon as
 	 * enough messages arrive that can be ordered they will be released, provided they
 	 * all have sequence numbers greater than those already released.
-	 * This can be an expensive operation for large groups.
+	 * This can be an expensive operation for large groups other than {@link SimpleMessageGroup}.
 	 * @param releasePartialSequences true when partial sequences should be released.
 	 */
 	public void setReleasePartialSequences(boolean releasePartialSequences) {
@@ -84,10 +87,17 @@ public class SequenceSizeReleaseStrategy implements ReleaseStrategy {
 			if (LOGGER.isTraceEnabled()) {
 				LOGGER.trace("Considering partial release of group [" + messageGroup + "]");
 			}
-			Collection<Message<?>> messages = messageGroup.getMessages();
-			Message<?> minMessage = Collections.min(messages, this.comparator);
+			int nextSequenceNumber;
+			if (messageGroup instanceof SimpleMessageGroup simpleMessageGroup
+					&& simpleMessageGroup.hasDistinctSequences()) {
 
-			int nextSequenceNumber = StaticMessageHeaderAccessor.getSequenceNumber(minMessage);
+				nextSequenceNumber = simpleMessageGroup.getFirstSequenceNumber();
+			}
+			else {
+				Collection<Message<?>> messages = messageGroup.getMessages();
+				Message<?> minMessage = Collections.min(messages, this.comparator);
+				nextSequenceNumber = StaticMessageHeaderAccessor.getSequenceNumber(minMessage);
+			}
 			int lastReleasedMessageSequence = messageGroup.getLastReleasedMessageSequenceNumber();
 
 			if (nextSequenceNumber - lastReleasedMessageSequence == 1) {
@@ -57,6 +57,7 @@ import org.springframework.integration.routingslip.ExpressionEvaluatingRoutingSl
 import org.springframework.integration.store.MessageGroupMetadata;
 import org.springframework.integration.store.MessageHolder;
 import org.springframework.integration.store.MessageMetadata;
+import org.springframework.integration.support.LayeredMessageHeaders;
 import org.springframework.integration.support.MutableMessage;
 import org.springframework.integration.support.MutableMessageHeaders;
 import org.springframework.messaging.MessageHandler;
@@ -133,6 +134,7 @@ class CoreRuntimeHints implements RuntimeHintsRegistrar {
 						AdviceMessage.class,
 						MutableMessage.class,
 						MutableMessageHeaders.class,
+						LayeredMessageHeaders.class,
 						MessageGroupMetadata.class,
 						MessageHolder.class,
 						MessageMetadata.class,
@@ -16,7 +16,6 @@
 
 package org.springframework.integration.channel;
 
-import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
@@ -27,6 +26,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 
 import org.springframework.beans.factory.BeanFactory;
@@ -37,10 +37,10 @@ import org.springframework.integration.IntegrationPatternType;
 import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.integration.context.IntegrationObjectSupport;
 import org.springframework.integration.history.MessageHistory;
-import org.springframework.integration.support.MutableMessage;
 import org.springframework.integration.support.management.IntegrationManagedResource;
 import org.springframework.integration.support.management.IntegrationManagement;
 import org.springframework.integration.support.management.TrackableComponent;
+import org.springframework.integration.support.management.metrics.LatencyHistograms;
 import org.springframework.integration.support.management.metrics.MeterFacade;
 import org.springframework.integration.support.management.metrics.MetricsCaptor;
 import org.springframework.integration.support.management.metrics.SampleFacade;
@@ -102,6 +102,9 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 
 	private TimerFacade failureTimer;
 
+	@Nullable
+	private LatencyHistograms latencyHistograms;
+
 	private volatile String fullChannelName;
 
 	@Override
@@ -129,6 +132,17 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 		return this.metricsCaptor;
 	}
 
+	@Override
+	public void registerLatencyHistograms(LatencyHistograms latencyHistogramsToRegister) {
+		this.latencyHistograms = latencyHistogramsToRegister;
+	}
+
+	@Override
+	@Nullable
+	public LatencyHistograms getLatencyHistograms() {
+		return this.latencyHistograms;
+	}
+
 	@Override
 	public boolean isLoggingEnabled() {
 		return this.loggingEnabled;
@@ -317,9 +331,12 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 			message = MessageHistory.write(message, this, getMessageBuilderFactory());
 		}
 
-		if (!ObservationRegistry.NOOP.equals(this.observationRegistry)) {
+		if (!this.observationRegistry.isNoop()) {
 			return sendWithObservation(message, timeout);
 		}
+		else if (this.latencyHistograms != null) {
+			return sendWithHistograms(message, timeout, this.latencyHistograms);
+		}
 		else if (this.metricsCaptor != null) {
 			return sendWithMetrics(message, timeout);
 		}
@@ -329,14 +346,21 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 	}
 
 	private boolean sendWithObservation(Message<?> message, long timeout) {
-		MutableMessage<?> messageToSend = MutableMessage.of(message);
-		return IntegrationObservation.PRODUCER.observation(
-						this.observationConvention,
-						DefaultMessageSenderObservationConvention.INSTANCE,
-						() -> new MessageSenderContext(messageToSend, getComponentName()),
-						this.observationRegistry)
-				.parentObservation(this.observationRegistry.getCurrentObservation()) // TODO until the fix in micrometer-observation
-				.observe(() -> sendInternal(messageToSend, timeout));
+		Observation observation =
+				IntegrationObservation.PRODUCER.observation(
+								this.observationConvention,
+								DefaultMessageSenderObservationConvention.INSTANCE,
+								() -> new MessageSenderContext(message, getComponentName()),
+								this.observationRegistry)
+						.parentObservation(this.observationRegistry.getCurrentObservation()); // TODO until the fix in micrometer-observation
+		return observation.observe(() -> {
+			Message<?> messageToSend = message;
+			// The context copies the message only if a propagation handler has written headers into its carrier
+			if (observation.getContext() instanceof MessageSenderContext senderContext) {
+				messageToSend = senderContext.getMessageToSend();
+			}
+			return sendInternal(messageToSend, timeout);
+		});
 	}
 
 	private boolean sendWithMetrics(Message<?> message, long timeout) {
@@ -352,10 +376,25 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 		}
 	}
 
+	private boolean sendWithHistograms(Message<?> message, long timeout, LatencyHistograms histograms) {
+		long start = System.nanoTime();
+		try {
+			boolean sent = sendInternal(message, timeout);
+			histograms.recordSend(System.nanoTime() - start, sent);
+			return sent;
+		}
+		catch (RuntimeException ex) {
+			histograms.recordSend(System.nanoTime() - start, false);
+			throw ex;
+		}
+	}
+
 	private boolean sendInternal(Message<?> message, long timeout) {
-		Deque<ChannelInterceptor> interceptorStack = null;
-		boolean sent = false;
 		ChannelInterceptorList interceptorList = this.interceptors;
+		// A snapshot for the whole send; unwinding is done by index instead of a per-send stack
+		ChannelInterceptor[] interceptorArray = interceptorList.getInterceptorArray();
+		int applied = 0;
+		boolean sent = false;
 		Message<?> messageToSend = message;
 		try {
 			messageToSend = convertPayloadIfNecessary(messageToSend);
@@ -363,12 +402,16 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 			if (debugEnabled) {
 				logger.debug("preSend on channel '" + this + "', message: " + messageToSend);
 			}
-			if (interceptorList.getSize() > 0) {
-				interceptorStack = new ArrayDeque<>();
-				messageToSend = interceptorList.preSend(messageToSend, this, interceptorStack);
+			for (ChannelInterceptor interceptor : interceptorArray) {
+				Message<?> previous = messageToSend;
+				messageToSend = interceptor.preSend(messageToSend, this);
 				if (messageToSend == null) {
+					logger.debug(() -> interceptor.getClass().getSimpleName()
+							+ " returned null from preSend, i.e. precluding the send.");
+					interceptorList.afterSendCompletion(previous, this, false, null, interceptorArray, applied);
 					return false;
 				}
+				applied++;
 			}
 
 			sent = doSend(messageToSend, timeout);
@@ -376,16 +419,14 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 			if (debugEnabled) {
 				logger.debug("postSend (sent=" + sent + ") on channel '" + this + "', message: " + messageToSend);
 			}
-			if (interceptorStack != null) {
-				interceptorList.postSend(messageToSend, this, sent);
-				interceptorList.afterSendCompletion(messageToSend, this, sent, null, interceptorStack);
+			if (applied > 0) {
+				interceptorList.postSend(messageToSend, this, sent, interceptorArray);
+				interceptorList.afterSendCompletion(messageToSend, this, sent, null, interceptorArray, applied);
 			}
 			return sent;
 		}
 		catch (Exception ex) {
-			if (interceptorStack != null) {
-				interceptorList.afterSendCompletion(messageToSend, this, sent, ex, interceptorStack);
-			}
+			interceptorList.afterSendCompletion(messageToSend, this, sent, ex, interceptorArray, applied);
 			throw IntegrationUtils.wrapInDeliveryExceptionIfNecessary(messageToSend,
 					() -> "failed to send Message to channel '" + getComponentName() + "'", ex);
 		}
@@ -482,6 +523,8 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 
 		private int size;
 
+		private volatile ChannelInterceptor[] interceptorArray = new ChannelInterceptor[0];
+
 		public ChannelInterceptorList(LogAccessor logger) {
 			this.logger = logger;
 		}
@@ -490,7 +533,9 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 			synchronized (this.interceptors) {
 				this.interceptors.clear();
 				this.size = interceptors.size();
-				return this.interceptors.addAll(interceptors);
+				boolean changed = this.interceptors.addAll(interceptors);
+				updateInterceptorArray();
+				return changed;
 			}
 		}
 
@@ -498,14 +543,32 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 			return this.size;
 		}
 
+		/**
+		 * Return a snapshot of the current interceptors.
+		 * The array is replaced (never modified) when the interceptors change,
+		 * so it can be used for a whole send operation without copying.
+		 * @return the interceptors array; must not be modified.
+		 * @since 6.0.3
+		 */
+		public ChannelInterceptor[] getInterceptorArray() {
+			return this.interceptorArray;
+		}
+
 		public boolean add(ChannelInterceptor interceptor) {
 			this.size++;
-			return this.interceptors.add(interceptor);
+			boolean added = this.interceptors.add(interceptor);
+			updateInterceptorArray();
+			return added;
 		}
 
 		public void add(int index, ChannelInterceptor interceptor) {
 			this.size++;
 			this.interceptors.add(index, interceptor);
+			updateInterceptorArray();
+		}
+
+		private void updateInterceptorArray() {
+			this.interceptorArray = this.interceptors.toArray(new ChannelInterceptor[0]);
 		}
 
 		@Nullable
@@ -537,6 +600,48 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 			}
 		}
 
+		/**
+		 * Invoke {@link ChannelInterceptor#postSend} on the provided interceptors snapshot.
+		 * @param message the sent message.
+		 * @param channel the channel.
+		 * @param sent the send result.
+		 * @param interceptorArray the interceptors snapshot.
+		 * @since 6.0.3
+		 */
+		public void postSend(Message<?> message, MessageChannel channel, boolean sent,
+				ChannelInterceptor[] interceptorArray) {
+
+			for (ChannelInterceptor interceptor : interceptorArray) {
+				interceptor.postSend(message, channel, sent);
+			}
+		}
+
+		/**
+		 * Invoke {@link ChannelInterceptor#afterSendCompletion} in reverse order on the first
+		 * {@code applied} interceptors of the provided snapshot, i.e. those whose
+		 * {@link ChannelInterceptor#preSend} has been invoked successfully.
+		 * @param message the message.
+		 * @param channel the channel.
+		 * @param sent the send result.
+		 * @param ex the send exception, if any.
+		 * @param interceptorArray the interceptors snapshot.
+		 * @param applied the number of interceptors to unwind.
+		 * @since 6.0.3
+		 */
+		public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent,
+				@Nullable Exception ex, ChannelInterceptor[] interceptorArray, int applied) {
+
+			for (int i = applied - 1; i >= 0; i--) {
+				ChannelInterceptor interceptor = interceptorArray[i];
+				try {
+					interceptor.afterSendCompletion(message, channel, sent, ex);
+				}
+				catch (Exception ex2) {
+					this.logger.error(ex2, () -> "Exception from afterSendCompletion in " + interceptor);
+				}
+			}
+		}
+
 		public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent,
 				@Nullable Exception ex, Deque<ChannelInterceptor> interceptorStack) {
 
@@ -601,6 +706,7 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 		public boolean remove(ChannelInterceptor interceptor) {
 			if (this.interceptors.remove(interceptor)) {
 				this.size--;
+				updateInterceptorArray();
 				return true;
 			}
 			else {
@@ -613,6 +719,7 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 			ChannelInterceptor removed = this.interceptors.remove(index);
 			if (removed != null) {
 				this.size--;
+				updateInterceptorArray();
 			}
 			return removed;
 		}
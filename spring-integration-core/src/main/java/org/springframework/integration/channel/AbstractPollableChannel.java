@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,18 +17,22 @@
 package org.springframework.integration.channel;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
 
 import org.springframework.core.log.LogMessage;
 import org.springframework.integration.IntegrationPatternType;
 import org.springframework.integration.support.management.metrics.CounterFacade;
+import org.springframework.integration.support.management.metrics.LatencyHistograms;
 import org.springframework.integration.support.management.metrics.MetricsCaptor;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.PollableChannel;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.util.Assert;
 
 /**
  * Base class for all pollable channels.
@@ -81,6 +85,8 @@ public abstract class AbstractPollableChannel extends AbstractMessageChannel
 		Deque<ChannelInterceptor> interceptorStack = null;
 		boolean counted = false;
 		boolean traceEnabled = isLoggingEnabled() && logger.isTraceEnabled();
+		LatencyHistograms latencyHistograms = getLatencyHistograms();
+		long start = latencyHistograms != null ? System.nanoTime() : 0;
 		try {
 			if (traceEnabled) {
 				logger.trace("preReceive on channel '" + this + "'");
@@ -99,6 +105,9 @@ public abstract class AbstractPollableChannel extends AbstractMessageChannel
 				}
 			}
 			else {
+				if (latencyHistograms != null) {
+					latencyHistograms.recordReceive(System.nanoTime() - start, true);
+				}
 				incrementReceiveCounter();
 				counted = true;
 				logger.debug(LogMessage.format("postReceive on channel '%s', message: %s", this, message));
@@ -112,6 +121,74 @@ public abstract class AbstractPollableChannel extends AbstractMessageChannel
 		}
 		catch (RuntimeException ex) {
 			if (!counted) {
+				if (latencyHistograms != null) {
+					latencyHistograms.recordReceive(System.nanoTime() - start, false);
+				}
+				incrementReceiveErrorCounter(ex);
+			}
+			interceptorList.afterReceiveCompletion(null, this, ex, interceptorStack);
+			throw ex;
+		}
+	}
+
+	/**
+	 * Receive up to {@code maxMessages} available messages from this channel in one operation.
+	 * Only the first message is waited for according to the provided timeout (with the same
+	 * semantics as for the {@link #receive(long)}); the rest of the batch consists of messages
+	 * which are immediately available in the channel.
+	 * The {@link ChannelInterceptor#preReceive} callbacks are called once for the whole batch,
+	 * the {@link ChannelInterceptor#postReceive} and {@link ChannelInterceptor#afterReceiveCompletion}
+	 * are called for each received message.
+	 * @param maxMessages the max number of messages to receive.
+	 * @param timeout the timeout in milliseconds to wait for the first message.
+	 * @return the received messages; never null, but may be empty.
+	 * @since 6.0.3
+	 */
+	public List<Message<?>> receive(int maxMessages, long timeout) { // NOSONAR complexity
+		Assert.isTrue(maxMessages > 0, "'maxMessages' must be greater than 0");
+		ChannelInterceptorList interceptorList = getIChannelInterceptorList();
+		Deque<ChannelInterceptor> interceptorStack = null;
+		int counted = 0;
+		List<Message<?>> messages = Collections.emptyList();
+		LatencyHistograms latencyHistograms = getLatencyHistograms();
+		long start = latencyHistograms != null ? System.nanoTime() : 0;
+		try {
+			if (interceptorList.getSize() > 0) {
+				interceptorStack = new ArrayDeque<>();
+
+				if (!interceptorList.preReceive(this, interceptorStack)) {
+					return Collections.emptyList();
+				}
+			}
+			messages = doReceive(maxMessages, timeout);
+			if (messages.isEmpty()) {
+				interceptorList.afterReceiveCompletion(null, this, null, interceptorStack);
+				return messages;
+			}
+			if (latencyHistograms != null) {
+				latencyHistograms.recordReceive(System.nanoTime() - start, true);
+			}
+			logger.debug(LogMessage.format("postReceive on channel '%s', messages: %s", this, messages));
+			List<Message<?>> result = interceptorStack != null ? new ArrayList<>(messages.size()) : messages;
+			for (Message<?> message : messages) {
+				incrementReceiveCounter();
+				counted++;
+				Message<?> messageToReturn = message;
+				if (interceptorStack != null) {
+					messageToReturn = interceptorList.postReceive(message, this);
+					if (messageToReturn != null) {
+						result.add(messageToReturn);
+					}
+				}
+				interceptorList.afterReceiveCompletion(messageToReturn, this, null, interceptorStack);
+			}
+			return result;
+		}
+		catch (RuntimeException ex) {
+			if (counted == 0) {
+				if (latencyHistograms != null) {
+					latencyHistograms.recordReceive(System.nanoTime() - start, false);
+				}
 				incrementReceiveErrorCounter(ex);
 			}
 			interceptorList.afterReceiveCompletion(null, this, ex, interceptorStack);
@@ -211,4 +288,28 @@ public abstract class AbstractPollableChannel extends AbstractMessageChannel
 	@Nullable
 	protected abstract Message<?> doReceive(long timeout);
 
+	/**
+	 * Receive up to {@code maxMessages} from this channel, waiting only for the first one
+	 * according to the provided timeout (see {@link #doReceive(long)} for timeout semantics).
+	 * This implementation performs a {@link #doReceive(long)} for the first message and then
+	 * {@code doReceive(0)} until the batch is complete or the channel is empty.
+	 * Subclasses are encouraged to override this method with a more efficient bulk operation.
+	 * @param maxMessages the max number of messages to receive.
+	 * @param timeout the timeout for the first message.
+	 * @return the received messages, or an empty list.
+	 * @since 6.0.3
+	 */
+	protected List<Message<?>> doReceive(int maxMessages, long timeout) {
+		Message<?> message = doReceive(timeout);
+		if (message == null) {
+			return Collections.emptyList();
+		}
+		List<Message<?>> messages = new ArrayList<>(Math.min(maxMessages, 16)); // NOSONAR magic number
+		do {
+			messages.add(message);
+		}
+		while (messages.size() < maxMessages && (message = doReceive(0)) != null);
+		return messages;
+	}
+
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.dispatcher.PartitionedDispatcher;
+import org.springframework.integration.support.management.metrics.GaugeFacade;
+import org.springframework.integration.support.management.metrics.MetricsCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * An {@link AbstractExecutorChannel} implementation for partitioned message dispatching.
+ * Requires a number of partitions where each of them is backed by a dedicated thread
+ * with a bounded queue.
+ * The {@code partitionKeyFunction} is used to determine to which partition the message
+ * has to be dispatched; by default the {@link IntegrationMessageHeaderAccessor#CORRELATION_ID}
+ * message header is used as a partition key.
+ * <p>
+ * Messages with the same partition key are handled in the order they are sent,
+ * while messages for different partitions are handled in parallel.
+ * <p>
+ * The actual dispatching and threading logic is implemented in the {@link PartitionedDispatcher}.
+ * <p>
+ * When a {@link MetricsCaptor} is registered, a
+ * {@code spring.integration.channel.partition.queue.size} gauge (tagged with the
+ * {@code partition} index) is exposed for each partition.
+ *
+ * @since 6.0.3
+ */
+public class PartitionedChannel extends AbstractExecutorChannel {
+
+	private final List<GaugeFacade> partitionQueueSizeGauges = new ArrayList<>();
+
+	private boolean threadFactorySet;
+
+	/**
+	 * Instantiate based on a provided number of partitions and function resolving a partition key from
+	 * the {@link IntegrationMessageHeaderAccessor#CORRELATION_ID} message header.
+	 * @param partitionCount the number of partitions in this channel.
+	 */
+	public PartitionedChannel(int partitionCount) {
+		this(partitionCount, (message) -> message.getHeaders().get(IntegrationMessageHeaderAccessor.CORRELATION_ID));
+	}
+
+	/**
+	 * Instantiate based on a provided number of partitions and function for resolving a partition key.
+	 * @param partitionCount the number of partitions in this channel.
+	 * @param partitionKeyFunction the function to resolve a partition key.
+	 */
+	public PartitionedChannel(int partitionCount, Function<Message<?>, Object> partitionKeyFunction) {
+		super(null);
+		this.dispatcher = new PartitionedDispatcher(partitionCount, partitionKeyFunction);
+	}
+
+	/**
+	 * Set a {@link ThreadFactory} for the partition threads.
+	 * Defaults to the {@link CustomizableThreadFactory} based on the bean name
+	 * plus {@code -partition-thread-} suffix.
+	 * @param threadFactory the {@link ThreadFactory} to use.
+	 */
+	public void setThreadFactory(ThreadFactory threadFactory) {
+		getDispatcher().setThreadFactory(threadFactory);
+		this.threadFactorySet = true;
+	}
+
+	/**
+	 * Set the capacity of the queue in front of each partition thread.
+	 * When the queue is full, the sender is blocked until there is a room.
+	 * Defaults to {@link Integer#MAX_VALUE}.
+	 * @param queueCapacity the per-partition queue capacity.
+	 * @see #setSendTimeout(long)
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		getDispatcher().setQueueCapacity(queueCapacity);
+	}
+
+	/**
+	 * Set the max time in milliseconds to block a sender when the queue of the target
+	 * partition is full. Defaults to blocking indefinitely.
+	 * @param sendTimeout the timeout to wait for room in the partition queue.
+	 */
+	public void setSendTimeout(long sendTimeout) {
+		getDispatcher().setSendTimeout(sendTimeout);
+	}
+
+	public int getPartitionCount() {
+		return getDispatcher().getPartitionCount();
+	}
+
+	/**
+	 * Return the number of messages waiting to be handled in the provided partition.
+	 * @param partition the partition index.
+	 * @return the partition queue size.
+	 */
+	public int getQueueSize(int partition) {
+		return getDispatcher().getQueueSize(partition);
+	}
+
+	@Override
+	protected PartitionedDispatcher getDispatcher() {
+		return (PartitionedDispatcher) this.dispatcher;
+	}
+
+	@Override
+	protected void onInit() {
+		super.onInit();
+		PartitionedDispatcher partitionedDispatcher = getDispatcher();
+		if (!this.threadFactorySet) {
+			partitionedDispatcher.setThreadFactory(
+					new CustomizableThreadFactory(getComponentName() + "-partition-thread-"));
+		}
+		partitionedDispatcher.setErrorHandler(ChannelUtils.getErrorHandler(getBeanFactory()));
+		if (this.maxSubscribers == null) {
+			this.maxSubscribers = getIntegrationProperties().getChannelsMaxUnicastSubscribers();
+		}
+		partitionedDispatcher.setMaxSubscribers(this.maxSubscribers);
+		partitionedDispatcher.setMessageHandlingTaskDecorator(task -> {
+			if (PartitionedChannel.this.executorInterceptorsSize > 0) {
+				return new MessageHandlingTask(task);
+			}
+			else {
+				return task;
+			}
+		});
+	}
+
+	@Override
+	public void registerMetricsCaptor(MetricsCaptor metricsCaptor) {
+		super.registerMetricsCaptor(metricsCaptor);
+		String name = getComponentName() == null ? "unknown" : getComponentName();
+		for (int i = 0; i < getPartitionCount(); i++) {
+			int partition = i;
+			this.partitionQueueSizeGauges.add(
+					metricsCaptor.gaugeBuilder("spring.integration.channel.partition.queue.size", this,
+									(channel) -> getQueueSize(partition))
+							.tag("name", name)
+							.tag("type", "channel")
+							.tag("partition", Integer.toString(partition))
+							.description("The size of the partition queue")
+							.build());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		super.destroy();
+		getDispatcher().shutdown();
+		this.partitionQueueSizeGauges.forEach(GaugeFacade::remove);
+		this.partitionQueueSizeGauges.clear();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,10 @@
 
 package org.springframework.integration.channel;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -44,6 +47,9 @@ public class PriorityChannel extends QueueChannel {
 	 */
 	private static final int DEFAULT_INITIAL_CAPACITY = 11;
 
+	@Nullable
+	private final PriorityBlockingQueue<Message<?>> priorityQueue;
+
 	private final UpperBound upperBound;
 
 	private final AtomicLong sequenceCounter = new AtomicLong();
@@ -88,7 +94,13 @@ public class PriorityChannel extends QueueChannel {
 	 * @param comparator The comparator.
 	 */
 	public PriorityChannel(int capacity, @Nullable Comparator<Message<?>> comparator) {
-		super(new PriorityBlockingQueue<>(DEFAULT_INITIAL_CAPACITY, new SequenceFallbackComparator(comparator)));
+		this(new PriorityBlockingQueue<>(DEFAULT_INITIAL_CAPACITY, new SequenceFallbackComparator(comparator)),
+				capacity);
+	}
+
+	private PriorityChannel(PriorityBlockingQueue<Message<?>> priorityQueue, int capacity) {
+		super(priorityQueue);
+		this.priorityQueue = priorityQueue;
 		this.upperBound = new UpperBound(capacity);
 		this.useMessageStore = false;
 	}
@@ -111,6 +123,7 @@ public class PriorityChannel extends QueueChannel {
 	 */
 	public PriorityChannel(MessageGroupQueue messageGroupQueue) {
 		super(messageGroupQueue);
+		this.priorityQueue = null;
 		this.upperBound = new UpperBound(0);
 		this.useMessageStore = true;
 	}
@@ -145,6 +158,29 @@ public class PriorityChannel extends QueueChannel {
 		return message;
 	}
 
+	@Override
+	protected List<Message<?>> doReceive(int maxMessages, long timeout) {
+		if (this.priorityQueue == null) {
+			// the MessageGroupQueue neither wraps messages nor is bounded by the upperBound
+			return super.doReceive(maxMessages, timeout);
+		}
+		Message<?> message = doReceive(timeout);
+		if (message == null) {
+			return Collections.emptyList();
+		}
+		List<Message<?>> messages = new ArrayList<>(Math.min(maxMessages, 16)); // NOSONAR magic number
+		messages.add(message);
+		if (maxMessages > 1) {
+			List<Message<?>> wrappers = new ArrayList<>(Math.min(maxMessages - 1, 16)); // NOSONAR magic number
+			this.priorityQueue.drainTo(wrappers, maxMessages - 1);
+			for (Message<?> wrapper : wrappers) {
+				messages.add(((MessageWrapper) wrapper).getRootMessage());
+			}
+			this.upperBound.release(wrappers.size());
+		}
+		return messages;
+	}
+
 	private static final class SequenceFallbackComparator implements Comparator<Message<?>> {
 
 		private final Comparator<Message<?>> targetComparator;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,6 +47,10 @@ public class PublishSubscribeChannel extends AbstractExecutorChannel implements
 
 	private int minSubscribers;
 
+	private int concurrencyLimit;
+
+	private boolean waitForAllSubscribers;
+
 	/**
 	 * Create a PublishSubscribeChannel that will invoke the handlers in the
 	 * message sender's thread.
@@ -156,6 +160,36 @@ public class PublishSubscribeChannel extends AbstractExecutorChannel implements
 		getDispatcher().setMinSubscribers(minSubscribers);
 	}
 
+	/**
+	 * Limit the number of subscriber tasks running concurrently on the provided Executor.
+	 * When the limit is reached, the sending thread is blocked until a running task completes.
+	 * Ignored if no Executor is provided. Default: no limit.
+	 * @param concurrencyLimit the max number of concurrent subscriber tasks.
+	 * @since 6.0.3
+	 * @see BroadcastingDispatcher#setConcurrencyLimit(int)
+	 */
+	public void setConcurrencyLimit(int concurrencyLimit) {
+		this.concurrencyLimit = concurrencyLimit;
+		getDispatcher().setConcurrencyLimit(concurrencyLimit);
+	}
+
+	/**
+	 * Specify whether {@link #send(org.springframework.messaging.Message)} should block until
+	 * all the subscribers have handled the message on the provided Executor.
+	 * Subscriber failures are then thrown to the sender as an
+	 * {@link org.springframework.integration.dispatcher.AggregateMessageDeliveryException}
+	 * (unless {@link #setIgnoreFailures(boolean) ignoreFailures}) instead of being
+	 * sent to the error handler.
+	 * Ignored if no Executor is provided. Default: false.
+	 * @param waitForAllSubscribers true to wait for all the subscribers.
+	 * @since 6.0.3
+	 * @see BroadcastingDispatcher#setWaitForAllSubscribers(boolean)
+	 */
+	public void setWaitForAllSubscribers(boolean waitForAllSubscribers) {
+		this.waitForAllSubscribers = waitForAllSubscribers;
+		getDispatcher().setWaitForAllSubscribers(waitForAllSubscribers);
+	}
+
 	/**
 	 * Callback method for initialization.
 	 */
@@ -178,6 +212,8 @@ public class PublishSubscribeChannel extends AbstractExecutorChannel implements
 			dispatcherToUse.setIgnoreFailures(this.ignoreFailures);
 			dispatcherToUse.setApplySequence(this.applySequence);
 			dispatcherToUse.setMinSubscribers(this.minSubscribers);
+			dispatcherToUse.setConcurrencyLimit(this.concurrencyLimit);
+			dispatcherToUse.setWaitForAllSubscribers(this.waitForAllSubscribers);
 			this.dispatcher = dispatcherToUse;
 		}
 		else if (this.errorHandler != null) {
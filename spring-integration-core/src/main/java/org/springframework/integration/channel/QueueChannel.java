@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.integration.channel;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
@@ -25,6 +26,7 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.integration.core.MessageSelector;
+import org.springframework.integration.store.MessageGroupQueue;
 import org.springframework.integration.support.management.metrics.GaugeFacade;
 import org.springframework.integration.support.management.metrics.MetricsCaptor;
 import org.springframework.lang.Nullable;
@@ -169,6 +171,44 @@ public class QueueChannel extends AbstractPollableChannel implements QueueChanne
 		}
 	}
 
+	/**
+	 * Receive the first message according to the timeout and then drain up to
+	 * {@code maxMessages - 1} immediately available messages via
+	 * {@link BlockingQueue#drainTo(java.util.Collection, int)}, if possible.
+	 * A {@link MessageGroupQueue} performs the whole operation under a single lock.
+	 * @param maxMessages the max number of messages to receive.
+	 * @param timeout the timeout for the first message.
+	 * @return the received messages, or an empty list.
+	 * @since 6.0.3
+	 */
+	@Override
+	protected List<Message<?>> doReceive(int maxMessages, long timeout) {
+		if (this.queue instanceof MessageGroupQueue) {
+			try {
+				return ((MessageGroupQueue) this.queue).poll(maxMessages, timeout, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return Collections.emptyList();
+			}
+		}
+		else if (this.queue instanceof BlockingQueue) {
+			Message<?> message = doReceive(timeout);
+			if (message == null) {
+				return Collections.emptyList();
+			}
+			List<Message<?>> messages = new ArrayList<>(Math.min(maxMessages, 16)); // NOSONAR magic number
+			messages.add(message);
+			if (maxMessages > 1) {
+				((BlockingQueue<Message<?>>) this.queue).drainTo(messages, maxMessages - 1);
+			}
+			return messages;
+		}
+		else {
+			return super.doReceive(maxMessages, timeout);
+		}
+	}
+
 	@Nullable
 	private Message<?> pollNonBlockingQueue(long timeout) throws InterruptedException {
 		Message<?> message = this.queue.poll();
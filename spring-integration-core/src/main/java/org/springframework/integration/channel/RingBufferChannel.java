@@ -0,0 +1,338 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.integration.core.MessageSelector;
+import org.springframework.integration.support.management.metrics.GaugeFacade;
+import org.springframework.integration.support.management.metrics.MetricsCaptor;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded {@link org.springframework.messaging.PollableChannel} backed by a lock-free
+ * multi-producer/multi-consumer ring buffer with pre-allocated slots.
+ * Unlike the {@link QueueChannel} with its default {@link java.util.concurrent.LinkedBlockingQueue},
+ * no locks are taken and no node is allocated per message.
+ * <p>
+ * The capacity is rounded up to the next power of two.
+ * When the buffer is full (on send) or empty (on receive), the calling thread waits
+ * according to the configured {@link WaitStrategy} until the timeout expires.
+ * <p>
+ * The {@link #purge(MessageSelector)} operation drains the buffer and puts back the
+ * accepted messages, so it is not atomic in regard to concurrent producers and consumers.
+ *
+ * @since 6.0.3
+ */
+public class RingBufferChannel extends AbstractPollableChannel implements QueueChannelOperations {
+
+	private final int capacity;
+
+	private final int mask;
+
+	private final AtomicReferenceArray<Message<?>> buffer;
+
+	private final AtomicLongArray sequences;
+
+	private final AtomicLong producerPosition = new AtomicLong();
+
+	private final AtomicLong consumerPosition = new AtomicLong();
+
+	private final WaitStrategy waitStrategy;
+
+	@Nullable
+	private GaugeFacade sizeGauge;
+
+	@Nullable
+	private GaugeFacade remainingCapacityGauge;
+
+	/**
+	 * Create a channel with the specified capacity and the {@link WaitStrategy#PARK} wait strategy.
+	 * @param capacity the capacity; rounded up to the next power of two.
+	 */
+	public RingBufferChannel(int capacity) {
+		this(capacity, WaitStrategy.PARK);
+	}
+
+	/**
+	 * Create a channel with the specified capacity and wait strategy.
+	 * @param capacity the capacity; rounded up to the next power of two.
+	 * @param waitStrategy the {@link WaitStrategy} for full (send) or empty (receive) buffer.
+	 */
+	public RingBufferChannel(int capacity, WaitStrategy waitStrategy) {
+		Assert.isTrue(capacity > 0, "The capacity must be a positive integer. " +
+				"For a zero-capacity alternative, consider using a 'RendezvousChannel'.");
+		Assert.isTrue(capacity <= (1 << 30), "The capacity must not be greater than 2^30");
+		Assert.notNull(waitStrategy, "'waitStrategy' must not be null");
+		this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		this.mask = this.capacity - 1;
+		this.buffer = new AtomicReferenceArray<>(this.capacity);
+		this.sequences = new AtomicLongArray(this.capacity);
+		for (int i = 0; i < this.capacity; i++) {
+			this.sequences.set(i, i);
+		}
+		this.waitStrategy = waitStrategy;
+	}
+
+	/**
+	 * Return the actual capacity of this channel - the requested one rounded up to the power of two.
+	 * @return the capacity.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	public WaitStrategy getWaitStrategy() {
+		return this.waitStrategy;
+	}
+
+	@Override
+	public void registerMetricsCaptor(MetricsCaptor metricsCaptor) {
+		super.registerMetricsCaptor(metricsCaptor);
+		this.sizeGauge =
+				metricsCaptor.gaugeBuilder("spring.integration.channel.queue.size", this,
+								(channel) -> getQueueSize())
+						.tag("name", getComponentName() == null ? "unknown" : getComponentName())
+						.tag("type", "channel")
+						.description("The size of the queue channel")
+						.build();
+
+		this.remainingCapacityGauge =
+				metricsCaptor.gaugeBuilder("spring.integration.channel.queue.remaining.capacity", this,
+								(channel) -> getRemainingCapacity())
+						.tag("name", getComponentName() == null ? "unknown" : getComponentName())
+						.tag("type", "channel")
+						.description("The remaining capacity of the queue channel")
+						.build();
+	}
+
+	@Override
+	protected boolean doSend(Message<?> message, long timeout) {
+		Assert.notNull(message, "'message' must not be null");
+		if (offer(message)) {
+			return true;
+		}
+		if (timeout == 0) {
+			return false;
+		}
+		long deadline = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+		int counter = 0;
+		do {
+			if (!idle(counter++, deadline)) {
+				return false;
+			}
+		}
+		while (!offer(message));
+		return true;
+	}
+
+	@Override
+	@Nullable
+	protected Message<?> doReceive(long timeout) {
+		Message<?> message = poll();
+		if (message != null || timeout == 0) {
+			return message;
+		}
+		long deadline = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+		int counter = 0;
+		do {
+			if (!idle(counter++, deadline)) {
+				return null;
+			}
+			message = poll();
+		}
+		while (message == null);
+		return message;
+	}
+
+	/**
+	 * Wait according to the {@link WaitStrategy}.
+	 * @param counter the number of unsuccessful attempts so far.
+	 * @param deadline the {@link System#nanoTime()} deadline or {@code 0} for no deadline.
+	 * @return false if the deadline has passed or the thread has been interrupted.
+	 */
+	private boolean idle(int counter, long deadline) {
+		if (Thread.currentThread().isInterrupted() || (deadline != 0 && deadline - System.nanoTime() <= 0)) {
+			return false;
+		}
+		this.waitStrategy.idle(counter);
+		return true;
+	}
+
+	private boolean offer(Message<?> message) {
+		long position = this.producerPosition.get();
+		while (true) {
+			int index = (int) (position & this.mask);
+			long difference = this.sequences.get(index) - position;
+			if (difference == 0) {
+				if (this.producerPosition.compareAndSet(position, position + 1)) {
+					this.buffer.lazySet(index, message);
+					this.sequences.set(index, position + 1);
+					return true;
+				}
+			}
+			else if (difference < 0) {
+				return false;
+			}
+			position = this.producerPosition.get();
+		}
+	}
+
+	@Nullable
+	private Message<?> poll() {
+		long position = this.consumerPosition.get();
+		while (true) {
+			int index = (int) (position & this.mask);
+			long difference = this.sequences.get(index) - (position + 1);
+			if (difference == 0) {
+				if (this.consumerPosition.compareAndSet(position, position + 1)) {
+					Message<?> message = this.buffer.get(index);
+					this.buffer.lazySet(index, null);
+					this.sequences.set(index, position + this.capacity);
+					return message;
+				}
+			}
+			else if (difference < 0) {
+				return null;
+			}
+			position = this.consumerPosition.get();
+		}
+	}
+
+	@Override
+	public List<Message<?>> clear() {
+		List<Message<?>> clearedMessages = new ArrayList<>();
+		Message<?> message;
+		while ((message = poll()) != null) {
+			clearedMessages.add(message);
+		}
+		return clearedMessages;
+	}
+
+	@Override
+	public List<Message<?>> purge(@Nullable MessageSelector selector) {
+		List<Message<?>> drained = clear();
+		if (selector == null) {
+			return drained;
+		}
+		List<Message<?>> purgedMessages = new ArrayList<>();
+		for (Message<?> message : drained) {
+			if (!selector.accept(message) || !offer(message)) {
+				purgedMessages.add(message);
+			}
+		}
+		return purgedMessages;
+	}
+
+	@Override
+	public int getQueueSize() {
+		long consumer = this.consumerPosition.get();
+		long size = this.producerPosition.get() - consumer;
+		return (int) Math.max(0, Math.min(size, this.capacity));
+	}
+
+	@Override
+	public int getRemainingCapacity() {
+		return this.capacity - getQueueSize();
+	}
+
+	@Override
+	public void destroy() {
+		super.destroy();
+		if (this.sizeGauge != null) {
+			this.sizeGauge.remove();
+		}
+		if (this.remainingCapacityGauge != null) {
+			this.remainingCapacityGauge.remove();
+		}
+	}
+
+	/**
+	 * The strategy for a thread to wait on a full (send) or an empty (receive) ring buffer.
+	 */
+	public enum WaitStrategy {
+
+		/**
+		 * Busy-spin with {@link Thread#onSpinWait()}.
+		 * Lowest latency, but burns a CPU core per waiting thread.
+		 */
+		SPIN {
+
+			@Override
+			void idle(int counter) {
+				Thread.onSpinWait();
+			}
+
+		},
+
+		/**
+		 * Spin for a short while and then {@link Thread#yield()}.
+		 */
+		YIELD {
+
+			@Override
+			void idle(int counter) {
+				if (counter < SPIN_TRIES) {
+					Thread.onSpinWait();
+				}
+				else {
+					Thread.yield();
+				}
+			}
+
+		},
+
+		/**
+		 * Spin, then yield and finally {@link LockSupport#parkNanos(long)} for a short period.
+		 * The most CPU-friendly strategy; a good default for polled endpoints.
+		 */
+		PARK {
+
+			@Override
+			void idle(int counter) {
+				if (counter < SPIN_TRIES) {
+					Thread.onSpinWait();
+				}
+				else if (counter < SPIN_TRIES + YIELD_TRIES) {
+					Thread.yield();
+				}
+				else {
+					LockSupport.parkNanos(PARK_NANOS);
+				}
+			}
+
+		};
+
+		private static final int SPIN_TRIES = 100;
+
+		private static final int YIELD_TRIES = 100;
+
+		private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+		abstract void idle(int counter);
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2022 the original author or authors.
+ * Copyright 2015-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,6 +45,8 @@ public final class RegistrationIds {
 
 	public static final int DEFAULT_UUID_ID = 48;
 
+	public static final int DEFAULT_LAYERED_MESSAGEHEADERS_ID = 49;
+
 	private RegistrationIds() {
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -689,8 +689,10 @@ public abstract class AbstractMethodAnnotationPostProcessor<T extends Annotation
 		pollingEndpoint.setAdviceChain(pollerMetadata.getAdviceChain());
 		pollingEndpoint.setMaxMessagesPerPoll(pollerMetadata.getMaxMessagesPerPoll());
 		pollingEndpoint.setErrorHandler(pollerMetadata.getErrorHandler());
+		pollingEndpoint.setAdaptiveConcurrency(pollerMetadata.getAdaptiveConcurrency());
 		if (pollingEndpoint instanceof PollingConsumer) {
 			((PollingConsumer) pollingEndpoint).setReceiveTimeout(pollerMetadata.getReceiveTimeout());
+			((PollingConsumer) pollingEndpoint).setReceiveBatchSize(pollerMetadata.getReceiveBatchSize());
 		}
 		pollingEndpoint.setTransactionSynchronizationFactory(pollerMetadata.getTransactionSynchronizationFactory());
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -393,8 +393,10 @@ public class ConsumerEndpointFactoryBean
 		pollingConsumer.setMaxMessagesPerPoll(this.pollerMetadata.getMaxMessagesPerPoll());
 
 		pollingConsumer.setErrorHandler(this.pollerMetadata.getErrorHandler());
+		pollingConsumer.setAdaptiveConcurrency(this.pollerMetadata.getAdaptiveConcurrency());
 
 		pollingConsumer.setReceiveTimeout(this.pollerMetadata.getReceiveTimeout());
+		pollingConsumer.setReceiveBatchSize(this.pollerMetadata.getReceiveBatchSize());
 		pollingConsumer.setTransactionSynchronizationFactory(
 				this.pollerMetadata.getTransactionSynchronizationFactory());
 		pollingConsumer.setBeanClassLoader(this.beanClassLoader);
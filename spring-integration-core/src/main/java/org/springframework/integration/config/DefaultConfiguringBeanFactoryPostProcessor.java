@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -46,6 +46,7 @@ import org.springframework.integration.channel.PublishSubscribeChannel;
 import org.springframework.integration.config.xml.IntegrationNamespaceUtils;
 import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.integration.context.IntegrationProperties;
+import org.springframework.integration.expression.ExpressionCompilationRegistry;
 import org.springframework.integration.handler.LoggingHandler;
 import org.springframework.integration.handler.support.IntegrationMessageHandlerMethodFactory;
 import org.springframework.integration.json.JsonPathUtils;
@@ -120,6 +121,7 @@ public class DefaultConfiguringBeanFactoryPostProcessor
 		registerTaskScheduler();
 		registerIdGeneratorConfigurer();
 		registerIntegrationProperties();
+		registerExpressionCompilationRegistry();
 		registerBuiltInBeans();
 		registerRoleController();
 		registerMessageBuilderFactory();
@@ -334,6 +336,21 @@ public class DefaultConfiguringBeanFactoryPostProcessor
 		}
 	}
 
+	/**
+	 * Register an {@code integrationExpressionCompilationRegistry} bean if necessary.
+	 */
+	private void registerExpressionCompilationRegistry() {
+		if (!this.beanFactory.containsBean(IntegrationContextUtils.EXPRESSION_COMPILATION_REGISTRY_BEAN_NAME)) {
+			this.registry.registerBeanDefinition(IntegrationContextUtils.EXPRESSION_COMPILATION_REGISTRY_BEAN_NAME,
+					BeanDefinitionBuilder.genericBeanDefinition(ExpressionCompilationRegistry.class,
+									ExpressionCompilationRegistry::new)
+							.addPropertyValue("compilerMode", IntegrationProperties.getExpressionFor(
+									IntegrationProperties.EXPRESSIONS_COMPILER_MODE))
+							.setRole(BeanDefinition.ROLE_INFRASTRUCTURE)
+							.getBeanDefinition());
+		}
+	}
+
 	/**
 	 * Register {@code jsonPath} and {@code xpath} SpEL-function beans, if necessary.
 	 */
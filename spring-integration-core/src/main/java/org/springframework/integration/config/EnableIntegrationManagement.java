@@ -1,5 +1,5 @@
 /*
- * Copyright 2014-2022 the original author or authors.
+ * Copyright 2014-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -74,4 +74,17 @@ public @interface EnableIntegrationManagement {
 	 */
 	String[] observationPatterns() default {};
 
+	/**
+	 * Set to true to record the send (handle) and receive durations of the components
+	 * into built-in lock-free {@link org.springframework.integration.support.management.metrics.LatencyHistogram}s
+	 * instead of the {@link org.springframework.integration.support.management.metrics.MetricsCaptor} timers.
+	 * The histograms are exported to the {@code MeterRegistry} (if present) under the same meter names,
+	 * with the values read when the registry publishes, and exposed via the integration graph
+	 * (including percentiles).
+	 * The value can be a property placeholder.
+	 * @return the value; false by default.
+	 * @since 6.0.3
+	 */
+	String latencyHistograms() default "false";
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2014-2021 the original author or authors.
+ * Copyright 2014-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,4 +45,12 @@ public @interface EnableMessageHistory {
 	 */
 	String[] value() default "*";
 
+	/**
+	 * Track the history only for every Nth message; by default all the messages are tracked.
+	 * @return the sample rate.
+	 * @since 6.0.3
+	 * @see org.springframework.integration.history.MessageHistoryConfigurer#setSampleRate(int)
+	 */
+	int sampleRate() default 1;
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2022 the original author or authors.
+ * Copyright 2015-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -78,6 +78,9 @@ public class IntegrationManagementConfiguration implements ImportAware, Environm
 		configurer.setDefaultLoggingEnabled(
 				Boolean.parseBoolean(this.environment.resolvePlaceholders(
 						(String) this.attributes.get("defaultLoggingEnabled"))));
+		configurer.setLatencyHistograms(
+				Boolean.parseBoolean(this.environment.resolvePlaceholders(
+						(String) this.attributes.get("latencyHistograms"))));
 		configurer.setMetricsCaptorProvider(metricsCaptorProvider);
 		String[] observationPatterns = obtainObservationPatterns();
 		if (observationPatterns.length > 0) {
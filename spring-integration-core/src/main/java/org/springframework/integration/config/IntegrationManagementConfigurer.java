@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2022 the original author or authors.
+ * Copyright 2015-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,7 +18,9 @@ package org.springframework.integration.config;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.micrometer.observation.ObservationRegistry;
 import org.apache.commons.logging.Log;
@@ -35,12 +37,15 @@ import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.integration.core.MessageSource;
 import org.springframework.integration.support.management.IntegrationManagement;
 import org.springframework.integration.support.management.IntegrationManagement.ManagementOverrides;
+import org.springframework.integration.support.management.metrics.LatencyHistogram;
+import org.springframework.integration.support.management.metrics.LatencyHistograms;
 import org.springframework.integration.support.management.metrics.MeterFacade;
 import org.springframework.integration.support.management.metrics.MetricsCaptor;
 import org.springframework.integration.support.utils.PatternMatchUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.PollableChannel;
 import org.springframework.util.Assert;
 
 
@@ -65,8 +70,12 @@ public class IntegrationManagementConfigurer
 	 */
 	public static final String MANAGEMENT_CONFIGURER_NAME = "integrationManagementConfigurer";
 
+	private static final String RECEIVE_DURATION_TIMER_NAME = IntegrationManagement.METER_PREFIX + "receive.duration";
+
 	private final Set<MeterFacade> gauges = new HashSet<>();
 
+	private final Set<MeterFacade> latencyHistogramMeters = ConcurrentHashMap.newKeySet();
+
 	private ApplicationContext applicationContext;
 
 	private String beanName;
@@ -85,6 +94,8 @@ public class IntegrationManagementConfigurer
 
 	private String[] observationPatterns;
 
+	private boolean latencyHistograms;
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
 		this.applicationContext = applicationContext;
@@ -151,6 +162,22 @@ public class IntegrationManagementConfigurer
 		this.observationPatterns = Arrays.copyOf(observationPatterns, observationPatterns.length);
 	}
 
+	/**
+	 * Set to true to register {@link LatencyHistograms} into the {@link IntegrationManagement} components
+	 * in the application context. The send (handle) and receive durations are then recorded into
+	 * lock-free histograms instead of the {@link MetricsCaptor} timers.
+	 * When a {@link MetricsCaptor} is present, the histograms are exported via its
+	 * {@link MetricsCaptor#registerLatencyHistogram(String, String, Map, LatencyHistogram)}
+	 * under the same {@link IntegrationManagement#SEND_TIMER_NAME} as the timers.
+	 * The histograms are also exposed via the
+	 * {@link org.springframework.integration.graph.IntegrationGraphServer}, if present.
+	 * @param latencyHistograms true to record the durations into histograms.
+	 * @since 6.0.3
+	 */
+	public void setLatencyHistograms(boolean latencyHistograms) {
+		this.latencyHistograms = latencyHistograms;
+	}
+
 	@Override
 	public void afterSingletonsInstantiated() {
 		Assert.state(this.applicationContext != null, "'applicationContext' must not be null");
@@ -210,6 +237,13 @@ public class IntegrationManagementConfigurer
 		if (this.metricsCaptor != null) {
 			integrationManagement.registerMetricsCaptor(this.metricsCaptor);
 		}
+		if (this.latencyHistograms && integrationManagement.getLatencyHistograms() == null) {
+			LatencyHistograms histograms = new LatencyHistograms();
+			integrationManagement.registerLatencyHistograms(histograms);
+			if (this.metricsCaptor != null) {
+				registerLatencyHistogramMeters(integrationManagement, histograms);
+			}
+		}
 		if (this.observationRegistry != null &&
 				Boolean.TRUE.equals(PatternMatchUtils.smartMatch(
 						integrationManagement.getComponentName(), this.observationPatterns))) {
@@ -218,6 +252,45 @@ public class IntegrationManagementConfigurer
 		}
 	}
 
+	private void registerLatencyHistogramMeters(IntegrationManagement integrationManagement,
+			LatencyHistograms histograms) {
+
+		String type;
+		if (integrationManagement instanceof MessageChannel) {
+			type = "channel";
+		}
+		else if (integrationManagement instanceof MessageHandler) {
+			type = "handler";
+		}
+		else {
+			return;
+		}
+		String name = integrationManagement.getComponentName() == null
+				? "unknown"
+				: integrationManagement.getComponentName();
+		registerLatencyHistogramMeters(IntegrationManagement.SEND_TIMER_NAME, "Send processing time",
+				Map.of("type", type, "name", name, "result", "success", "exception", "none"),
+				histograms.getSendSuccesses());
+		registerLatencyHistogramMeters(IntegrationManagement.SEND_TIMER_NAME, "Send processing time",
+				Map.of("type", type, "name", name, "result", "failure", "exception", "none"),
+				histograms.getSendFailures());
+		if (integrationManagement instanceof PollableChannel) {
+			registerLatencyHistogramMeters(RECEIVE_DURATION_TIMER_NAME, "Receive time",
+					Map.of("type", type, "name", name, "result", "success"),
+					histograms.getReceiveSuccesses());
+			registerLatencyHistogramMeters(RECEIVE_DURATION_TIMER_NAME, "Receive time",
+					Map.of("type", type, "name", name, "result", "failure"),
+					histograms.getReceiveFailures());
+		}
+	}
+
+	private void registerLatencyHistogramMeters(String timerName, String description, Map<String, String> tags,
+			LatencyHistogram histogram) {
+
+		this.latencyHistogramMeters.addAll(
+				this.metricsCaptor.registerLatencyHistogram(timerName, description, tags, histogram));
+	}
+
 	@Override
 	public Object postProcessAfterInitialization(Object bean, String name) throws BeansException {
 		if (this.singletonsInstantiated && bean instanceof IntegrationManagement integrationManagement) {
@@ -231,6 +304,8 @@ public class IntegrationManagementConfigurer
 		if (event.getApplicationContext().equals(this.applicationContext)) {
 			this.gauges.forEach(MeterFacade::remove);
 			this.gauges.clear();
+			this.latencyHistogramMeters.forEach(MeterFacade::remove);
+			this.latencyHistogramMeters.clear();
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2014-2021 the original author or authors.
+ * Copyright 2014-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.integration.history.MessageHistoryConfigurer;
+import org.springframework.util.StringUtils;
 
 /**
  * Registers the {@link MessageHistoryConfigurer} {@link org.springframework.beans.factory.config.BeanDefinition}
@@ -60,11 +61,17 @@ public class MessageHistoryRegistrar implements ImportBeanDefinitionRegistrar {
 			patterns = (String) componentNamePatterns;
 		}
 
-		BeanDefinition messageHistoryConfigurer =
+		BeanDefinitionBuilder messageHistoryConfigurerBuilder =
 				BeanDefinitionBuilder.genericBeanDefinition(MessageHistoryConfigurer.class,
 								MessageHistoryConfigurer::new)
-						.addPropertyValue("componentNamePatterns", patterns)
-						.getBeanDefinition();
+						.addPropertyValue("componentNamePatterns", patterns);
+
+		Object sampleRate = annotationAttributes.get("sampleRate");
+		if (sampleRate != null && StringUtils.hasText(sampleRate.toString())) {
+			messageHistoryConfigurerBuilder.addPropertyValue("sampleRate", sampleRate);
+		}
+
+		BeanDefinition messageHistoryConfigurer = messageHistoryConfigurerBuilder.getBeanDefinition();
 
 		registry.registerBeanDefinition(IntegrationContextUtils.INTEGRATION_MESSAGE_HISTORY_CONFIGURER_BEAN_NAME,
 				messageHistoryConfigurer);
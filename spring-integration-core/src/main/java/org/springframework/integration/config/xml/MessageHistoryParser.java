@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,6 @@
 
 package org.springframework.integration.config.xml;
 
-import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -50,7 +49,8 @@ public class MessageHistoryParser implements BeanDefinitionParser {
 
 					@Override
 					public Map<String, Object> getAnnotationAttributes(String annotationType) {
-						return Collections.singletonMap("value", element.getAttribute("tracked-components"));
+						return Map.of("value", element.getAttribute("tracked-components"),
+								"sampleRate", element.getAttribute("sample-rate"));
 					}
 
 					@Override
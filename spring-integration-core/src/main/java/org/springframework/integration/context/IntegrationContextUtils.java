@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,7 +22,9 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.integration.expression.ExpressionCompilationRegistry;
 import org.springframework.integration.metadata.MetadataStore;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.util.Assert;
@@ -101,6 +103,12 @@ public abstract class IntegrationContextUtils {
 
 	public static final String LIST_MESSAGE_HANDLER_FACTORY_BEAN_NAME = "integrationListMessageHandlerMethodFactory";
 
+	/**
+	 * The bean name for the {@link ExpressionCompilationRegistry}.
+	 * @since 6.0.3
+	 */
+	public static final String EXPRESSION_COMPILATION_REGISTRY_BEAN_NAME = "integrationExpressionCompilationRegistry";
+
 	/**
 	 * @param beanFactory BeanFactory for lookup, must not be null.
 	 * @return The {@link MetadataStore} bean whose name is "metadataStore".
@@ -156,6 +164,18 @@ public abstract class IntegrationContextUtils {
 				SimpleEvaluationContext.class);
 	}
 
+	/**
+	 * @param beanFactory BeanFactory for lookup, must not be null.
+	 * @return the {@link ExpressionCompilationRegistry} bean whose name is
+	 * {@value #EXPRESSION_COMPILATION_REGISTRY_BEAN_NAME} if available.
+	 * @since 6.0.3
+	 */
+	@Nullable
+	public static ExpressionCompilationRegistry getExpressionCompilationRegistry(BeanFactory beanFactory) {
+		return getBeanOfType(beanFactory, EXPRESSION_COMPILATION_REGISTRY_BEAN_NAME,
+				ExpressionCompilationRegistry.class);
+	}
+
 	private static <T> T getBeanOfType(BeanFactory beanFactory, String beanName, Class<T> type) {
 		Assert.notNull(beanFactory, "BeanFactory must not be null");
 		if (!beanFactory.containsBean(beanName)) {
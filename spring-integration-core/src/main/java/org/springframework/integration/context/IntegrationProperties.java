@@ -1,5 +1,5 @@
 /*
- * Copyright 2014-2022 the original author or authors.
+ * Copyright 2014-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package org.springframework.integration.context;
 import java.util.Arrays;
 import java.util.Properties;
 
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.integration.JavaUtils;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -37,6 +38,8 @@ import org.springframework.util.StringUtils;
  *   <li> {@code spring.integration.endpoints.noAutoStartup=}
  *   <li> {@code spring.integration.channels.error.requireSubscribers=true}
  *   <li> {@code spring.integration.channels.error.ignoreFailures=true}
+ *   <li> {@code spring.integration.methodInvoker.direct=false}
+ *   <li> {@code spring.integration.expressions.compilerMode=OFF}
  * </ul>
  *
  * @author Artem Bilan
@@ -112,6 +115,19 @@ public final class IntegrationProperties {
 	 */
 	public static final String ENDPOINTS_NO_AUTO_STARTUP = INTEGRATION_PROPERTIES_PREFIX + "endpoints.noAutoStartup";
 
+	/**
+	 * Specifies the value of {@link org.springframework.integration.handler.support.MessagingMethodInvokerHelper#setUseDirectInvoker(boolean)}.
+	 * @since 6.0.3
+	 */
+	public static final String METHOD_INVOKER_DIRECT = INTEGRATION_PROPERTIES_PREFIX + "methodInvoker.direct";
+
+	/**
+	 * Specifies the {@link SpelCompilerMode} for the
+	 * {@link org.springframework.integration.expression.ExpressionCompilationRegistry}.
+	 * @since 6.0.3
+	 */
+	public static final String EXPRESSIONS_COMPILER_MODE = INTEGRATION_PROPERTIES_PREFIX + "expressions.compilerMode";
+
 	private static final Properties DEFAULTS;
 
 	private boolean channelsAutoCreate = true;
@@ -132,6 +148,10 @@ public final class IntegrationProperties {
 
 	private String[] noAutoStartupEndpoints = {};
 
+	private boolean methodInvokerDirect;
+
+	private SpelCompilerMode expressionsCompilerMode = SpelCompilerMode.OFF;
+
 	private volatile Properties properties;
 
 	static {
@@ -293,6 +313,45 @@ public final class IntegrationProperties {
 		return Arrays.copyOf(this.noAutoStartupEndpoints, this.noAutoStartupEndpoints.length);
 	}
 
+	/**
+	 * Configure a value for {@link #METHOD_INVOKER_DIRECT} option.
+	 * @param methodInvokerDirect the value for {@link #METHOD_INVOKER_DIRECT} option.
+	 * @since 6.0.3
+	 */
+	public void setMethodInvokerDirect(boolean methodInvokerDirect) {
+		this.methodInvokerDirect = methodInvokerDirect;
+		this.properties = null;
+	}
+
+	/**
+	 * Return the value of {@link #METHOD_INVOKER_DIRECT} option.
+	 * @return the value of {@link #METHOD_INVOKER_DIRECT} option.
+	 * @since 6.0.3
+	 */
+	public boolean isMethodInvokerDirect() {
+		return this.methodInvokerDirect;
+	}
+
+	/**
+	 * Configure a value for {@link #EXPRESSIONS_COMPILER_MODE} option.
+	 * @param expressionsCompilerMode the value for {@link #EXPRESSIONS_COMPILER_MODE} option.
+	 * @since 6.0.3
+	 */
+	public void setExpressionsCompilerMode(SpelCompilerMode expressionsCompilerMode) {
+		Assert.notNull(expressionsCompilerMode, "'expressionsCompilerMode' must not be null");
+		this.expressionsCompilerMode = expressionsCompilerMode;
+		this.properties = null;
+	}
+
+	/**
+	 * Return the value of {@link #EXPRESSIONS_COMPILER_MODE} option.
+	 * @return the value of {@link #EXPRESSIONS_COMPILER_MODE} option.
+	 * @since 6.0.3
+	 */
+	public SpelCompilerMode getExpressionsCompilerMode() {
+		return this.expressionsCompilerMode;
+	}
+
 	/**
 	 * Represent the current instance as a {@link Properties}.
 	 * @return the {@link Properties} representation.
@@ -312,6 +371,8 @@ public final class IntegrationProperties {
 			props.setProperty(READ_ONLY_HEADERS, StringUtils.arrayToCommaDelimitedString(this.readOnlyHeaders));
 			props.setProperty(ENDPOINTS_NO_AUTO_STARTUP,
 					StringUtils.arrayToCommaDelimitedString(this.noAutoStartupEndpoints));
+			props.setProperty(METHOD_INVOKER_DIRECT, "" + this.methodInvokerDirect);
+			props.setProperty(EXPRESSIONS_COMPILER_MODE, this.expressionsCompilerMode.name());
 
 			this.properties = props;
 		}
@@ -348,7 +409,12 @@ public final class IntegrationProperties {
 								StringUtils.commaDelimitedListToStringArray(value)))
 				.acceptIfHasText(properties.getProperty(ENDPOINTS_NO_AUTO_STARTUP),
 						(value) -> integrationProperties.setNoAutoStartupEndpoints(
-								StringUtils.commaDelimitedListToStringArray(value)));
+								StringUtils.commaDelimitedListToStringArray(value)))
+				.acceptIfHasText(properties.getProperty(METHOD_INVOKER_DIRECT),
+						(value) -> integrationProperties.setMethodInvokerDirect(Boolean.parseBoolean(value)))
+				.acceptIfHasText(properties.getProperty(EXPRESSIONS_COMPILER_MODE),
+						(value) -> integrationProperties.setExpressionsCompilerMode(
+								SpelCompilerMode.valueOf(value.trim().toUpperCase())));
 		return integrationProperties;
 	}
 
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.dispatcher;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.util.Assert;
+
+/**
+ * A base {@link LoadBalancingStrategy} which tracks the number of in-flight messages
+ * and an exponentially weighted moving average (EWMA) of the handling latency for each
+ * {@link MessageHandler}. The {@link UnicastingDispatcher} reports the handling of each
+ * message via {@link #handlerStarted(MessageHandler)} and
+ * {@link #handlerFinished(MessageHandler, long, boolean)}.
+ * A failed message is recorded with at least the {@link #setFailurePenalty(Duration) failure penalty}
+ * as its latency, so a handler which fails fast is not preferred.
+ * <p>
+ * Subclasses select the preferred handler; it is returned first by the iterator,
+ * followed by the rest of the handlers for failover.
+ *
+ * @since 6.0.3
+ */
+public abstract class AbstractLoadAwareLoadBalancingStrategy implements LoadBalancingStrategy {
+
+	private final Map<MessageHandler, HandlerLoad> handlerLoads = new ConcurrentHashMap<>();
+
+	private double latencyWeight = 0.2; // NOSONAR
+
+	private long failurePenaltyNanos = Duration.ofSeconds(1).toNanos();
+
+	/**
+	 * Set the weight of the latest latency sample in the moving average,
+	 * between 0 (exclusive) and 1 (inclusive). The higher the value, the faster
+	 * the average reacts to latency changes. Defaults to 0.2.
+	 * @param latencyWeight the weight of the latest latency sample.
+	 */
+	public void setLatencyWeight(double latencyWeight) {
+		Assert.isTrue(latencyWeight > 0 && latencyWeight <= 1, "'latencyWeight' must be in the (0, 1] range");
+		this.latencyWeight = latencyWeight;
+	}
+
+	/**
+	 * Set the minimum latency recorded for a message the handler has failed to handle.
+	 * Defaults to 1 second.
+	 * @param failurePenalty the latency to record for a failure.
+	 */
+	public void setFailurePenalty(Duration failurePenalty) {
+		Assert.notNull(failurePenalty, "'failurePenalty' must not be null");
+		Assert.isTrue(!failurePenalty.isNegative(), "'failurePenalty' must not be negative");
+		this.failurePenaltyNanos = failurePenalty.toNanos();
+	}
+
+	@Override
+	public final Iterator<MessageHandler> getHandlerIterator(Message<?> message, Collection<MessageHandler> handlers) {
+		int size = handlers.size();
+		if (size < 2) {
+			return handlers.iterator();
+		}
+		if (this.handlerLoads.size() > size) {
+			this.handlerLoads.keySet().retainAll(handlers);
+		}
+		MessageHandler[] handlerArray = handlers.toArray(new MessageHandler[size]);
+		int selected = selectHandler(message, handlerArray);
+		if (selected > 0) {
+			MessageHandler first = handlerArray[selected];
+			System.arraycopy(handlerArray, 0, handlerArray, 1, selected);
+			handlerArray[0] = first;
+		}
+		return Arrays.asList(handlerArray).iterator();
+	}
+
+	/**
+	 * Select the index of the handler to try first.
+	 * @param message the message to dispatch.
+	 * @param handlers the current handlers (at least two).
+	 * @return the index of the preferred handler.
+	 */
+	protected abstract int selectHandler(Message<?> message, MessageHandler[] handlers);
+
+	/**
+	 * Called by the dispatcher before the message is handed to the handler.
+	 * @param handler the handler.
+	 */
+	public void handlerStarted(MessageHandler handler) {
+		getHandlerLoad(handler).inFlight.incrementAndGet();
+	}
+
+	/**
+	 * Called by the dispatcher after the handler has returned or thrown an exception.
+	 * @param handler the handler.
+	 * @param latencyNanos the time spent in the handler.
+	 * @param success false if the handler has thrown an exception.
+	 */
+	public void handlerFinished(MessageHandler handler, long latencyNanos, boolean success) {
+		HandlerLoad handlerLoad = getHandlerLoad(handler);
+		handlerLoad.inFlight.decrementAndGet();
+		long latency = success ? latencyNanos : Math.max(latencyNanos, this.failurePenaltyNanos);
+		handlerLoad.recordLatency(latency, this.latencyWeight);
+	}
+
+	/**
+	 * Return the number of messages currently handled by the handler.
+	 * @param handler the handler.
+	 * @return the in-flight count.
+	 */
+	public int getInFlight(MessageHandler handler) {
+		HandlerLoad handlerLoad = this.handlerLoads.get(handler);
+		return handlerLoad != null ? handlerLoad.inFlight.get() : 0;
+	}
+
+	/**
+	 * Return the moving average of the handler latency in nanoseconds;
+	 * 0 if no messages have been handled yet.
+	 * @param handler the handler.
+	 * @return the average latency.
+	 */
+	public double getAverageLatency(MessageHandler handler) {
+		HandlerLoad handlerLoad = this.handlerLoads.get(handler);
+		return handlerLoad != null ? handlerLoad.getLatency() : 0;
+	}
+
+	private HandlerLoad getHandlerLoad(MessageHandler handler) {
+		HandlerLoad handlerLoad = this.handlerLoads.get(handler);
+		if (handlerLoad == null) {
+			handlerLoad = this.handlerLoads.computeIfAbsent(handler, key -> new HandlerLoad());
+		}
+		return handlerLoad;
+	}
+
+	private static final class HandlerLoad {
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+
+		private final AtomicLong latencyBits = new AtomicLong(Double.doubleToRawLongBits(0));
+
+		HandlerLoad() {
+		}
+
+		double getLatency() {
+			return Double.longBitsToDouble(this.latencyBits.get());
+		}
+
+		void recordLatency(long latencyNanos, double weight) {
+			long current;
+			long updated;
+			do {
+				current = this.latencyBits.get();
+				double latency = Double.longBitsToDouble(current);
+				double newLatency = latency == 0 ? latencyNanos : latency + weight * (latencyNanos - latency);
+				updated = Double.doubleToRawLongBits(newLatency);
+			}
+			while (!this.latencyBits.compareAndSet(current, updated));
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,15 @@
 
 package org.springframework.integration.dispatcher;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
@@ -28,7 +34,9 @@ import org.springframework.integration.support.DefaultMessageBuilderFactory;
 import org.springframework.integration.support.MessageBuilderFactory;
 import org.springframework.integration.support.MessageDecorator;
 import org.springframework.integration.support.utils.IntegrationUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHandler;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.support.MessageHandlingRunnable;
@@ -46,6 +54,10 @@ import org.springframework.util.Assert;
  * <p>
  * If the 'requireSubscribers' flag is set to true, the sent message is considered as non-dispatched
  * and rejected to the caller with the {@code "Dispatcher has no subscribers"} {@link MessageDispatchingException}.
+ * <p>
+ * With an Executor, the number of concurrently running handler tasks can be limited via
+ * {@link #setConcurrencyLimit(int)}, and the caller can wait for all the handlers to complete
+ * via {@link #setWaitForAllSubscribers(boolean)}.
  *
  * @author Mark Fisher
  * @author Iwein Fuld
@@ -73,6 +85,10 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 
 	private volatile boolean messageBuilderFactorySet;
 
+	@Nullable
+	private volatile Semaphore concurrencyLimiter;
+
+	private volatile boolean waitForAllSubscribers;
 
 	public BroadcastingDispatcher() {
 		this(null, false);
@@ -124,6 +140,34 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 		this.minSubscribers = minSubscribers;
 	}
 
+	/**
+	 * Limit the number of handler tasks running concurrently on the Executor
+	 * (across all the dispatched messages). When the limit is reached, the caller
+	 * is blocked until one of the running tasks completes.
+	 * Only applied if an Executor is provided.
+	 * By default, there is no limit.
+	 * @param concurrencyLimit the max number of concurrent handler tasks; a non-positive value for no limit.
+	 * @since 6.0.3
+	 */
+	public void setConcurrencyLimit(int concurrencyLimit) {
+		this.concurrencyLimiter = concurrencyLimit > 0 ? new Semaphore(concurrencyLimit) : null;
+	}
+
+	/**
+	 * Specify whether {@link #dispatch(Message)} should block until all the handler tasks
+	 * submitted to the Executor have completed. In this case the handler failures are not
+	 * propagated to the Executor error handler: unless {@link #setIgnoreFailures(boolean) ignoreFailures}
+	 * is true, they are thrown to the caller as an {@link AggregateMessageDeliveryException},
+	 * after all the other handlers have completed; and only successful handlers are counted
+	 * against the {@link #setMinSubscribers(int) minSubscribers}.
+	 * Only applied if an Executor is provided.
+	 * @param waitForAllSubscribers true to wait for all the handlers to complete.
+	 * @since 6.0.3
+	 */
+	public void setWaitForAllSubscribers(boolean waitForAllSubscribers) {
+		this.waitForAllSubscribers = waitForAllSubscribers;
+	}
+
 	public void setMessageHandlingTaskDecorator(MessageHandlingTaskDecorator messageHandlingTaskDecorator) {
 		Assert.notNull(messageHandlingTaskDecorator, "'messageHandlingTaskDecorator' must not be null.");
 		this.messageHandlingTaskDecorator = messageHandlingTaskDecorator;
@@ -158,6 +202,10 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 		if (this.applySequence) {
 			sequenceId = message.getHeaders().getId();
 		}
+		FanOutBarrier barrier = null;
+		if (this.executor != null && this.waitForAllSubscribers && sequenceSize > 0) {
+			barrier = new FanOutBarrier(sequenceSize);
+		}
 		for (MessageHandler handler : handlers) {
 			if (this.applySequence) {
 				messageToSend = getMessageBuilderFactory()
@@ -170,8 +218,7 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 			}
 
 			if (this.executor != null) {
-				Runnable task = createMessageHandlingTask(handler, messageToSend);
-				this.executor.execute(task);
+				executeMessageHandlingTask(handler, messageToSend, barrier);
 				dispatched++;
 			}
 			else {
@@ -180,6 +227,9 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 				}
 			}
 		}
+		if (barrier != null) {
+			dispatched = barrier.await(message, this.ignoreFailures);
+		}
 		if (dispatched == 0 && this.minSubscribers == 0 && logger.isDebugEnabled()) {
 			if (sequenceSize > 0) {
 				logger.debug("No subscribers received message, default behavior is ignore");
@@ -191,15 +241,74 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 		return dispatched >= this.minSubscribers;
 	}
 
+	private void executeMessageHandlingTask(MessageHandler handler, Message<?> message,
+			@Nullable FanOutBarrier barrier) {
+
+		Runnable task = createMessageHandlingTask(handler, message, barrier);
+		Semaphore limiter = this.concurrencyLimiter;
+		if (limiter == null && barrier == null) {
+			this.executor.execute(task);
+			return;
+		}
+		if (limiter != null) {
+			try {
+				limiter.acquire();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new MessageDeliveryException(message, "Interrupted while waiting for a concurrency permit", ex);
+			}
+		}
+		Runnable limitedTask = () -> {
+			try {
+				task.run();
+			}
+			catch (RuntimeException ex) {
+				if (barrier != null) {
+					barrier.failures.add(ex);
+				}
+				else {
+					throw ex;
+				}
+			}
+			finally {
+				if (limiter != null) {
+					limiter.release();
+				}
+				if (barrier != null) {
+					barrier.latch.countDown();
+				}
+			}
+		};
+		try {
+			this.executor.execute(limitedTask);
+		}
+		catch (RuntimeException ex) {
+			if (limiter != null) {
+				limiter.release();
+			}
+			if (barrier != null) {
+				barrier.failures.add(ex);
+				barrier.latch.countDown();
+			}
+			else {
+				throw ex;
+			}
+		}
+	}
+
+	private Runnable createMessageHandlingTask(final MessageHandler handler, final Message<?> message,
+			@Nullable FanOutBarrier barrier) {
 
-	private Runnable createMessageHandlingTask(final MessageHandler handler, final Message<?> message) {
 		MessageHandlingRunnable task = new MessageHandlingRunnable() {
 
 			private final MessageHandler delegate = message1 -> invokeHandler(handler, message1);
 
 			@Override
 			public void run() {
-				invokeHandler(handler, message);
+				if (invokeHandler(handler, message) && barrier != null) {
+					barrier.succeeded.incrementAndGet();
+				}
 			}
 
 			@Override
@@ -236,4 +345,37 @@ public class BroadcastingDispatcher extends AbstractDispatcher implements BeanFa
 		}
 	}
 
+	/**
+	 * The completion barrier for handler tasks of a single dispatched message.
+	 */
+	private static final class FanOutBarrier {
+
+		private final CountDownLatch latch;
+
+		private final AtomicInteger succeeded = new AtomicInteger();
+
+		private final Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+
+		FanOutBarrier(int tasks) {
+			this.latch = new CountDownLatch(tasks);
+		}
+
+		int await(Message<?> message, boolean ignoreFailures) {
+			try {
+				this.latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new MessageDeliveryException(message, "Interrupted while waiting for subscribers", ex);
+			}
+			if (!ignoreFailures && !this.failures.isEmpty()) {
+				throw new AggregateMessageDeliveryException(message,
+						"Failed to deliver message to " + this.failures.size() + " subscriber(s)",
+						new ArrayList<>(this.failures));
+			}
+			return this.succeeded.get();
+		}
+
+	}
+
 }
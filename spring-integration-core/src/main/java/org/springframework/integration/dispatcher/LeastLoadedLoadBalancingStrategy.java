@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.dispatcher;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+
+/**
+ * A least-outstanding-requests {@link LoadBalancingStrategy}: the handler with the
+ * fewest in-flight messages is tried first; ties are resolved in favor of the handler
+ * with the lower average latency, then in a round-robin fashion.
+ * Suitable for an {@link UnicastingDispatcher} with an executor, where several messages
+ * can be handled concurrently.
+ *
+ * @since 6.0.3
+ */
+public class LeastLoadedLoadBalancingStrategy extends AbstractLoadAwareLoadBalancingStrategy {
+
+	private final AtomicInteger startIndex = new AtomicInteger();
+
+	@Override
+	protected int selectHandler(Message<?> message, MessageHandler[] handlers) {
+		int size = handlers.length;
+		int start = Math.floorMod(this.startIndex.getAndIncrement(), size);
+		int selected = start;
+		int minInFlight = getInFlight(handlers[start]);
+		double minLatency = getAverageLatency(handlers[start]);
+		for (int i = 1; i < size; i++) {
+			int index = (start + i) % size;
+			int inFlight = getInFlight(handlers[index]);
+			if (inFlight < minInFlight) {
+				selected = index;
+				minInFlight = inFlight;
+				minLatency = getAverageLatency(handlers[index]);
+			}
+			else if (inFlight == minInFlight) {
+				double latency = getAverageLatency(handlers[index]);
+				if (latency < minLatency) {
+					selected = index;
+					minLatency = latency;
+				}
+			}
+		}
+		return selected;
+	}
+
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.dispatcher;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.integration.MessageDispatchingException;
+import org.springframework.integration.util.CallerBlocksPolicy;
+import org.springframework.integration.util.ErrorHandlingTaskExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * An {@link AbstractDispatcher} implementation for distributing messages to
+ * dedicated single-threaded partitions (lanes) according to a partition key.
+ * <p>
+ * Each partition is a {@link UnicastingDispatcher} over its own single-threaded executor
+ * with a bounded queue, so messages with the same key are handled strictly in the order
+ * they have been sent, while messages with different keys may be handled in parallel.
+ * When the queue of a partition is full, the sending thread blocks until there is room
+ * or the {@link #setSendTimeout(long) send timeout} expires.
+ * <p>
+ * The partitions are created lazily on the first dispatch and are released
+ * via {@link #shutdown()}; no more messages are accepted afterwards.
+ *
+ * @since 6.0.3
+ */
+public class PartitionedDispatcher extends AbstractDispatcher {
+
+	private final Lock lock = new ReentrantLock();
+
+	private final int partitionCount;
+
+	private final Function<Message<?>, Object> partitionKeyFunction;
+
+	private ThreadFactory threadFactory = new CustomizableThreadFactory("partition-thread-");
+
+	private int queueCapacity = Integer.MAX_VALUE;
+
+	private long sendTimeout = Long.MAX_VALUE;
+
+	private ErrorHandler errorHandler = TaskUtils.LOG_AND_SUPPRESS_ERROR_HANDLER;
+
+	private MessageHandlingTaskDecorator messageHandlingTaskDecorator = task -> task;
+
+	@Nullable
+	private volatile ThreadPoolExecutor[] executors;
+
+	@Nullable
+	private volatile UnicastingDispatcher[] partitions;
+
+	private volatile boolean shutdown;
+
+	/**
+	 * Instantiate a dispatcher for the provided number of partitions.
+	 * @param partitionCount the number of partitions.
+	 * @param partitionKeyFunction the function to extract a partition key from a message.
+	 */
+	public PartitionedDispatcher(int partitionCount, Function<Message<?>, Object> partitionKeyFunction) {
+		Assert.isTrue(partitionCount > 0, "'partitionCount' must be greater than 0");
+		Assert.notNull(partitionKeyFunction, "'partitionKeyFunction' must not be null");
+		this.partitionCount = partitionCount;
+		this.partitionKeyFunction = partitionKeyFunction;
+	}
+
+	/**
+	 * Set a {@link ThreadFactory} for the partition threads.
+	 * Defaults to the {@link CustomizableThreadFactory} with a {@code partition-thread-} prefix.
+	 * @param threadFactory the {@link ThreadFactory} to use.
+	 */
+	public void setThreadFactory(ThreadFactory threadFactory) {
+		Assert.notNull(threadFactory, "'threadFactory' must not be null");
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Set the capacity of the queue in front of each partition thread.
+	 * Defaults to {@link Integer#MAX_VALUE}.
+	 * @param queueCapacity the per-partition queue capacity.
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		Assert.isTrue(queueCapacity > 0, "'queueCapacity' must be greater than 0");
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Set the max time in milliseconds to block a sender when the queue of the target
+	 * partition is full. A {@link java.util.concurrent.RejectedExecutionException}
+	 * is thrown when the timeout expires. Defaults to blocking indefinitely.
+	 * @param sendTimeout the timeout to wait for room in the partition queue.
+	 */
+	public void setSendTimeout(long sendTimeout) {
+		this.sendTimeout = sendTimeout;
+	}
+
+	/**
+	 * Set an {@link ErrorHandler} for exceptions thrown from message handlers
+	 * on the partition threads.
+	 * Defaults to {@link TaskUtils#LOG_AND_SUPPRESS_ERROR_HANDLER}.
+	 * @param errorHandler the {@link ErrorHandler} to use.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		Assert.notNull(errorHandler, "'errorHandler' must not be null");
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Set a {@link MessageHandlingTaskDecorator} for the tasks handed to the partition threads.
+	 * @param messageHandlingTaskDecorator the decorator to use.
+	 */
+	public void setMessageHandlingTaskDecorator(MessageHandlingTaskDecorator messageHandlingTaskDecorator) {
+		Assert.notNull(messageHandlingTaskDecorator, "'messageHandlingTaskDecorator' must not be null");
+		this.messageHandlingTaskDecorator = messageHandlingTaskDecorator;
+	}
+
+	public int getPartitionCount() {
+		return this.partitionCount;
+	}
+
+	/**
+	 * Return the number of messages waiting in the queue of the provided partition.
+	 * @param partition the partition index.
+	 * @return the queue size, or 0 if partitions have not been started yet.
+	 */
+	public int getQueueSize(int partition) {
+		Assert.isTrue(partition >= 0 && partition < this.partitionCount, "'partition' is out of range");
+		ThreadPoolExecutor[] partitionExecutors = this.executors;
+		return partitionExecutors != null ? partitionExecutors[partition].getQueue().size() : 0;
+	}
+
+	@Override
+	public boolean addHandler(MessageHandler handler) {
+		this.lock.lock();
+		try {
+			boolean added = super.addHandler(handler);
+			UnicastingDispatcher[] dispatchers = this.partitions;
+			if (dispatchers != null) {
+				for (UnicastingDispatcher partition : dispatchers) {
+					partition.addHandler(handler);
+				}
+			}
+			return added;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean removeHandler(MessageHandler handler) {
+		this.lock.lock();
+		try {
+			boolean removed = super.removeHandler(handler);
+			UnicastingDispatcher[] dispatchers = this.partitions;
+			if (dispatchers != null) {
+				for (UnicastingDispatcher partition : dispatchers) {
+					partition.removeHandler(handler);
+				}
+			}
+			return removed;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean dispatch(Message<?> message) {
+		return populatePartitionsIfNecessary(message)[partitionFor(message)].dispatch(message);
+	}
+
+	/**
+	 * Shutdown the partition threads.
+	 * The already queued messages are still handled, but no new messages are accepted:
+	 * a {@link MessageDispatchingException} is thrown from {@link #dispatch(Message)} afterwards.
+	 */
+	public void shutdown() {
+		this.lock.lock();
+		try {
+			this.shutdown = true;
+			ThreadPoolExecutor[] partitionExecutors = this.executors;
+			this.partitions = null;
+			this.executors = null;
+			if (partitionExecutors != null) {
+				for (ThreadPoolExecutor executor : partitionExecutors) {
+					executor.shutdown();
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private int partitionFor(Message<?> message) {
+		Object partitionKey = this.partitionKeyFunction.apply(message);
+		return partitionKey == null ? 0 : Math.floorMod(partitionKey.hashCode(), this.partitionCount);
+	}
+
+	private UnicastingDispatcher[] populatePartitionsIfNecessary(Message<?> message) {
+		UnicastingDispatcher[] dispatchers = this.partitions;
+		if (dispatchers == null) {
+			this.lock.lock();
+			try {
+				if (this.shutdown) {
+					throw new MessageDispatchingException(message, "The dispatcher has been shut down");
+				}
+				dispatchers = this.partitions;
+				if (dispatchers == null) {
+					ThreadPoolExecutor[] partitionExecutors = new ThreadPoolExecutor[this.partitionCount];
+					dispatchers = new UnicastingDispatcher[this.partitionCount];
+					for (int i = 0; i < this.partitionCount; i++) {
+						partitionExecutors[i] =
+								new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+										new LinkedBlockingQueue<>(this.queueCapacity), this.threadFactory,
+										new CallerBlocksPolicy(this.sendTimeout));
+						UnicastingDispatcher partition =
+								new UnicastingDispatcher(
+										new ErrorHandlingTaskExecutor(partitionExecutors[i], this.errorHandler));
+						partition.setLoadBalancingStrategy(new RoundRobinLoadBalancingStrategy());
+						partition.setMessageHandlingTaskDecorator(this.messageHandlingTaskDecorator);
+						getHandlers().forEach(partition::addHandler);
+						dispatchers[i] = partition;
+					}
+					this.executors = partitionExecutors;
+					this.partitions = dispatchers;
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+		return dispatchers;
+	}
+
+}
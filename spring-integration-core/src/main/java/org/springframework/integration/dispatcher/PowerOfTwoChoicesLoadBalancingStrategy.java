@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.dispatcher;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+
+/**
+ * A power-of-two-random-choices {@link LoadBalancingStrategy}: two distinct handlers
+ * are picked at random and the one with the lower cost is tried first.
+ * The cost is the average latency multiplied by the number of in-flight messages plus one,
+ * so a slow handler is avoided even when it is not busy at the moment.
+ * If any of the two handlers has no latency statistics yet, the one with fewer in-flight
+ * messages is preferred (the one without statistics on ties, so each handler is probed).
+ * <p>
+ * Compared to {@link LeastLoadedLoadBalancingStrategy}, it does not scan all the handlers
+ * and avoids herding on the same "best" handler when the statistics are stale.
+ *
+ * @since 6.0.3
+ */
+public class PowerOfTwoChoicesLoadBalancingStrategy extends AbstractLoadAwareLoadBalancingStrategy {
+
+	@Override
+	protected int selectHandler(Message<?> message, MessageHandler[] handlers) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int size = handlers.length;
+		int first = random.nextInt(size);
+		int second = random.nextInt(size - 1);
+		if (second >= first) {
+			second++;
+		}
+		return isPreferred(handlers[second], handlers[first]) ? second : first;
+	}
+
+	private boolean isPreferred(MessageHandler candidate, MessageHandler other) {
+		double candidateLatency = getAverageLatency(candidate);
+		double otherLatency = getAverageLatency(other);
+		int candidateInFlight = getInFlight(candidate);
+		int otherInFlight = getInFlight(other);
+		if (candidateLatency == 0 || otherLatency == 0) {
+			return candidateInFlight < otherInFlight || (candidateInFlight == otherInFlight && candidateLatency == 0);
+		}
+		return candidateLatency * (candidateInFlight + 1) < otherLatency * (otherInFlight + 1);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -142,7 +142,7 @@ public class UnicastingDispatcher extends AbstractDispatcher {
 		while (!success && handlerIterator.hasNext()) {
 			MessageHandler handler = handlerIterator.next();
 			try {
-				handler.handleMessage(message);
+				handleMessage(handler, message);
 				success = true; // we have a winner.
 			}
 			catch (Exception ex) {
@@ -163,6 +163,24 @@ public class UnicastingDispatcher extends AbstractDispatcher {
 		return success;
 	}
 
+	private void handleMessage(MessageHandler handler, Message<?> message) {
+		if (this.loadBalancingStrategy instanceof AbstractLoadAwareLoadBalancingStrategy loadAwareStrategy) {
+			loadAwareStrategy.handlerStarted(handler);
+			long start = System.nanoTime();
+			boolean success = false;
+			try {
+				handler.handleMessage(message);
+				success = true;
+			}
+			finally {
+				loadAwareStrategy.handlerFinished(handler, System.nanoTime() - start, success);
+			}
+		}
+		else {
+			handler.handleMessage(message);
+		}
+	}
+
 	/**
 	 * Returns the iterator that will be used to loop over the handlers.
 	 * Delegates to a {@link LoadBalancingStrategy} if available. Otherwise,
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2021 the original author or authors.
+ * Copyright 2016-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -73,6 +73,22 @@ public final class Channels {
 		return MessageChannels.queue(id, messageGroupStore, groupId);
 	}
 
+	public RingBufferChannelSpec ringBuffer(int capacity) {
+		return MessageChannels.ringBuffer(capacity);
+	}
+
+	public RingBufferChannelSpec ringBuffer(String id, int capacity) {
+		return MessageChannels.ringBuffer(id, capacity);
+	}
+
+	public PartitionedChannelSpec partitioned(int partitionCount) {
+		return MessageChannels.partitioned(partitionCount);
+	}
+
+	public PartitionedChannelSpec partitioned(String id, int partitionCount) {
+		return MessageChannels.partitioned(id, partitionCount);
+	}
+
 	public PriorityChannelSpec priority() {
 		return MessageChannels.priority();
 	}
@@ -138,6 +154,14 @@ public final class Channels {
 		return MessageChannels.executor(id, executor);
 	}
 
+	public ExecutorChannelSpec virtualThreadExecutor(int concurrencyLimit) {
+		return MessageChannels.virtualThreadExecutor(concurrencyLimit);
+	}
+
+	public ExecutorChannelSpec virtualThreadExecutor(String id, int concurrencyLimit) {
+		return MessageChannels.virtualThreadExecutor(id, concurrencyLimit);
+	}
+
 
 	public FluxMessageChannelSpec flux() {
 		return MessageChannels.flux();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2021 the original author or authors.
+ * Copyright 2016-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,7 @@ import org.springframework.integration.store.MessageGroupStore;
 import org.springframework.integration.transaction.TransactionInterceptorBuilder;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.transaction.TransactionManager;
 import org.springframework.transaction.interceptor.TransactionInterceptor;
 import org.springframework.util.Assert;
@@ -207,6 +208,20 @@ public class DelayerEndpointSpec extends ConsumerEndpointSpec<DelayerEndpointSpe
 						.build());
 	}
 
+	/**
+	 * Set the {@link TaskScheduler} for the endpoint and for the delayed messages release.
+	 * @param taskScheduler the task scheduler.
+	 * @return the endpoint spec.
+	 * @since 6.0.3
+	 * @see DelayHandler#setTaskScheduler(TaskScheduler)
+	 */
+	@Override
+	public DelayerEndpointSpec taskScheduler(TaskScheduler taskScheduler) {
+		super.taskScheduler(taskScheduler);
+		this.handler.setTaskScheduler(taskScheduler);
+		return this;
+	}
+
 	/**
 	 * Specify the function to determine delay value against {@link Message}.
 	 * Typically used with a Java 8 Lambda expression:
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2019 the original author or authors.
+ * Copyright 2016-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,9 @@
 package org.springframework.integration.dsl;
 
 import org.springframework.integration.channel.AbstractMessageChannel;
+import org.springframework.integration.dispatcher.LeastLoadedLoadBalancingStrategy;
 import org.springframework.integration.dispatcher.LoadBalancingStrategy;
+import org.springframework.integration.dispatcher.PowerOfTwoChoicesLoadBalancingStrategy;
 import org.springframework.integration.dispatcher.RoundRobinLoadBalancingStrategy;
 
 /**
@@ -46,6 +48,27 @@ public abstract class LoadBalancingChannelSpec<S extends MessageChannelSpec<S, C
 		return _this();
 	}
 
+	/**
+	 * Use a {@link LeastLoadedLoadBalancingStrategy}: dispatch to the subscriber with
+	 * the fewest in-flight messages (and the lowest average latency on ties).
+	 * @return the spec.
+	 * @since 6.0.3
+	 */
+	public S leastLoaded() {
+		return loadBalancer(new LeastLoadedLoadBalancingStrategy());
+	}
+
+	/**
+	 * Use a {@link PowerOfTwoChoicesLoadBalancingStrategy}: dispatch to the less loaded
+	 * of two randomly chosen subscribers, according to their in-flight messages and
+	 * average latency.
+	 * @return the spec.
+	 * @since 6.0.3
+	 */
+	public S powerOfTwoChoices() {
+		return loadBalancer(new PowerOfTwoChoicesLoadBalancingStrategy());
+	}
+
 	public S failover(Boolean failoverToSet) {
 		this.failover = failoverToSet;
 		return _this();
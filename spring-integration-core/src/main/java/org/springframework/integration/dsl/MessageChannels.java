@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2021 the original author or authors.
+ * Copyright 2016-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.util.concurrent.Executor;
 
 import org.springframework.integration.store.ChannelMessageStore;
 import org.springframework.integration.store.PriorityCapableChannelMessageStore;
+import org.springframework.integration.util.VirtualThreadPerTaskExecutor;
 import org.springframework.messaging.Message;
 
 /**
@@ -73,6 +74,52 @@ public final class MessageChannels {
 		return queue(messageGroupStore, groupId).id(id);
 	}
 
+	/**
+	 * Create a {@link RingBufferChannelSpec} for a lock-free bounded
+	 * {@link org.springframework.integration.channel.RingBufferChannel}.
+	 * @param capacity the capacity; rounded up to the next power of two.
+	 * @return the {@link RingBufferChannelSpec}.
+	 * @since 6.0.3
+	 */
+	public static RingBufferChannelSpec ringBuffer(int capacity) {
+		return new RingBufferChannelSpec(capacity);
+	}
+
+	/**
+	 * Create a {@link RingBufferChannelSpec} for a lock-free bounded
+	 * {@link org.springframework.integration.channel.RingBufferChannel}.
+	 * @param id the channel bean name.
+	 * @param capacity the capacity; rounded up to the next power of two.
+	 * @return the {@link RingBufferChannelSpec}.
+	 * @since 6.0.3
+	 */
+	public static RingBufferChannelSpec ringBuffer(String id, int capacity) {
+		return ringBuffer(capacity).id(id);
+	}
+
+	/**
+	 * Create a {@link PartitionedChannelSpec} for a
+	 * {@link org.springframework.integration.channel.PartitionedChannel}.
+	 * @param partitionCount the number of partitions (single-threaded lanes).
+	 * @return the {@link PartitionedChannelSpec}.
+	 * @since 6.0.3
+	 */
+	public static PartitionedChannelSpec partitioned(int partitionCount) {
+		return new PartitionedChannelSpec(partitionCount);
+	}
+
+	/**
+	 * Create a {@link PartitionedChannelSpec} for a
+	 * {@link org.springframework.integration.channel.PartitionedChannel}.
+	 * @param id the channel bean name.
+	 * @param partitionCount the number of partitions (single-threaded lanes).
+	 * @return the {@link PartitionedChannelSpec}.
+	 * @since 6.0.3
+	 */
+	public static PartitionedChannelSpec partitioned(String id, int partitionCount) {
+		return partitioned(partitionCount).id(id);
+	}
+
 	public static ExecutorChannelSpec executor(Executor executor) {
 		return new ExecutorChannelSpec(executor);
 	}
@@ -81,6 +128,40 @@ public final class MessageChannels {
 		return executor(executor).id(id);
 	}
 
+	/**
+	 * Create an {@link ExecutorChannelSpec} based on a {@link VirtualThreadPerTaskExecutor}:
+	 * each message is handled on its own virtual thread (if supported by the runtime).
+	 * When the limit is reached, the message is rejected with a
+	 * {@link org.springframework.messaging.MessageDeliveryException}; configure a
+	 * {@link VirtualThreadPerTaskExecutor} with an {@code acquireTimeout} and use
+	 * {@link #executor(Executor)} to block the sender instead.
+	 * @param concurrencyLimit the max number of messages handled concurrently;
+	 * {@link VirtualThreadPerTaskExecutor#UNBOUNDED_CONCURRENCY} for no limit.
+	 * @return the {@link ExecutorChannelSpec}.
+	 * @since 6.0.3
+	 */
+	public static ExecutorChannelSpec virtualThreadExecutor(int concurrencyLimit) {
+		return executor(new VirtualThreadPerTaskExecutor("virtual-channel-", concurrencyLimit));
+	}
+
+	/**
+	 * Create an {@link ExecutorChannelSpec} based on a {@link VirtualThreadPerTaskExecutor}:
+	 * each message is handled on its own virtual thread (if supported by the runtime).
+	 * When the limit is reached, the message is rejected with a
+	 * {@link org.springframework.messaging.MessageDeliveryException}; configure a
+	 * {@link VirtualThreadPerTaskExecutor} with an {@code acquireTimeout} and use
+	 * {@link #executor(Executor)} to block the sender instead.
+	 * The channel bean name is used as a thread name prefix.
+	 * @param id the channel bean name.
+	 * @param concurrencyLimit the max number of messages handled concurrently;
+	 * {@link VirtualThreadPerTaskExecutor#UNBOUNDED_CONCURRENCY} for no limit.
+	 * @return the {@link ExecutorChannelSpec}.
+	 * @since 6.0.3
+	 */
+	public static ExecutorChannelSpec virtualThreadExecutor(String id, int concurrencyLimit) {
+		return executor(id, new VirtualThreadPerTaskExecutor(id + "-", concurrencyLimit));
+	}
+
 	public static RendezvousChannelSpec rendezvous() {
 		return new RendezvousChannelSpec();
 	}
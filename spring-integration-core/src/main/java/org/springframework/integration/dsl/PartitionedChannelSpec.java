@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.dsl;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+import org.springframework.integration.channel.PartitionedChannel;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link MessageChannelSpec} for a {@link PartitionedChannel}.
+ *
+ * @since 6.0.3
+ */
+public class PartitionedChannelSpec extends MessageChannelSpec<PartitionedChannelSpec, PartitionedChannel> {
+
+	private final int partitionCount;
+
+	@Nullable
+	private Function<Message<?>, Object> partitionKeyFunction;
+
+	@Nullable
+	private ThreadFactory threadFactory;
+
+	@Nullable
+	private Integer queueCapacity;
+
+	@Nullable
+	private Long sendTimeout;
+
+	protected PartitionedChannelSpec(int partitionCount) {
+		this.partitionCount = partitionCount;
+	}
+
+	/**
+	 * Set a function to resolve a partition key from a message.
+	 * Defaults to the {@code correlationId} header.
+	 * @param partitionKeyFunction the function to use.
+	 * @return the spec.
+	 */
+	public PartitionedChannelSpec partitionKey(Function<Message<?>, Object> partitionKeyFunction) {
+		Assert.notNull(partitionKeyFunction, "'partitionKeyFunction' must not be null");
+		this.partitionKeyFunction = partitionKeyFunction;
+		return this;
+	}
+
+	/**
+	 * Set a {@link ThreadFactory} for the partition threads.
+	 * @param threadFactory the {@link ThreadFactory} to use.
+	 * @return the spec.
+	 * @see PartitionedChannel#setThreadFactory(ThreadFactory)
+	 */
+	public PartitionedChannelSpec threadFactory(ThreadFactory threadFactory) {
+		this.threadFactory = threadFactory;
+		return this;
+	}
+
+	/**
+	 * Set the capacity of the queue in front of each partition thread.
+	 * @param queueCapacity the per-partition queue capacity.
+	 * @return the spec.
+	 * @see PartitionedChannel#setQueueCapacity(int)
+	 */
+	public PartitionedChannelSpec queueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+		return this;
+	}
+
+	/**
+	 * Set the max time in milliseconds to block a sender when the partition queue is full.
+	 * @param sendTimeout the timeout to wait for room in the partition queue.
+	 * @return the spec.
+	 * @see PartitionedChannel#setSendTimeout(long)
+	 */
+	public PartitionedChannelSpec sendTimeout(long sendTimeout) {
+		this.sendTimeout = sendTimeout;
+		return this;
+	}
+
+	@Override
+	protected PartitionedChannel doGet() {
+		if (this.partitionKeyFunction != null) {
+			this.channel = new PartitionedChannel(this.partitionCount, this.partitionKeyFunction);
+		}
+		else {
+			this.channel = new PartitionedChannel(this.partitionCount);
+		}
+		if (this.threadFactory != null) {
+			this.channel.setThreadFactory(this.threadFactory);
+		}
+		if (this.queueCapacity != null) {
+			this.channel.setQueueCapacity(this.queueCapacity);
+		}
+		if (this.sendTimeout != null) {
+			this.channel.setSendTimeout(this.sendTimeout);
+		}
+		return super.doGet();
+	}
+
+}
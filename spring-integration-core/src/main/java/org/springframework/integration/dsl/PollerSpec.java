@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2020 the original author or authors.
+ * Copyright 2016-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,9 +26,11 @@ import java.util.concurrent.Executor;
 import org.aopalliance.aop.Advice;
 
 import org.springframework.integration.channel.MessagePublishingErrorHandler;
+import org.springframework.integration.scheduling.AdaptivePollingConcurrency;
 import org.springframework.integration.scheduling.PollerMetadata;
 import org.springframework.integration.transaction.TransactionInterceptorBuilder;
 import org.springframework.integration.transaction.TransactionSynchronizationFactory;
+import org.springframework.integration.util.VirtualThreadPerTaskExecutor;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.scheduling.Trigger;
 import org.springframework.transaction.TransactionManager;
@@ -132,6 +134,22 @@ public final class PollerSpec extends IntegrationComponentSpec<PollerSpec, Polle
 		return this;
 	}
 
+	/**
+	 * Specify the max number of messages to drain from a
+	 * {@link org.springframework.messaging.PollableChannel} in one receive operation.
+	 * All the messages of such a batch are handled in the same poll task invocation,
+	 * e.g. in a single transaction.
+	 * Defaults to {@code 1}.
+	 * @param receiveBatchSize the max number of messages per receive operation.
+	 * @return the spec.
+	 * @since 6.0.3
+	 * @see org.springframework.integration.endpoint.PollingConsumer#setReceiveBatchSize(int)
+	 */
+	public PollerSpec receiveBatchSize(int receiveBatchSize) {
+		this.target.setReceiveBatchSize(receiveBatchSize);
+		return this;
+	}
+
 	/**
 	 * Specify AOP {@link Advice}s for the {@code pollingTask}.
 	 * @param advice the {@link Advice}s to use.
@@ -189,6 +207,45 @@ public final class PollerSpec extends IntegrationComponentSpec<PollerSpec, Polle
 		return this;
 	}
 
+	/**
+	 * Perform the {@code pollingTask} on a new virtual thread for each poll
+	 * (if supported by the runtime), with the provided limit for concurrent polls.
+	 * When the limit is reached, the poll is skipped instead of blocking the trigger thread.
+	 * @param concurrencyLimit the max number of polling tasks running concurrently;
+	 * {@link VirtualThreadPerTaskExecutor#UNBOUNDED_CONCURRENCY} for no limit.
+	 * @return the spec.
+	 * @since 6.0.3
+	 * @see VirtualThreadPerTaskExecutor
+	 */
+	public PollerSpec virtualThreads(int concurrencyLimit) {
+		return taskExecutor(new VirtualThreadPerTaskExecutor("poller-virtual-", concurrencyLimit));
+	}
+
+	/**
+	 * Scale the number of concurrent polling tasks up to the {@code maxConcurrency}
+	 * while polls keep returning full batches, and back off exponentially when the
+	 * source is empty. Requires an asynchronous {@link #taskExecutor(Executor)} if
+	 * {@code maxConcurrency} is greater than 1.
+	 * @param maxConcurrency the max number of concurrent polling tasks.
+	 * @return the spec.
+	 * @since 6.0.3
+	 * @see #adaptiveConcurrency(AdaptivePollingConcurrency)
+	 */
+	public PollerSpec adaptiveConcurrency(int maxConcurrency) {
+		return adaptiveConcurrency(new AdaptivePollingConcurrency(maxConcurrency));
+	}
+
+	/**
+	 * Configure an {@link AdaptivePollingConcurrency} for the polling endpoint.
+	 * @param adaptiveConcurrency the {@link AdaptivePollingConcurrency} settings.
+	 * @return the spec.
+	 * @since 6.0.3
+	 */
+	public PollerSpec adaptiveConcurrency(AdaptivePollingConcurrency adaptiveConcurrency) {
+		this.target.setAdaptiveConcurrency(adaptiveConcurrency);
+		return this;
+	}
+
 	public PollerSpec sendTimeout(long sendTimeout) {
 		this.target.setSendTimeout(sendTimeout);
 		return this;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2021 the original author or authors.
+ * Copyright 2016-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -74,4 +74,28 @@ public class PublishSubscribeChannelSpec<S extends PublishSubscribeChannelSpec<S
 		return _this();
 	}
 
+	/**
+	 * Limit the number of subscriber tasks running concurrently on the provided Executor.
+	 * @param concurrencyLimit the max number of concurrent subscriber tasks.
+	 * @return the spec.
+	 * @since 6.0.3
+	 * @see PublishSubscribeChannel#setConcurrencyLimit(int)
+	 */
+	public S concurrencyLimit(int concurrencyLimit) {
+		this.channel.setConcurrencyLimit(concurrencyLimit);
+		return _this();
+	}
+
+	/**
+	 * Block the sender until all the subscribers have handled the message on the provided Executor.
+	 * @param waitForAllSubscribers true to wait for all the subscribers.
+	 * @return the spec.
+	 * @since 6.0.3
+	 * @see PublishSubscribeChannel#setWaitForAllSubscribers(boolean)
+	 */
+	public S waitForAllSubscribers(boolean waitForAllSubscribers) {
+		this.channel.setWaitForAllSubscribers(waitForAllSubscribers);
+		return _this();
+	}
+
 }
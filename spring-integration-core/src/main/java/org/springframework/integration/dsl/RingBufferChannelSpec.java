@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.dsl;
+
+import org.springframework.integration.channel.RingBufferChannel;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link MessageChannelSpec} for a {@link RingBufferChannel}.
+ *
+ * @since 6.0.3
+ */
+public class RingBufferChannelSpec extends MessageChannelSpec<RingBufferChannelSpec, RingBufferChannel> {
+
+	private final int capacity;
+
+	private RingBufferChannel.WaitStrategy waitStrategy = RingBufferChannel.WaitStrategy.PARK;
+
+	protected RingBufferChannelSpec(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Set the {@link RingBufferChannel.WaitStrategy} for full (send) or empty (receive) buffer.
+	 * Defaults to {@link RingBufferChannel.WaitStrategy#PARK}.
+	 * @param waitStrategyToSet the wait strategy.
+	 * @return the spec.
+	 */
+	public RingBufferChannelSpec waitStrategy(RingBufferChannel.WaitStrategy waitStrategyToSet) {
+		Assert.notNull(waitStrategyToSet, "'waitStrategy' must not be null");
+		this.waitStrategy = waitStrategyToSet;
+		return this;
+	}
+
+	@Override
+	protected RingBufferChannel doGet() {
+		this.channel = new RingBufferChannel(this.capacity, this.waitStrategy);
+		return super.doGet();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2022 the original author or authors.
+ * Copyright 2016-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.integration.dsl;
 
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -82,6 +83,30 @@ public final class RouterSpec<K, R extends AbstractMappingMessageRouter>
 		return _this();
 	}
 
+	/**
+	 * Set the max number of channels resolved by their names to cache.
+	 * @param channelCacheSize the max number of cached channels.
+	 * @return the router spec.
+	 * @since 6.0.3
+	 * @see AbstractMappingMessageRouter#setChannelCacheSize(int)
+	 */
+	public RouterSpec<K, R> channelCacheSize(int channelCacheSize) {
+		this.handler.setChannelCacheSize(channelCacheSize);
+		return _this();
+	}
+
+	/**
+	 * Set the time after the resolution when a cached channel is resolved again.
+	 * @param channelCacheTimeToLive the time-to-live for the cached channels.
+	 * @return the router spec.
+	 * @since 6.0.3
+	 * @see AbstractMappingMessageRouter#setChannelCacheTimeToLive(Duration)
+	 */
+	public RouterSpec<K, R> channelCacheTimeToLive(Duration channelCacheTimeToLive) {
+		this.handler.setChannelCacheTimeToLive(channelCacheTimeToLive);
+		return _this();
+	}
+
 	/**
 	 * Cannot be invoked if {@link #subFlowMapping(Object, IntegrationFlow)} is used.
 	 * @param prefix the prefix.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2021 the original author or authors.
+ * Copyright 2016-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -59,6 +60,8 @@ public final class StandardIntegrationFlowContext implements IntegrationFlowCont
 
 	private final Lock registerFlowsLock = new ReentrantLock();
 
+	private final AtomicLong registrationsVersion = new AtomicLong();
+
 	private ConfigurableListableBeanFactory beanFactory;
 
 	private BeanDefinitionRegistry beanDefinitionRegistry;
@@ -133,6 +136,7 @@ public final class StandardIntegrationFlowContext implements IntegrationFlowCont
 					.forEach((lifecycle) -> ((SmartLifecycle) lifecycle).start());
 		}
 		this.registry.put(flowId, registration);
+		this.registrationsVersion.incrementAndGet();
 
 		return registration;
 	}
@@ -196,6 +200,7 @@ public final class StandardIntegrationFlowContext implements IntegrationFlowCont
 			removeDependantBeans(flowId);
 
 			this.beanDefinitionRegistry.removeBeanDefinition(flowId);
+			this.registrationsVersion.incrementAndGet();
 		}
 		else {
 			throw new IllegalStateException("An IntegrationFlow with the id "
@@ -203,6 +208,16 @@ public final class StandardIntegrationFlowContext implements IntegrationFlowCont
 		}
 	}
 
+	/**
+	 * Return a number which is changed every time a flow is registered or removed,
+	 * e.g. to let components invalidate their caches of resolved beans.
+	 * @return the version of the registrations.
+	 * @since 6.0.3
+	 */
+	public long getRegistrationsVersion() {
+		return this.registrationsVersion.get();
+	}
+
 	private void removeDependantBeans(String parentName) {
 		String[] dependentBeans = this.beanFactory.getDependentBeans(parentName);
 		for (String beanName : dependentBeans) {
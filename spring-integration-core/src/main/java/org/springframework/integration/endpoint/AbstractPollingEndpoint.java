@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,12 +18,17 @@ package org.springframework.integration.endpoint;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import org.aopalliance.aop.Advice;
@@ -39,16 +44,22 @@ import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.integration.aop.ReceiveMessageAdvice;
 import org.springframework.integration.channel.ChannelUtils;
 import org.springframework.integration.channel.MessagePublishingErrorHandler;
+import org.springframework.integration.scheduling.AdaptivePollingConcurrency;
 import org.springframework.integration.support.MessagingExceptionWrapper;
+import org.springframework.integration.support.management.metrics.GaugeFacade;
+import org.springframework.integration.support.management.metrics.MetricsCaptor;
 import org.springframework.integration.transaction.IntegrationResourceHolder;
 import org.springframework.integration.transaction.IntegrationResourceHolderSynchronization;
 import org.springframework.integration.transaction.PassThroughTransactionSynchronizationFactory;
 import org.springframework.integration.transaction.TransactionSynchronizationFactory;
 import org.springframework.integration.util.ErrorHandlingTaskExecutor;
+import org.springframework.integration.util.VirtualThreadPerTaskExecutor;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessagingException;
@@ -94,6 +105,8 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 
 	private boolean syncExecutor = true;
 
+	private boolean skipPollWhenRejected;
+
 	private ClassLoader beanClassLoader = ClassUtils.getDefaultClassLoader();
 
 	private Trigger trigger = new PeriodicTrigger(Duration.ofMillis(DEFAULT_POLLING_PERIOD));
@@ -106,16 +119,26 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 
 	private TransactionSynchronizationFactory transactionSynchronizationFactory;
 
+	@Nullable
+	private AdaptivePollingConcurrency adaptiveConcurrency;
+
+	private final List<GaugeFacade> adaptiveConcurrencyGauges = new ArrayList<>();
+
 	private volatile long maxMessagesPerPoll = -1;
 
 	private volatile Callable<Message<?>> pollingTask;
 
+	private volatile BiFunction<Integer, AtomicInteger, Message<?>> batchPollingTask;
+
 	private volatile Flux<Message<?>> pollingFlux;
 
 	private volatile Subscription subscription;
 
 	private volatile ScheduledFuture<?> runningTask;
 
+	@Nullable
+	private volatile AdaptivePollingController adaptivePollingController;
+
 	private volatile boolean initialized;
 
 	public AbstractPollingEndpoint() {
@@ -127,6 +150,7 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		this.syncExecutor = this.taskExecutor instanceof SyncTaskExecutor
 				|| (this.taskExecutor instanceof ErrorHandlingTaskExecutor
 				&& ((ErrorHandlingTaskExecutor) this.taskExecutor).isSyncExecutor());
+		this.skipPollWhenRejected = this.taskExecutor instanceof VirtualThreadPerTaskExecutor;
 	}
 
 	protected Executor getTaskExecutor() {
@@ -166,6 +190,44 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		this.errorHandler = errorHandler;
 	}
 
+	/**
+	 * Configure an {@link AdaptivePollingConcurrency} to scale the number of concurrent
+	 * polling tasks according to the amount of messages received, and to back off
+	 * exponentially when the source is empty.
+	 * Requires an asynchronous {@link #setTaskExecutor(Executor) taskExecutor}
+	 * when the max concurrency is greater than 1.
+	 * Not supported for a reactive endpoint.
+	 * @param adaptiveConcurrency the {@link AdaptivePollingConcurrency} settings.
+	 * @since 6.0.3
+	 */
+	public void setAdaptiveConcurrency(@Nullable AdaptivePollingConcurrency adaptiveConcurrency) {
+		this.adaptiveConcurrency = adaptiveConcurrency;
+	}
+
+	/**
+	 * Return the current number of concurrent polling tasks the endpoint aims for
+	 * when {@link AdaptivePollingConcurrency} is configured; 1 otherwise.
+	 * @return the current concurrency.
+	 * @since 6.0.3
+	 */
+	@ManagedAttribute
+	public int getCurrentConcurrency() {
+		AdaptivePollingController controller = this.adaptivePollingController;
+		return controller != null ? controller.getConcurrency() : 1;
+	}
+
+	/**
+	 * Return the exponentially weighted moving average of polls which have not
+	 * received any messages, when {@link AdaptivePollingConcurrency} is configured; 0 otherwise.
+	 * @return the idle ratio between 0 and 1.
+	 * @since 6.0.3
+	 */
+	@ManagedAttribute
+	public double getIdleRatio() {
+		AdaptivePollingController controller = this.adaptivePollingController;
+		return controller != null ? controller.getIdleRatio() : 0;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.beanClassLoader = classLoader;
@@ -297,14 +359,60 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		}
 
 		this.pollingTask = createPollingTask();
+		this.batchPollingTask = null;
 
 		if (isReactive()) {
+			Assert.state(this.adaptiveConcurrency == null,
+					"The 'adaptiveConcurrency' is not supported for a reactive endpoint");
 			this.pollingFlux = createFluxGenerator();
 		}
 		else {
+			if (getMaxMessagesPerReceive() > 1) {
+				this.batchPollingTask = createBatchPollingTask();
+			}
 			TaskScheduler taskScheduler = getTaskScheduler();
 			Assert.state(taskScheduler != null, "unable to start polling, no taskScheduler available");
-			this.runningTask = taskScheduler.schedule(createPoller(), this.trigger);
+			AdaptivePollingConcurrency adaptive = this.adaptiveConcurrency;
+			if (adaptive != null) {
+				Assert.state(adaptive.getMaxConcurrency() == 1 || !this.syncExecutor,
+						"An asynchronous 'taskExecutor' is required for an adaptive concurrency greater than 1");
+				AdaptivePollingController controller =
+						new AdaptivePollingController(adaptive, taskScheduler.getClock());
+				this.adaptivePollingController = controller;
+				registerAdaptiveConcurrencyGauges();
+				this.runningTask =
+						taskScheduler.schedule(createAdaptivePoller(controller),
+								(triggerContext) ->
+										controller.applyIdleInterval(this.trigger.nextExecution(triggerContext),
+												triggerContext.getClock()));
+			}
+			else {
+				this.runningTask = taskScheduler.schedule(createPoller(), this.trigger);
+			}
+		}
+	}
+
+	private void registerAdaptiveConcurrencyGauges() {
+		if (getBeanFactory() == null || !this.adaptiveConcurrencyGauges.isEmpty()) {
+			return;
+		}
+		MetricsCaptor metricsCaptor = getBeanFactory().getBeanProvider(MetricsCaptor.class).getIfUnique();
+		if (metricsCaptor != null) {
+			String name = Objects.requireNonNullElse(getComponentName(), "unknown");
+			this.adaptiveConcurrencyGauges.add(
+					metricsCaptor.gaugeBuilder("spring.integration.poller.concurrency", this,
+									(endpoint) -> getCurrentConcurrency())
+							.tag("name", name)
+							.tag("type", "endpoint")
+							.description("The current number of concurrent polling tasks")
+							.build());
+			this.adaptiveConcurrencyGauges.add(
+					metricsCaptor.gaugeBuilder("spring.integration.poller.idle.ratio", this,
+									(endpoint) -> getIdleRatio())
+							.tag("name", name)
+							.tag("type", "endpoint")
+							.description("The moving average ratio of polls without messages")
+							.build());
 		}
 	}
 
@@ -336,21 +444,113 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		return task;
 	}
 
+	@SuppressWarnings("unchecked")
+	private BiFunction<Integer, AtomicInteger, Message<?>> createBatchPollingTask() {
+		BiFunction<Integer, AtomicInteger, Message<?>> task = this::doPoll;
+
+		List<Advice> advices = this.adviceChain;
+		if (!CollectionUtils.isEmpty(advices)) {
+			ProxyFactory proxyFactory = new ProxyFactory(task);
+			advices.stream()
+					.filter(advice -> !isReceiveOnlyAdvice(advice))
+					.forEach(proxyFactory::addAdvice);
+			task = (BiFunction<Integer, AtomicInteger, Message<?>>) proxyFactory.getProxy(this.beanClassLoader);
+		}
+		return task;
+	}
+
 	private Runnable createPoller() {
-		return () ->
-				this.taskExecutor.execute(() -> {
-					int count = 0;
-					while (this.initialized && (this.maxMessagesPerPoll <= 0 || count < this.maxMessagesPerPoll)) {
-						if (this.maxMessagesPerPoll == 0) {
-							logger.info("Polling disabled while 'maxMessagesPerPoll == 0'");
-							break;
+		return () -> {
+			try {
+				this.taskExecutor.execute(this::pollCycle);
+			}
+			catch (TaskRejectedException ex) {
+				skipPollOrRethrow(ex);
+			}
+		};
+	}
+
+	private Runnable createAdaptivePoller(AdaptivePollingController controller) {
+		return () -> {
+			int polls = controller.acquirePolls();
+			for (int i = 0; i < polls; i++) {
+				try {
+					this.taskExecutor.execute(() -> {
+						boolean completed = false;
+						try {
+							int count = pollCycle();
+							completed = true;
+							// an unbounded poll drains the source, so it is never considered saturated
+							controller.pollCompleted(count,
+									this.maxMessagesPerPoll > 0 && count >= this.maxMessagesPerPoll);
 						}
-						if (pollForMessage() == null) {
-							break;
+						finally {
+							if (!completed) {
+								controller.pollFailed();
+							}
 						}
-						count++;
+					});
+				}
+				catch (RuntimeException ex) {
+					for (int j = i; j < polls; j++) {
+						controller.pollFailed();
 					}
-				});
+					if (ex instanceof TaskRejectedException rejected) {
+						skipPollOrRethrow(rejected);
+						break;
+					}
+					throw ex;
+				}
+			}
+		};
+	}
+
+	/**
+	 * Skip the poll if the {@link VirtualThreadPerTaskExecutor} has reached its concurrency limit:
+	 * the trigger thread must not be blocked, and the next poll is attempted on the next trigger.
+	 * Other rejections are propagated to the scheduler as before.
+	 * @param ex the rejection.
+	 */
+	private void skipPollOrRethrow(TaskRejectedException ex) {
+		if (!this.skipPollWhenRejected) {
+			throw ex;
+		}
+		logger.debug(() -> "Poll skipped: " + ex.getMessage());
+	}
+
+	/**
+	 * Poll for messages until the {@code maxMessagesPerPoll} is reached or no message is received.
+	 * @return the number of received messages.
+	 */
+	private int pollCycle() {
+		int count = 0;
+		AtomicInteger received = new AtomicInteger();
+		while (this.initialized && (this.maxMessagesPerPoll <= 0 || count < this.maxMessagesPerPoll)) {
+			if (this.maxMessagesPerPoll == 0) {
+				logger.info("Polling disabled while 'maxMessagesPerPoll == 0'");
+				break;
+			}
+			BiFunction<Integer, AtomicInteger, Message<?>> batchTask = this.batchPollingTask;
+			if (batchTask != null) {
+				int batchSize = getMaxMessagesPerReceive();
+				if (this.maxMessagesPerPoll > 0) {
+					batchSize = (int) Math.min(batchSize, this.maxMessagesPerPoll - count);
+				}
+				int maxMessages = batchSize;
+				received.set(0);
+				if (pollForMessage(() -> batchTask.apply(maxMessages, received)) == null) {
+					break;
+				}
+				count += received.get();
+			}
+			else {
+				if (pollForMessage() == null) {
+					break;
+				}
+				count++;
+			}
+		}
+		return count;
 	}
 
 	private Flux<Message<?>> createFluxGenerator() {
@@ -408,8 +608,12 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 	}
 
 	private Message<?> pollForMessage() {
+		return pollForMessage(this.pollingTask);
+	}
+
+	private Message<?> pollForMessage(Callable<Message<?>> task) {
 		try {
-			return this.pollingTask.call();
+			return task.call();
 		}
 		catch (Exception ex) {
 			if (ex instanceof MessagingException) { // NOSONAR
@@ -463,6 +667,62 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		return message;
 	}
 
+	/**
+	 * Receive and handle a batch of messages.
+	 * @param maxMessages the max number of messages to receive.
+	 * @param received the holder for the number of actually received messages.
+	 * @return the last received message or null if none.
+	 */
+	private Message<?> doPoll(int maxMessages, AtomicInteger received) {
+		IntegrationResourceHolder holder = bindResourceHolderIfNecessary(getResourceKey(), getResourceToBind());
+		List<Message<?>> messages = Collections.emptyList();
+		try {
+			messages = receiveMessages(maxMessages);
+		}
+		catch (Exception ex) {
+			if (Thread.interrupted()) {
+				logger.debug(() -> "Poll interrupted - during stop()? : " + ex.getMessage());
+				return null;
+			}
+			else {
+				ReflectionUtils.rethrowRuntimeException(ex);
+			}
+		}
+
+		if (messages.isEmpty()) {
+			this.logger.debug("Received no Messages during the poll, returning 'false'");
+			return null;
+		}
+		received.set(messages.size());
+
+		// Within a transaction the whole batch is rolled back on the first failure;
+		// otherwise the rest of already drained messages must not be lost.
+		boolean failFast = TransactionSynchronizationManager.isActualTransactionActive();
+		RuntimeException failure = null;
+		Message<?> lastMessage = null;
+		for (Message<?> message : messages) {
+			lastMessage = message;
+			try {
+				messageReceived(holder, message);
+			}
+			catch (RuntimeException ex) {
+				if (failFast) {
+					throw ex;
+				}
+				if (failure == null) {
+					failure = ex;
+				}
+				else {
+					failure.addSuppressed(ex);
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+		return lastMessage;
+	}
+
 	private void messageReceived(IntegrationResourceHolder holder, Message<?> message) {
 		this.logger.debug(() -> "Poll resulted in Message: " + message);
 		if (holder != null) {
@@ -488,6 +748,9 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 			this.runningTask.cancel(true);
 		}
 		this.runningTask = null;
+		this.adaptivePollingController = null;
+		this.adaptiveConcurrencyGauges.forEach(GaugeFacade::remove);
+		this.adaptiveConcurrencyGauges.clear();
 
 		if (this.subscription != null) {
 			this.subscription.cancel();
@@ -501,6 +764,35 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 	 */
 	protected abstract Message<?> receiveMessage();
 
+	/**
+	 * Obtain up to {@code maxMessages} messages (if available) in one operation.
+	 * Called only if {@link #getMaxMessagesPerReceive()} returns a value greater than 1.
+	 * All the obtained messages are handled within the same poll task invocation,
+	 * e.g. in the same transaction if the advice chain is transactional.
+	 * The default implementation delegates to {@link #receiveMessage()}.
+	 * @param maxMessages the max number of messages to obtain.
+	 * @return the messages; never null, but may be empty.
+	 * @since 6.0.3
+	 */
+	protected List<Message<?>> receiveMessages(int maxMessages) {
+		Message<?> message = receiveMessage();
+		return message != null ? Collections.singletonList(message) : Collections.emptyList();
+	}
+
+	/**
+	 * Return the max number of messages to obtain and handle in one poll task invocation
+	 * via {@link #receiveMessages(int)}.
+	 * The {@code maxMessagesPerPoll} is still respected as a limit for all the messages
+	 * handled in a single poll.
+	 * Defaults to 1 - one message per poll task invocation via {@link #receiveMessage()}.
+	 * Not used for reactive endpoints.
+	 * @return the max number of messages per receive operation.
+	 * @since 6.0.3
+	 */
+	protected int getMaxMessagesPerReceive() {
+		return 1;
+	}
+
 	/**
 	 * Handle a message.
 	 * @param message The message.
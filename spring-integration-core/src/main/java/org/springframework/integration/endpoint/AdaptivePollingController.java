@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.endpoint;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.integration.scheduling.AdaptivePollingConcurrency;
+import org.springframework.integration.scheduling.PollSkipStrategy;
+import org.springframework.lang.Nullable;
+
+/**
+ * The per-endpoint state for the {@link AdaptivePollingConcurrency}.
+ *
+ * @since 6.0.3
+ */
+final class AdaptivePollingController {
+
+	/**
+	 * The weight of the latest poll in the {@link #getIdleRatio()} moving average.
+	 */
+	private static final double IDLE_RATIO_WEIGHT = 0.1;
+
+	private final Lock lock = new ReentrantLock();
+
+	private final AdaptivePollingConcurrency settings;
+
+	private final Clock clock;
+
+	private volatile int concurrency;
+
+	private volatile int inFlight;
+
+	private volatile long idleIntervalMillis;
+
+	private long lastBackOffMillis;
+
+	private volatile double idleRatio;
+
+	AdaptivePollingController(AdaptivePollingConcurrency settings, Clock clock) {
+		this.settings = settings;
+		this.clock = clock;
+		this.concurrency = settings.getMinConcurrency();
+	}
+
+	int getConcurrency() {
+		return this.concurrency;
+	}
+
+	int getInFlight() {
+		return this.inFlight;
+	}
+
+	double getIdleRatio() {
+		return this.idleRatio;
+	}
+
+	/**
+	 * Reserve the number of polling tasks to start for the current trigger execution.
+	 * @return the number of tasks to start; each must be followed by
+	 * {@link #pollCompleted(int, boolean)} or {@link #pollFailed()}.
+	 */
+	int acquirePolls() {
+		PollSkipStrategy pollSkipStrategy = this.settings.getPollSkipStrategy();
+		if (pollSkipStrategy != null && pollSkipStrategy.skipPoll()) {
+			return 0;
+		}
+		this.lock.lock();
+		try {
+			int polls = Math.max(0, this.concurrency - this.inFlight);
+			this.inFlight += polls;
+			return polls;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	void pollCompleted(int messages, boolean saturated) {
+		this.lock.lock();
+		try {
+			this.inFlight--;
+			boolean idle = messages == 0;
+			this.idleRatio = this.idleRatio * (1 - IDLE_RATIO_WEIGHT) + (idle ? IDLE_RATIO_WEIGHT : 0);
+			if (idle) {
+				backOff();
+			}
+			else {
+				this.idleIntervalMillis = 0;
+				if (saturated) {
+					this.concurrency = Math.min(this.settings.getMaxConcurrency(), this.concurrency + 1);
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Halve the concurrency and double the idle interval, but only once per idle interval:
+	 * the concurrent polls started before the back off must not compound it.
+	 */
+	private void backOff() {
+		long now = this.clock.millis();
+		long idleInterval = this.idleIntervalMillis;
+		if (idleInterval == 0 || now - this.lastBackOffMillis >= idleInterval) {
+			this.lastBackOffMillis = now;
+			this.concurrency = Math.max(this.settings.getMinConcurrency(), this.concurrency / 2);
+			long maxIdleInterval = this.settings.getMaxIdleInterval().toMillis();
+			this.idleIntervalMillis =
+					idleInterval == 0
+							? Math.min(this.settings.getInitialIdleInterval().toMillis(), maxIdleInterval)
+							: Math.min(idleInterval * 2, maxIdleInterval);
+		}
+	}
+
+	void pollFailed() {
+		this.lock.lock();
+		try {
+			this.inFlight--;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Defer the next trigger execution according to the current idle interval.
+	 * @param nextExecution the next execution time from the endpoint trigger.
+	 * @param triggerClock the clock of the trigger context.
+	 * @return the next execution time to use.
+	 */
+	@Nullable
+	Instant applyIdleInterval(@Nullable Instant nextExecution, Clock triggerClock) {
+		long idleInterval = this.idleIntervalMillis;
+		if (nextExecution != null && idleInterval > 0) {
+			Instant idleExecution = triggerClock.instant().plusMillis(idleInterval);
+			if (idleExecution.isAfter(nextExecution)) {
+				return idleExecution;
+			}
+		}
+		return nextExecution;
+	}
+
+}
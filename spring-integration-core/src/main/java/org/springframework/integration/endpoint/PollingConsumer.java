@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import java.util.List;
 import org.reactivestreams.Subscriber;
 
 import org.springframework.context.Lifecycle;
+import org.springframework.integration.channel.AbstractPollableChannel;
 import org.springframework.integration.channel.ExecutorChannelInterceptorAware;
 import org.springframework.integration.channel.NullChannel;
 import org.springframework.integration.channel.ReactiveStreamsSubscribableChannel;
@@ -65,6 +66,8 @@ public class PollingConsumer extends AbstractPollingEndpoint implements Integrat
 
 	private long receiveTimeout = DEFAULT_RECEIVE_TIMEOUT;
 
+	private int receiveBatchSize = 1;
+
 	public PollingConsumer(PollableChannel inputChannel, MessageHandler handler) {
 		Assert.notNull(inputChannel, "inputChannel must not be null");
 		Assert.notNull(handler, "handler must not be null");
@@ -87,6 +90,23 @@ public class PollingConsumer extends AbstractPollingEndpoint implements Integrat
 		this.receiveTimeout = receiveTimeout;
 	}
 
+	/**
+	 * Set the max number of messages to drain from the input channel in one receive operation.
+	 * All the messages of such a batch are handled within the same poll task invocation,
+	 * e.g. in a single transaction if the poller advice chain is transactional.
+	 * Only applied if the input channel is an {@link AbstractPollableChannel}
+	 * and no receive-only advices are configured; otherwise messages are received one by one.
+	 * The {@code maxMessagesPerPoll} still caps the total number of messages per poll.
+	 * Defaults to 1.
+	 * @param receiveBatchSize the max number of messages per receive operation.
+	 * @since 6.0.3
+	 * @see AbstractPollableChannel#receive(int, long)
+	 */
+	public void setReceiveBatchSize(int receiveBatchSize) {
+		Assert.isTrue(receiveBatchSize > 0, "'receiveBatchSize' must be greater than 0");
+		this.receiveBatchSize = receiveBatchSize;
+	}
+
 	@Override
 	public MessageChannel getInputChannel() {
 		return this.inputChannel;
@@ -211,6 +231,16 @@ public class PollingConsumer extends AbstractPollingEndpoint implements Integrat
 		}
 	}
 
+	@Override
+	protected int getMaxMessagesPerReceive() {
+		return this.inputChannel instanceof AbstractPollableChannel ? this.receiveBatchSize : 1;
+	}
+
+	@Override
+	protected List<Message<?>> receiveMessages(int maxMessages) {
+		return ((AbstractPollableChannel) this.inputChannel).receive(maxMessages, this.receiveTimeout);
+	}
+
 	@Override
 	protected Message<?> receiveMessage() {
 		return (this.receiveTimeout >= 0)
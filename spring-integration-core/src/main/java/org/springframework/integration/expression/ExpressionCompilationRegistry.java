@@ -0,0 +1,359 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.expression;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.integration.support.context.NamedComponent;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * The integration-wide policy for the compilation of the SpEL expressions evaluated by the
+ * {@link org.springframework.integration.util.AbstractExpressionEvaluator} components
+ * (expression-based routers, filters, transformers, splitters, header enrichers,
+ * correlation and release strategies etc.).
+ * <p>
+ * With any {@link SpelCompilerMode} other than {@link SpelCompilerMode#OFF} (the default),
+ * the expressions known upfront are compiled when the application context is refreshed.
+ * Since most of the expressions need the type information from a real evaluation to be
+ * compiled, the rest of them are compiled right after their first evaluations instead of
+ * after the SpEL default threshold of interpreted evaluations.
+ * An expression which cannot be compiled after a few attempts remains interpreted.
+ * <p>
+ * With the {@link SpelCompilerMode#MIXED} mode, a failed evaluation of the compiled
+ * expression (e.g. because of a different payload type) makes it interpreted again;
+ * with the {@link SpelCompilerMode#IMMEDIATE} mode, such a failure is propagated to the caller.
+ * <p>
+ * The compilation state, the number of evaluations and the evaluation time for each expression
+ * are available per component via {@link #getStatistics()}; a summary is logged on context
+ * refresh.
+ *
+ * @since 6.0.3
+ *
+ * @see org.springframework.integration.context.IntegrationProperties#EXPRESSIONS_COMPILER_MODE
+ */
+public class ExpressionCompilationRegistry
+		implements ApplicationContextAware, ApplicationListener<ContextRefreshedEvent> {
+
+	private static final LogAccessor LOGGER = new LogAccessor(ExpressionCompilationRegistry.class);
+
+	private final Lock lock = new ReentrantLock();
+
+	private final Map<Object, Map<Expression, ExpressionStatistics>> components = new WeakHashMap<>();
+
+	private SpelCompilerMode compilerMode = SpelCompilerMode.OFF;
+
+	private ApplicationContext applicationContext;
+
+	private volatile boolean refreshed;
+
+	/**
+	 * Set the {@link SpelCompilerMode} to apply to the expressions.
+	 * Defaults to {@link SpelCompilerMode#OFF} - the expressions are left as is.
+	 * @param compilerMode the compiler mode.
+	 */
+	public void setCompilerMode(SpelCompilerMode compilerMode) {
+		Assert.notNull(compilerMode, "'compilerMode' must not be null");
+		this.compilerMode = compilerMode;
+	}
+
+	public SpelCompilerMode getCompilerMode() {
+		return this.compilerMode;
+	}
+
+	/**
+	 * Return true if the {@link #getCompilerMode()} is not {@link SpelCompilerMode#OFF}.
+	 * @return true if the expressions are compiled.
+	 */
+	public boolean isEnabled() {
+		return this.compilerMode != SpelCompilerMode.OFF;
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+		this.applicationContext = applicationContext;
+	}
+
+	/**
+	 * Register an expression evaluated by the component.
+	 * The expression is compiled immediately if the application context has been refreshed already.
+	 * The component is referenced weakly, so its statistics are gone together with the component.
+	 * @param component the component evaluating the expression.
+	 * @param expression the expression.
+	 * @return the statistics for the expression; or null if the registry is not
+	 * {@link #isEnabled() enabled} or the expression is not a {@link SpelExpression}.
+	 */
+	@Nullable
+	public ExpressionStatistics register(Object component, Expression expression) {
+		if (!isEnabled() || !(expression instanceof SpelExpression spelExpression)) {
+			return null;
+		}
+		ExpressionStatistics statistics;
+		boolean created = false;
+		this.lock.lock();
+		try {
+			Map<Expression, ExpressionStatistics> expressions =
+					this.components.computeIfAbsent(component, key -> new HashMap<>());
+			statistics = expressions.get(expression);
+			if (statistics == null) {
+				statistics = new ExpressionStatistics(spelExpression, this.compilerMode);
+				expressions.put(expression, statistics);
+				created = true;
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+		if (created && this.refreshed) {
+			statistics.precompile();
+		}
+		return statistics;
+	}
+
+	/**
+	 * Return the statistics for all the registered expressions by the component name.
+	 * Components which don't provide a name are represented by their class name and identity.
+	 * @return the statistics.
+	 */
+	public Map<String, List<ExpressionStatistics>> getStatistics() {
+		Map<String, List<ExpressionStatistics>> statistics = new TreeMap<>();
+		this.lock.lock();
+		try {
+			this.components.forEach((component, expressions) ->
+					statistics.computeIfAbsent(obtainComponentName(component), name -> new ArrayList<>())
+							.addAll(expressions.values()));
+		}
+		finally {
+			this.lock.unlock();
+		}
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (isEnabled() && event.getApplicationContext().equals(this.applicationContext)) {
+			this.refreshed = true;
+			List<ExpressionStatistics> expressions = new ArrayList<>();
+			getStatistics().values().forEach(expressions::addAll);
+			int compiled = 0;
+			for (ExpressionStatistics statistics : expressions) {
+				if (statistics.precompile()) {
+					compiled++;
+				}
+			}
+			int compiledOnRefresh = compiled;
+			int registered = expressions.size();
+			LOGGER.info(() -> "Compiled " + compiledOnRefresh + " of " + registered + " SpEL expressions on refresh " +
+					"(compiler mode: " + this.compilerMode + "); the rest are compiled after their first evaluation.");
+			LOGGER.debug(() -> "SpEL expressions compilation state:\n" + report());
+		}
+	}
+
+	private String report() {
+		StringBuilder report = new StringBuilder();
+		getStatistics().forEach((component, expressions) -> {
+			report.append(component).append(":\n");
+			for (ExpressionStatistics statistics : expressions) {
+				report.append("  ").append(statistics).append('\n');
+			}
+		});
+		return report.toString();
+	}
+
+	private static String obtainComponentName(Object component) {
+		String name = null;
+		if (component instanceof NamedComponent namedComponent) {
+			name = namedComponent.getComponentName();
+		}
+		return name != null
+				? name
+				: component.getClass().getSimpleName() + '@' + ObjectUtils.getIdentityHexString(component);
+	}
+
+	/**
+	 * The compilation state of an expression.
+	 */
+	public enum CompilationState {
+
+		/**
+		 * The expression has not been compiled yet; waiting for an evaluation.
+		 */
+		PENDING,
+
+		/**
+		 * The expression is evaluated in compiled form.
+		 */
+		COMPILED,
+
+		/**
+		 * The expression cannot be compiled (or failed in compiled form)
+		 * and is evaluated by the interpreter.
+		 */
+		INTERPRETED
+
+	}
+
+	/**
+	 * The compilation state and evaluation statistics of an expression.
+	 */
+	public static final class ExpressionStatistics {
+
+		private static final int MAX_COMPILE_ATTEMPTS = 3;
+
+		private final SpelExpression expression;
+
+		private final SpelCompilerMode compilerMode;
+
+		private final LongAdder evaluations = new LongAdder();
+
+		private final LongAdder evaluationTime = new LongAdder();
+
+		private final LongAdder fallbacks = new LongAdder();
+
+		private final AtomicInteger compileAttempts = new AtomicInteger();
+
+		private volatile CompilationState state = CompilationState.PENDING;
+
+		ExpressionStatistics(SpelExpression expression, SpelCompilerMode compilerMode) {
+			this.expression = expression;
+			this.compilerMode = compilerMode;
+		}
+
+		public Expression getExpression() {
+			return this.expression;
+		}
+
+		public String getExpressionString() {
+			return this.expression.getExpressionString();
+		}
+
+		public CompilationState getState() {
+			return this.state;
+		}
+
+		public long getEvaluationCount() {
+			return this.evaluations.sum();
+		}
+
+		/**
+		 * Return the total time spent in (successful) evaluations.
+		 * @return the total evaluation time.
+		 */
+		public Duration getTotalEvaluationTime() {
+			return Duration.ofNanos(this.evaluationTime.sum());
+		}
+
+		/**
+		 * Return the mean time of a (successful) evaluation.
+		 * @return the mean evaluation time.
+		 */
+		public Duration getMeanEvaluationTime() {
+			long count = this.evaluations.sum();
+			return count == 0 ? Duration.ZERO : Duration.ofNanos(this.evaluationTime.sum() / count);
+		}
+
+		/**
+		 * Return the number of times the compiled expression failed and was evaluated again
+		 * by the interpreter.
+		 * @return the number of fallbacks.
+		 */
+		public long getFallbackCount() {
+			return this.fallbacks.sum();
+		}
+
+		/**
+		 * Perform the evaluation of the expression, recording its time, and compile the
+		 * expression if it is still {@link CompilationState#PENDING}.
+		 * @param evaluation the evaluation of the expression.
+		 * @param <T> the evaluation result type.
+		 * @return the evaluation result.
+		 */
+		@Nullable
+		public <T> T evaluate(Supplier<T> evaluation) {
+			long start = System.nanoTime();
+			T value;
+			try {
+				value = evaluation.get();
+			}
+			catch (SpelEvaluationException ex) {
+				if (this.compilerMode != SpelCompilerMode.MIXED
+						|| ex.getMessageCode() != SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION) {
+					throw ex;
+				}
+				this.expression.revertToInterpreted();
+				this.state = CompilationState.INTERPRETED;
+				this.fallbacks.increment();
+				value = evaluation.get();
+			}
+			this.evaluationTime.add(System.nanoTime() - start);
+			this.evaluations.increment();
+			if (this.state == CompilationState.PENDING) {
+				compileAfterEvaluation();
+			}
+			return value;
+		}
+
+		boolean precompile() {
+			if (this.state == CompilationState.PENDING && this.expression.compileExpression()) {
+				this.state = CompilationState.COMPILED;
+			}
+			return this.state == CompilationState.COMPILED;
+		}
+
+		private void compileAfterEvaluation() {
+			if (this.expression.compileExpression()) {
+				this.state = CompilationState.COMPILED;
+			}
+			else if (this.compileAttempts.incrementAndGet() >= MAX_COMPILE_ATTEMPTS) {
+				this.state = CompilationState.INTERPRETED;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "[" + this.state + "] '" + getExpressionString() + "' evaluations: " + getEvaluationCount() +
+					", mean time: " + getMeanEvaluationTime().toNanos() + "ns, fallbacks: " + getFallbackCount();
+		}
+
+	}
+
+}
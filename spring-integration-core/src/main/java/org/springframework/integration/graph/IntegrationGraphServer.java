@@ -49,6 +49,7 @@ import org.springframework.integration.router.RecipientListRouter.Recipient;
 import org.springframework.integration.router.RecipientListRouterManagement;
 import org.springframework.integration.support.context.NamedComponent;
 import org.springframework.integration.support.management.MappingMessageRouterManagement;
+import org.springframework.integration.support.management.metrics.LatencyHistograms;
 import org.springframework.integration.support.management.micrometer.MicrometerMetricsCaptorConfiguration;
 import org.springframework.integration.support.utils.IntegrationUtils;
 import org.springframework.lang.Nullable;
@@ -161,12 +162,17 @@ public class IntegrationGraphServer implements ApplicationContextAware, Applicat
 	}
 
 	private <T extends IntegrationNode> T enhance(T node) {
+		T enhanced = node;
 		if (this.micrometerEnhancer != null) {
-			return this.micrometerEnhancer.enhance(node);
+			enhanced = this.micrometerEnhancer.enhance(node);
 		}
-		else {
-			return node;
+		LatencyHistograms latencyHistograms = enhanced.latencyHistograms();
+		if (latencyHistograms != null && enhanced instanceof SendTimersAware sendTimersAware) {
+			sendTimersAware.sendTimers(() ->
+					new SendTimers(TimerStats.of(latencyHistograms.getSendSuccesses().snapshot()),
+							TimerStats.of(latencyHistograms.getSendFailures().snapshot())));
 		}
+		return enhanced;
 	}
 
 	private synchronized Graph buildGraph() {
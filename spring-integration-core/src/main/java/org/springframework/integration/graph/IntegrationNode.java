@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2020 the original author or authors.
+ * Copyright 2016-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import org.springframework.integration.IntegrationPatternType;
 import org.springframework.integration.context.ExpressionCapable;
 import org.springframework.integration.support.context.NamedComponent;
 import org.springframework.integration.support.management.IntegrationManagement;
+import org.springframework.integration.support.management.metrics.LatencyHistograms;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandler;
@@ -60,6 +61,9 @@ public abstract class IntegrationNode {
 
 	private final transient boolean observed;
 
+	@Nullable
+	private final transient LatencyHistograms latencyHistograms;
+
 	protected IntegrationNode(int nodeId, String name, Object nodeObject) {
 		this.nodeId = nodeId;
 		this.nodeName = name;
@@ -77,9 +81,11 @@ public abstract class IntegrationNode {
 
 		if (nodeObject instanceof IntegrationManagement integrationManagement) {
 			this.observed = integrationManagement.isObserved();
+			this.latencyHistograms = integrationManagement.getLatencyHistograms();
 		}
 		else {
 			this.observed = false;
+			this.latencyHistograms = null;
 		}
 
 		IntegrationPatternType patternType = null;
@@ -159,4 +165,10 @@ public abstract class IntegrationNode {
 	public boolean isObserved() {
 		return this.observed;
 	}
+
+	@Nullable
+	LatencyHistograms latencyHistograms() {
+		return this.latencyHistograms;
+	}
+
 }
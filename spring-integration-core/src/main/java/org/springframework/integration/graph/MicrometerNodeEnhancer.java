@@ -23,6 +23,7 @@ import io.micrometer.common.docs.KeyName;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import io.micrometer.core.instrument.search.Search;
 import io.micrometer.observation.ObservationConvention;
 
@@ -55,6 +56,10 @@ public class MicrometerNodeEnhancer {
 
 	private static final TimerStats ZERO_TIMER_STATS = new TimerStats(0L, 0.0, 0.0);
 
+	private static final double[] PERCENTILES = { 0.5, 0.99, 0.999 };
+
+	private static final double PERCENTILE_TOLERANCE = 1e-9;
+
 	private final MeterRegistry registry;
 
 	MicrometerNodeEnhancer(ApplicationContext applicationContext) {
@@ -75,11 +80,14 @@ public class MicrometerNodeEnhancer {
 	 */
 	<T extends IntegrationNode> T enhance(T node) {
 		if (this.registry != null) {
-			if (node instanceof MessageChannelNode) {
-				enhanceWithTimers(node, "channel");
-			}
-			else if (node instanceof MessageHandlerNode || node instanceof MessageProducerNode) {
-				enhanceWithTimers(node, "handler");
+			// with histograms, the send timers are populated from them by the IntegrationGraphServer
+			if (node.latencyHistograms() == null) {
+				if (node instanceof MessageChannelNode) {
+					enhanceWithTimers(node, "channel");
+				}
+				else if (node instanceof MessageHandlerNode || node instanceof MessageProducerNode) {
+					enhanceWithTimers(node, "handler");
+				}
 			}
 			if (node instanceof PollableChannelNode) {
 				enhanceWithCounts(node, "channel");
@@ -185,9 +193,26 @@ public class MicrometerNodeEnhancer {
 	}
 
 	private static TimerStats buildTimerStats(@Nullable Timer timer) {
-		return timer == null
-				? ZERO_TIMER_STATS
-				: new TimerStats(timer.count(), timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+		if (timer == null) {
+			return ZERO_TIMER_STATS;
+		}
+		ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+		return new TimerStats(timer.count(), timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS),
+				percentile(percentiles, PERCENTILES[0]), percentile(percentiles, PERCENTILES[1]),
+				percentile(percentiles, PERCENTILES[2]));
+	}
+
+	/**
+	 * Return the value of the percentile if it is configured for the timer (e.g. via a
+	 * {@code MeterFilter}); 0 otherwise.
+	 */
+	private static double percentile(ValueAtPercentile[] percentiles, double percentile) {
+		for (ValueAtPercentile valueAtPercentile : percentiles) {
+			if (Math.abs(valueAtPercentile.percentile() - percentile) < PERCENTILE_TOLERANCE) {
+				return valueAtPercentile.value(TimeUnit.MILLISECONDS);
+			}
+		}
+		return 0;
 	}
 
 }
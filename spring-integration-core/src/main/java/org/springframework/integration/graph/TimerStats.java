@@ -1,5 +1,5 @@
 /*
- * Copyright 2019 the original author or authors.
+ * Copyright 2019-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.integration.graph;
 
+import org.springframework.integration.support.management.metrics.LatencyHistogram;
+
 /**
  * Statistics captured from a timer meter.
  *
@@ -25,16 +27,53 @@ package org.springframework.integration.graph;
  */
 public class TimerStats {
 
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+
 	private final long count;
 
 	private final double mean;
 
 	private final double max;
 
+	private final double p50;
+
+	private final double p99;
+
+	private final double p999;
+
 	public TimerStats(long count, double mean, double max) {
+		this(count, mean, max, 0, 0, 0);
+	}
+
+	/**
+	 * Create an instance with percentiles.
+	 * @param count the count.
+	 * @param mean the mean.
+	 * @param max the max.
+	 * @param p50 the median.
+	 * @param p99 the 99th percentile.
+	 * @param p999 the 99.9th percentile.
+	 * @since 6.0.3
+	 */
+	public TimerStats(long count, double mean, double max, double p50, double p99, double p999) {
 		this.count = count;
 		this.mean = mean;
 		this.max = max;
+		this.p50 = p50;
+		this.p99 = p99;
+		this.p999 = p999;
+	}
+
+	/**
+	 * Create an instance from the {@link LatencyHistogram.Snapshot}, in milliseconds.
+	 * @param snapshot the snapshot.
+	 * @return the stats.
+	 */
+	static TimerStats of(LatencyHistogram.Snapshot snapshot) {
+		return new TimerStats(snapshot.getCount(), snapshot.getMean() / NANOS_PER_MILLI,
+				snapshot.getMax() / NANOS_PER_MILLI, snapshot.getValueAtPercentile(50) / NANOS_PER_MILLI,
+				snapshot.getValueAtPercentile(99) / NANOS_PER_MILLI,
+				snapshot.getValueAtPercentile(99.9) / NANOS_PER_MILLI);
 	}
 
 	public long getCount() {
@@ -49,4 +88,31 @@ public class TimerStats {
 		return this.max;
 	}
 
+	/**
+	 * Return the median; 0 if not available.
+	 * @return the median.
+	 * @since 6.0.3
+	 */
+	public double getP50() {
+		return this.p50;
+	}
+
+	/**
+	 * Return the 99th percentile; 0 if not available.
+	 * @return the 99th percentile.
+	 * @since 6.0.3
+	 */
+	public double getP99() {
+		return this.p99;
+	}
+
+	/**
+	 * Return the 99.9th percentile; 0 if not available.
+	 * @return the 99.9th percentile.
+	 * @since 6.0.3
+	 */
+	public double getP999() {
+		return this.p999;
+	}
+
 }
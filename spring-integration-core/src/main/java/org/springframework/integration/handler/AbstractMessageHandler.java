@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 
 import org.springframework.integration.history.MessageHistory;
+import org.springframework.integration.support.management.metrics.LatencyHistograms;
 import org.springframework.integration.support.management.metrics.MetricsCaptor;
 import org.springframework.integration.support.management.metrics.SampleFacade;
 import org.springframework.integration.support.management.observation.DefaultMessageReceiverObservationConvention;
@@ -65,8 +66,12 @@ public abstract class AbstractMessageHandler extends MessageHandlerSupport
 			handleWithObservation(message, getObservationRegistry());
 		}
 		else {
+			LatencyHistograms latencyHistograms = getLatencyHistograms();
 			MetricsCaptor metricsCaptor = getMetricsCaptor();
-			if (metricsCaptor != null) {
+			if (latencyHistograms != null) {
+				handleWithHistograms(message, latencyHistograms);
+			}
+			else if (metricsCaptor != null) {
 				handleWithMetrics(message, metricsCaptor);
 			}
 			else {
@@ -96,6 +101,18 @@ public abstract class AbstractMessageHandler extends MessageHandlerSupport
 		}
 	}
 
+	private void handleWithHistograms(Message<?> message, LatencyHistograms latencyHistograms) {
+		long start = System.nanoTime();
+		try {
+			doHandleMessage(message);
+			latencyHistograms.recordSend(System.nanoTime() - start, true);
+		}
+		catch (Exception ex) {
+			latencyHistograms.recordSend(System.nanoTime() - start, false);
+			throw ex;
+		}
+	}
+
 	private void doHandleMessage(Message<?> message) {
 		Message<?> messageToUse = message;
 		try {
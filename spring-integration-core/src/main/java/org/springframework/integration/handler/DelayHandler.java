@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
 import org.aopalliance.aop.Advice;
@@ -114,6 +116,10 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 
 	private final AtomicBoolean initialized = new AtomicBoolean();
 
+	private final Lock removeLock = new ReentrantLock();
+
+	private final Lock rescheduleLock = new ReentrantLock();
+
 	private MessageHandler releaseHandler = new ReleaseMessageHandler();
 
 	private EvaluationContext evaluationContext;
@@ -552,7 +558,8 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 
 	private boolean removeDelayedMessageFromMessageStore(Message<?> message) {
 		if (this.messageStore instanceof SimpleMessageStore) {
-			synchronized (this.messageGroupId) {
+			this.removeLock.lock();
+			try {
 				Collection<Message<?>> messages = this.messageStore.getMessageGroup(this.messageGroupId).getMessages();
 				if (messages.contains(message)) {
 					this.messageStore.removeMessagesFromGroup(this.messageGroupId, message);
@@ -562,6 +569,9 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 					return false;
 				}
 			}
+			finally {
+				this.removeLock.unlock();
+			}
 		}
 		else {
 			return ((MessageStore) this.messageStore).removeMessage(message.getHeaders().getId()) != null;
@@ -580,22 +590,28 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 	 * behavior is dictated by the avoidance of invocation thread overload.
 	 */
 	@Override
-	public synchronized void reschedulePersistedMessages() {
-		MessageGroup messageGroup = this.messageStore.getMessageGroup(this.messageGroupId);
-		try (Stream<Message<?>> messageStream = messageGroup.streamMessages()) {
-			TaskScheduler taskScheduler = getTaskScheduler();
-			messageStream.forEach((message) -> // NOSONAR
-					taskScheduler.schedule(() -> {
-						// This is fine to keep the reference to the message,
-						// because the scheduled task is performed immediately.
-						long delay = determineDelayForMessage(message);
-						if (delay > 0) {
-							releaseMessageAfterDelay(message, delay);
-						}
-						else {
-							releaseMessage(message);
-						}
-					}, Instant.now()));
+	public void reschedulePersistedMessages() {
+		this.rescheduleLock.lock();
+		try {
+			MessageGroup messageGroup = this.messageStore.getMessageGroup(this.messageGroupId);
+			try (Stream<Message<?>> messageStream = messageGroup.streamMessages()) {
+				TaskScheduler taskScheduler = getTaskScheduler();
+				messageStream.forEach((message) -> // NOSONAR
+						taskScheduler.schedule(() -> {
+							// This is fine to keep the reference to the message,
+							// because the scheduled task is performed immediately.
+							long delay = determineDelayForMessage(message);
+							if (delay > 0) {
+								releaseMessageAfterDelay(message, delay);
+							}
+							else {
+								releaseMessage(message);
+							}
+						}, Instant.now()));
+			}
+		}
+		finally {
+			this.rescheduleLock.unlock();
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.integration.handler;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.expression.Expression;
 import org.springframework.expression.ParseException;
 import org.springframework.lang.Nullable;
@@ -114,4 +117,9 @@ public class ExpressionEvaluatingMessageProcessor<T> extends AbstractMessageProc
 		return "ExpressionEvaluatingMessageProcessor for: [" + this.expression.getExpressionString() + "]";
 	}
 
+	@Override
+	protected Collection<Expression> getExpressions() {
+		return List.of(this.expression);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019-2022 the original author or authors.
+ * Copyright 2019-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,9 +29,11 @@ import org.springframework.integration.context.Orderable;
 import org.springframework.integration.support.management.IntegrationManagedResource;
 import org.springframework.integration.support.management.IntegrationManagement;
 import org.springframework.integration.support.management.TrackableComponent;
+import org.springframework.integration.support.management.metrics.LatencyHistograms;
 import org.springframework.integration.support.management.metrics.MeterFacade;
 import org.springframework.integration.support.management.metrics.MetricsCaptor;
 import org.springframework.integration.support.management.metrics.TimerFacade;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -64,6 +66,9 @@ public abstract class MessageHandlerSupport extends IntegrationObjectSupport
 
 	private MetricsCaptor metricsCaptor;
 
+	@Nullable
+	private LatencyHistograms latencyHistograms;
+
 	private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
 
 	private int order = Ordered.LOWEST_PRECEDENCE;
@@ -94,6 +99,17 @@ public abstract class MessageHandlerSupport extends IntegrationObjectSupport
 		return this.metricsCaptor;
 	}
 
+	@Override
+	public void registerLatencyHistograms(LatencyHistograms latencyHistogramsToRegister) {
+		this.latencyHistograms = latencyHistogramsToRegister;
+	}
+
+	@Override
+	@Nullable
+	public LatencyHistograms getLatencyHistograms() {
+		return this.latencyHistograms;
+	}
+
 	@Override
 	public void registerObservationRegistry(ObservationRegistry observationRegistry) {
 		Assert.notNull(observationRegistry, "'observationRegistry' must not be null");
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -87,6 +87,17 @@ public class MethodInvokingMessageProcessor<T> extends AbstractMessageProcessor<
 		this.delegate.setUseSpelInvoker(useSpelInvoker);
 	}
 
+	/**
+	 * A {@code boolean} flag to invoke the target method via a {@link java.lang.invoke.MethodHandle}
+	 * with the arguments bound directly from the message, when possible.
+	 * @param useDirectInvoker true to invoke the method directly.
+	 * @since 6.0.3
+	 * @see MessagingMethodInvokerHelper#setUseDirectInvoker(boolean)
+	 */
+	public void setUseDirectInvoker(boolean useDirectInvoker) {
+		this.delegate.setUseDirectInvoker(useDirectInvoker);
+	}
+
 	@Override
 	public void start() {
 		this.delegate.start();
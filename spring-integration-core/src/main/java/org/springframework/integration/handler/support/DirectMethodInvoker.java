@@ -0,0 +1,252 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.handler.support;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.core.KotlinDetector;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.SynthesizingMethodParameter;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Headers;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.handler.annotation.ValueConstants;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Invokes a handler method via a {@link MethodHandle} (or a {@link LambdaMetafactory}
+ * generated {@link Function} for single-argument methods) with the arguments bound
+ * directly from the message: the payload, the message itself, a header or all the headers.
+ * The binding is resolved once, when the invoker is created.
+ * <p>
+ * When an argument cannot be bound without conversion (e.g. the payload is not an
+ * instance of the parameter type or a header is missing), {@link #resolveArguments(Message)}
+ * returns {@code null} and the caller must use the regular
+ * {@link org.springframework.messaging.handler.invocation.InvocableHandlerMethod}.
+ *
+ * @since 6.0.3
+ */
+final class DirectMethodInvoker {
+
+	private final ParameterBinding[] bindings;
+
+	private final MethodHandle methodHandle;
+
+	@Nullable
+	private final Function<Object, Object> function;
+
+	private DirectMethodInvoker(ParameterBinding[] bindings, MethodHandle methodHandle,
+			@Nullable Function<Object, Object> function) {
+
+		this.bindings = bindings;
+		this.methodHandle = methodHandle;
+		this.function = function;
+	}
+
+	/**
+	 * Resolve the arguments for the method.
+	 * @param message the message to bind the arguments from.
+	 * @return the arguments or null if they cannot be bound directly.
+	 */
+	@Nullable
+	Object[] resolveArguments(Message<?> message) {
+		Object[] args = new Object[this.bindings.length];
+		for (int i = 0; i < args.length; i++) {
+			ParameterBinding binding = this.bindings[i];
+			Object arg =
+					switch (binding.kind) {
+						case PAYLOAD -> message.getPayload();
+						case MESSAGE -> binding.parameterType.isInstance(message) ? message.getPayload() : null;
+						case HEADER -> message.getHeaders().get(binding.headerName);
+						case HEADERS -> message.getHeaders();
+					};
+			if (arg == null || !binding.valueType.isInstance(arg)) {
+				return null;
+			}
+			args[i] = binding.kind == ParameterBinding.Kind.MESSAGE ? message : arg;
+		}
+		return args;
+	}
+
+	@Nullable
+	Object invoke(Object[] args) throws Exception {
+		try {
+			if (this.function != null) {
+				return this.function.apply(args[0]);
+			}
+			return (Object) this.methodHandle.invokeExact(args);
+		}
+		catch (Exception | Error ex) {
+			throw ex;
+		}
+		catch (Throwable ex) {
+			throw new UndeclaredThrowableException(ex);
+		}
+	}
+
+	/**
+	 * Create an invoker if all the method parameters can be bound directly.
+	 * @param target the target object.
+	 * @param method the method to invoke.
+	 * @return the invoker or null if the method is not eligible.
+	 */
+	@Nullable
+	static DirectMethodInvoker create(Object target, Method method) {
+		if (KotlinDetector.isSuspendingFunction(method)) {
+			return null;
+		}
+		int parameterCount = method.getParameterCount();
+		ParameterBinding[] bindings = new ParameterBinding[parameterCount];
+		boolean payloadBound = false;
+		for (int i = 0; i < parameterCount; i++) {
+			ParameterBinding binding = ParameterBinding.of(new SynthesizingMethodParameter(method, i));
+			if (binding == null || (binding.kind == ParameterBinding.Kind.PAYLOAD && payloadBound)) {
+				return null;
+			}
+			payloadBound |= binding.kind == ParameterBinding.Kind.PAYLOAD;
+			bindings[i] = binding;
+		}
+		try {
+			ReflectionUtils.makeAccessible(method);
+			MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+			boolean isStatic = Modifier.isStatic(method.getModifiers());
+			if (!isStatic) {
+				methodHandle = methodHandle.bindTo(target);
+			}
+			Function<Object, Object> function = null;
+			if (parameterCount == 1 && !isStatic && method.getReturnType() != void.class) {
+				function = createFunction(target, method);
+			}
+			methodHandle =
+					methodHandle.asSpreader(Object[].class, parameterCount)
+							.asType(MethodType.methodType(Object.class, Object[].class));
+			return new DirectMethodInvoker(bindings, methodHandle, function);
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Generate a {@link Function} calling the single-argument method on the target.
+	 * Requires the method's declaring class to be accessible for a private lookup from this class.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private static Function<Object, Object> createFunction(Object target, Method method) {
+		try {
+			Class<?> declaringClass = method.getDeclaringClass();
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+			MethodHandle implementation = lookup.unreflect(method);
+			MethodType instantiatedType =
+					MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()),
+							ClassUtils.resolvePrimitiveIfNecessary(method.getParameterTypes()[0]));
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+					MethodType.methodType(Function.class, declaringClass),
+					MethodType.methodType(Object.class, Object.class), implementation, instantiatedType);
+			return (Function<Object, Object>) callSite.getTarget().invoke(target);
+		}
+		catch (Throwable ex) { // NOSONAR fall back to the method handle
+			return null;
+		}
+	}
+
+	private static final class ParameterBinding {
+
+		enum Kind {
+			PAYLOAD, MESSAGE, HEADER, HEADERS
+		}
+
+		private final Kind kind;
+
+		private final Class<?> parameterType;
+
+		private final Class<?> valueType;
+
+		@Nullable
+		private final String headerName;
+
+		private ParameterBinding(Kind kind, Class<?> parameterType, Class<?> valueType, @Nullable String headerName) {
+			this.kind = kind;
+			this.parameterType = parameterType;
+			this.valueType = ClassUtils.resolvePrimitiveIfNecessary(valueType);
+			this.headerName = headerName;
+		}
+
+		@Nullable
+		static ParameterBinding of(MethodParameter parameter) {
+			Class<?> parameterType = parameter.getParameterType();
+			if (Optional.class.equals(parameterType)) {
+				return null;
+			}
+			Annotation[] annotations = parameter.getParameterAnnotations();
+			if (annotations.length > 1) {
+				return null;
+			}
+			if (annotations.length == 0) {
+				if (Message.class.isAssignableFrom(parameterType)) {
+					Class<?> payloadType = ResolvableType.forMethodParameter(parameter).as(Message.class)
+							.getGeneric()
+							.toClass();
+					return new ParameterBinding(Kind.MESSAGE, parameterType, payloadType, null);
+				}
+				else if (Map.class.isAssignableFrom(parameterType)) {
+					return null;
+				}
+				else {
+					return new ParameterBinding(Kind.PAYLOAD, parameterType, parameterType, null);
+				}
+			}
+			Annotation annotation = annotations[0];
+			if (annotation instanceof Payload payload) {
+				return !StringUtils.hasText(payload.expression()) && payload.required()
+						? new ParameterBinding(Kind.PAYLOAD, parameterType, parameterType, null)
+						: null;
+			}
+			else if (annotation instanceof Header header) {
+				String headerName = header.name();
+				return StringUtils.hasText(headerName) && headerName.indexOf('.') < 0
+						&& ValueConstants.DEFAULT_NONE.equals(header.defaultValue())
+						? new ParameterBinding(Kind.HEADER, parameterType, parameterType, headerName)
+						: null;
+			}
+			else if (annotation instanceof Headers && parameterType.isAssignableFrom(MessageHeaders.class)) {
+				return new ParameterBinding(Kind.HEADERS, parameterType, parameterType, null);
+			}
+			return null;
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -73,6 +73,7 @@ import org.springframework.integration.annotation.Payloads;
 import org.springframework.integration.annotation.ServiceActivator;
 import org.springframework.integration.annotation.UseSpelInvoker;
 import org.springframework.integration.context.IntegrationContextUtils;
+import org.springframework.integration.context.IntegrationProperties;
 import org.springframework.integration.core.Pausable;
 import org.springframework.integration.support.MutableMessage;
 import org.springframework.integration.support.converter.ConfigurableCompositeMessageConverter;
@@ -194,6 +195,9 @@ public class MessagingMethodInvokerHelper extends AbstractExpressionEvaluator im
 
 	private boolean useSpelInvoker;
 
+	@Nullable
+	private Boolean useDirectInvoker;
+
 	private volatile MessageHandlerMethodFactory messageHandlerMethodFactory;
 
 	private volatile boolean initialized;
@@ -335,6 +339,20 @@ public class MessagingMethodInvokerHelper extends AbstractExpressionEvaluator im
 		this.useSpelInvoker = useSpelInvoker;
 	}
 
+	/**
+	 * A {@code boolean} flag to invoke the target method via a {@link java.lang.invoke.MethodHandle}
+	 * with the arguments bound directly from the message (payload, message, headers),
+	 * instead of the {@link InvocableHandlerMethod} argument resolvers.
+	 * The arguments requiring conversion are still resolved by the {@link InvocableHandlerMethod}.
+	 * Only applies when there is a single candidate method.
+	 * Defaults to the {@link IntegrationProperties#METHOD_INVOKER_DIRECT} global property.
+	 * @param useDirectInvoker true to invoke the method directly.
+	 * @since 6.0.3
+	 */
+	public void setUseDirectInvoker(boolean useDirectInvoker) {
+		this.useDirectInvoker = useDirectInvoker;
+	}
+
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) {
 		super.setBeanFactory(beanFactory);
@@ -501,6 +519,10 @@ public class MessagingMethodInvokerHelper extends AbstractExpressionEvaluator im
 			configureLocalMessageHandlerFactory();
 		}
 
+		if (this.useDirectInvoker == null) {
+			this.useDirectInvoker =
+					IntegrationContextUtils.getIntegrationProperties(getBeanFactory()).isMethodInvokerDirect();
+		}
 		prepareEvaluationContext();
 		this.initialized = true;
 	}
@@ -548,6 +570,11 @@ public class MessagingMethodInvokerHelper extends AbstractExpressionEvaluator im
 		candidate.expression = parser.parseExpression(candidate.expressionString);
 		if (!this.useSpelInvoker && !candidate.spelOnly) {
 			candidate.setInvocableHandlerMethod(createInvocableHandlerMethod(candidate.method));
+			if (Boolean.TRUE.equals(this.useDirectInvoker) && candidate == this.handlerMethod
+					&& !this.canProcessMessageList) {
+
+				candidate.directInvoker = DirectMethodInvoker.create(this.targetObject, candidate.method);
+			}
 		}
 		candidate.initialized = true;
 	}
@@ -1034,6 +1061,9 @@ public class MessagingMethodInvokerHelper extends AbstractExpressionEvaluator im
 
 		private InvocableHandlerMethod invocableHandlerMethod;
 
+		@Nullable
+		private DirectMethodInvoker directInvoker;
+
 		private Expression expression;
 
 		private TypeDescriptor targetParameterTypeDescriptor;
@@ -1072,7 +1102,11 @@ public class MessagingMethodInvokerHelper extends AbstractExpressionEvaluator im
 				message = new MutableMessage<>(parameters.getMessages(), parameters.getHeaders());
 			}
 			try {
-				Object result = this.invocableHandlerMethod.invoke(message);
+				Object[] args = this.directInvoker != null ? this.directInvoker.resolveArguments(message) : null;
+				Object result =
+						args != null
+								? this.directInvoker.invoke(args)
+								: this.invocableHandlerMethod.invoke(message);
 				if (result != null
 						&& org.springframework.integration.util.ClassUtils.isKotlinUnit(result.getClass())) {
 
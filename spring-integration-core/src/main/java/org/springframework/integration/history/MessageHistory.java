@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,15 +16,21 @@
 
 package org.springframework.integration.history;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -43,8 +49,20 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.support.ErrorMessage;
 import org.springframework.messaging.support.GenericMessage;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
+ * The immutable list of the components a message has passed through.
+ * <p>
+ * Starting with version 6.0.3, the history is an append-only linked structure:
+ * each tracked component adds a single node referring to the previous history and to
+ * the interned component name and type, so the history is not copied on each hop.
+ * The {@link Properties} view of each node is rendered lazily.
+ * <p>
+ * When the history is sampled (see {@link MessageHistoryConfigurer#setSampleRate(int)}),
+ * the messages which are not sampled carry an empty history, so the downstream
+ * components do not track them either.
+ *
  * @author Mark Fisher
  * @author Artem Bilan
  * @author Gary Russell
@@ -71,8 +89,17 @@ public final class MessageHistory implements List<Properties>, Serializable {
 
 	private static final MessageBuilderFactory MESSAGE_BUILDER_FACTORY = new DefaultMessageBuilderFactory();
 
+	private static final Map<String, TrackedComponent> TRACKED_COMPONENTS = new ConcurrentReferenceHashMap<>();
+
+	private static final Map<NamedComponent, BooleanSupplier> SAMPLERS = new ConcurrentHashMap<>();
 
-	private final List<Properties> components;
+	private static final List<Properties> NO_COMPONENTS = new ArrayList<>(0);
+
+	@Nullable
+	private final transient HistoryNode last;
+
+	@Nullable
+	private volatile List<Properties> components;
 
 	@Nullable
 	public static MessageHistory read(@Nullable Message<?> message) {
@@ -92,15 +119,19 @@ public final class MessageHistory implements List<Properties>, Serializable {
 		Message<T> message = messageArg;
 		Assert.notNull(message, "Message must not be null");
 		Assert.notNull(component, "Component must not be null");
-		Properties metadata = extractMetadata(component);
-		if (!metadata.isEmpty()) {
-			MessageHistory previousHistory = message.getHeaders().get(HEADER_NAME, MessageHistory.class);
-			List<Properties> components =
-					previousHistory != null
-							? new ArrayList<>(previousHistory)
-							: new ArrayList<>();
-			components.add(metadata);
-			MessageHistory history = new MessageHistory(components);
+		TrackedComponent trackedComponent = trackedComponent(component);
+		MessageHistory previousHistory = message.getHeaders().get(HEADER_NAME, MessageHistory.class);
+		if (trackedComponent != null && (previousHistory == null || !previousHistory.isEmpty())) {
+			MessageHistory history;
+			if (previousHistory != null) {
+				history = previousHistory.append(trackedComponent);
+			}
+			else if (isSampled(component)) {
+				history = new MessageHistory(new HistoryNode(null, trackedComponent));
+			}
+			else {
+				history = new MessageHistory((HistoryNode) null);
+			}
 
 			if (message instanceof MutableMessage) {
 				message.getHeaders().put(HEADER_NAME, history);
@@ -146,74 +177,111 @@ public final class MessageHistory implements List<Properties>, Serializable {
 
 	@JsonCreator
 	private MessageHistory(List<Properties> components) {
-		Assert.notEmpty(components, "component list must not be empty");
-		this.components = components;
+		Assert.notNull(components, "component list must not be null");
+		this.last = null;
+		this.components = new ArrayList<>(components);
+	}
+
+	private MessageHistory(@Nullable HistoryNode last) {
+		this.last = last;
+		this.components = last != null ? null : NO_COMPONENTS;
+	}
+
+	private MessageHistory append(TrackedComponent trackedComponent) {
+		HistoryNode previous = this.last;
+		if (previous == null) {
+			for (Properties entry : getComponents()) {
+				previous = new HistoryNode(previous, entry);
+			}
+		}
+		return new MessageHistory(new HistoryNode(previous, trackedComponent));
+	}
+
+	private List<Properties> getComponents() {
+		List<Properties> entries = this.components;
+		if (entries == null) {
+			HistoryNode node = this.last;
+			Properties[] entryArray = new Properties[node.index + 1]; // NOSONAR never null when no components
+			while (node != null) {
+				entryArray[node.index] = node.getEntry();
+				node = node.previous;
+			}
+			entries = new ArrayList<>(Arrays.asList(entryArray));
+			this.components = entries;
+		}
+		return entries;
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		getComponents();
+		out.defaultWriteObject();
 	}
 
 
 	@Override
 	public int size() {
-		return this.components.size();
+		HistoryNode node = this.last;
+		return node != null ? node.index + 1 : getComponents().size();
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return this.components.isEmpty();
+		return this.last == null && getComponents().isEmpty();
 	}
 
 	@Override
 	public boolean contains(Object o) {
-		return this.components.contains(o);
+		return getComponents().contains(o);
 	}
 
 	@Override
 	public boolean containsAll(Collection<?> c) {
-		return this.components.containsAll(c);
+		return getComponents().containsAll(c);
 	}
 
 	@Override
 	public Properties get(int index) {
-		return this.components.get(index);
+		return getComponents().get(index);
 	}
 
 	@Override
 	public Iterator<Properties> iterator() {
-		return Collections.unmodifiableList(this.components).iterator();
+		return Collections.unmodifiableList(getComponents()).iterator();
 	}
 
 	@Override
 	public ListIterator<Properties> listIterator() {
-		return Collections.unmodifiableList(this.components).listIterator();
+		return Collections.unmodifiableList(getComponents()).listIterator();
 	}
 
 	@Override
 	public ListIterator<Properties> listIterator(int index) {
-		return Collections.unmodifiableList(this.components).listIterator(index);
+		return Collections.unmodifiableList(getComponents()).listIterator(index);
 	}
 
 	@Override
 	public List<Properties> subList(int fromIndex, int toIndex) {
-		return Collections.unmodifiableList(this.components).subList(fromIndex, toIndex);
+		return Collections.unmodifiableList(getComponents()).subList(fromIndex, toIndex);
 	}
 
 	@Override
 	public Object[] toArray() {
-		return this.components.toArray();
+		return getComponents().toArray();
 	}
 
 	@Override
 	public <T> T[] toArray(T[] a) {
-		return this.components.toArray(a);
+		return getComponents().toArray(a);
 	}
 
 	@Override
 	public int indexOf(Object o) {
-		return this.components.indexOf(o);
+		return getComponents().indexOf(o);
 	}
 
 	@Override
 	public int lastIndexOf(Object o) {
-		return this.components.lastIndexOf(o);
+		return getComponents().lastIndexOf(o);
 	}
 
 	@Override
@@ -225,17 +293,17 @@ public final class MessageHistory implements List<Properties>, Serializable {
 			return false;
 		}
 		MessageHistory that = (MessageHistory) o;
-		return this.components.equals(that.components);
+		return getComponents().equals(that.getComponents());
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.components);
+		return Objects.hash(getComponents());
 	}
 
 	@Override
 	public String toString() {
-		return this.components
+		return getComponents()
 				.stream()
 				.map((props) -> props.getProperty(NAME_PROPERTY))
 				.collect(Collectors.joining(","));
@@ -297,20 +365,90 @@ public final class MessageHistory implements List<Properties>, Serializable {
 	}
 
 
-	private static Properties extractMetadata(NamedComponent component) {
-		Entry entry = new Entry();
+	static void setSampler(NamedComponent component, @Nullable BooleanSupplier sampler) {
+		if (sampler != null) {
+			SAMPLERS.put(component, sampler);
+		}
+		else {
+			SAMPLERS.remove(component);
+		}
+	}
+
+	private static boolean isSampled(NamedComponent component) {
+		BooleanSupplier sampler = SAMPLERS.get(component);
+		return sampler == null || sampler.getAsBoolean();
+	}
+
+	@Nullable
+	private static TrackedComponent trackedComponent(NamedComponent component) {
 		String name = component.getComponentName();
+		if (name == null || name.startsWith("org.springframework.integration")) {
+			return null;
+		}
 		String type = component.getComponentType();
-		if (name != null && !name.startsWith("org.springframework.integration")) {
-			entry.setName(name);
-			if (type != null) {
-				entry.setType(type);
-			}
+		TrackedComponent trackedComponent = TRACKED_COMPONENTS.get(name);
+		if (trackedComponent == null || !Objects.equals(trackedComponent.type, type)) {
+			trackedComponent = new TrackedComponent(name, type);
+			TRACKED_COMPONENTS.put(name, trackedComponent);
+		}
+		return trackedComponent;
+	}
+
+	/**
+	 * The interned name and type of a tracked component.
+	 */
+	private record TrackedComponent(String name, @Nullable String type) {
+
+	}
+
+	/**
+	 * The immutable node of the history; the entry {@link Properties} are rendered lazily.
+	 */
+	private static final class HistoryNode {
+
+		@Nullable
+		private final HistoryNode previous;
+
+		private final int index;
+
+		@Nullable
+		private final TrackedComponent component;
+
+		private final long timestamp;
+
+		@Nullable
+		private volatile Properties entry;
+
+		HistoryNode(@Nullable HistoryNode previous, TrackedComponent component) {
+			this.previous = previous;
+			this.index = previous != null ? previous.index + 1 : 0;
+			this.component = component;
+			this.timestamp = System.currentTimeMillis();
 		}
-		if (!entry.isEmpty()) {
-			entry.setTimestamp(Long.toString(System.currentTimeMillis()));
+
+		HistoryNode(@Nullable HistoryNode previous, Properties entry) {
+			this.previous = previous;
+			this.index = previous != null ? previous.index + 1 : 0;
+			this.component = null;
+			this.timestamp = 0;
+			this.entry = entry;
+		}
+
+		Properties getEntry() {
+			Properties properties = this.entry;
+			if (properties == null) {
+				Entry newEntry = new Entry();
+				newEntry.setName(this.component.name); // NOSONAR never null without entry
+				if (this.component.type != null) {
+					newEntry.setType(this.component.type);
+				}
+				newEntry.setTimestamp(Long.toString(this.timestamp));
+				properties = newEntry;
+				this.entry = properties;
+			}
+			return properties;
 		}
-		return entry;
+
 	}
 
 	/**
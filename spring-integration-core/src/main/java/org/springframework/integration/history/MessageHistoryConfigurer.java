@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -56,6 +57,8 @@ public class MessageHistoryConfigurer implements ManageableSmartLifecycle, BeanF
 
 	private final Set<TrackableComponent> currentlyTrackedComponents = ConcurrentHashMap.newKeySet();
 
+	private final AtomicLong sampleCounter = new AtomicLong();
+
 	private String[] componentNamePatterns = {"*"};
 
 	private ListableBeanFactory beanFactory;
@@ -64,6 +67,8 @@ public class MessageHistoryConfigurer implements ManageableSmartLifecycle, BeanF
 
 	private int phase = Integer.MIN_VALUE;
 
+	private int sampleRate = 1;
+
 	private volatile boolean running;
 
 
@@ -98,6 +103,28 @@ public class MessageHistoryConfigurer implements ManageableSmartLifecycle, BeanF
 		return StringUtils.arrayToCommaDelimitedString(this.componentNamePatterns);
 	}
 
+	/**
+	 * Track the history only for every Nth message; default 1 (all messages).
+	 * The decision is made by the first tracked component a message passes through;
+	 * the messages which are not sampled get an empty {@link MessageHistory}, so they are
+	 * not tracked by the downstream components either.
+	 * The messages are counted per configurer (application context).
+	 * Cannot be changed if {@link #isRunning()}; invoke {@link #stop()} first.
+	 * @param sampleRate the sample rate.
+	 * @since 6.0.3
+	 */
+	@ManagedAttribute(description = "track every Nth message; must invoke stop() before changing.")
+	public void setSampleRate(int sampleRate) {
+		Assert.isTrue(sampleRate > 0, "'sampleRate' must be greater than 0");
+		Assert.state(!this.running, "'sampleRate' cannot be changed without invoking stop() first");
+		this.sampleRate = sampleRate;
+	}
+
+	@ManagedAttribute
+	public int getSampleRate() {
+		return this.sampleRate;
+	}
+
 
 	/**
 	 * The patterns for which components will be tracked; default '*' (all trackable
@@ -134,12 +161,19 @@ public class MessageHistoryConfigurer implements ManageableSmartLifecycle, BeanF
 		component.setShouldTrack(shouldTrack);
 		if (shouldTrack) {
 			this.currentlyTrackedComponents.add(component);
+			if (this.sampleRate > 1) {
+				MessageHistory.setSampler(component, this::isSampled);
+			}
 			if (LOGGER.isInfoEnabled()) {
 				LOGGER.info("Enabling MessageHistory tracking for component '" + componentName + "'");
 			}
 		}
 	}
 
+	private boolean isSampled() {
+		return this.sampleCounter.getAndIncrement() % this.sampleRate == 0;
+	}
+
 	@Override
 	public boolean requiresDestruction(Object bean) {
 		return bean instanceof TrackableComponent;
@@ -147,7 +181,9 @@ public class MessageHistoryConfigurer implements ManageableSmartLifecycle, BeanF
 
 	@Override
 	public void postProcessBeforeDestruction(Object bean, String beanName) throws BeansException {
-		this.currentlyTrackedComponents.remove(bean);
+		if (this.currentlyTrackedComponents.remove(bean)) {
+			MessageHistory.setSampler((TrackableComponent) bean, null);
+		}
 	}
 
 	/*
@@ -197,6 +233,7 @@ public class MessageHistoryConfigurer implements ManageableSmartLifecycle, BeanF
 			if (this.running) {
 				this.currentlyTrackedComponents.forEach(component -> {
 					component.setShouldTrack(false);
+					MessageHistory.setSampler(component, null);
 					if (LOGGER.isInfoEnabled()) {
 						LOGGER.info("Disabling MessageHistory tracking for component '"
 								+ component.getComponentName() + "'");
@@ -16,6 +16,7 @@
 
 package org.springframework.integration.router;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -27,11 +28,15 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.log.LogMessage;
+import org.springframework.integration.dsl.context.IntegrationFlowContext;
+import org.springframework.integration.dsl.context.StandardIntegrationFlowContext;
 import org.springframework.integration.support.management.MappingMessageRouterManagement;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessagingException;
@@ -85,6 +90,17 @@ public abstract class AbstractMappingMessageRouter extends AbstractMessageRouter
 
 	private volatile Map<String, String> channelMappings = new LinkedHashMap<>();
 
+	private int channelCacheSize;
+
+	@Nullable
+	private Duration channelCacheTimeToLive;
+
+	@Nullable
+	private ChannelCache channelCache;
+
+	@Nullable
+	private StandardIntegrationFlowContext integrationFlowContext;
+
 
 	/**
 	 * Provide mappings from channel keys to channel names.
@@ -208,6 +224,89 @@ public abstract class AbstractMappingMessageRouter extends AbstractMessageRouter
 		this.dynamicChannelLimit = dynamicChannelLimit;
 	}
 
+	/**
+	 * Set the max number of channels resolved by their names to cache.
+	 * When set, the channel names (mapped or dynamic, e.g. from an expression) are resolved
+	 * with the {@link org.springframework.messaging.core.DestinationResolver} only once (or once
+	 * in the {@link #setChannelCacheTimeToLive(Duration) time-to-live}).
+	 * The least recently used channels are evicted when the limit is exceeded.
+	 * The cache is cleared when the channel mappings are changed or when an
+	 * {@link org.springframework.integration.dsl.IntegrationFlow} is registered or removed via
+	 * the {@link org.springframework.integration.dsl.context.IntegrationFlowContext}.
+	 * Should not be used for channels with ephemeral names, e.g. the ones from the
+	 * {@link org.springframework.integration.support.channel.HeaderChannelRegistry}.
+	 * Defaults to 0 - no caching.
+	 * @param channelCacheSize the max number of cached channels.
+	 * @since 6.0.3
+	 * @see #setChannelCacheTimeToLive(Duration)
+	 */
+	public void setChannelCacheSize(int channelCacheSize) {
+		Assert.isTrue(channelCacheSize >= 0, "'channelCacheSize' must not be negative");
+		this.channelCacheSize = channelCacheSize;
+	}
+
+	/**
+	 * Set the time after the resolution when a cached channel is resolved again.
+	 * By default, the cached channels don't expire.
+	 * @param channelCacheTimeToLive the time-to-live for the cached channels.
+	 * @since 6.0.3
+	 * @see #setChannelCacheSize(int)
+	 */
+	public void setChannelCacheTimeToLive(Duration channelCacheTimeToLive) {
+		Assert.isTrue(channelCacheTimeToLive != null && !channelCacheTimeToLive.isNegative()
+				&& !channelCacheTimeToLive.isZero(), "'channelCacheTimeToLive' must be positive");
+		this.channelCacheTimeToLive = channelCacheTimeToLive;
+	}
+
+	/**
+	 * Return the number of channel resolutions served from the cache.
+	 * @return the number of cache hits.
+	 * @since 6.0.3
+	 * @see #setChannelCacheSize(int)
+	 */
+	@ManagedAttribute
+	public long getChannelCacheHits() {
+		ChannelCache cache = this.channelCache;
+		return cache != null ? cache.getHits() : 0;
+	}
+
+	/**
+	 * Return the number of channel resolutions not served from the cache.
+	 * @return the number of cache misses.
+	 * @since 6.0.3
+	 * @see #setChannelCacheSize(int)
+	 */
+	@ManagedAttribute
+	public long getChannelCacheMisses() {
+		ChannelCache cache = this.channelCache;
+		return cache != null ? cache.getMisses() : 0;
+	}
+
+	/**
+	 * Return the current number of cached channels.
+	 * @return the number of cached channels.
+	 * @since 6.0.3
+	 * @see #setChannelCacheSize(int)
+	 */
+	@ManagedAttribute
+	public int getCachedChannelCount() {
+		ChannelCache cache = this.channelCache;
+		return cache != null ? cache.size() : 0;
+	}
+
+	/**
+	 * Remove all the cached channels.
+	 * @since 6.0.3
+	 * @see #setChannelCacheSize(int)
+	 */
+	@ManagedOperation
+	public void clearChannelCache() {
+		ChannelCache cache = this.channelCache;
+		if (cache != null) {
+			cache.clear();
+		}
+	}
+
 	/**
 	 * Returns an unmodifiable version of the channel mappings.
 	 * This is intended for use by subclasses only.
@@ -230,6 +329,7 @@ public abstract class AbstractMappingMessageRouter extends AbstractMessageRouter
 		Map<String, String> newChannelMappings = new LinkedHashMap<>(this.channelMappings);
 		newChannelMappings.put(key, channelName);
 		this.channelMappings = newChannelMappings;
+		channelMappingsChanged();
 	}
 
 	/**
@@ -242,6 +342,7 @@ public abstract class AbstractMappingMessageRouter extends AbstractMessageRouter
 		Map<String, String> newChannelMappings = new LinkedHashMap<>(this.channelMappings);
 		newChannelMappings.remove(key);
 		this.channelMappings = newChannelMappings;
+		channelMappingsChanged();
 	}
 
 	@Override
@@ -257,6 +358,16 @@ public abstract class AbstractMappingMessageRouter extends AbstractMessageRouter
 				"The 'defaultOutputChannel' cannot be reached " +
 						"when both 'channelKeyFallback' & 'resolutionRequired' are set to true. " +
 						"See their javadocs for more information.");
+		if (this.channelCacheSize > 0) {
+			this.channelCache = new ChannelCache(this.channelCacheSize, this.channelCacheTimeToLive);
+			BeanFactory beanFactory = getBeanFactory();
+			if (beanFactory != null
+					&& beanFactory.getBeanProvider(IntegrationFlowContext.class).getIfUnique()
+					instanceof StandardIntegrationFlowContext flowContext) {
+
+				this.integrationFlowContext = flowContext;
+			}
+		}
 	}
 
 	@Override
@@ -267,6 +378,14 @@ public abstract class AbstractMappingMessageRouter extends AbstractMessageRouter
 		return channels;
 	}
 
+	/**
+	 * Invoked after the channel mappings have been changed, e.g. to reset the state
+	 * subclasses derive from them. Does nothing by default.
+	 * @since 6.0.3
+	 */
+	protected void onChannelMappingsChanged() {
+	}
+
 	/**
 	 * Subclasses must implement this method to return the channel keys.
 	 * A "key" might be present in this router's "channelMappings", or it
@@ -301,9 +420,37 @@ public abstract class AbstractMappingMessageRouter extends AbstractMessageRouter
 	private void doSetChannelMappings(Map<String, String> newChannelMappings) {
 		Map<String, String> oldChannelMappings = this.channelMappings;
 		this.channelMappings = newChannelMappings;
+		channelMappingsChanged();
 		logger.debug(LogMessage.format("Channel mappings: %s replaced with: %s", oldChannelMappings, newChannelMappings));
 	}
 
+	private void channelMappingsChanged() {
+		clearChannelCache();
+		onChannelMappingsChanged();
+	}
+
+	@Nullable
+	private MessageChannel resolveChannel(String channelName, Message<?> message) {
+		ChannelCache cache = this.channelCache;
+		if (cache == null) {
+			return resolveChannelForName(channelName, message);
+		}
+		long version = 0;
+		if (this.integrationFlowContext != null) {
+			version = this.integrationFlowContext.getRegistrationsVersion();
+			cache.validate(version);
+		}
+		MessageChannel channel = cache.get(channelName);
+		if (channel == null) {
+			channel = resolveChannelForName(channelName, message);
+			if (channel != null) {
+				cache.put(channelName, channel, version);
+			}
+		}
+		return channel;
+	}
+
+	@Nullable
 	private MessageChannel resolveChannelForName(String channelName, Message<?> message) {
 		MessageChannel channel = null;
 		try {
@@ -351,7 +498,7 @@ public abstract class AbstractMappingMessageRouter extends AbstractMessageRouter
 		if (this.suffix != null) {
 			channelName = channelName + this.suffix;
 		}
-		MessageChannel channel = resolveChannelForName(channelName, message);
+		MessageChannel channel = resolveChannel(channelName, message);
 		if (channel != null) {
 			channels.add(channel);
 			if (!mapped && this.dynamicChannels.get(channelName) == null) {
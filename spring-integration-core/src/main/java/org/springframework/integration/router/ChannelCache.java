@@ -0,0 +1,197 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.router;
+
+import java.io.Serial;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.MessageChannel;
+
+/**
+ * A bounded cache of the resolved channels by their names for the
+ * {@link AbstractMappingMessageRouter}.
+ * The entries are spread over lock-striped segments, each of them evicting its least
+ * recently used entries; so the eviction order is approximate across the whole cache.
+ * The entries optionally expire after a time-to-live since they have been resolved.
+ *
+ * @since 6.0.3
+ */
+final class ChannelCache {
+
+	private static final int MAX_SEGMENTS = 16;
+
+	private final Segment[] segments;
+
+	private final long timeToLiveNanos;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private volatile long version;
+
+	/**
+	 * Create a cache.
+	 * @param maxSize the max number of entries.
+	 * @param timeToLive the time after the resolution when an entry expires;
+	 * null for no expiration.
+	 */
+	ChannelCache(int maxSize, @Nullable Duration timeToLive) {
+		int segmentCount = Math.min(MAX_SEGMENTS, maxSize);
+		int segmentSize = (maxSize + segmentCount - 1) / segmentCount;
+		this.segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			this.segments[i] = new Segment(segmentSize);
+		}
+		this.timeToLiveNanos = timeToLive != null ? timeToLive.toNanos() : 0;
+	}
+
+	@Nullable
+	MessageChannel get(String channelName) {
+		Segment segment = segmentFor(channelName);
+		CachedChannel cached;
+		segment.lock.lock();
+		try {
+			cached = segment.get(channelName);
+			if (cached != null && cached.expiresAt() != 0 && cached.expiresAt() - System.nanoTime() < 0) {
+				segment.remove(channelName);
+				cached = null;
+			}
+		}
+		finally {
+			segment.lock.unlock();
+		}
+		if (cached != null) {
+			this.hits.increment();
+			return cached.channel();
+		}
+		this.misses.increment();
+		return null;
+	}
+
+	/**
+	 * Cache the resolved channel unless the cache has been validated against another
+	 * version since the resolution has started.
+	 * @param channelName the channel name.
+	 * @param channel the resolved channel.
+	 * @param resolutionVersion the version the cache has been validated against before the resolution.
+	 */
+	void put(String channelName, MessageChannel channel, long resolutionVersion) {
+		if (this.version != resolutionVersion) {
+			return;
+		}
+		long expiresAt = 0;
+		if (this.timeToLiveNanos > 0) {
+			expiresAt = System.nanoTime() + this.timeToLiveNanos;
+			if (expiresAt == 0) {
+				expiresAt = 1;
+			}
+		}
+		Segment segment = segmentFor(channelName);
+		segment.lock.lock();
+		try {
+			segment.put(channelName, new CachedChannel(channel, expiresAt));
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	/**
+	 * Clear the cache if the provided version is different from the one the cache
+	 * has been populated for.
+	 * @param currentVersion the current version of the channel resolution sources.
+	 */
+	void validate(long currentVersion) {
+		if (this.version != currentVersion) {
+			clear();
+			this.version = currentVersion;
+		}
+	}
+
+	void clear() {
+		for (Segment segment : this.segments) {
+			segment.lock.lock();
+			try {
+				segment.clear();
+			}
+			finally {
+				segment.lock.unlock();
+			}
+		}
+	}
+
+	int size() {
+		int size = 0;
+		for (Segment segment : this.segments) {
+			segment.lock.lock();
+			try {
+				size += segment.size();
+			}
+			finally {
+				segment.lock.unlock();
+			}
+		}
+		return size;
+	}
+
+	long getHits() {
+		return this.hits.sum();
+	}
+
+	long getMisses() {
+		return this.misses.sum();
+	}
+
+	private Segment segmentFor(String channelName) {
+		int hash = channelName.hashCode();
+		hash ^= hash >>> 16;
+		return this.segments[Math.floorMod(hash, this.segments.length)];
+	}
+
+	private record CachedChannel(MessageChannel channel, long expiresAt) {
+
+	}
+
+	private static final class Segment extends LinkedHashMap<String, CachedChannel> {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		private final transient Lock lock = new ReentrantLock();
+
+		private final int maxSize;
+
+		Segment(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedChannel> eldest) {
+			return size() > this.maxSize;
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.messaging.Message;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * A Message Router that resolves the target
@@ -38,6 +39,9 @@ import org.springframework.util.ClassUtils;
  * <p>
  * The channel-mapping can be specified for the super classes to avoid mapping duplication
  * for the particular exception implementation.
+ * <p>
+ * The mapping matched by each exception type is cached until the channel mappings
+ * are changed, so only the cause chain is traversed for the subsequent errors.
  *
  * @author Mark Fisher
  * @author Oleg Zhurakousky
@@ -46,8 +50,12 @@ import org.springframework.util.ClassUtils;
  */
 public class ErrorMessageExceptionTypeRouter extends AbstractMappingMessageRouter {
 
+	private static final String NO_MATCH = "";
+
 	private volatile Map<String, Class<?>> classNameMappings = new LinkedHashMap<>();
 
+	private volatile Map<Class<?>, String> channelKeysByType = new ConcurrentReferenceHashMap<>();
+
 	private volatile boolean initialized;
 
 	@Override
@@ -64,7 +72,12 @@ public class ErrorMessageExceptionTypeRouter extends AbstractMappingMessageRoute
 		for (String className : classNames) {
 			newClassNameMappings.put(className, resolveClassFromName(className));
 		}
-		this.classNameMappings = newClassNameMappings;
+		setClassNameMappings(newClassNameMappings);
+	}
+
+	private void setClassNameMappings(Map<String, Class<?>> classNameMappings) {
+		this.classNameMappings = classNameMappings;
+		this.channelKeysByType = new ConcurrentReferenceHashMap<>();
 	}
 
 	private Class<?> resolveClassFromName(String className) {
@@ -84,7 +97,7 @@ public class ErrorMessageExceptionTypeRouter extends AbstractMappingMessageRoute
 		if (this.initialized) {
 			Map<String, Class<?>> newClassNameMappings = new LinkedHashMap<>(this.classNameMappings);
 			newClassNameMappings.put(key, resolveClassFromName(key));
-			this.classNameMappings = newClassNameMappings;
+			setClassNameMappings(newClassNameMappings);
 		}
 	}
 
@@ -94,7 +107,7 @@ public class ErrorMessageExceptionTypeRouter extends AbstractMappingMessageRoute
 		super.removeChannelMapping(key);
 		Map<String, Class<?>> newClassNameMappings = new LinkedHashMap<>(this.classNameMappings);
 		newClassNameMappings.remove(key);
-		this.classNameMappings = newClassNameMappings;
+		setClassNameMappings(newClassNameMappings);
 	}
 
 	@Override
@@ -116,14 +129,18 @@ public class ErrorMessageExceptionTypeRouter extends AbstractMappingMessageRoute
 		String mostSpecificCause = null;
 		Object payload = message.getPayload();
 		if (payload instanceof Throwable) {
+			// obtain the cache before the mappings: it is replaced after the mappings are changed
+			Map<Class<?>, String> cache = this.channelKeysByType;
+			Map<String, Class<?>> mappings = this.classNameMappings;
 			Throwable cause = (Throwable) payload;
 			while (cause != null) {
-				for (Map.Entry<String, Class<?>> entry : this.classNameMappings.entrySet()) {
-					String channelKey = entry.getKey();
-					Class<?> exceptionClass = entry.getValue();
-					if (exceptionClass.isInstance(cause)) {
-						mostSpecificCause = channelKey;
-					}
+				String channelKey = cache.get(cause.getClass());
+				if (channelKey == null) {
+					channelKey = findChannelKey(cause.getClass(), mappings);
+					cache.put(cause.getClass(), channelKey);
+				}
+				if (!NO_MATCH.equals(channelKey)) {
+					mostSpecificCause = channelKey;
 				}
 				cause = cause.getCause();
 			}
@@ -131,4 +148,14 @@ public class ErrorMessageExceptionTypeRouter extends AbstractMappingMessageRoute
 		return Collections.singletonList(mostSpecificCause);
 	}
 
+	private static String findChannelKey(Class<?> causeType, Map<String, Class<?>> mappings) {
+		String channelKey = NO_MATCH;
+		for (Map.Entry<String, Class<?>> entry : mappings.entrySet()) {
+			if (entry.getValue().isAssignableFrom(causeType)) {
+				channelKey = entry.getKey();
+			}
+		}
+		return channelKey;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,13 +19,18 @@ package org.springframework.integration.router;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.messaging.Message;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * A Message Router that resolves the {@link org.springframework.messaging.MessageChannel}
  * based on the {@link Message Message's} payload type.
+ * <p>
+ * The closest match for each payload type is cached until the channel mappings are changed,
+ * so the type hierarchy is traversed only for the first message with a particular payload type.
  *
  * @author Mark Fisher
  * @author Oleg Zhurakousky
@@ -36,6 +41,8 @@ public class PayloadTypeRouter extends AbstractMappingMessageRouter {
 
 	private static final String ARRAY_SUFFIX = "[]";
 
+	private volatile Map<Class<?>, List<Object>> channelKeysByType = new ConcurrentReferenceHashMap<>();
+
 	/**
 	 * Selects the most appropriate channel name matching channel identifiers which are the
 	 * fully qualified class names encountered while traversing the payload type hierarchy.
@@ -47,16 +54,29 @@ public class PayloadTypeRouter extends AbstractMappingMessageRouter {
 	 */
 	@Override
 	protected List<Object> getChannelKeys(Message<?> message) {
+		// obtain the cache before the mappings: it is replaced after the mappings are changed
+		Map<Class<?>, List<Object>> cache = this.channelKeysByType;
 		if (CollectionUtils.isEmpty(getChannelMappings())) {
 			return null;
 		}
-		Class<?> type = message.getPayload().getClass();
-		boolean isArray = type.isArray();
-		if (isArray) {
-			type = type.getComponentType();
+		Class<?> payloadType = message.getPayload().getClass();
+		List<Object> channelKeys = cache.get(payloadType);
+		if (channelKeys == null) {
+			Class<?> type = payloadType;
+			boolean isArray = type.isArray();
+			if (isArray) {
+				type = type.getComponentType();
+			}
+			String closestMatch = findClosestMatch(type, isArray);
+			channelKeys = (closestMatch != null) ? Collections.singletonList(closestMatch) : Collections.emptyList();
+			cache.put(payloadType, channelKeys);
 		}
-		String closestMatch = findClosestMatch(type, isArray);
-		return (closestMatch != null) ? Collections.singletonList(closestMatch) : null;
+		return channelKeys;
+	}
+
+	@Override
+	protected void onChannelMappingsChanged() {
+		this.channelKeysByType = new ConcurrentReferenceHashMap<>();
 	}
 
 	private String findClosestMatch(Class<?> type, boolean isArray) { // NOSONAR
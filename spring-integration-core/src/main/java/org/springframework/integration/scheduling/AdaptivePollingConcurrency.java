@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.scheduling;
+
+import java.time.Duration;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * The settings for adaptive concurrency of a polling endpoint.
+ * <p>
+ * On each trigger execution, the endpoint starts as many polling tasks as needed to reach
+ * its current concurrency. When a polling task ends because a positive {@code maxMessagesPerPoll}
+ * limit has been reached, the concurrency is increased by one up to the {@link #getMaxConcurrency()}.
+ * With an unbounded {@code maxMessagesPerPoll}, a polling task drains the source, so the
+ * concurrency is never increased.
+ * When a polling task receives no messages at all, the concurrency is halved down to
+ * the {@link #getMinConcurrency()} and the next trigger execution is deferred by an
+ * idle interval, which is doubled from {@link #getInitialIdleInterval()} up to the
+ * {@link #getMaxIdleInterval()} for each subsequent empty poll.
+ * Any non-empty poll resets the idle interval.
+ * <p>
+ * The state is kept by each endpoint individually, so an instance of this class can be
+ * shared, e.g. via the default {@link PollerMetadata}.
+ *
+ * @since 6.0.3
+ *
+ * @see org.springframework.integration.endpoint.AbstractPollingEndpoint#setAdaptiveConcurrency(AdaptivePollingConcurrency)
+ */
+public class AdaptivePollingConcurrency {
+
+	private final int maxConcurrency;
+
+	private int minConcurrency = 1;
+
+	private Duration initialIdleInterval = Duration.ofMillis(100);
+
+	private Duration maxIdleInterval = Duration.ofSeconds(10);
+
+	@Nullable
+	private PollSkipStrategy pollSkipStrategy;
+
+	/**
+	 * Create an instance with the max number of concurrent polling tasks.
+	 * @param maxConcurrency the max number of concurrent polling tasks.
+	 */
+	public AdaptivePollingConcurrency(int maxConcurrency) {
+		Assert.isTrue(maxConcurrency > 0, "'maxConcurrency' must be greater than 0");
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	/**
+	 * Set the number of concurrent polling tasks to start with and to scale down to.
+	 * Defaults to 1.
+	 * @param minConcurrency the min number of concurrent polling tasks.
+	 */
+	public void setMinConcurrency(int minConcurrency) {
+		Assert.isTrue(minConcurrency > 0 && minConcurrency <= this.maxConcurrency,
+				"'minConcurrency' must be greater than 0 and not greater than 'maxConcurrency'");
+		this.minConcurrency = minConcurrency;
+	}
+
+	public int getMinConcurrency() {
+		return this.minConcurrency;
+	}
+
+	/**
+	 * Set the delay for the next trigger execution after the first empty poll.
+	 * Defaults to 100 milliseconds.
+	 * @param initialIdleInterval the initial idle interval.
+	 */
+	public void setInitialIdleInterval(Duration initialIdleInterval) {
+		Assert.isTrue(initialIdleInterval != null && !initialIdleInterval.isNegative()
+				&& !initialIdleInterval.isZero(), "'initialIdleInterval' must be positive");
+		this.initialIdleInterval = initialIdleInterval;
+	}
+
+	public Duration getInitialIdleInterval() {
+		return this.initialIdleInterval;
+	}
+
+	/**
+	 * Set the upper bound for the exponential idle back off.
+	 * Defaults to 10 seconds.
+	 * @param maxIdleInterval the max idle interval.
+	 */
+	public void setMaxIdleInterval(Duration maxIdleInterval) {
+		Assert.isTrue(maxIdleInterval != null && !maxIdleInterval.isNegative(),
+				"'maxIdleInterval' must not be negative");
+		this.maxIdleInterval = maxIdleInterval;
+	}
+
+	public Duration getMaxIdleInterval() {
+		return this.maxIdleInterval;
+	}
+
+	/**
+	 * Set a {@link PollSkipStrategy} to consult on each trigger execution.
+	 * When it returns true, no new polling tasks are started; unlike a
+	 * {@link PollSkipAdvice}, a skipped poll is not treated as an empty one,
+	 * so it does not affect the concurrency and idle interval.
+	 * @param pollSkipStrategy the {@link PollSkipStrategy} to use.
+	 */
+	public void setPollSkipStrategy(@Nullable PollSkipStrategy pollSkipStrategy) {
+		this.pollSkipStrategy = pollSkipStrategy;
+	}
+
+	@Nullable
+	public PollSkipStrategy getPollSkipStrategy() {
+		return this.pollSkipStrategy;
+	}
+
+}
@@ -0,0 +1,757 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.scheduling;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * A {@link TaskScheduler} based on a hashed timer wheel: the tasks are spread over
+ * the buckets of a circular array by their deadlines, and a single driver thread
+ * advances the wheel by one bucket on every tick, running the tasks which are due.
+ * Scheduling and cancelling a task are O(1) operations, without a shared priority queue,
+ * so this scheduler fits well a large number of mostly cancelled or rescheduled timeouts,
+ * e.g. the {@code groupTimeout} in the
+ * {@link org.springframework.integration.aggregator.AbstractCorrelatingMessageHandler}
+ * with many concurrently open groups, or the {@link org.springframework.integration.handler.DelayHandler}
+ * releases.
+ * <p>
+ * The tasks are run not earlier than their scheduled time, but up to the tick duration
+ * later; the tick duration is the trade-off between the timing precision and the driver
+ * thread overhead. Tasks with a deadline beyond the wheel (the tick duration multiplied
+ * by the number of ticks per wheel) stay in their bucket for several wheel rounds.
+ * <p>
+ * The due tasks are run on the driver thread by default, so they must be short-lived;
+ * provide a {@link #setTaskExecutor(Executor) task executor} otherwise.
+ * The {@code mayInterruptIfRunning} flag of the {@link ScheduledFuture#cancel(boolean)} is
+ * honored only for tasks run on such an executor.
+ * <p>
+ * The driver thread is started with the first scheduled task and stopped by the {@link #destroy()}.
+ *
+ * @since 6.0.3
+ */
+public class HashedWheelTaskScheduler implements TaskScheduler, BeanNameAware, DisposableBean {
+
+	/**
+	 * The default tick duration - 10 milliseconds.
+	 */
+	public static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+
+	/**
+	 * The default number of ticks per wheel.
+	 */
+	public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+	private static final LogAccessor LOGGER = new LogAccessor(HashedWheelTaskScheduler.class);
+
+	private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+	private static final int WAITING = 0;
+
+	private static final int RUNNING = 1;
+
+	private static final int CANCELLED = 2;
+
+	private static final int DONE = 3;
+
+	private static final AtomicIntegerFieldUpdater<WheelTask> STATE =
+			AtomicIntegerFieldUpdater.newUpdater(WheelTask.class, "state");
+
+	private static final AtomicReferenceFieldUpdater<WheelTask, CountDownLatch> COMPLETION =
+			AtomicReferenceFieldUpdater.newUpdater(WheelTask.class, CountDownLatch.class, "completion");
+
+	private final long tickNanos;
+
+	private final Bucket[] wheel;
+
+	private final int mask;
+
+	private final Queue<WheelTask> newTasks = new ConcurrentLinkedQueue<>();
+
+	private final Queue<WheelTask> cancelledTasks = new ConcurrentLinkedQueue<>();
+
+	private final LongAdder pendingTasks = new LongAdder();
+
+	private final Lock lifecycleLock = new ReentrantLock();
+
+	private ThreadFactory threadFactory = defaultThreadFactory();
+
+	@Nullable
+	private Executor taskExecutor;
+
+	@Nullable
+	private ErrorHandler errorHandler;
+
+	private Clock clock = Clock.systemDefaultZone();
+
+	private volatile long startTime;
+
+	@Nullable
+	private volatile Thread driverThread;
+
+	private volatile boolean running;
+
+	private volatile boolean shutdown;
+
+	/**
+	 * Create an instance with the {@link #DEFAULT_TICK_DURATION} and {@link #DEFAULT_TICKS_PER_WHEEL}.
+	 */
+	public HashedWheelTaskScheduler() {
+		this(DEFAULT_TICK_DURATION, DEFAULT_TICKS_PER_WHEEL);
+	}
+
+	/**
+	 * Create an instance with the provided wheel geometry.
+	 * @param tickDuration the time between the ticks; the resolution of the scheduled times.
+	 * @param ticksPerWheel the number of buckets in the wheel; rounded up to a power of 2.
+	 */
+	public HashedWheelTaskScheduler(Duration tickDuration, int ticksPerWheel) {
+		Assert.notNull(tickDuration, "'tickDuration' must not be null");
+		Assert.isTrue(tickDuration.toMillis() >= 1, "'tickDuration' must be at least 1 millisecond");
+		Assert.isTrue(ticksPerWheel > 0 && ticksPerWheel <= (1 << 30),
+				"'ticksPerWheel' must be between 1 and 2^30");
+		this.tickNanos = tickDuration.toNanos();
+		int wheelSize = Integer.highestOneBit(ticksPerWheel);
+		if (wheelSize < ticksPerWheel) {
+			wheelSize <<= 1;
+		}
+		this.wheel = new Bucket[wheelSize];
+		for (int i = 0; i < wheelSize; i++) {
+			this.wheel[i] = new Bucket();
+		}
+		this.mask = wheelSize - 1;
+	}
+
+	/**
+	 * Set the {@link ThreadFactory} for the driver thread.
+	 * Defaults to a {@link CustomizableThreadFactory} for daemon threads
+	 * with the bean name (if any) as a prefix.
+	 * @param threadFactory the thread factory.
+	 */
+	public void setThreadFactory(ThreadFactory threadFactory) {
+		Assert.notNull(threadFactory, "'threadFactory' must not be null");
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Set an {@link Executor} to run the due tasks on instead of the driver thread.
+	 * @param taskExecutor the executor.
+	 */
+	public void setTaskExecutor(Executor taskExecutor) {
+		Assert.notNull(taskExecutor, "'taskExecutor' must not be null");
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Set an {@link ErrorHandler} for the task failures.
+	 * By default, the failures of one-shot tasks are logged and propagated to their
+	 * {@link ScheduledFuture}, and the failures of repeating tasks are logged and suppressed.
+	 * @param errorHandler the error handler.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		Assert.notNull(errorHandler, "'errorHandler' must not be null");
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Set the {@link Clock} to resolve the {@link Instant} start times and the {@link Trigger}
+	 * executions against. The wheel itself is driven by {@link System#nanoTime()}.
+	 * @param clock the clock.
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "'clock' must not be null");
+		this.clock = clock;
+	}
+
+	@Override
+	public Clock getClock() {
+		return this.clock;
+	}
+
+	@Override
+	public void setBeanName(String name) {
+		if (this.threadFactory instanceof CustomizableThreadFactory customizableThreadFactory) {
+			customizableThreadFactory.setThreadNamePrefix(name + "-");
+		}
+	}
+
+	/**
+	 * Return the number of tasks waiting for their scheduled time.
+	 * @return the number of pending tasks.
+	 */
+	public long getPendingTaskCount() {
+		return this.pendingTasks.sum();
+	}
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		Assert.notNull(trigger, "'trigger' must not be null");
+		SimpleTriggerContext triggerContext = new SimpleTriggerContext(this.clock);
+		Instant nextExecution = trigger.nextExecution(triggerContext);
+		if (nextExecution == null) {
+			return null;
+		}
+		WheelTask wheelTask = new WheelTask(errorHandling(task, true), (current, executedAt) -> {
+			Instant completion = this.clock.instant();
+			triggerContext.update(current, executedAt, completion);
+			Instant next = trigger.nextExecution(triggerContext);
+			return next != null ? delayNanos(next) : -1;
+		});
+		wheelTask.scheduledExecution = nextExecution;
+		return submit(wheelTask, nextExecution);
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+		return submit(new WheelTask(errorHandling(task, false), null), startTime);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+		long periodNanos = positiveNanos(period);
+		WheelTask wheelTask = new WheelTask(errorHandling(task, true),
+				(current, executedAt) -> {
+					long delay = delayNanos(current.plusNanos(periodNanos));
+					return Math.max(delay, 0);
+				});
+		wheelTask.scheduledExecution = startTime;
+		return submit(wheelTask, startTime);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+		return scheduleAtFixedRate(task, this.clock.instant(), period);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+		long delayNanos = positiveNanos(delay);
+		return submit(new WheelTask(errorHandling(task, true), (current, executedAt) -> delayNanos),
+				startTime);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+		return scheduleWithFixedDelay(task, this.clock.instant(), delay);
+	}
+
+	/**
+	 * Stop the driver thread and cancel all the pending tasks.
+	 * No new tasks are accepted afterwards.
+	 */
+	@Override
+	public void destroy() {
+		this.lifecycleLock.lock();
+		try {
+			this.shutdown = true;
+			this.running = false;
+			Thread thread = this.driverThread;
+			if (thread != null) {
+				LockSupport.unpark(thread);
+				if (thread != Thread.currentThread()) {
+					try {
+						thread.join(TimeUnit.NANOSECONDS.toMillis(this.tickNanos) * 10 + 1000);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+			else {
+				cancelAll();
+			}
+		}
+		finally {
+			this.lifecycleLock.unlock();
+		}
+	}
+
+	private static ThreadFactory defaultThreadFactory() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("wheel-scheduler-");
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	private Runnable errorHandling(Runnable task, boolean repeating) {
+		Assert.notNull(task, "'task' must not be null");
+		return TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, repeating);
+	}
+
+	private long delayNanos(Instant time) {
+		return Duration.between(this.clock.instant(), time).toNanos();
+	}
+
+	private static long positiveNanos(Duration duration) {
+		Assert.isTrue(duration != null && !duration.isNegative() && !duration.isZero(),
+				"The period or delay must be positive");
+		return duration.toNanos();
+	}
+
+	private ScheduledFuture<?> submit(WheelTask task, Instant startTime) {
+		start();
+		task.deadline = deadlineAfter(delayNanos(startTime));
+		this.pendingTasks.increment();
+		this.newTasks.add(task);
+		return task;
+	}
+
+	private long deadlineAfter(long delayNanos) {
+		long deadline = System.nanoTime() - this.startTime + Math.max(delayNanos, 0);
+		// guard against the overflow
+		return deadline < 0 ? Long.MAX_VALUE : deadline;
+	}
+
+	private void start() {
+		if (!this.running) {
+			this.lifecycleLock.lock();
+			try {
+				if (this.shutdown) {
+					throw new TaskRejectedException("The scheduler [" + this + "] has been destroyed");
+				}
+				if (!this.running) {
+					this.startTime = System.nanoTime();
+					Thread thread = this.threadFactory.newThread(this::drive);
+					this.driverThread = thread;
+					this.running = true;
+					thread.start();
+				}
+			}
+			finally {
+				this.lifecycleLock.unlock();
+			}
+		}
+	}
+
+	private void drive() {
+		long tick = 0;
+		while (true) {
+			long now = waitForNextTick(tick);
+			if (now < 0) {
+				break;
+			}
+			removeCancelledTasks();
+			transferNewTasks(tick);
+			this.wheel[(int) (tick & this.mask)].expireTasks(now);
+			tick++;
+		}
+		cancelAll();
+	}
+
+	/**
+	 * Wait for the end of the tick.
+	 * @return the current time relative to the start time, or -1 if stopped.
+	 */
+	private long waitForNextTick(long tick) {
+		long tickEnd = this.tickNanos * (tick + 1);
+		while (this.running) {
+			long now = System.nanoTime() - this.startTime;
+			long sleepNanos = tickEnd - now;
+			if (sleepNanos <= 0) {
+				return now;
+			}
+			LockSupport.parkNanos(this, sleepNanos);
+			// a task run on this thread could have been interrupted
+			Thread.interrupted();
+		}
+		return -1;
+	}
+
+	private void removeCancelledTasks() {
+		WheelTask task;
+		while ((task = this.cancelledTasks.poll()) != null) {
+			if (task.bucket != null) {
+				task.bucket.remove(task);
+			}
+		}
+	}
+
+	private void transferNewTasks(long tick) {
+		for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+			WheelTask task = this.newTasks.poll();
+			if (task == null) {
+				break;
+			}
+			task.transferred = true;
+			if (task.state != WAITING) {
+				continue;
+			}
+			long taskTick = task.deadline / this.tickNanos;
+			task.remainingRounds = (taskTick - tick) / this.wheel.length;
+			// the tasks which are already due are run on this tick
+			this.wheel[(int) (Math.max(taskTick, tick) & this.mask)].add(task);
+		}
+	}
+
+	private void cancelAll() {
+		WheelTask task;
+		while ((task = this.newTasks.poll()) != null) {
+			task.cancel(false);
+		}
+		for (Bucket bucket : this.wheel) {
+			bucket.cancelAll();
+		}
+		this.cancelledTasks.clear();
+	}
+
+	private void dispatch(WheelTask task) {
+		Executor executor = this.taskExecutor;
+		if (executor == null) {
+			task.run();
+		}
+		else {
+			try {
+				executor.execute(task);
+			}
+			catch (RejectedExecutionException ex) {
+				LOGGER.error(ex, () -> "The executor rejected the task [" + task + "]");
+				task.fail(ex);
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface NextDelay {
+
+		/**
+		 * Return the delay before the next execution of a repeating task.
+		 * @param scheduledExecution the scheduled time of the execution which has just ended.
+		 * @param executedAt the actual start time of that execution.
+		 * @return the delay in nanoseconds, or -1 for no more executions.
+		 */
+		long nextDelayNanos(@Nullable Instant scheduledExecution, Instant executedAt);
+
+	}
+
+	/**
+	 * A doubly-linked list of tasks, accessed only by the driver thread.
+	 */
+	private static final class Bucket {
+
+		@Nullable
+		private WheelTask head;
+
+		@Nullable
+		private WheelTask tail;
+
+		void add(WheelTask task) {
+			task.bucket = this;
+			if (this.head == null) {
+				this.head = task;
+				this.tail = task;
+			}
+			else {
+				this.tail.next = task;
+				task.prev = this.tail;
+				this.tail = task;
+			}
+		}
+
+		void remove(WheelTask task) {
+			WheelTask next = task.next;
+			if (task.prev != null) {
+				task.prev.next = next;
+			}
+			if (next != null) {
+				next.prev = task.prev;
+			}
+			if (task == this.head) {
+				this.head = next;
+			}
+			if (task == this.tail) {
+				this.tail = task.prev;
+			}
+			task.prev = null;
+			task.next = null;
+			task.bucket = null;
+		}
+
+		void expireTasks(long now) {
+			WheelTask task = this.head;
+			while (task != null) {
+				WheelTask next = task.next;
+				if (task.state != WAITING) {
+					remove(task);
+				}
+				else if (task.remainingRounds <= 0 && task.deadline <= now) {
+					remove(task);
+					task.expire();
+				}
+				else {
+					task.remainingRounds--;
+				}
+				task = next;
+			}
+		}
+
+		void cancelAll() {
+			WheelTask task = this.head;
+			while (task != null) {
+				WheelTask next = task.next;
+				remove(task);
+				task.cancel(false);
+				task = next;
+			}
+		}
+
+	}
+
+	private final class WheelTask implements ScheduledFuture<Object>, Runnable {
+
+		private final Runnable task;
+
+		@Nullable
+		private final NextDelay nextDelay;
+
+		private volatile int state = WAITING;
+
+		/**
+		 * Whether the task has been taken from the new tasks by the driver thread.
+		 */
+		private volatile boolean transferred;
+
+		@Nullable
+		private volatile Throwable failure;
+
+		/**
+		 * Created on demand for the {@link #get()} callers.
+		 */
+		@Nullable
+		private volatile CountDownLatch completion;
+
+		private volatile long deadline;
+
+		@Nullable
+		private volatile Thread runner;
+
+		@Nullable
+		private Instant scheduledExecution;
+
+		private long remainingRounds;
+
+		@Nullable
+		private Bucket bucket;
+
+		@Nullable
+		private WheelTask prev;
+
+		@Nullable
+		private WheelTask next;
+
+		WheelTask(Runnable task, @Nullable NextDelay nextDelay) {
+			this.task = task;
+			this.nextDelay = nextDelay;
+		}
+
+		void expire() {
+			if (STATE.compareAndSet(this, WAITING, RUNNING)) {
+				HashedWheelTaskScheduler.this.pendingTasks.decrement();
+				dispatch(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			Instant executedAt = HashedWheelTaskScheduler.this.clock.instant();
+			this.runner = Thread.currentThread();
+			try {
+				this.task.run();
+			}
+			catch (Throwable ex) { // NOSONAR - propagated to the future
+				fail(ex);
+				return;
+			}
+			finally {
+				this.runner = null;
+			}
+			if (this.nextDelay == null) {
+				if (STATE.compareAndSet(this, RUNNING, DONE)) {
+					completed();
+				}
+			}
+			else {
+				reschedule(executedAt);
+			}
+		}
+
+		private void reschedule(Instant executedAt) {
+			Instant current = this.scheduledExecution;
+			long delay = this.nextDelay.nextDelayNanos(current, executedAt);
+			if (delay < 0) {
+				if (STATE.compareAndSet(this, RUNNING, DONE)) {
+					completed();
+				}
+			}
+			else {
+				if (current != null) {
+					this.scheduledExecution = HashedWheelTaskScheduler.this.clock.instant().plusNanos(delay);
+				}
+				this.deadline = deadlineAfter(delay);
+				if (STATE.compareAndSet(this, RUNNING, WAITING)) {
+					HashedWheelTaskScheduler.this.pendingTasks.increment();
+					HashedWheelTaskScheduler.this.newTasks.add(this);
+					if (HashedWheelTaskScheduler.this.shutdown) {
+						cancel(false);
+					}
+				}
+			}
+		}
+
+		void fail(Throwable ex) {
+			this.failure = ex;
+			if (STATE.compareAndSet(this, RUNNING, DONE)) {
+				completed();
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			int currentState = this.state;
+			while (currentState == WAITING || currentState == RUNNING) {
+				if (STATE.compareAndSet(this, currentState, CANCELLED)) {
+					completed();
+					if (currentState == WAITING) {
+						HashedWheelTaskScheduler.this.pendingTasks.decrement();
+						if (this.transferred) {
+							// otherwise the driver thread drops the task from the new tasks
+							HashedWheelTaskScheduler.this.cancelledTasks.add(this);
+						}
+					}
+					else if (mayInterruptIfRunning) {
+						Thread thread = this.runner;
+						if (thread != null && thread != HashedWheelTaskScheduler.this.driverThread) {
+							thread.interrupt();
+						}
+					}
+					return true;
+				}
+				currentState = this.state;
+			}
+			return false;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return this.state == CANCELLED;
+		}
+
+		@Override
+		public boolean isDone() {
+			return this.state >= CANCELLED;
+		}
+
+		@Override
+		public Object get() throws InterruptedException, ExecutionException {
+			if (!isDone()) {
+				obtainCompletion().await();
+			}
+			return report();
+		}
+
+		@Override
+		public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException,
+				TimeoutException {
+
+			if (!isDone() && !obtainCompletion().await(timeout, unit)) {
+				throw new TimeoutException();
+			}
+			return report();
+		}
+
+		private CountDownLatch obtainCompletion() {
+			COMPLETION.compareAndSet(this, null, new CountDownLatch(1));
+			CountDownLatch latch = this.completion;
+			if (isDone()) {
+				// the task could have been completed before the latch is visible
+				latch.countDown();
+			}
+			return latch;
+		}
+
+		private void completed() {
+			CountDownLatch latch = this.completion;
+			if (latch != null) {
+				latch.countDown();
+			}
+		}
+
+		@Nullable
+		private Object report() throws ExecutionException {
+			if (this.state == CANCELLED) {
+				throw new CancellationException();
+			}
+			Throwable ex = this.failure;
+			if (ex != null) {
+				throw new ExecutionException(ex);
+			}
+			return null;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			long delay = HashedWheelTaskScheduler.this.startTime + this.deadline - System.nanoTime();
+			return unit.convert(delay, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (other == this) {
+				return 0;
+			}
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+
+		@Override
+		public String toString() {
+			return "WheelTask{task=" + this.task + ", state=" + this.state + '}';
+		}
+
+	}
+
+}
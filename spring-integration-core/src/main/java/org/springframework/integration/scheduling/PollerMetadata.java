@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -62,6 +62,8 @@ public class PollerMetadata {
 
 	private long receiveTimeout = DEFAULT_RECEIVE_TIMEOUT;
 
+	private int receiveBatchSize = 1;
+
 	private ErrorHandler errorHandler;
 
 	private List<Advice> adviceChain;
@@ -72,6 +74,8 @@ public class PollerMetadata {
 
 	private TransactionSynchronizationFactory transactionSynchronizationFactory;
 
+	private AdaptivePollingConcurrency adaptiveConcurrency;
+
 
 	public void setTransactionSynchronizationFactory(
 			TransactionSynchronizationFactory transactionSynchronizationFactory) {
@@ -123,6 +127,23 @@ public class PollerMetadata {
 		return this.receiveTimeout;
 	}
 
+	/**
+	 * Set the max number of messages to drain from a pollable channel in one receive operation
+	 * by a {@link org.springframework.integration.endpoint.PollingConsumer}.
+	 * <p>The default is 1.
+	 * @param receiveBatchSize the max number of messages per receive operation.
+	 * @since 6.0.3
+	 * @see org.springframework.integration.endpoint.PollingConsumer#setReceiveBatchSize(int)
+	 */
+	public void setReceiveBatchSize(int receiveBatchSize) {
+		Assert.isTrue(receiveBatchSize > 0, "'receiveBatchSize' must be greater than 0");
+		this.receiveBatchSize = receiveBatchSize;
+	}
+
+	public int getReceiveBatchSize() {
+		return this.receiveBatchSize;
+	}
+
 	public void setAdviceChain(List<Advice> adviceChain) {
 		this.adviceChain = adviceChain;
 	}
@@ -139,6 +160,20 @@ public class PollerMetadata {
 		return this.taskExecutor;
 	}
 
+	/**
+	 * Set the {@link AdaptivePollingConcurrency} for the polling endpoint.
+	 * @param adaptiveConcurrency the {@link AdaptivePollingConcurrency} settings.
+	 * @since 6.0.3
+	 * @see org.springframework.integration.endpoint.AbstractPollingEndpoint#setAdaptiveConcurrency(AdaptivePollingConcurrency)
+	 */
+	public void setAdaptiveConcurrency(AdaptivePollingConcurrency adaptiveConcurrency) {
+		this.adaptiveConcurrency = adaptiveConcurrency;
+	}
+
+	public AdaptivePollingConcurrency getAdaptiveConcurrency() {
+		return this.adaptiveConcurrency;
+	}
+
 	public long getSendTimeout() {
 		return this.sendTimeout;
 	}
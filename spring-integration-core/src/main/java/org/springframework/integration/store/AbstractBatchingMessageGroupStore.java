@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2019 the original author or authors.
+ * Copyright 2015-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,8 +29,12 @@ public abstract class AbstractBatchingMessageGroupStore implements BasicMessageG
 
 	private static final int DEFAULT_REMOVE_BATCH_SIZE = 100;
 
+	private static final int DEFAULT_ADD_BATCH_SIZE = 100;
+
 	private volatile int removeBatchSize = DEFAULT_REMOVE_BATCH_SIZE;
 
+	private volatile int addBatchSize = DEFAULT_ADD_BATCH_SIZE;
+
 	private volatile MessageGroupFactory messageGroupFactory = new SimpleMessageGroupFactory();
 
 	/**
@@ -48,6 +52,27 @@ public abstract class AbstractBatchingMessageGroupStore implements BasicMessageG
 		return this.removeBatchSize;
 	}
 
+	/**
+	 * Set the batch size when bulk adding messages to groups for message stores
+	 * that support batch insertion.
+	 * Default 100.
+	 * @param addBatchSize the batch size.
+	 * @since 6.0.3
+	 */
+	public void setAddBatchSize(int addBatchSize) {
+		Assert.isTrue(addBatchSize > 0, "'addBatchSize' must be greater than 0");
+		this.addBatchSize = addBatchSize;
+	}
+
+	/**
+	 * Return the batch size for bulk adding messages to groups.
+	 * @return the batch size.
+	 * @since 6.0.3
+	 */
+	public int getAddBatchSize() {
+		return this.addBatchSize;
+	}
+
 	/**
 	 * Specify the {@link MessageGroupFactory} to create {@link MessageGroup} object where
 	 * it is necessary.
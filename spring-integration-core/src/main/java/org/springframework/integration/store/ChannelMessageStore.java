@@ -1,5 +1,5 @@
 /*
- * Copyright 2014-2019 the original author or authors.
+ * Copyright 2014-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,12 @@
 
 package org.springframework.integration.store;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
 /**
  * A marker interface that indicates this message store has optimizations for
  * use in a {@link org.springframework.integration.channel.QueueChannel}.
@@ -26,4 +32,25 @@ package org.springframework.integration.store;
  */
 public interface ChannelMessageStore extends BasicMessageGroupStore {
 
+	/**
+	 * Poll up to {@code maxMessages} messages from the group (in FIFO style if supported
+	 * by the implementation) while also removing the polled messages.
+	 * The default implementation calls {@link #pollMessageFromGroup(Object)} until
+	 * {@code maxMessages} are polled or the group is empty; implementations may
+	 * retrieve and remove the messages in bulk.
+	 * @param groupId The group identifier.
+	 * @param maxMessages the max number of messages to poll.
+	 * @return the polled messages, an empty list if the group is empty.
+	 * @since 6.0.3
+	 */
+	default List<Message<?>> pollMessagesFromGroup(Object groupId, int maxMessages) {
+		Assert.isTrue(maxMessages > 0, "'maxMessages' must be greater than 0");
+		List<Message<?>> messages = new ArrayList<>();
+		Message<?> message;
+		while (messages.size() < maxMessages && (message = pollMessageFromGroup(groupId)) != null) {
+			messages.add(message);
+		}
+		return messages;
+	}
+
 }
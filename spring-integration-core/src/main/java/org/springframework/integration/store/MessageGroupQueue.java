@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.util.AbstractQueue;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
@@ -228,18 +229,12 @@ public class MessageGroupQueue extends AbstractQueue<Message<?>> implements Bloc
 	@Override
 	public int drainTo(Collection<? super Message<?>> collection, int maxElements) {
 		Assert.notNull(collection, "'collection' must not be null");
-		int originalSize = collection.size();
 		ArrayList<Message<?>> list = new ArrayList<>();
 		final Lock lock = this.storeLock;
 		try {
 			lock.lockInterruptibly();
 			try {
-				Message<?> message = this.messageGroupStore.pollMessageFromGroup(this.groupId);
-				for (int i = 0; i < maxElements && message != null; i++) {
-					list.add(message);
-					message = this.messageGroupStore.pollMessageFromGroup(this.groupId);
-				}
-				this.messageStoreNotFull.signal();
+				doDrain(list, maxElements);
 			}
 			finally {
 				lock.unlock();
@@ -250,7 +245,44 @@ public class MessageGroupQueue extends AbstractQueue<Message<?>> implements Bloc
 			Thread.currentThread().interrupt();
 		}
 		collection.addAll(list);
-		return collection.size() - originalSize;
+		return list.size();
+	}
+
+	/**
+	 * Retrieve and remove up to {@code maxElements} messages from the queue under a single
+	 * lock acquisition, waiting up to the specified time for the first message to become available.
+	 * A negative timeout means wait indefinitely.
+	 * A {@link ChannelMessageStore} is asked for the messages in bulk with
+	 * {@link ChannelMessageStore#pollMessagesFromGroup(Object, int)}.
+	 * @param maxElements the max number of messages to retrieve.
+	 * @param timeout how long to wait for the first message.
+	 * @param unit the {@link TimeUnit} for the timeout.
+	 * @return the retrieved messages or an empty list.
+	 * @throws InterruptedException if interrupted while waiting.
+	 * @since 6.0.3
+	 */
+	public List<Message<?>> poll(int maxElements, long timeout, TimeUnit unit) throws InterruptedException {
+		Assert.isTrue(maxElements > 0, "'maxElements' must be greater than 0");
+		final Lock lock = this.storeLock;
+		lock.lockInterruptibly();
+		try {
+			List<Message<?>> messages = new ArrayList<>();
+			doDrain(messages, maxElements);
+			long timeoutInNanos = unit.toNanos(timeout);
+			while (messages.isEmpty() && (timeout < 0 || timeoutInNanos > 0)) {
+				if (timeout < 0) {
+					this.messageStoreNotEmpty.await();
+				}
+				else {
+					timeoutInNanos = this.messageStoreNotEmpty.awaitNanos(timeoutInNanos);
+				}
+				doDrain(messages, maxElements);
+			}
+			return messages;
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	@Override
@@ -359,6 +391,38 @@ public class MessageGroupQueue extends AbstractQueue<Message<?>> implements Bloc
 		return message;
 	}
 
+	/**
+	 * Poll up to {@code maxElements} messages from the store into the provided collection.
+	 * It is assumed that the 'storeLock' is being held by the caller, otherwise
+	 * IllegalMonitorStateException may be thrown.
+	 * @param collection the collection to drain messages to.
+	 * @param maxElements the max number of messages to poll.
+	 * @since 6.0.3
+	 */
+	protected void doDrain(Collection<Message<?>> collection, int maxElements) {
+		int count = 0;
+		if (this.messageGroupStore instanceof ChannelMessageStore channelMessageStore) {
+			List<Message<?>> messages;
+			do {
+				messages = channelMessageStore.pollMessagesFromGroup(this.groupId, maxElements - count);
+				collection.addAll(messages);
+				count += messages.size();
+			}
+			while (!messages.isEmpty() && count < maxElements);
+		}
+		else {
+			Message<?> message;
+			while (count < maxElements
+					&& (message = this.messageGroupStore.pollMessageFromGroup(this.groupId)) != null) {
+				collection.add(message);
+				count++;
+			}
+		}
+		if (count > 0) {
+			this.messageStoreNotFull.signalAll();
+		}
+	}
+
 	/**
 	 * It is assumed that the 'storeLock' is being held by the caller, otherwise
 	 * IllegalMonitorStateException may be thrown.
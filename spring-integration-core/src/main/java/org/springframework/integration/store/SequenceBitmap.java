@@ -0,0 +1,252 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.util.Arrays;
+
+/**
+ * A compact set of {@code int} sequence numbers for the {@link SimpleMessageGroup}.
+ * Similar to a Roaring bitmap, the values are split into chunks by their high 16 bits,
+ * and each chunk is a {@code long[]} bitmap grown on demand only up to the highest
+ * value it holds; so the typical group with sequences {@code 1..n} costs about
+ * {@code n / 8} bytes and no boxing.
+ * <p>The run of consecutive values starting from the lowest one is tracked on each
+ * mutation, so {@link #first()} and {@link #firstRunLength()} are constant-time.
+ * <p>Not thread-safe: the group mutations are guarded by the correlation lock.
+ *
+ * @since 6.0.3
+ */
+final class SequenceBitmap {
+
+	private static final int CHUNK_BITS = 16;
+
+	private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+	private static final int MAX_WORDS = 1 << (CHUNK_BITS - 6);
+
+	private static final long NONE = -1;
+
+	private static final long LIMIT = 1L << 32;
+
+	private int[] keys = new int[1];
+
+	private long[][] chunks = new long[1][];
+
+	private int chunkCount;
+
+	private int cardinality;
+
+	/*
+	 * The run bounds (inclusive) are kept in the unsigned space (see 'toIndex()'),
+	 * so the ordering of the signed sequence numbers is preserved.
+	 */
+	private long runStart = NONE;
+
+	private long runEnd = NONE;
+
+	boolean add(int value) {
+		long index = toIndex(value);
+		int key = (int) (index >>> CHUNK_BITS);
+		int bit = (int) index & CHUNK_MASK;
+		int position = chunkPosition(key);
+		if (position < 0) {
+			position = insertChunk(-position - 1, key);
+		}
+		long[] words = this.chunks[position];
+		int word = bit >>> 6;
+		if (word >= words.length) {
+			words = Arrays.copyOf(words, Math.min(MAX_WORDS, Math.max(word + 1, words.length * 2)));
+			this.chunks[position] = words;
+		}
+		long mask = 1L << bit;
+		if ((words[word] & mask) != 0) {
+			return false;
+		}
+		words[word] |= mask;
+		if (this.cardinality++ == 0 || index < this.runStart - 1) {
+			this.runStart = index;
+			this.runEnd = index;
+		}
+		else if (index == this.runStart - 1) {
+			this.runStart = index;
+		}
+		else if (index == this.runEnd + 1) {
+			this.runEnd = nextClearIndex(index) - 1;
+		}
+		return true;
+	}
+
+	boolean remove(int value) {
+		long index = toIndex(value);
+		int position = chunkPosition((int) (index >>> CHUNK_BITS));
+		if (position < 0) {
+			return false;
+		}
+		long[] words = this.chunks[position];
+		int bit = (int) index & CHUNK_MASK;
+		int word = bit >>> 6;
+		long mask = 1L << bit;
+		if (word >= words.length || (words[word] & mask) == 0) {
+			return false;
+		}
+		words[word] &= ~mask;
+		if (--this.cardinality == 0) {
+			clear();
+		}
+		else if (index == this.runStart) {
+			if (this.runStart == this.runEnd) {
+				this.runStart = nextSetIndex(index + 1);
+				this.runEnd = nextClearIndex(this.runStart) - 1;
+			}
+			else {
+				this.runStart++;
+			}
+		}
+		else if (index > this.runStart && index <= this.runEnd) {
+			this.runEnd = index - 1;
+		}
+		return true;
+	}
+
+	boolean contains(int value) {
+		long index = toIndex(value);
+		int position = chunkPosition((int) (index >>> CHUNK_BITS));
+		if (position < 0) {
+			return false;
+		}
+		long[] words = this.chunks[position];
+		int bit = (int) index & CHUNK_MASK;
+		int word = bit >>> 6;
+		return word < words.length && (words[word] & (1L << bit)) != 0;
+	}
+
+	int cardinality() {
+		return this.cardinality;
+	}
+
+	/**
+	 * Return the lowest value.
+	 * @return the lowest value; meaningless if the bitmap is empty.
+	 */
+	int first() {
+		return toValue(this.runStart);
+	}
+
+	/**
+	 * Return the number of consecutive values starting from the {@link #first()} one.
+	 * @return the length of the first run; 0 if the bitmap is empty.
+	 */
+	int firstRunLength() {
+		return this.cardinality == 0 ? 0 : (int) (this.runEnd - this.runStart + 1);
+	}
+
+	void clear() {
+		this.keys = new int[1];
+		this.chunks = new long[1][];
+		this.chunkCount = 0;
+		this.cardinality = 0;
+		this.runStart = NONE;
+		this.runEnd = NONE;
+	}
+
+	private int chunkPosition(int key) {
+		return Arrays.binarySearch(this.keys, 0, this.chunkCount, key);
+	}
+
+	private int insertChunk(int position, int key) {
+		if (this.chunkCount == this.keys.length) {
+			this.keys = Arrays.copyOf(this.keys, this.chunkCount * 2);
+			this.chunks = Arrays.copyOf(this.chunks, this.chunkCount * 2);
+		}
+		System.arraycopy(this.keys, position, this.keys, position + 1, this.chunkCount - position);
+		System.arraycopy(this.chunks, position, this.chunks, position + 1, this.chunkCount - position);
+		this.keys[position] = key;
+		this.chunks[position] = new long[1];
+		this.chunkCount++;
+		return position;
+	}
+
+	private long nextSetIndex(long fromIndex) {
+		if (fromIndex >= LIMIT) {
+			return NONE;
+		}
+		int position = chunkPosition((int) (fromIndex >>> CHUNK_BITS));
+		if (position < 0) {
+			position = -position - 1;
+		}
+		for (; position < this.chunkCount; position++) {
+			long chunkStart = (long) this.keys[position] << CHUNK_BITS;
+			long[] words = this.chunks[position];
+			int bit = fromIndex > chunkStart ? (int) (fromIndex - chunkStart) : 0;
+			int word = bit >>> 6;
+			if (word < words.length) {
+				long bits = words[word] & (-1L << bit);
+				while (true) {
+					if (bits != 0) {
+						return chunkStart + ((long) word << 6) + Long.numberOfTrailingZeros(bits);
+					}
+					if (++word == words.length) {
+						break;
+					}
+					bits = words[word];
+				}
+			}
+		}
+		return NONE;
+	}
+
+	private long nextClearIndex(long fromIndex) {
+		long index = fromIndex;
+		while (index < LIMIT) {
+			int position = chunkPosition((int) (index >>> CHUNK_BITS));
+			if (position < 0) {
+				return index;
+			}
+			long chunkStart = index & ~CHUNK_MASK;
+			long[] words = this.chunks[position];
+			int bit = (int) index & CHUNK_MASK;
+			int word = bit >>> 6;
+			if (word >= words.length) {
+				return index;
+			}
+			long bits = ~words[word] & (-1L << bit);
+			while (true) {
+				if (bits != 0) {
+					return chunkStart + ((long) word << 6) + Long.numberOfTrailingZeros(bits);
+				}
+				if (++word == words.length) {
+					break;
+				}
+				bits = ~words[word];
+			}
+			if (words.length < MAX_WORDS) {
+				return chunkStart + ((long) words.length << 6);
+			}
+			index = chunkStart + (1L << CHUNK_BITS);
+		}
+		return LIMIT;
+	}
+
+	private static long toIndex(int value) {
+		return (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+	}
+
+	private static int toValue(long index) {
+		return (int) index ^ Integer.MIN_VALUE;
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.util.Arrays;
+
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+
+/**
+ * An open-addressing hash table of the messages of a {@link SimpleMessageGroup} by their
+ * {@code int} sequence numbers, without boxing.
+ * Uses linear probing with the backward shift deletion, so no tombstones are left behind
+ * by the messages released from the group.
+ * <p>Not thread-safe: the group mutations are guarded by the correlation lock.
+ *
+ * @since 6.0.3
+ */
+final class SequenceMessageIndex {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] keys;
+
+	private Message<?>[] values;
+
+	private int mask;
+
+	private int size;
+
+	SequenceMessageIndex(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2) - 1) << 1;
+		allocate(capacity);
+	}
+
+	void put(int sequence, Message<?> message) {
+		int slot = slot(sequence);
+		while (this.values[slot] != null) {
+			if (this.keys[slot] == sequence) {
+				this.values[slot] = message;
+				return;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		this.keys[slot] = sequence;
+		this.values[slot] = message;
+		if (++this.size * 2 > this.values.length) {
+			rehash(this.values.length * 2);
+		}
+	}
+
+	@Nullable
+	Message<?> get(int sequence) {
+		int slot = slot(sequence);
+		Message<?> value;
+		while ((value = this.values[slot]) != null) {
+			if (this.keys[slot] == sequence) {
+				return value;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Remove the mapping for the sequence number only if it is for this message.
+	 * @param sequence the sequence number.
+	 * @param message the message.
+	 */
+	void remove(int sequence, Message<?> message) {
+		int slot = slot(sequence);
+		Message<?> value;
+		while ((value = this.values[slot]) != null) {
+			if (this.keys[slot] == sequence) {
+				if (value.equals(message)) {
+					shiftBack(slot);
+					this.size--;
+				}
+				return;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+	}
+
+	void clear() {
+		Arrays.fill(this.values, null);
+		this.size = 0;
+	}
+
+	private void shiftBack(int freedSlot) {
+		int free = freedSlot;
+		int slot = (free + 1) & this.mask;
+		while (this.values[slot] != null) {
+			int home = slot(this.keys[slot]);
+			// move the entry into the free slot unless its home is cyclically in (free, slot]
+			if (((slot - home) & this.mask) >= ((slot - free) & this.mask)) {
+				this.keys[free] = this.keys[slot];
+				this.values[free] = this.values[slot];
+				free = slot;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		this.values[free] = null;
+	}
+
+	private void rehash(int capacity) {
+		int[] oldKeys = this.keys;
+		Message<?>[] oldValues = this.values;
+		allocate(capacity);
+		for (int i = 0; i < oldValues.length; i++) {
+			Message<?> value = oldValues[i];
+			if (value != null) {
+				int slot = slot(oldKeys[i]);
+				while (this.values[slot] != null) {
+					slot = (slot + 1) & this.mask;
+				}
+				this.keys[slot] = oldKeys[i];
+				this.values[slot] = value;
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		this.keys = new int[capacity];
+		this.values = new Message<?>[capacity];
+		this.mask = capacity - 1;
+	}
+
+	private int slot(int sequence) {
+		int hash = sequence * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & this.mask;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,10 +18,9 @@ package org.springframework.integration.store;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.Queue;
 
 import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.lang.Nullable;
@@ -43,11 +42,17 @@ import org.springframework.util.Assert;
  */
 public class SimpleMessageGroup implements MessageGroup {
 
+	private static final Class<?> SYNCHRONIZED_COLLECTION_TYPE =
+			Collections.synchronizedCollection(Collections.emptyList()).getClass();
+
 	private final Object groupId;
 
 	private final Collection<Message<?>> messages;
 
-	private final Set<Integer> sequences = new HashSet<>();
+	private final SequenceBitmap sequences = new SequenceBitmap();
+
+	@Nullable
+	private SequenceMessageIndex messagesBySequence;
 
 	private final long timestamp;
 
@@ -123,8 +128,17 @@ public class SimpleMessageGroup implements MessageGroup {
 
 	@Override
 	public boolean remove(Message<?> message) {
-		this.sequences.remove(message.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER));
-		return this.messages.remove(message);
+		boolean removed = this.messages.remove(message);
+		if (removed) {
+			Integer sequence =
+					message.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER, Integer.class);
+			int sequenceNumber = sequence != null ? sequence : 0;
+			this.sequences.remove(sequenceNumber);
+			if (this.messagesBySequence != null) {
+				this.messagesBySequence.remove(sequenceNumber, message);
+			}
+		}
+		return removed;
 	}
 
 	@Override
@@ -134,7 +148,11 @@ public class SimpleMessageGroup implements MessageGroup {
 
 	private boolean addMessage(Message<?> message) {
 		Integer sequence = message.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER, Integer.class);
-		this.sequences.add(sequence != null ? sequence : 0);
+		int sequenceNumber = sequence != null ? sequence : 0;
+		this.sequences.add(sequenceNumber);
+		if (this.messagesBySequence != null) {
+			this.messagesBySequence.put(sequenceNumber, message);
+		}
 		return this.messages.add(message);
 	}
 
@@ -189,16 +207,33 @@ public class SimpleMessageGroup implements MessageGroup {
 
 	@Override
 	public Message<?> getOne() {
-		synchronized (this.messages) {
-			Iterator<Message<?>> iterator = this.messages.iterator();
-			return iterator.hasNext() ? iterator.next() : null;
+		if (this.messages instanceof Queue<Message<?>> queue) {
+			return queue.peek();
+		}
+		else if (SYNCHRONIZED_COLLECTION_TYPE.isInstance(this.messages)) {
+			// The 'Collections.synchronizedXXX()' contract requires a manual lock for iteration
+			synchronized (this.messages) {
+				return firstMessage();
+			}
 		}
+		else {
+			// Other collections don't guard their mutations with this monitor;
+			// so, it would only pin a virtual caller thread to its carrier for nothing
+			return firstMessage();
+		}
+	}
+
+	@Nullable
+	private Message<?> firstMessage() {
+		Iterator<Message<?>> iterator = this.messages.iterator();
+		return iterator.hasNext() ? iterator.next() : null;
 	}
 
 	@Override
 	public void clear() {
 		this.messages.clear();
 		this.sequences.clear();
+		this.messagesBySequence = null;
 	}
 
 	/**
@@ -209,7 +244,67 @@ public class SimpleMessageGroup implements MessageGroup {
 	 * @since 4.3.7
 	 */
 	public boolean containsSequence(Integer sequence) {
-		return this.sequences.contains(sequence);
+		return sequence != null && this.sequences.contains(sequence);
+	}
+
+	/**
+	 * Return true if every message in the group has its own sequence number
+	 * (messages without the header count as sequence number {@code 0}).
+	 * Only then the {@link #getFirstSequenceNumber()} and {@link #getContiguousSequenceCount()}
+	 * describe the whole group.
+	 * Always false for a non-empty group created with a pre-loaded store.
+	 * @return true if the sequence numbers of the messages are distinct.
+	 * @since 6.0.3
+	 */
+	public boolean hasDistinctSequences() {
+		return this.sequences.cardinality() == size();
+	}
+
+	/**
+	 * Return the lowest sequence number in the group.
+	 * @return the lowest sequence number; {@code 0} if the group is empty.
+	 * @since 6.0.3
+	 * @see #hasDistinctSequences()
+	 */
+	public int getFirstSequenceNumber() {
+		return this.sequences.cardinality() == 0 ? 0 : this.sequences.first();
+	}
+
+	/**
+	 * Return the number of consecutive sequence numbers in the group starting from
+	 * the {@link #getFirstSequenceNumber()}.
+	 * This is the part of the group a resequencer can release.
+	 * The run is tracked on each group mutation, so this is a constant-time operation.
+	 * @return the number of consecutive sequence numbers.
+	 * @since 6.0.3
+	 * @see #hasDistinctSequences()
+	 */
+	public int getContiguousSequenceCount() {
+		return this.sequences.firstRunLength();
+	}
+
+	/**
+	 * Return the message with the provided sequence number.
+	 * The index of the messages by their sequence numbers is built on the first call
+	 * and then maintained on each group mutation, so a resequencer can take the
+	 * releasable messages without scanning the whole group.
+	 * @param sequence the sequence number.
+	 * @return the message or null if there is no message with such a sequence number.
+	 * @since 6.0.3
+	 * @see #hasDistinctSequences()
+	 */
+	@Nullable
+	public Message<?> getMessageForSequence(int sequence) {
+		if (this.messagesBySequence == null) {
+			SequenceMessageIndex index = new SequenceMessageIndex(size());
+			for (Message<?> message : this.messages) {
+				Integer sequenceNumber =
+						message.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER, Integer.class);
+				index.put(sequenceNumber != null ? sequenceNumber : 0, message);
+			}
+			this.messagesBySequence = index;
+		}
+		return this.messagesBySequence.get(sequence);
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2014-2021 the original author or authors.
+ * Copyright 2014-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,8 @@ public class DefaultMessageBuilderFactory implements MessageBuilderFactory {
 
 	private String[] readOnlyHeaders;
 
+	private int maxHeaderLayers;
+
 	/**
 	 * Specify a list of headers which should be considered as a read only
 	 * and prohibited from the population to the message.
@@ -61,9 +63,24 @@ public class DefaultMessageBuilderFactory implements MessageBuilderFactory {
 		this.readOnlyHeaders = headers;
 	}
 
+	/**
+	 * Enable copy-on-write headers: instead of copying all the headers of the original message,
+	 * the builders from {@link #fromMessage(Message)} create a {@link LayeredMessageHeaders}
+	 * with only the header changes on top of the original (immutable) headers.
+	 * When the original headers already have the specified number of layers, they are
+	 * flattened into a new plain {@link org.springframework.messaging.MessageHeaders}
+	 * to bound the lookup cost and the retained memory.
+	 * Defaults to 0 - the headers are always copied.
+	 * @param maxHeaderLayers the max number of header layers.
+	 * @since 6.0.3
+	 */
+	public void setMaxHeaderLayers(int maxHeaderLayers) {
+		this.maxHeaderLayers = Math.max(0, maxHeaderLayers);
+	}
+
 	@Override
 	public <T> MessageBuilder<T> fromMessage(Message<T> message) {
-		return MessageBuilder.fromMessage(message)
+		return MessageBuilder.fromMessage(message, this.maxHeaderLayers)
 				.readOnlyHeaders(this.readOnlyHeaders);
 	}
 
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.MessageHeaders;
+
+/**
+ * An immutable {@link MessageHeaders} implementation which is a thin overlay on top of
+ * other (base) {@link MessageHeaders}: the overlay entries take precedence over the base ones.
+ * Creating such headers does not copy the base headers, so it is cheap to derive many
+ * messages from the same one with just a few different headers (e.g. sequence details
+ * in the publish-subscribe fan-out, or a header added in each step of a flow).
+ * <p>
+ * The new {@link #ID} and {@link #TIMESTAMP} are always part of the overlay.
+ * An overlay entry with a {@code null} value hides the base header with the same name.
+ * The base headers can be layered as well; the {@link #getDepth()} is used to decide
+ * when to flatten the layers into plain {@link MessageHeaders}.
+ * The merged view, required for iteration, {@code equals()} and serialization, is
+ * created lazily.
+ * The serialized form contains only the merged headers (non-serializable values are
+ * skipped, as in {@link MessageHeaders}), so it is deserialized into a single layer
+ * with the same {@link #ID} and {@link #TIMESTAMP}.
+ * Layered headers are equal to other layered headers with the same merged entries.
+ * Since {@link MessageHeaders#equals(Object)} compares the internal maps, they are never
+ * equal to plain {@link MessageHeaders} (and vice versa), even with the same entries;
+ * compare the entries instead.
+ *
+ * @since 6.0.3
+ */
+public class LayeredMessageHeaders extends MessageHeaders {
+
+	@Serial
+	private static final long serialVersionUID = -6291390428934624512L;
+
+	private transient MessageHeaders base;
+
+	private transient Map<String, Object> overlay;
+
+	private transient int depth;
+
+	@Nullable
+	private transient volatile Map<String, Object> merged;
+
+	/**
+	 * Create an instance with a newly generated {@link #ID} and the current {@link #TIMESTAMP}.
+	 * @param base the headers to overlay.
+	 * @param overlay the headers to override in (or add to) the base headers;
+	 * a {@code null} value removes the header.
+	 */
+	public LayeredMessageHeaders(MessageHeaders base, Map<String, Object> overlay) {
+		super(null, ID_VALUE_NONE, -1L);
+		this.base = base;
+		this.overlay = new HashMap<>(overlay);
+		this.overlay.put(ID, getIdGenerator().generateId());
+		this.overlay.put(TIMESTAMP, System.currentTimeMillis());
+		this.depth = base instanceof LayeredMessageHeaders layered ? layered.depth + 1 : 1;
+	}
+
+	/**
+	 * Return the number of layers on top of the flat {@link MessageHeaders}, including this one.
+	 * @return the number of layers.
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+
+	@Override
+	public UUID getId() {
+		return (UUID) this.overlay.get(ID);
+	}
+
+	@Override
+	public Long getTimestamp() {
+		return (Long) this.overlay.get(TIMESTAMP);
+	}
+
+	@Override
+	public Object getReplyChannel() {
+		return get(REPLY_CHANNEL);
+	}
+
+	@Override
+	public Object getErrorChannel() {
+		return get(ERROR_CHANNEL);
+	}
+
+	@Override
+	@Nullable
+	public Object get(Object key) {
+		Object value = this.overlay.get(key);
+		if (value != null || this.overlay.containsKey(key)) {
+			return value;
+		}
+		return this.base.get(key);
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		Object value = get(key);
+		if (value == null) {
+			return null;
+		}
+		if (!type.isAssignableFrom(value.getClass())) {
+			throw new IllegalArgumentException("Incorrect type specified for header '" +
+					key + "'. Expected [" + type + "] but actual type is [" + value.getClass() + "]");
+		}
+		return (T) value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if (this.overlay.containsKey(key)) {
+			return this.overlay.get(key) != null;
+		}
+		return this.base.containsKey(key);
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return getMergedHeaders().containsValue(value);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return getMergedHeaders().size();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return getMergedHeaders().keySet();
+	}
+
+	@Override
+	public Collection<Object> values() {
+		return getMergedHeaders().values();
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		return getMergedHeaders().entrySet();
+	}
+
+	@Override
+	protected Map<String, Object> getRawHeaders() {
+		return getMergedHeaders();
+	}
+
+	private Map<String, Object> getMergedHeaders() {
+		Map<String, Object> mergedHeaders = this.merged;
+		if (mergedHeaders == null) {
+			mergedHeaders = new HashMap<>(this.base);
+			mergedHeaders.putAll(this.overlay);
+			mergedHeaders.values().removeIf(Objects::isNull);
+			mergedHeaders = Collections.unmodifiableMap(mergedHeaders);
+			this.merged = mergedHeaders;
+		}
+		return mergedHeaders;
+	}
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		return (this == other ||
+				(other instanceof LayeredMessageHeaders that && getMergedHeaders().equals(that.getMergedHeaders())));
+	}
+
+	@Override
+	public int hashCode() {
+		return getMergedHeaders().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getMergedHeaders().toString();
+	}
+
+	@Serial
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		HashMap<String, Object> headers = new HashMap<>();
+		getMergedHeaders().forEach((key, value) -> {
+			if (value instanceof Serializable) {
+				headers.put(key, value);
+			}
+		});
+		out.defaultWriteObject();
+		out.writeObject(headers);
+	}
+
+	@Serial
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		this.base = new MessageHeaders(null);
+		this.overlay = (Map<String, Object>) in.readObject();
+		this.depth = 1;
+	}
+
+}
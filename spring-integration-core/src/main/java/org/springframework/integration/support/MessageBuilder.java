@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,14 @@
 
 package org.springframework.integration.support;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -33,11 +37,19 @@ import org.springframework.messaging.support.ErrorMessage;
 import org.springframework.messaging.support.GenericMessage;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * The default message builder; creates immutable {@link GenericMessage}s.
  * Named MessageBuilder instead of DefaultMessageBuilder for backwards
  * compatibility.
+ * <p>
+ * When created via {@link DefaultMessageBuilderFactory} with
+ * {@link DefaultMessageBuilderFactory#setMaxHeaderLayers(int) maxHeaderLayers},
+ * the builder does not copy the headers of the original message: only the header
+ * changes are collected and applied as a {@link LayeredMessageHeaders} overlay
+ * on top of the original headers.
  *
  * @param <T> the payload type.
  *
@@ -59,6 +71,17 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 	@Nullable
 	private final Message<T> originalMessage;
 
+	/**
+	 * The headers of the original message in the layered mode;
+	 * the {@link #headerAccessor} then holds only the added or modified headers.
+	 */
+	@Nullable
+	private final MessageHeaders parentHeaders;
+
+	private final Set<String> removedHeaders;
+
+	private final int maxHeaderLayers;
+
 	private volatile boolean modified;
 
 	private String[] readOnlyHeaders;
@@ -67,10 +90,24 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 	 * Private constructor to be invoked from the static factory methods only.
 	 */
 	private MessageBuilder(T payload, @Nullable Message<T> originalMessage) {
+		this(payload, originalMessage, 0);
+	}
+
+	private MessageBuilder(T payload, @Nullable Message<T> originalMessage, int maxHeaderLayers) {
 		Assert.notNull(payload, "payload must not be null");
 		this.payload = payload;
 		this.originalMessage = originalMessage;
-		this.headerAccessor = new IntegrationMessageHeaderAccessor(originalMessage);
+		this.maxHeaderLayers = maxHeaderLayers;
+		if (maxHeaderLayers > 0 && originalMessage != null) {
+			this.parentHeaders = originalMessage.getHeaders();
+			this.removedHeaders = new HashSet<>();
+			this.headerAccessor = new IntegrationMessageHeaderAccessor(null);
+		}
+		else {
+			this.parentHeaders = null;
+			this.removedHeaders = Set.of();
+			this.headerAccessor = new IntegrationMessageHeaderAccessor(originalMessage);
+		}
 		if (originalMessage != null) {
 			this.modified = (!this.payload.equals(originalMessage.getPayload()));
 		}
@@ -83,13 +120,45 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 
 	@Override
 	public Map<String, Object> getHeaders() {
-		return this.headerAccessor.toMap();
+		if (this.parentHeaders == null) {
+			return this.headerAccessor.toMap();
+		}
+		Map<String, Object> headers = new HashMap<>(this.parentHeaders);
+		headers.remove(MessageHeaders.ID);
+		headers.remove(MessageHeaders.TIMESTAMP);
+		headers.keySet().removeAll(this.removedHeaders);
+		removeReadOnly(headers);
+		headers.putAll(this.headerAccessor.toMap());
+		return headers;
 	}
 
 	@Nullable
 	@Override
+	@SuppressWarnings("unchecked")
 	public <V> V getHeader(String key, Class<V> type) {
-		return this.headerAccessor.getHeader(key, type);
+		if (this.parentHeaders == null) {
+			return this.headerAccessor.getHeader(key, type);
+		}
+		Object value = getHeader(key);
+		if (value == null) {
+			return null;
+		}
+		if (!type.isAssignableFrom(value.getClass())) {
+			throw new IllegalArgumentException("Incorrect type specified for header '" + key + "'. Expected [" + type
+					+ "] but actual type is [" + value.getClass() + "]");
+		}
+		return (V) value;
+	}
+
+	@Nullable
+	private Object getHeader(String key) {
+		Object value = this.headerAccessor.getHeader(key);
+		if (value != null || this.parentHeaders == null || this.removedHeaders.contains(key)
+				|| MessageHeaders.ID.equals(key) || MessageHeaders.TIMESTAMP.equals(key)) {
+
+			return value;
+		}
+		return this.parentHeaders.get(key);
 	}
 
 	/**
@@ -104,6 +173,25 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 		return new MessageBuilder<>(message.getPayload(), message);
 	}
 
+	/**
+	 * Create a builder for a new {@link Message} instance with the payload and headers of the
+	 * provided message. If the message headers are immutable, they are not copied: the new
+	 * message gets a {@link LayeredMessageHeaders} overlay with the header changes on top of them,
+	 * unless there are already {@code maxHeaderLayers} layers, in which case the headers are flattened.
+	 * @param message the Message from which the payload and all headers will be copied
+	 * @param maxHeaderLayers the max number of header layers.
+	 * @param <T> The type of the payload.
+	 * @return A MessageBuilder.
+	 * @since 6.0.3
+	 */
+	static <T> MessageBuilder<T> fromMessage(Message<T> message, int maxHeaderLayers) {
+		Assert.notNull(message, "message must not be null");
+		MessageHeaders headers = message.getHeaders();
+		boolean immutableHeaders =
+				headers.getClass() == MessageHeaders.class || headers instanceof LayeredMessageHeaders;
+		return new MessageBuilder<>(message.getPayload(), message, immutableHeaders ? maxHeaderLayers : 0);
+	}
+
 	/**
 	 * Create a builder for a new {@link Message} instance with the provided payload.
 	 * @param payload the payload for the new message
@@ -122,7 +210,20 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 	 */
 	@Override
 	public MessageBuilder<T> setHeader(String headerName, @Nullable Object headerValue) {
+		if (this.parentHeaders != null && headerValue != null && headerValue.equals(getHeader(headerName))
+				&& !this.headerAccessor.isReadOnly(headerName)) {
+
+			return this;
+		}
 		this.headerAccessor.setHeader(headerName, headerValue);
+		if (this.parentHeaders != null) {
+			if (headerValue != null) {
+				this.removedHeaders.remove(headerName);
+			}
+			else if (this.parentHeaders.containsKey(headerName)) {
+				this.removedHeaders.add(headerName);
+			}
+		}
 		return this;
 	}
 
@@ -134,7 +235,12 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 	 */
 	@Override
 	public MessageBuilder<T> setHeaderIfAbsent(String headerName, Object headerValue) {
-		this.headerAccessor.setHeaderIfAbsent(headerName, headerValue);
+		if (this.parentHeaders == null) {
+			this.headerAccessor.setHeaderIfAbsent(headerName, headerValue);
+		}
+		else if (getHeader(headerName) == null) {
+			setHeader(headerName, headerValue);
+		}
 		return this;
 	}
 
@@ -147,7 +253,31 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 	 */
 	@Override
 	public MessageBuilder<T> removeHeaders(String... headerPatterns) {
-		this.headerAccessor.removeHeaders(headerPatterns);
+		if (this.parentHeaders == null) {
+			this.headerAccessor.removeHeaders(headerPatterns);
+		}
+		else {
+			List<String> headersToRemove = new ArrayList<>();
+			for (String pattern : headerPatterns) {
+				if (StringUtils.hasLength(pattern)) {
+					if (pattern.contains("*")) {
+						for (String headerName : getHeaders().keySet()) {
+							if (PatternMatchUtils.simpleMatch(pattern, headerName)) {
+								headersToRemove.add(headerName);
+							}
+						}
+					}
+					else {
+						headersToRemove.add(pattern);
+					}
+				}
+			}
+			for (String headerToRemove : headersToRemove) {
+				if (!this.headerAccessor.isReadOnly(headerToRemove)) {
+					setHeader(headerToRemove, null);
+				}
+			}
+		}
 		return this;
 	}
 
@@ -159,7 +289,12 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 	@Override
 	public MessageBuilder<T> removeHeader(String headerName) {
 		if (!this.headerAccessor.isReadOnly(headerName)) {
-			this.headerAccessor.removeHeader(headerName);
+			if (this.parentHeaders == null) {
+				this.headerAccessor.removeHeader(headerName);
+			}
+			else if (StringUtils.hasLength(headerName)) {
+				setHeader(headerName, null);
+			}
 		}
 		else if (LOGGER.isInfoEnabled()) {
 			LOGGER.info("The header [" + headerName + "] is ignored for removal because it is is readOnly.");
@@ -178,7 +313,16 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 	 */
 	@Override
 	public MessageBuilder<T> copyHeaders(@Nullable Map<String, ?> headersToCopy) {
-		this.headerAccessor.copyHeaders(headersToCopy);
+		if (this.parentHeaders == null) {
+			this.headerAccessor.copyHeaders(headersToCopy);
+		}
+		else if (headersToCopy != null) {
+			headersToCopy.forEach((headerName, headerValue) -> {
+				if (!this.headerAccessor.isReadOnly(headerName)) {
+					setHeader(headerName, headerValue);
+				}
+			});
+		}
 		return this;
 	}
 
@@ -193,7 +337,7 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 			for (Map.Entry<String, ?> entry : headersToCopy.entrySet()) {
 				String headerName = entry.getKey();
 				if (!this.headerAccessor.isReadOnly(headerName)) {
-					this.headerAccessor.setHeaderIfAbsent(headerName, entry.getValue());
+					setHeaderIfAbsent(headerName, entry.getValue());
 				}
 			}
 		}
@@ -204,23 +348,25 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 	@Override
 	@Nullable
 	protected List<List<Object>> getSequenceDetails() {
-		return (List<List<Object>>) this.headerAccessor.getHeader(IntegrationMessageHeaderAccessor.SEQUENCE_DETAILS);
+		return (List<List<Object>>) getHeader(IntegrationMessageHeaderAccessor.SEQUENCE_DETAILS);
 	}
 
 	@Override
 	@Nullable
 	protected Object getCorrelationId() {
-		return this.headerAccessor.getCorrelationId();
+		return getHeader(IntegrationMessageHeaderAccessor.CORRELATION_ID);
 	}
 
 	@Override
 	protected Object getSequenceNumber() {
-		return this.headerAccessor.getSequenceNumber();
+		Number sequenceNumber = getHeader(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER, Number.class);
+		return (sequenceNumber != null ? sequenceNumber.intValue() : 0);
 	}
 
 	@Override
 	protected Object getSequenceSize() {
-		return this.headerAccessor.getSequenceSize();
+		Number sequenceSize = getHeader(IntegrationMessageHeaderAccessor.SEQUENCE_SIZE, Number.class);
+		return (sequenceSize != null ? sequenceSize.intValue() : 0);
 	}
 
 	/*
@@ -318,17 +464,54 @@ public final class MessageBuilder<T> extends AbstractIntegrationMessageBuilder<T
 	@Override
 	@SuppressWarnings("unchecked")
 	public Message<T> build() {
-		if (!this.modified && !this.headerAccessor.isModified() && this.originalMessage != null
-				&& !containsReadOnly(this.originalMessage.getHeaders())) {
+		if (!this.modified && !this.headerAccessor.isModified() && this.removedHeaders.isEmpty()
+				&& this.originalMessage != null && !containsReadOnly(this.originalMessage.getHeaders())) {
 
 			return this.originalMessage;
 		}
+		if (this.parentHeaders != null) {
+			return buildLayered(this.parentHeaders);
+		}
 		if (this.payload instanceof Throwable) {
 			return (Message<T>) new ErrorMessage((Throwable) this.payload, this.headerAccessor.toMap());
 		}
 		return new GenericMessage<>(this.payload, this.headerAccessor.toMap());
 	}
 
+	@SuppressWarnings("unchecked")
+	private Message<T> buildLayered(MessageHeaders parent) {
+		MessageHeaders headers;
+		if (parent instanceof LayeredMessageHeaders layered && layered.getDepth() >= this.maxHeaderLayers) {
+			headers = new MessageHeaders(getHeaders());
+		}
+		else {
+			Map<String, Object> overlay = this.headerAccessor.toMap();
+			for (String removedHeader : this.removedHeaders) {
+				overlay.put(removedHeader, null);
+			}
+			if (!ObjectUtils.isEmpty(this.readOnlyHeaders)) {
+				for (String readOnly : this.readOnlyHeaders) {
+					if (parent.containsKey(readOnly)) {
+						overlay.put(readOnly, null);
+					}
+				}
+			}
+			headers = new LayeredMessageHeaders(parent, overlay);
+		}
+		if (this.payload instanceof Throwable) {
+			return (Message<T>) new ErrorMessage((Throwable) this.payload, headers);
+		}
+		return new GenericMessage<>(this.payload, headers);
+	}
+
+	private void removeReadOnly(Map<String, Object> headers) {
+		if (!ObjectUtils.isEmpty(this.readOnlyHeaders)) {
+			for (String readOnly : this.readOnlyHeaders) {
+				headers.remove(readOnly);
+			}
+		}
+	}
+
 	private boolean containsReadOnly(MessageHeaders headers) {
 		if (!ObjectUtils.isEmpty(this.readOnlyHeaders)) {
 			for (String readOnly : this.readOnlyHeaders) {
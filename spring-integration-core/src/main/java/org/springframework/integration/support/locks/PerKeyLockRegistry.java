@@ -0,0 +1,247 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.locks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link LockRegistry} with a distinct {@link ReentrantLock} for each lock key.
+ * Unlike the {@link DefaultLockRegistry}, unrelated keys never share a lock because of
+ * a hash collision.
+ * The locks are held in a map with a reference count of the threads holding or waiting
+ * for them, and are removed from the map as soon as nobody holds or waits for them,
+ * so the registry does not grow with the number of keys ever locked.
+ * <p>The registry also gathers contention statistics: the number of lock acquisitions
+ * that had to wait, the total time spent waiting, and a snapshot of the keys with
+ * waiting threads at the moment, see {@link #getContendedLocks()}.
+ * <p>The {@link Lock#newCondition()} is not supported, so the registry is not a drop-in
+ * replacement for the {@link DefaultLockRegistry} when the caller needs conditions or
+ * expects {@link ReentrantLock} instances.
+ *
+ * @since 6.0.3
+ */
+public final class PerKeyLockRegistry implements LockRegistry {
+
+	private final Map<Object, LockEntry> locks = new ConcurrentHashMap<>();
+
+	private final LongAdder contendedAcquisitions = new LongAdder();
+
+	private final LongAdder waitNanos = new LongAdder();
+
+	@Override
+	public Lock obtain(Object lockKey) {
+		Assert.notNull(lockKey, "'lockKey' must not be null");
+		return new PerKeyLock(lockKey);
+	}
+
+	/**
+	 * Return the number of locks currently held or waited for.
+	 * @return the number of locks.
+	 */
+	public int getLockCount() {
+		return this.locks.size();
+	}
+
+	/**
+	 * Query if the lock for the key is held by the current thread.
+	 * @param lockKey the lock key.
+	 * @return true if the current thread holds the lock.
+	 * @see ReentrantLock#isHeldByCurrentThread()
+	 */
+	public boolean isHeldByCurrentThread(Object lockKey) {
+		LockEntry entry = this.locks.get(lockKey);
+		return entry != null && entry.lock.isHeldByCurrentThread();
+	}
+
+	/**
+	 * Return the number of lock acquisitions which had to wait for another thread
+	 * to release the lock.
+	 * @return the number of contended acquisitions.
+	 */
+	public long getContendedAcquisitionCount() {
+		return this.contendedAcquisitions.sum();
+	}
+
+	/**
+	 * Return the total time threads have spent waiting for locks from this registry.
+	 * @return the total wait time.
+	 */
+	public Duration getTotalWaitTime() {
+		return Duration.ofNanos(this.waitNanos.sum());
+	}
+
+	/**
+	 * Return a snapshot of the locks with threads waiting for them at the moment,
+	 * keyed by their lock keys.
+	 * The statistics of each lock cover the time since it was put into the registry,
+	 * that is since the last time it was neither held nor waited for.
+	 * @return the contention statistics of the currently contended locks.
+	 */
+	public Map<Object, LockContention> getContendedLocks() {
+		Map<Object, LockContention> contended = new HashMap<>();
+		this.locks.forEach((key, entry) -> {
+			int queueLength = entry.lock.getQueueLength();
+			if (queueLength > 0) {
+				contended.put(key, new LockContention(queueLength, entry.contendedAcquisitions,
+						Duration.ofNanos(entry.waitNanos)));
+			}
+		});
+		return contended;
+	}
+
+	private LockEntry acquire(Object lockKey) {
+		return this.locks.compute(lockKey, (key, existing) -> {
+			LockEntry entry = existing != null ? existing : new LockEntry();
+			entry.references++;
+			return entry;
+		});
+	}
+
+	private void release(Object lockKey) {
+		this.locks.computeIfPresent(lockKey, (key, entry) -> --entry.references == 0 ? null : entry);
+	}
+
+	private void recordWait(LockEntry entry, long startNanos, boolean acquired) {
+		long waited = System.nanoTime() - startNanos;
+		this.contendedAcquisitions.increment();
+		this.waitNanos.add(waited);
+		if (acquired) {
+			// guarded by the lock just acquired
+			entry.contendedAcquisitions++;
+			entry.waitNanos += waited;
+		}
+	}
+
+	/**
+	 * The contention statistics of a lock.
+	 * @param queueLength the number of threads waiting for the lock.
+	 * @param contendedAcquisitions the number of acquisitions which had to wait.
+	 * @param waitTime the time threads have spent waiting for this lock.
+	 */
+	public record LockContention(int queueLength, long contendedAcquisitions, Duration waitTime) {
+
+	}
+
+	private static final class LockEntry {
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private int references;
+
+		private volatile long contendedAcquisitions;
+
+		private volatile long waitNanos;
+
+	}
+
+	private final class PerKeyLock implements Lock {
+
+		private final Object lockKey;
+
+		PerKeyLock(Object lockKey) {
+			this.lockKey = lockKey;
+		}
+
+		@Override
+		public void lock() {
+			LockEntry entry = acquire(this.lockKey);
+			if (!entry.lock.tryLock()) {
+				long start = System.nanoTime();
+				entry.lock.lock();
+				recordWait(entry, start, true);
+			}
+		}
+
+		@Override
+		public void lockInterruptibly() throws InterruptedException {
+			LockEntry entry = acquire(this.lockKey);
+			if (!entry.lock.tryLock()) {
+				long start = System.nanoTime();
+				try {
+					entry.lock.lockInterruptibly();
+				}
+				catch (InterruptedException ex) {
+					release(this.lockKey);
+					throw ex;
+				}
+				recordWait(entry, start, true);
+			}
+		}
+
+		@Override
+		public boolean tryLock() {
+			LockEntry entry = acquire(this.lockKey);
+			if (entry.lock.tryLock()) {
+				return true;
+			}
+			release(this.lockKey);
+			return false;
+		}
+
+		@Override
+		public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+			LockEntry entry = acquire(this.lockKey);
+			if (entry.lock.tryLock()) {
+				return true;
+			}
+			long start = System.nanoTime();
+			boolean acquired = false;
+			try {
+				acquired = entry.lock.tryLock(time, unit);
+			}
+			finally {
+				if (!acquired) {
+					release(this.lockKey);
+				}
+			}
+			recordWait(entry, start, acquired);
+			return acquired;
+		}
+
+		@Override
+		public void unlock() {
+			LockEntry entry = PerKeyLockRegistry.this.locks.get(this.lockKey);
+			if (entry == null) {
+				throw new IllegalMonitorStateException("The lock for '" + this.lockKey + "' is not held");
+			}
+			entry.lock.unlock();
+			release(this.lockKey);
+		}
+
+		@Override
+		public Condition newCondition() {
+			throw new UnsupportedOperationException("Conditions are not supported");
+		}
+
+		@Override
+		public String toString() {
+			return "PerKeyLock [lockKey=" + this.lockKey + "]";
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2015-2022 the original author or authors.
+ * Copyright 2015-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import io.micrometer.observation.ObservationRegistry;
 
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.integration.support.context.NamedComponent;
+import org.springframework.integration.support.management.metrics.LatencyHistograms;
 import org.springframework.integration.support.management.metrics.MetricsCaptor;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.lang.Nullable;
@@ -106,6 +107,27 @@ public interface IntegrationManagement extends NamedComponent, DisposableBean {
 		// no op
 	}
 
+	/**
+	 * Inject {@link LatencyHistograms} to record the send (handle) and receive durations into.
+	 * If provided, the durations are not recorded into the {@link MetricsCaptor} timers.
+	 * Ignored if {@link ObservationRegistry} is provided.
+	 * @param latencyHistograms the histograms.
+	 * @since 6.0.3
+	 */
+	default void registerLatencyHistograms(LatencyHistograms latencyHistograms) {
+		// no op
+	}
+
+	/**
+	 * Return the {@link LatencyHistograms} this component records into, if any.
+	 * @return the histograms or null.
+	 * @since 6.0.3
+	 */
+	@Nullable
+	default LatencyHistograms getLatencyHistograms() {
+		return null;
+	}
+
 	/**
 	 * True if this implementation is going to deal with a registry other than the {@link  ObservationRegistry#NOOP} instance.
 	 * @return true if this implementation is going to deal with a registry other than the {@link  ObservationRegistry#NOOP} instance.
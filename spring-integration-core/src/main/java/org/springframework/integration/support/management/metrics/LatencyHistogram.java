@@ -0,0 +1,246 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * A lock-free histogram of durations (in nanoseconds) with log-linear (HDR-style) buckets:
+ * each power of two range is split into 32 linear sub-buckets, so the relative error of a
+ * reported value is below 3.2%. Values greater than 2<sup>42</sup> nanoseconds (~73 minutes)
+ * are recorded into the last bucket.
+ * <p>
+ * The buckets are striped by the recording thread to avoid contention; the stripes are
+ * allocated on first use. A {@link Snapshot} merges all the stripes; the snapshots can be
+ * merged with each other as well.
+ *
+ * @since 6.0.3
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	private static final int MAX_MAGNITUDE = 42;
+
+	private static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+	private static final int SUM_INDEX = BUCKET_COUNT;
+
+	private static final int MAX_INDEX = BUCKET_COUNT + 1;
+
+	private static final int STRIPE_COUNT =
+			Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+	private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPE_COUNT);
+
+	private volatile Snapshot cachedSnapshot;
+
+	private volatile long cachedSnapshotTime;
+
+	/**
+	 * Record a duration.
+	 * @param nanos the duration in nanoseconds; negative values are recorded as 0.
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		AtomicLongArray stripe = stripe();
+		stripe.incrementAndGet(bucketIndex(value));
+		stripe.addAndGet(SUM_INDEX, value);
+		if (value > stripe.get(MAX_INDEX)) {
+			stripe.accumulateAndGet(MAX_INDEX, value, Math::max);
+		}
+	}
+
+	/**
+	 * Merge all the stripes into a new {@link Snapshot}.
+	 * Concurrent recordings may or may not be included.
+	 * @return the snapshot.
+	 */
+	public Snapshot snapshot() {
+		long[] counts = new long[BUCKET_COUNT];
+		long sum = 0;
+		long max = 0;
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			AtomicLongArray stripe = this.stripes.get(i);
+			if (stripe != null) {
+				for (int j = 0; j < BUCKET_COUNT; j++) {
+					counts[j] += stripe.get(j);
+				}
+				sum += stripe.get(SUM_INDEX);
+				max = Math.max(max, stripe.get(MAX_INDEX));
+			}
+		}
+		return new Snapshot(counts, sum, max);
+	}
+
+	/**
+	 * Return the last snapshot taken by this method if it is not older than the provided
+	 * age, or a new one otherwise.
+	 * Useful when several values are exported from the same histogram periodically.
+	 * @param maxAge the max age of the snapshot to reuse.
+	 * @return the snapshot.
+	 */
+	public Snapshot snapshot(Duration maxAge) {
+		Assert.notNull(maxAge, "'maxAge' must not be null");
+		Snapshot snapshot = this.cachedSnapshot;
+		long now = System.nanoTime();
+		if (snapshot == null || now - this.cachedSnapshotTime > maxAge.toNanos()) {
+			snapshot = snapshot();
+			this.cachedSnapshot = snapshot;
+			this.cachedSnapshotTime = now;
+		}
+		return snapshot;
+	}
+
+	private AtomicLongArray stripe() {
+		int index = (int) mix(Thread.currentThread().getId()) & (STRIPE_COUNT - 1);
+		AtomicLongArray stripe = this.stripes.get(index);
+		if (stripe == null) {
+			this.stripes.compareAndSet(index, null, new AtomicLongArray(BUCKET_COUNT + 2));
+			stripe = this.stripes.get(index);
+		}
+		return stripe;
+	}
+
+	private static long mix(long threadId) {
+		long hash = threadId * 0x9E3779B97F4A7C15L; // NOSONAR magic number
+		return hash ^ (hash >>> 32);
+	}
+
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		if (magnitude > MAX_MAGNITUDE) {
+			return BUCKET_COUNT - 1;
+		}
+		int shift = magnitude - SUB_BUCKET_BITS;
+		return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+	}
+
+	static long bucketValue(int index) {
+		int shift = (index >>> SUB_BUCKET_BITS) - 1;
+		if (shift <= 0) {
+			return index;
+		}
+		long lowest = (long) (SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1))) << shift;
+		return lowest + (1L << (shift - 1));
+	}
+
+	/**
+	 * An immutable state of a {@link LatencyHistogram}.
+	 */
+	public static final class Snapshot {
+
+		private final long[] counts;
+
+		private final long count;
+
+		private final long sum;
+
+		private final long max;
+
+		Snapshot(long[] counts, long sum, long max) {
+			this.counts = counts;
+			long total = 0;
+			for (long bucketCount : counts) {
+				total += bucketCount;
+			}
+			this.count = total;
+			this.sum = sum;
+			this.max = max;
+		}
+
+		/**
+		 * Return the number of recorded durations.
+		 * @return the count.
+		 */
+		public long getCount() {
+			return this.count;
+		}
+
+		/**
+		 * Return the sum of recorded durations in nanoseconds.
+		 * @return the sum.
+		 */
+		public long getSum() {
+			return this.sum;
+		}
+
+		/**
+		 * Return the max recorded duration in nanoseconds.
+		 * @return the max.
+		 */
+		public long getMax() {
+			return this.max;
+		}
+
+		/**
+		 * Return the mean recorded duration in nanoseconds; 0 if nothing has been recorded.
+		 * @return the mean.
+		 */
+		public double getMean() {
+			return this.count == 0 ? 0 : (double) this.sum / this.count;
+		}
+
+		/**
+		 * Return the duration in nanoseconds which the provided percentage of recorded
+		 * durations are less than or equal to (within the bucket precision);
+		 * 0 if nothing has been recorded.
+		 * @param percentile the percentile in the {@code [0, 100]} range, e.g. {@code 99.9}.
+		 * @return the value at the percentile.
+		 */
+		public long getValueAtPercentile(double percentile) {
+			Assert.isTrue(percentile >= 0 && percentile <= 100, "'percentile' must be in the [0, 100] range");
+			if (this.count == 0) {
+				return 0;
+			}
+			long rank = Math.max(1, (long) Math.ceil(percentile / 100 * this.count));
+			long seen = 0;
+			for (int i = 0; i < this.counts.length; i++) {
+				seen += this.counts[i];
+				if (seen >= rank) {
+					return Math.min(bucketValue(i), this.max);
+				}
+			}
+			return this.max;
+		}
+
+		/**
+		 * Create a new snapshot which combines this and the provided one,
+		 * e.g. for the same component on several application instances.
+		 * @param other the snapshot to merge with.
+		 * @return the merged snapshot.
+		 */
+		public Snapshot merge(Snapshot other) {
+			long[] mergedCounts = new long[this.counts.length];
+			for (int i = 0; i < mergedCounts.length; i++) {
+				mergedCounts[i] = this.counts[i] + other.counts[i];
+			}
+			return new Snapshot(mergedCounts, this.sum + other.sum, Math.max(this.max, other.max));
+		}
+
+	}
+
+}
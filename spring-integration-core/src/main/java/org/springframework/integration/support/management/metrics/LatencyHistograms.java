@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management.metrics;
+
+/**
+ * The {@link LatencyHistogram}s of a component: the send (or handle) durations of
+ * successful and failed operations and the durations of receive operations which
+ * returned a message or failed.
+ *
+ * @since 6.0.3
+ *
+ * @see org.springframework.integration.support.management.IntegrationManagement#registerLatencyHistograms(LatencyHistograms)
+ */
+public class LatencyHistograms {
+
+	private final LatencyHistogram sendSuccesses = new LatencyHistogram();
+
+	private final LatencyHistogram sendFailures = new LatencyHistogram();
+
+	private final LatencyHistogram receiveSuccesses = new LatencyHistogram();
+
+	private final LatencyHistogram receiveFailures = new LatencyHistogram();
+
+	/**
+	 * Record the duration of a send (or handle) operation.
+	 * @param nanos the duration in nanoseconds.
+	 * @param success false if the operation failed or the message was not sent.
+	 */
+	public void recordSend(long nanos, boolean success) {
+		(success ? this.sendSuccesses : this.sendFailures).record(nanos);
+	}
+
+	/**
+	 * Record the duration of a receive operation which returned a message or failed.
+	 * @param nanos the duration in nanoseconds.
+	 * @param success false if the operation failed.
+	 */
+	public void recordReceive(long nanos, boolean success) {
+		(success ? this.receiveSuccesses : this.receiveFailures).record(nanos);
+	}
+
+	/**
+	 * Return the histogram of the successful send (or handle) operations.
+	 * @return the histogram.
+	 */
+	public LatencyHistogram getSendSuccesses() {
+		return this.sendSuccesses;
+	}
+
+	/**
+	 * Return the histogram of the failed send (or handle) operations.
+	 * @return the histogram.
+	 */
+	public LatencyHistogram getSendFailures() {
+		return this.sendFailures;
+	}
+
+	/**
+	 * Return the histogram of the receive operations which returned a message.
+	 * @return the histogram.
+	 */
+	public LatencyHistogram getReceiveSuccesses() {
+		return this.receiveSuccesses;
+	}
+
+	/**
+	 * Return the histogram of the failed receive operations.
+	 * @return the histogram.
+	 */
+	public LatencyHistogram getReceiveFailures() {
+		return this.receiveFailures;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2019 the original author or authors.
+ * Copyright 2018-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.integration.support.management.metrics;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.function.ToDoubleFunction;
 
 import org.springframework.lang.Nullable;
@@ -69,6 +72,25 @@ public interface MetricsCaptor {
 		return null;
 	}
 
+	/**
+	 * Register the meters exporting the durations recorded into the provided
+	 * {@link LatencyHistogram}: a timer with their count and total time and a gauge
+	 * for each of the reported percentiles. The values are read from the histogram
+	 * when the meters are published, not on each recording.
+	 * Does nothing by default.
+	 * @param name the timer name.
+	 * @param description the description.
+	 * @param tags the tags.
+	 * @param histogram the histogram to export.
+	 * @return the registered meters.
+	 * @since 6.0.3
+	 */
+	default List<MeterFacade> registerLatencyHistogram(String name, String description, Map<String, String> tags,
+			LatencyHistogram histogram) {
+
+		return Collections.emptyList();
+	}
+
 	/**
 	 * A builder for a timer.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 the original author or authors.
+ * Copyright 2018-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,25 @@
 
 package org.springframework.integration.support.management.micrometer;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.ToDoubleFunction;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionTimer;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
 import io.micrometer.core.instrument.Timer;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.integration.support.management.metrics.CounterFacade;
 import org.springframework.integration.support.management.metrics.GaugeFacade;
+import org.springframework.integration.support.management.metrics.LatencyHistogram;
 import org.springframework.integration.support.management.metrics.MeterFacade;
 import org.springframework.integration.support.management.metrics.MetricsCaptor;
 import org.springframework.integration.support.management.metrics.SampleFacade;
@@ -47,6 +54,10 @@ public class MicrometerMetricsCaptor implements MetricsCaptor {
 
 	public static final String MICROMETER_CAPTOR_NAME = "integrationMicrometerMetricsCaptor";
 
+	private static final double[] PERCENTILES = { 0.5, 0.99, 0.999 };
+
+	private static final Duration SNAPSHOT_INTERVAL = Duration.ofSeconds(1);
+
 	private MeterRegistry meterRegistry;
 
 	private ObjectProvider<MeterRegistry> meterRegistryProvider;
@@ -92,6 +103,38 @@ public class MicrometerMetricsCaptor implements MetricsCaptor {
 		return facade.remove();
 	}
 
+	/**
+	 * Register a {@link FunctionTimer} and a {@link TimeGauge} with a {@code phi} tag
+	 * for the 0.5, 0.99 and 0.999 percentiles, under the {@code name + ".percentile"}.
+	 * The histogram snapshot is reused for one second, so all the meters published
+	 * together are read from the same state.
+	 */
+	@Override
+	public List<MeterFacade> registerLatencyHistogram(String name, String description, Map<String, String> tags,
+			LatencyHistogram histogram) {
+
+		MeterRegistry registry = getMeterRegistry();
+		List<MeterFacade> meters = new ArrayList<>();
+		FunctionTimer.Builder<LatencyHistogram> timerBuilder =
+				FunctionTimer.builder(name, histogram,
+								(hist) -> hist.snapshot(SNAPSHOT_INTERVAL).getCount(),
+								(hist) -> hist.snapshot(SNAPSHOT_INTERVAL).getSum(),
+								TimeUnit.NANOSECONDS)
+						.description(description);
+		tags.forEach(timerBuilder::tag);
+		meters.add(new MicroHistogramMeter(timerBuilder.register(registry), registry));
+		for (double percentile : PERCENTILES) {
+			TimeGauge.Builder<LatencyHistogram> gaugeBuilder =
+					TimeGauge.builder(name + ".percentile", histogram, TimeUnit.NANOSECONDS,
+									(hist) -> hist.snapshot(SNAPSHOT_INTERVAL).getValueAtPercentile(percentile * 100))
+							.tag("phi", Double.toString(percentile))
+							.description(description);
+			tags.forEach(gaugeBuilder::tag);
+			meters.add(new MicroHistogramMeter(gaugeBuilder.register(registry), registry));
+		}
+		return meters;
+	}
+
 	private record MicroSample(Timer.Sample sample) implements SampleFacade {
 
 		@SuppressWarnings("unchecked")
@@ -316,4 +359,20 @@ public class MicrometerMetricsCaptor implements MetricsCaptor {
 
 	}
 
+	private static class MicroHistogramMeter extends AbstractMeter<Meter> {
+
+		private final Meter meter;
+
+		MicroHistogramMeter(Meter meter, MeterRegistry meterRegistry) {
+			super(meterRegistry);
+			this.meter = meter;
+		}
+
+		@Override
+		protected Meter getMeter() {
+			return this.meter;
+		}
+
+	}
+
 }
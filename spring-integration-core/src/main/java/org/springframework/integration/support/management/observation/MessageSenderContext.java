@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 the original author or authors.
+ * Copyright 2022-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,10 +19,15 @@ package org.springframework.integration.support.management.observation;
 import io.micrometer.observation.transport.SenderContext;
 
 import org.springframework.integration.support.MutableMessage;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 
 /**
  * The {@link SenderContext} extension for {@link Message} context.
+ * <p>
+ * When created for an immutable {@link Message}, the {@link MutableMessage} carrier
+ * is created lazily on the first {@link #getCarrier()} call, e.g. when a propagating
+ * observation handler injects headers, so no message copy is made otherwise.
  *
  * @author Artem Bilan
  *
@@ -30,19 +35,48 @@ import org.springframework.messaging.Message;
  */
 public class MessageSenderContext extends SenderContext<MutableMessage<?>> {
 
-	private final MutableMessage<?> message;
+	private final Message<?> message;
 
 	private final String producerName;
 
+	@Nullable
+	private MutableMessage<?> carrier;
+
 	public MessageSenderContext(MutableMessage<?> message, String producerName) {
+		this((Message<?>) message, producerName);
+	}
+
+	/**
+	 * Create a context for the message with a lazily created {@link MutableMessage} carrier.
+	 * @param message the message to send.
+	 * @param producerName the producer name.
+	 * @since 6.0.3
+	 */
+	public MessageSenderContext(Message<?> message, String producerName) {
 		super((carrier, key, value) -> carrier.getHeaders().put(key, value));
 		this.message = message;
 		this.producerName = producerName;
+		if (message instanceof MutableMessage<?> mutableMessage) {
+			this.carrier = mutableMessage;
+		}
 	}
 
 	@Override
 	public MutableMessage<?> getCarrier() {
-		return this.message;
+		if (this.carrier == null) {
+			this.carrier = MutableMessage.of(this.message);
+		}
+		return this.carrier;
+	}
+
+	/**
+	 * Return the message to send: the carrier if it has been requested
+	 * (and therefore might have been modified), or the original message otherwise.
+	 * @return the message to send.
+	 * @since 6.0.3
+	 */
+	public Message<?> getMessageToSend() {
+		return this.carrier != null ? this.carrier : this.message;
 	}
 
 	public String getProducerName() {
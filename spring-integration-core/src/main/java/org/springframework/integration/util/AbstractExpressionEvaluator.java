@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,11 @@
 
 package org.springframework.integration.util;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.InitializingBean;
@@ -25,8 +30,12 @@ import org.springframework.core.log.LogAccessor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.integration.context.IntegrationContextUtils;
+import org.springframework.integration.expression.ExpressionCompilationRegistry;
+import org.springframework.integration.expression.ExpressionCompilationRegistry.ExpressionStatistics;
 import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.integration.support.DefaultMessageBuilderFactory;
 import org.springframework.integration.support.MessageBuilderFactory;
@@ -57,6 +66,11 @@ public abstract class AbstractExpressionEvaluator implements BeanFactoryAware, I
 
 	private volatile MessageBuilderFactory messageBuilderFactory = new DefaultMessageBuilderFactory();
 
+	@Nullable
+	private volatile ExpressionCompilationRegistry expressionCompilationRegistry;
+
+	private final Map<Expression, ExpressionStatistics> expressionStatistics = new ConcurrentHashMap<>();
+
 	/**
 	 * Specify a BeanFactory in order to enable resolution via <code>@beanName</code> in the expression.
 	 */
@@ -67,6 +81,17 @@ public abstract class AbstractExpressionEvaluator implements BeanFactoryAware, I
 		if (this.evaluationContext != null && this.evaluationContext.getBeanResolver() == null) {
 			this.evaluationContext.setBeanResolver(new BeanFactoryResolver(beanFactory));
 		}
+		ExpressionCompilationRegistry registry =
+				beanFactory != null ? IntegrationContextUtils.getExpressionCompilationRegistry(beanFactory) : null;
+		if (registry != null && registry.isEnabled()) {
+			this.expressionCompilationRegistry = registry;
+			for (Expression expression : getExpressions()) {
+				ExpressionStatistics statistics = registry.register(this, expression);
+				if (statistics != null) {
+					this.expressionStatistics.put(expression, statistics);
+				}
+			}
+		}
 	}
 
 	protected BeanFactory getBeanFactory() {
@@ -156,19 +181,59 @@ public abstract class AbstractExpressionEvaluator implements BeanFactoryAware, I
 
 	@Nullable
 	protected <T> T evaluateExpression(Expression expression, @Nullable Class<T> expectedType) {
+		ExpressionStatistics statistics = obtainExpressionStatistics(expression);
+		if (statistics != null) {
+			return statistics.evaluate(() -> expression.getValue(getEvaluationContext(), expectedType));
+		}
 		return expression.getValue(getEvaluationContext(), expectedType);
 	}
 
 	@Nullable
 	protected Object evaluateExpression(Expression expression) {
+		ExpressionStatistics statistics = obtainExpressionStatistics(expression);
+		if (statistics != null) {
+			return statistics.evaluate(() -> expression.getValue(getEvaluationContext()));
+		}
 		return expression.getValue(getEvaluationContext());
 	}
 
 	@Nullable
 	protected <T> T evaluateExpression(Expression expression, Object input, @Nullable Class<T> expectedType) {
+		ExpressionStatistics statistics = obtainExpressionStatistics(expression);
+		if (statistics != null) {
+			return statistics.evaluate(() -> expression.getValue(getEvaluationContext(), input, expectedType));
+		}
 		return expression.getValue(getEvaluationContext(), input, expectedType);
 	}
 
+	/**
+	 * Return the expressions this component is going to evaluate, if they are known
+	 * upfront, to let them be compiled on application context refresh according to the
+	 * {@link ExpressionCompilationRegistry} policy.
+	 * Any other expressions are registered on their first evaluation.
+	 * @return the expressions.
+	 * @since 6.0.3
+	 */
+	protected Collection<Expression> getExpressions() {
+		return Collections.emptyList();
+	}
+
+	@Nullable
+	private ExpressionStatistics obtainExpressionStatistics(Expression expression) {
+		ExpressionCompilationRegistry registry = this.expressionCompilationRegistry;
+		if (registry == null || !(expression instanceof SpelExpression)) {
+			return null;
+		}
+		ExpressionStatistics statistics = this.expressionStatistics.get(expression);
+		if (statistics == null) {
+			statistics = registry.register(this, expression);
+			if (statistics != null) {
+				this.expressionStatistics.put(expression, statistics);
+			}
+		}
+		return statistics;
+	}
+
 	protected void onInit() {
 
 	}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * A {@link TaskExecutor} which starts a new virtual thread for each task,
+ * with an optional limit for the number of concurrently running tasks.
+ * <p>
+ * When the limit is reached, a {@link TaskRejectedException} is thrown by default,
+ * so the caller (for example a poller on the shared {@code taskScheduler} thread) is never
+ * blocked; polling endpoints skip the poll in this case.
+ * An {@link #setAcquireTimeout(Duration) acquireTimeout} can be configured to block the
+ * caller until a permit is available instead; the limit is based on a {@link Semaphore},
+ * so a blocked virtual caller thread does not pin its carrier thread.
+ * <p>
+ * Virtual threads are obtained via {@code Thread.ofVirtual()} if the runtime supports them
+ * (Java 21 or Java 19/20 with {@code --enable-preview}); otherwise the tasks are performed
+ * on a pool of platform daemon threads, which are reused and released after a minute
+ * of inactivity, and a warning is logged.
+ *
+ * @since 6.0.3
+ */
+public class VirtualThreadPerTaskExecutor implements TaskExecutor {
+
+	/**
+	 * Constant for no concurrency limit.
+	 */
+	public static final int UNBOUNDED_CONCURRENCY = -1;
+
+	private static final Log LOGGER = LogFactory.getLog(VirtualThreadPerTaskExecutor.class);
+
+	@Nullable
+	private static final Method OF_VIRTUAL_METHOD = ofVirtualMethod();
+
+	@Nullable
+	private final ThreadFactory virtualThreadFactory;
+
+	@Nullable
+	private final ExecutorService platformThreadPool;
+
+	@Nullable
+	private final Semaphore concurrencyLimiter;
+
+	private long acquireTimeout;
+
+	/**
+	 * Create an instance without a concurrency limit.
+	 * @param threadNamePrefix the prefix for thread names.
+	 */
+	public VirtualThreadPerTaskExecutor(String threadNamePrefix) {
+		this(threadNamePrefix, UNBOUNDED_CONCURRENCY);
+	}
+
+	/**
+	 * Create an instance with a concurrency limit.
+	 * @param threadNamePrefix the prefix for thread names.
+	 * @param concurrencyLimit the max number of concurrently running tasks;
+	 * {@link #UNBOUNDED_CONCURRENCY} for no limit.
+	 */
+	public VirtualThreadPerTaskExecutor(String threadNamePrefix, int concurrencyLimit) {
+		Assert.notNull(threadNamePrefix, "'threadNamePrefix' must not be null");
+		Assert.isTrue(concurrencyLimit > 0 || concurrencyLimit == UNBOUNDED_CONCURRENCY,
+				"'concurrencyLimit' must be a positive number or 'UNBOUNDED_CONCURRENCY'");
+		ThreadFactory threadFactory = threadFactory(threadNamePrefix);
+		if (OF_VIRTUAL_METHOD != null) {
+			this.virtualThreadFactory = threadFactory;
+			this.platformThreadPool = null;
+		}
+		else {
+			this.virtualThreadFactory = null;
+			this.platformThreadPool =
+					new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+							new SynchronousQueue<>(), threadFactory);
+		}
+		this.concurrencyLimiter = concurrencyLimit > 0 ? new Semaphore(concurrencyLimit) : null;
+	}
+
+	/**
+	 * Set the max time to block the caller when the concurrency limit is reached.
+	 * Defaults to {@link Duration#ZERO}: the task is rejected immediately with a
+	 * {@link TaskRejectedException}. A {@link TaskRejectedException} is also thrown when
+	 * the timeout expires.
+	 * @param acquireTimeout the time to wait for a concurrency permit.
+	 */
+	public void setAcquireTimeout(Duration acquireTimeout) {
+		Assert.notNull(acquireTimeout, "'acquireTimeout' must not be null");
+		Assert.isTrue(!acquireTimeout.isNegative(), "'acquireTimeout' must not be negative");
+		this.acquireTimeout = acquireTimeout.toNanos();
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		Assert.notNull(task, "'task' must not be null");
+		Semaphore limiter = this.concurrencyLimiter;
+		if (limiter != null && !acquire(limiter)) {
+			throw new TaskRejectedException("The concurrency limit of [" + this + "] has been reached");
+		}
+		Runnable limitedTask = () -> {
+			try {
+				task.run();
+			}
+			finally {
+				if (limiter != null) {
+					limiter.release();
+				}
+			}
+		};
+		try {
+			if (this.virtualThreadFactory != null) {
+				this.virtualThreadFactory.newThread(limitedTask).start();
+			}
+			else {
+				this.platformThreadPool.execute(limitedTask); // NOSONAR never null without virtual threads
+			}
+		}
+		catch (RuntimeException | Error ex) { // NOSONAR
+			if (limiter != null) {
+				limiter.release();
+			}
+			throw ex;
+		}
+	}
+
+	private boolean acquire(Semaphore limiter) {
+		if (this.acquireTimeout == 0) {
+			return limiter.tryAcquire();
+		}
+		try {
+			return limiter.tryAcquire(this.acquireTimeout, TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new TaskRejectedException("Interrupted while waiting for a concurrency permit", ex);
+		}
+	}
+
+	/**
+	 * Return true if the current runtime supports virtual threads.
+	 * @return true if virtual threads are supported.
+	 */
+	public static boolean isVirtualThreadsAvailable() {
+		return OF_VIRTUAL_METHOD != null;
+	}
+
+	/**
+	 * Create a {@link ThreadFactory} for virtual threads with the provided name prefix.
+	 * Falls back to a {@link CustomizableThreadFactory} for platform daemon threads
+	 * if virtual threads are not supported.
+	 * @param threadNamePrefix the prefix for thread names.
+	 * @return the {@link ThreadFactory}.
+	 */
+	public static ThreadFactory threadFactory(String threadNamePrefix) {
+		if (OF_VIRTUAL_METHOD != null) {
+			Object builder = ReflectionUtils.invokeMethod(OF_VIRTUAL_METHOD, null);
+			Method nameMethod = ReflectionUtils.findMethod(OF_VIRTUAL_METHOD.getReturnType(), "name",
+					String.class, long.class);
+			Method factoryMethod = ReflectionUtils.findMethod(OF_VIRTUAL_METHOD.getReturnType(), "factory");
+			Assert.state(nameMethod != null && factoryMethod != null, "Unexpected 'Thread.Builder' API");
+			builder = ReflectionUtils.invokeMethod(nameMethod, builder, threadNamePrefix, 0L);
+			return (ThreadFactory) ReflectionUtils.invokeMethod(factoryMethod, builder);
+		}
+		else {
+			LOGGER.warn("Virtual threads are not supported by the current runtime; " +
+					"platform threads are used for '" + threadNamePrefix + "'");
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+			threadFactory.setDaemon(true);
+			return threadFactory;
+		}
+	}
+
+	@Nullable
+	private static Method ofVirtualMethod() {
+		Method ofVirtual = ReflectionUtils.findMethod(Thread.class, "ofVirtual");
+		if (ofVirtual != null) {
+			try {
+				// Throws UnsupportedOperationException on Java 19/20 without '--enable-preview'
+				ofVirtual.invoke(null);
+				return ofVirtual;
+			}
+			catch (Exception ex) {
+				LOGGER.debug("Virtual threads are not enabled in the current runtime", ex);
+			}
+		}
+		return null;
+	}
+
+}
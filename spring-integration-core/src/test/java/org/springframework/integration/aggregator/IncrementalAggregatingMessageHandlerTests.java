@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.expression.common.LiteralExpression;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.aggregator.IncrementalAggregatingMessageHandler.Accumulation;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.test.util.TestUtils;
+import org.springframework.messaging.Message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * @since 6.0.3
+ */
+public class IncrementalAggregatingMessageHandlerTests {
+
+	private final TestUtils.TestApplicationContext context = TestUtils.createTestApplicationContext();
+
+	private final SimpleMessageStore store = new SimpleMessageStore();
+
+	private final QueueChannel output = new QueueChannel();
+
+	private final QueueChannel discards = new QueueChannel();
+
+	@BeforeEach
+	void setUp() {
+		this.context.refresh();
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.context.close();
+	}
+
+	@Test
+	void sequenceIsSummedWithoutRetainingMessages() {
+		IncrementalAggregatingMessageHandler handler =
+				handler(Collectors.summingLong((Message<?> message) -> (Integer) message.getPayload()), null);
+		int sequenceSize = 10_000;
+		for (int i = 1; i <= sequenceSize; i++) {
+			handler.handleMessage(message("sum", i, sequenceSize));
+			if (i < sequenceSize) {
+				assertThat(this.store.getMessageCountForAllMessageGroups()).isEqualTo(1);
+			}
+		}
+		Message<?> result = this.output.receive(0);
+		assertThat(result).isNotNull();
+		assertThat(result.getPayload()).isEqualTo((long) sequenceSize * (sequenceSize + 1) / 2);
+		assertThat(result.getHeaders())
+				.containsEntry(IntegrationMessageHeaderAccessor.CORRELATION_ID, "sum")
+				.containsEntry(IntegrationMessageHeaderAccessor.SEQUENCE_SIZE, sequenceSize);
+		assertThat(this.output.receive(0)).isNull();
+		assertThat(this.store.getMessageCountForAllMessageGroups()).isEqualTo(0);
+	}
+
+	@Test
+	void topNIsReleasedByCountAndResultExpression() {
+		IncrementalAggregatingMessageHandler handler = handler(topThree(), new MessageCountReleaseStrategy(5));
+		for (int i : new int[] { 5, 1, 9, 3, 7, 2, 8 }) {
+			handler.handleMessage(message("top", i, 0));
+		}
+		Message<?> result = this.output.receive(0);
+		assertThat(result).isNotNull();
+		assertThat(result.getPayload()).isEqualTo(List.of(9, 7, 5));
+		assertThat(this.output.receive(0)).isNull();
+
+		handler = handler(topThree(), new ExpressionEvaluatingReleaseStrategy("messages[0].payload[0] > 10"));
+		handler.handleMessage(message("threshold", 4, 0));
+		handler.handleMessage(message("threshold", 11, 0));
+		result = this.output.receive(0);
+		assertThat(result).isNotNull();
+		assertThat(result.getPayload()).isEqualTo(List.of(11, 4));
+	}
+
+	@Test
+	void partialResultIsReleasedOrDiscardedOnGroupTimeout() {
+		IncrementalAggregatingMessageHandler handler = handler(Collectors.counting(), null);
+		handler.setGroupTimeoutExpression(new LiteralExpression("100"));
+		handler.setSendPartialResultOnExpiry(true);
+		handler.handleMessage(message("partial", 1, 3));
+		handler.handleMessage(message("partial", 2, 3));
+		Message<?> result = this.output.receive(10_000);
+		assertThat(result).isNotNull();
+		assertThat(result.getPayload()).isEqualTo(2L);
+
+		handler = handler(Collectors.counting(), null);
+		handler.setGroupTimeoutExpression(new LiteralExpression("100"));
+		handler.handleMessage(message("discarded", 1, 3));
+		Message<?> discarded = this.discards.receive(10_000);
+		assertThat(discarded).isNotNull();
+		assertThat(discarded.getPayload()).isEqualTo(1L);
+		assertThat(this.output.receive(0)).isNull();
+	}
+
+	@Test
+	void accumulationsOfSameGroupAreCombined() {
+		IncrementalAggregatingMessageHandler handler = handler(topThree(), new MessageCountReleaseStrategy(4));
+		Message<?> template = message("combined", 1, 0);
+		this.store.addMessagesToGroup("combined",
+				MessageBuilder.withPayload(new Accumulation(new PriorityQueue<>(List.of(5, 1)), 2))
+						.copyHeaders(template.getHeaders())
+						.build(),
+				MessageBuilder.withPayload(new Accumulation(new PriorityQueue<>(List.of(9)), 1))
+						.copyHeaders(template.getHeaders())
+						.build());
+		handler.handleMessage(message("combined", 3, 0));
+		Message<?> result = this.output.receive(0);
+		assertThat(result).isNotNull();
+		assertThat(result.getPayload()).isEqualTo(List.of(9, 5, 3));
+	}
+
+	@Test
+	void partialSequencesAreRejected() {
+		IncrementalAggregatingMessageHandler handler =
+				new IncrementalAggregatingMessageHandler(Collectors.counting(), this.store);
+		handler.setReleasePartialSequences(true);
+		handler.setBeanFactory(this.context);
+		assertThatIllegalStateException()
+				.isThrownBy(handler::afterPropertiesSet)
+				.withMessageContaining("cannot work with a 'SequenceSizeReleaseStrategy'");
+	}
+
+	private IncrementalAggregatingMessageHandler handler(Collector<? super Message<?>, ?, ?> collector,
+			ReleaseStrategy releaseStrategy) {
+
+		IncrementalAggregatingMessageHandler handler =
+				new IncrementalAggregatingMessageHandler(collector, this.store, null, releaseStrategy);
+		handler.setOutputChannel(this.output);
+		handler.setDiscardChannel(this.discards);
+		handler.setBeanFactory(this.context);
+		handler.afterPropertiesSet();
+		return handler;
+	}
+
+	private static Collector<Message<?>, PriorityQueue<Integer>, List<Integer>> topThree() {
+		return Collector.of(PriorityQueue::new,
+				(queue, message) -> {
+					queue.add((Integer) message.getPayload());
+					if (queue.size() > 3) {
+						queue.poll();
+					}
+				},
+				(left, right) -> {
+					right.forEach(left::add);
+					while (left.size() > 3) {
+						left.poll();
+					}
+					return left;
+				},
+				queue -> queue.stream().sorted(Comparator.reverseOrder()).toList());
+	}
+
+	private static Message<Integer> message(String correlationId, int payload, int sequenceSize) {
+		return MessageBuilder.withPayload(payload)
+				.setCorrelationId(correlationId)
+				.setSequenceNumber(payload)
+				.setSequenceSize(sequenceSize)
+				.build();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -395,6 +395,31 @@ public class ResequencerTests {
 		assertThat(out3).isNotNull();
 	}
 
+	@Test
+	public void testLargeOutOfOrderStreamIsReleasedIncrementally() {
+		SequenceSizeReleaseStrategy releaseStrategy = new SequenceSizeReleaseStrategy(true);
+		this.resequencer = new ResequencingMessageHandler(processor, store, null, releaseStrategy);
+		QueueChannel replyChannel = new QueueChannel();
+		this.resequencer.setOutputChannel(replyChannel);
+		this.resequencer.setBeanFactory(mock(BeanFactory.class));
+		this.resequencer.afterPropertiesSet();
+
+		int sequenceSize = 50_000;
+		int blockSize = 1_000;
+		for (int block = 0; block < sequenceSize; block += blockSize) {
+			for (int i = blockSize; i > 0; i--) {
+				this.resequencer.handleMessage(createMessage("", "ABC", sequenceSize, block + i, null));
+			}
+			assertThat(this.store.getMessageCountForAllMessageGroups()).isEqualTo(0);
+		}
+		for (int i = 1; i <= sequenceSize; i++) {
+			Message<?> reply = replyChannel.receive(0);
+			assertThat(reply).isNotNull();
+			assertThat(new IntegrationMessageHeaderAccessor(reply).getSequenceNumber()).isEqualTo(i);
+		}
+		assertThat(replyChannel.receive(0)).isNull();
+	}
+
 	private static Message<?> createMessage(String payload, Object correlationId, int sequenceSize, int sequenceNumber,
 			MessageChannel replyChannel) {
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -68,4 +68,23 @@ public class ResequencingMessageGroupProcessorTests {
 		assertThat(processedMessages.size()).isEqualTo(1);
 	}
 
+	@Test
+	public void shouldReleaseContiguousRunInOrder() {
+		List<Message<?>> messages = new ArrayList<>();
+		for (int i = 10; i > 0; i--) {
+			if (i != 6) {
+				messages.add(MessageBuilder.withPayload(i).setSequenceNumber(i).build());
+			}
+		}
+		SimpleMessageGroup group = new SimpleMessageGroup(messages, "x");
+		@SuppressWarnings("unchecked")
+		List<Message<?>> processedMessages = (List<Message<?>>) processor.processMessageGroup(group);
+		assertThat(processedMessages).extracting("payload").containsExactly(1, 2, 3, 4, 5);
+
+		group.add(MessageBuilder.withPayload(2).setSequenceNumber(2).build());
+		@SuppressWarnings("unchecked")
+		List<Message<?>> withDuplicate = (List<Message<?>>) processor.processMessageGroup(group);
+		assertThat(withDuplicate).extracting("payload").containsExactly(1, 2, 2, 3, 4, 5);
+	}
+
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.channel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.integration.MessageDispatchingException;
+import org.springframework.integration.dsl.MessageChannels;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.support.GenericMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @since 6.0.3
+ */
+public class PartitionedChannelTests {
+
+	@Test
+	void messagesForSameKeyAreHandledInOrderOnSameThread() throws InterruptedException {
+		PartitionedChannel channel = new PartitionedChannel(4);
+		channel.setBeanName("testChannel");
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+
+		Map<Object, List<Integer>> received = new ConcurrentHashMap<>();
+		Map<Object, Set<String>> threads = new ConcurrentHashMap<>();
+		CountDownLatch latch = new CountDownLatch(400);
+		channel.subscribe(message -> {
+			Object key = message.getHeaders().get("correlationId");
+			received.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add((Integer) message.getPayload());
+			threads.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+			latch.countDown();
+		});
+
+		for (int i = 0; i < 100; i++) {
+			for (int key = 0; key < 4; key++) {
+				channel.send(MessageBuilder.withPayload(i).setCorrelationId("key" + key).build());
+			}
+		}
+
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(received).hasSize(4);
+		received.values().forEach(payloads ->
+				assertThat(payloads).isSortedAccordingTo(Integer::compare).hasSize(100));
+		threads.values().forEach(names ->
+				assertThat(names).singleElement().asString().startsWith("testChannel-partition-thread-"));
+		channel.destroy();
+	}
+
+	@Test
+	void boundedPartitionQueueBlocksSender() throws InterruptedException {
+		PartitionedChannel channel =
+				MessageChannels.partitioned(2)
+						.partitionKey(message -> message.getPayload())
+						.queueCapacity(1)
+						.sendTimeout(100)
+						.get();
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+
+		CountDownLatch handlerStarted = new CountDownLatch(1);
+		CountDownLatch releaseHandler = new CountDownLatch(1);
+		channel.subscribe(message -> {
+			handlerStarted.countDown();
+			try {
+				releaseHandler.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		channel.send(new GenericMessage<>(0));
+		assertThat(handlerStarted.await(10, TimeUnit.SECONDS)).isTrue();
+		channel.send(new GenericMessage<>(0));
+		int partition = Math.floorMod(Integer.valueOf(0).hashCode(), 2);
+		assertThat(channel.getQueueSize(partition)).isEqualTo(1);
+		assertThat(channel.getQueueSize(1 - partition)).isEqualTo(0);
+
+		assertThatExceptionOfType(MessageDeliveryException.class)
+				.isThrownBy(() -> channel.send(new GenericMessage<>(0)))
+				.withRootCauseInstanceOf(RejectedExecutionException.class);
+
+		releaseHandler.countDown();
+		channel.destroy();
+	}
+
+	@Test
+	void noMessagesAcceptedAfterDestroy() throws InterruptedException {
+		PartitionedChannel channel = new PartitionedChannel(2);
+		channel.setBeanName("testChannel");
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+
+		CountDownLatch handled = new CountDownLatch(1);
+		channel.subscribe(message -> handled.countDown());
+		channel.send(new GenericMessage<>(0));
+		assertThat(handled.await(10, TimeUnit.SECONDS)).isTrue();
+
+		channel.destroy();
+
+		assertThatExceptionOfType(MessageDeliveryException.class)
+				.isThrownBy(() -> channel.send(new GenericMessage<>(1)))
+				.withCauseInstanceOf(MessageDispatchingException.class)
+				.withStackTraceContaining("The dispatcher has been shut down");
+		assertThat(channel.getQueueSize(0)).isEqualTo(0);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
 
+import org.springframework.integration.store.MessageGroupQueue;
+import org.springframework.integration.store.SimpleMessageStore;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.GenericMessage;
@@ -312,4 +314,49 @@ public class PriorityChannelTests {
 
 	}
 
+	@Test
+	public void testBatchReceiveFromBoundedChannel() {
+		PriorityChannel channel = new PriorityChannel(3);
+		for (int i = 0; i < 3; i++) {
+			assertThat(channel.send(MessageBuilder.withPayload(i).setPriority(i).build(), 0)).isTrue();
+		}
+		assertThat(channel.send(new GenericMessage<>("overflow"), 0)).isFalse();
+		assertThat(channel.receive(2, 0))
+				.extracting("payload")
+				.containsExactly(2, 1);
+		assertThat(channel.getRemainingCapacity()).isEqualTo(2);
+		assertThat(channel.receive(3, 0))
+				.extracting("payload")
+				.containsExactly(0);
+		assertThat(channel.getRemainingCapacity()).isEqualTo(3);
+		for (int i = 0; i < 3; i++) {
+			assertThat(channel.send(new GenericMessage<>(i), 0)).isTrue();
+		}
+		assertThat(channel.send(new GenericMessage<>("overflow"), 0)).isFalse();
+		assertThat(channel.receive(10, 0)).hasSize(3);
+		assertThat(channel.receive(10, 0)).isEmpty();
+	}
+
+	@Test
+	public void testBatchReceiveFromBoundedChannelWithMessageStore() {
+		PriorityChannel channel =
+				new PriorityChannel(new MessageGroupQueue(new SimpleMessageStore(), "priorityChannel", 3));
+		for (int i = 0; i < 3; i++) {
+			assertThat(channel.send(new GenericMessage<>(i), 0)).isTrue();
+		}
+		assertThat(channel.send(new GenericMessage<>("overflow"), 0)).isFalse();
+		assertThat(channel.receive(2, 0))
+				.extracting("payload")
+				.containsExactly(0, 1);
+		assertThat(channel.receive(3, 0))
+				.extracting("payload")
+				.containsExactly(2);
+		for (int i = 0; i < 3; i++) {
+			assertThat(channel.send(new GenericMessage<>(i), 0)).isTrue();
+		}
+		assertThat(channel.send(new GenericMessage<>("overflow"), 0)).isFalse();
+		assertThat(channel.receive(10, 0)).hasSize(3);
+		assertThat(channel.receive(10, 0)).isEmpty();
+	}
+
 }
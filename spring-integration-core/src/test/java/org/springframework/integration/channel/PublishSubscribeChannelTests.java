@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2022 the original author or authors.
+ * Copyright 2016-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,15 +16,37 @@
 
 package org.springframework.integration.channel;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.integration.MessageDispatchingException;
+import org.springframework.integration.codec.kryo.MessageCodec;
+import org.springframework.integration.dispatcher.AggregateMessageDeliveryException;
+import org.springframework.integration.support.DefaultMessageBuilderFactory;
+import org.springframework.integration.support.LayeredMessageHeaders;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.support.utils.IntegrationUtils;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.GenericMessage;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.Mockito.mock;
@@ -59,4 +81,182 @@ public class PublishSubscribeChannelTests {
 				.withMessageContaining("Dispatcher has no subscribers");
 	}
 
+	@Test
+	public void testConcurrencyLimitAndWaitForAllSubscribers() {
+		ExecutorService executor = Executors.newFixedThreadPool(10);
+		PublishSubscribeChannel channel = new PublishSubscribeChannel(executor);
+		channel.setConcurrencyLimit(2);
+		channel.setWaitForAllSubscribers(true);
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		AtomicInteger handled = new AtomicInteger();
+		for (int i = 0; i < 5; i++) {
+			channel.subscribe(m -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(20);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				running.decrementAndGet();
+				handled.incrementAndGet();
+			});
+		}
+		assertThat(channel.send(new GenericMessage<>("test"))).isTrue();
+		assertThat(handled.get()).isEqualTo(5);
+		assertThat(maxRunning.get()).isEqualTo(2);
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testWaitForAllSubscribersPartialFailure() {
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		PublishSubscribeChannel channel = new PublishSubscribeChannel(executor);
+		channel.setWaitForAllSubscribers(true);
+		channel.setMinSubscribers(2);
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+		AtomicInteger handled = new AtomicInteger();
+		channel.subscribe(m -> handled.incrementAndGet());
+		channel.subscribe(m -> {
+			throw new IllegalStateException("intentional");
+		});
+		channel.subscribe(m -> handled.incrementAndGet());
+
+		assertThatExceptionOfType(AggregateMessageDeliveryException.class)
+				.isThrownBy(() -> channel.send(new GenericMessage<>("test")))
+				.satisfies(ex -> assertThat(ex.getAggregatedExceptions()).hasSize(1))
+				.withStackTraceContaining("intentional");
+		assertThat(handled.get()).isEqualTo(2);
+
+		channel.setIgnoreFailures(true);
+		assertThat(channel.send(new GenericMessage<>("test"))).isTrue();
+		assertThat(handled.get()).isEqualTo(4);
+
+		channel.setMinSubscribers(3);
+		assertThat(channel.send(new GenericMessage<>("test"))).isFalse();
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testApplySequenceOverlaysHeaders() throws Exception {
+		PublishSubscribeChannel channel = sequencingChannel(2);
+		List<Message<?>> received = new CopyOnWriteArrayList<>();
+		channel.subscribe(received::add);
+		channel.subscribe(received::add);
+		Message<String> message =
+				MessageBuilder.withPayload("test")
+						.setHeader("foo", "bar")
+						.pushSequenceDetails("outer", 3, 4)
+						.build();
+		channel.send(message);
+
+		assertThat(received).hasSize(2);
+		for (int i = 0; i < 2; i++) {
+			Message<?> sequenceMessage = received.get(i);
+			assertThat(sequenceMessage.getHeaders()).isInstanceOf(LayeredMessageHeaders.class);
+			assertThat(sequenceMessage.getHeaders().getId()).isNotEqualTo(message.getHeaders().getId());
+			IntegrationMessageHeaderAccessor accessor = new IntegrationMessageHeaderAccessor(sequenceMessage);
+			assertThat(accessor.getCorrelationId()).isEqualTo(message.getHeaders().getId());
+			assertThat(accessor.getSequenceNumber()).isEqualTo(i + 1);
+			assertThat(accessor.getSequenceSize()).isEqualTo(2);
+			assertThat(accessor.getHeader("foo")).isEqualTo("bar");
+			assertThat(accessor.getHeader(IntegrationMessageHeaderAccessor.SEQUENCE_DETAILS))
+					.isEqualTo(List.of(List.of("outer", 3, 4)));
+
+			Message<?> expected =
+					MessageBuilder.fromMessage(message)
+							.pushSequenceDetails(message.getHeaders().getId(), i + 1, 2)
+							.build();
+			assertThat(sequenceMessage.getHeaders().keySet()).isEqualTo(expected.getHeaders().keySet());
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			new ObjectOutputStream(out).writeObject(sequenceMessage.getHeaders());
+			Object deserialized = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray())).readObject();
+			assertThat(deserialized).isInstanceOf(LayeredMessageHeaders.class);
+			assertThat(sequenceMessage.getHeaders()).isEqualTo(deserialized);
+			assertThat(deserialized).isEqualTo(sequenceMessage.getHeaders());
+			assertThat((MessageHeaders) deserialized).containsExactlyInAnyOrderEntriesOf(sequenceMessage.getHeaders());
+
+			out = new ByteArrayOutputStream();
+			new ObjectOutputStream(out).writeObject(sequenceMessage);
+			deserialized = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray())).readObject();
+			assertThat(deserialized).isEqualTo(sequenceMessage);
+		}
+	}
+
+	@Test
+	public void testApplySequenceCopiesHeadersByDefault() {
+		PublishSubscribeChannel channel = sequencingChannel(0);
+		List<Message<?>> received = new CopyOnWriteArrayList<>();
+		channel.subscribe(received::add);
+		channel.subscribe(received::add);
+		channel.send(MessageBuilder.withPayload("test").setHeader("foo", "bar").build());
+
+		assertThat(received).hasSize(2);
+		for (Message<?> sequenceMessage : received) {
+			assertThat(sequenceMessage.getHeaders()).isNotInstanceOf(LayeredMessageHeaders.class);
+			assertThat(sequenceMessage.getHeaders()).containsEntry("foo", "bar");
+		}
+	}
+
+	@Test
+	public void testApplySequenceFlattensChainedOverlays() {
+		PublishSubscribeChannel channel1 = sequencingChannel(2);
+		PublishSubscribeChannel channel2 = sequencingChannel(2);
+		PublishSubscribeChannel channel3 = sequencingChannel(2);
+		List<Message<?>> received = new CopyOnWriteArrayList<>();
+		channel1.subscribe(channel2::send);
+		channel2.subscribe(channel3::send);
+		channel3.subscribe(received::add);
+		channel1.send(MessageBuilder.withPayload("test").setHeader("foo", "bar").build());
+
+		assertThat(received).hasSize(1);
+		MessageHeaders headers = received.get(0).getHeaders();
+		assertThat(headers).isNotInstanceOf(LayeredMessageHeaders.class);
+		assertThat(headers).containsEntry("foo", "bar");
+		assertThat(headers.get(IntegrationMessageHeaderAccessor.SEQUENCE_DETAILS, List.class)).hasSize(2);
+	}
+
+	@Test
+	public void testApplySequenceOverlayWithMessageCodec() throws Exception {
+		PublishSubscribeChannel channel = sequencingChannel(2);
+		List<Message<?>> received = new CopyOnWriteArrayList<>();
+		channel.subscribe(received::add);
+		channel.subscribe(received::add);
+		channel.send(MessageBuilder.withPayload("test").setHeader("foo", "bar").build());
+
+		assertThat(received).hasSize(2);
+		MessageCodec codec = new MessageCodec();
+		for (Message<?> sequenceMessage : received) {
+			assertThat(sequenceMessage.getHeaders()).isInstanceOf(LayeredMessageHeaders.class);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			codec.encode(sequenceMessage, out);
+			Message<?> decoded = codec.decode(out.toByteArray(), GenericMessage.class);
+			assertThat(decoded.getPayload()).isEqualTo("test");
+			Map<String, Object> expectedHeaders = new HashMap<>(sequenceMessage.getHeaders());
+			expectedHeaders.remove(MessageHeaders.ID);
+			expectedHeaders.remove(MessageHeaders.TIMESTAMP);
+			assertThat(decoded.getHeaders())
+					.containsAllEntriesOf(expectedHeaders)
+					.hasSameSizeAs(sequenceMessage.getHeaders());
+		}
+	}
+
+	private static PublishSubscribeChannel sequencingChannel(int maxHeaderLayers) {
+		DefaultMessageBuilderFactory messageBuilderFactory = new DefaultMessageBuilderFactory();
+		messageBuilderFactory.setMaxHeaderLayers(maxHeaderLayers);
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton(IntegrationUtils.INTEGRATION_MESSAGE_BUILDER_FACTORY_BEAN_NAME,
+				messageBuilderFactory);
+		PublishSubscribeChannel channel = new PublishSubscribeChannel();
+		channel.setApplySequence(true);
+		channel.setBeanFactory(beanFactory);
+		channel.afterPropertiesSet();
+		return channel;
+	}
+
 }
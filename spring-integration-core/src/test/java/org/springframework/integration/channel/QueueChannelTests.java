@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,12 +24,17 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.integration.selector.UnexpiredMessageSelector;
+import org.springframework.integration.store.MessageGroupQueue;
+import org.springframework.integration.store.SimpleMessageStore;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.GenericMessage;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -284,4 +289,45 @@ public class QueueChannelTests {
 		assertThat(channel.send(new GenericMessage<>("roomAvailable"), 0)).isTrue();
 	}
 
+	@Test
+	public void testBatchReceive() {
+		QueueChannel channel = new QueueChannel();
+		AtomicInteger preReceive = new AtomicInteger();
+		AtomicInteger postReceive = new AtomicInteger();
+		channel.addInterceptor(new ChannelInterceptor() {
+
+			@Override
+			public boolean preReceive(MessageChannel channel) {
+				preReceive.incrementAndGet();
+				return true;
+			}
+
+			@Override
+			public Message<?> postReceive(Message<?> message, MessageChannel channel) {
+				postReceive.incrementAndGet();
+				return message;
+			}
+
+		});
+		for (int i = 0; i < 5; i++) {
+			channel.send(new GenericMessage<>(i));
+		}
+		assertThat(channel.receive(3, 0)).extracting("payload").containsExactly(0, 1, 2);
+		assertThat(channel.receive(3, 0)).extracting("payload").containsExactly(3, 4);
+		assertThat(channel.receive(3, 1)).isEmpty();
+		assertThat(preReceive.get()).isEqualTo(3);
+		assertThat(postReceive.get()).isEqualTo(5);
+	}
+
+	@Test
+	public void testBatchReceiveFromMessageStore() {
+		QueueChannel channel = new QueueChannel(new MessageGroupQueue(new SimpleMessageStore(), "batch"));
+		for (int i = 0; i < 5; i++) {
+			channel.send(new GenericMessage<>(i));
+		}
+		assertThat(channel.receive(3, 0)).extracting("payload").containsExactly(0, 1, 2);
+		assertThat(channel.receive(3, 0)).extracting("payload").containsExactly(3, 4);
+		assertThat(channel.getQueueSize()).isEqualTo(0);
+	}
+
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.channel;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import org.springframework.integration.dsl.MessageChannels;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @since 6.0.3
+ */
+public class RingBufferChannelTests {
+
+	@Test
+	public void testCapacityIsRoundedUpToPowerOfTwo() {
+		assertThat(new RingBufferChannel(1).getCapacity()).isEqualTo(1);
+		assertThat(new RingBufferChannel(5).getCapacity()).isEqualTo(8);
+		assertThat(new RingBufferChannel(1024).getCapacity()).isEqualTo(1024);
+		assertThatIllegalArgumentException().isThrownBy(() -> new RingBufferChannel(0));
+	}
+
+	@Test
+	public void testSendAndReceiveInOrder() {
+		RingBufferChannel channel = new RingBufferChannel(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(channel.send(new GenericMessage<>(i), 0)).isTrue();
+		}
+		assertThat(channel.send(new GenericMessage<>(4), 0)).isFalse();
+		assertThat(channel.getQueueSize()).isEqualTo(4);
+		assertThat(channel.getRemainingCapacity()).isEqualTo(0);
+		for (int i = 0; i < 4; i++) {
+			assertThat(channel.receive(0).getPayload()).isEqualTo(i);
+		}
+		assertThat(channel.receive(0)).isNull();
+		assertThat(channel.getQueueSize()).isEqualTo(0);
+		assertThat(channel.getRemainingCapacity()).isEqualTo(4);
+	}
+
+	@ParameterizedTest
+	@EnumSource(RingBufferChannel.WaitStrategy.class)
+	public void testReceiveTimeout(RingBufferChannel.WaitStrategy waitStrategy) {
+		RingBufferChannel channel = new RingBufferChannel(2, waitStrategy);
+		long start = System.currentTimeMillis();
+		assertThat(channel.receive(50)).isNull();
+		assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(50);
+		channel.send(new GenericMessage<>("foo"));
+		channel.send(new GenericMessage<>("bar"));
+		start = System.currentTimeMillis();
+		assertThat(channel.send(new GenericMessage<>("baz"), 50)).isFalse();
+		assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(50);
+	}
+
+	@Test
+	public void testBlockingReceiveIsReleasedBySend() throws InterruptedException {
+		RingBufferChannel channel = new RingBufferChannel(2);
+		AtomicReference<Message<?>> received = new AtomicReference<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		ExecutorService exec = Executors.newSingleThreadExecutor();
+		exec.execute(() -> {
+			received.set(channel.receive());
+			latch.countDown();
+		});
+		channel.send(new GenericMessage<>("testing"));
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(received.get().getPayload()).isEqualTo("testing");
+		exec.shutdownNow();
+	}
+
+	@Test
+	public void testBlockingReceiveIsInterrupted() throws InterruptedException {
+		RingBufferChannel channel = new RingBufferChannel(2);
+		AtomicReference<Message<?>> received = new AtomicReference<>(new GenericMessage<>("none"));
+		CountDownLatch latch = new CountDownLatch(1);
+		Thread thread = new Thread(() -> {
+			received.set(channel.receive());
+			latch.countDown();
+		});
+		thread.start();
+		thread.interrupt();
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(received.get()).isNull();
+	}
+
+	@Test
+	public void testClearAndPurge() {
+		RingBufferChannel channel = new RingBufferChannel(8);
+		for (int i = 0; i < 6; i++) {
+			channel.send(new GenericMessage<>(i));
+		}
+		List<Message<?>> purged = channel.purge(message -> (Integer) message.getPayload() % 2 == 0);
+		assertThat(purged).extracting("payload").containsExactly(1, 3, 5);
+		assertThat(channel.getQueueSize()).isEqualTo(3);
+		List<Message<?>> cleared = channel.clear();
+		assertThat(cleared).extracting("payload").containsExactly(0, 2, 4);
+		assertThat(channel.getQueueSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void testMultipleProducersAndConsumers() throws InterruptedException {
+		RingBufferChannel channel = MessageChannels.ringBuffer(64).get();
+		int producers = 4;
+		int consumers = 4;
+		int messagesPerProducer = 10_000;
+		Set<Object> received = ConcurrentHashMap.newKeySet();
+		CountDownLatch latch = new CountDownLatch(producers * messagesPerProducer);
+		ExecutorService exec = Executors.newFixedThreadPool(producers + consumers);
+		for (int i = 0; i < consumers; i++) {
+			exec.execute(() -> {
+				while (!Thread.currentThread().isInterrupted()) {
+					Message<?> message = channel.receive(100);
+					if (message != null) {
+						received.add(message.getPayload());
+						latch.countDown();
+					}
+				}
+			});
+		}
+		for (int i = 0; i < producers; i++) {
+			int producer = i;
+			exec.execute(() -> {
+				for (int j = 0; j < messagesPerProducer; j++) {
+					channel.send(new GenericMessage<>(producer * messagesPerProducer + j));
+				}
+			});
+		}
+		assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(received).hasSize(producers * messagesPerProducer);
+		exec.shutdownNow();
+		assertThat(exec.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+}
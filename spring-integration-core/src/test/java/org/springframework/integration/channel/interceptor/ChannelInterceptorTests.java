@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -160,6 +160,25 @@ public class ChannelInterceptorTests {
 		assertThat(interceptor2.wasAfterCompletionInvoked()).isTrue();
 	}
 
+	@Test
+	public void afterCompletionInvokedInReverseOrder() {
+		List<String> invocations = new ArrayList<>();
+		for (String name : new String[] { "first", "second", "third" }) {
+			this.channel.addInterceptor(new ChannelInterceptor() {
+
+				@Override
+				public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent,
+						Exception ex) {
+
+					invocations.add(name);
+				}
+
+			});
+		}
+		this.channel.send(new GenericMessage<>("test"));
+		assertThat(invocations).containsExactly("third", "second", "first");
+	}
+
 	@Test
 	public void afterCompletionWithPreSendException() {
 		AfterCompletionTestInterceptor interceptor1 = new AfterCompletionTestInterceptor();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2022 the original author or authors.
+ * Copyright 2022-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -257,6 +257,27 @@ public class ObservationPropagationChannelInterceptorTests {
 		assertThat(this.meterRegistry.get("spring.integration.handler").timer().count()).isEqualTo(1);
 	}
 
+	@Test
+	void observedSendWithoutPropagationDoesNotCopyMessage() {
+		ObservationRegistry registry = ObservationRegistry.create();
+		registry.observationConfig().observationHandler(new ObservationHandler<>() {
+
+			@Override
+			public boolean supportsContext(Observation.Context context) {
+				return true;
+			}
+
+		});
+		DirectChannel channel = new DirectChannel();
+		channel.setBeanName("observedChannel");
+		channel.registerObservationRegistry(registry);
+		AtomicReference<Message<?>> received = new AtomicReference<>();
+		channel.subscribe(received::set);
+		Message<String> message = new GenericMessage<>("test");
+		channel.send(message);
+		assertThat(received.get()).isSameAs(message);
+	}
+
 	@Configuration
 	@EnableIntegration
 	public static class ContextConfiguration {
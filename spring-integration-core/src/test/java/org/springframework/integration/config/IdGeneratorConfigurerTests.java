@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,14 @@
 
 package org.springframework.integration.config;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.Test;
@@ -26,6 +33,7 @@ import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.integration.support.IdGenerators.JdkIdGenerator;
 import org.springframework.integration.support.IdGenerators.SimpleIncrementingIdGenerator;
+import org.springframework.integration.support.IdGenerators.TimeOrderedIdGenerator;
 import org.springframework.integration.test.util.TestUtils;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.util.IdGenerator;
@@ -212,6 +220,43 @@ public class IdGeneratorConfigurerTests {
 		}
 	}
 
+	@Test
+	public void testTimeOrdered() throws Exception {
+		try (GenericApplicationContext context = new GenericApplicationContext()) {
+			context.registerBeanDefinition("bfpp",
+					new RootBeanDefinition(DefaultConfiguringBeanFactoryPostProcessor.class));
+			context.registerBeanDefinition("foo", new RootBeanDefinition(TimeOrderedIdGenerator.class));
+			context.refresh();
+			long now = System.currentTimeMillis();
+			UUID id = new MessageHeaders(null).getId();
+			assertThat(id.version()).isEqualTo(7);
+			assertThat(id.variant()).isEqualTo(2);
+			assertThat(id.getMostSignificantBits() >>> 16).isBetween(now, System.currentTimeMillis() + 1);
+			assertThat(new MessageHeaders(null).getId().getLeastSignificantBits())
+					.isNotEqualTo(id.getLeastSignificantBits());
+
+			Set<UUID> ids = ConcurrentHashMap.newKeySet();
+			Callable<Boolean> generator = () -> {
+				UUID previous = null;
+				for (int i = 0; i < 10_000; i++) {
+					UUID next = new MessageHeaders(null).getId();
+					if (!ids.add(next) || (previous != null && next.compareTo(previous) <= 0)) {
+						return false;
+					}
+					previous = next;
+				}
+				return true;
+			};
+			ExecutorService executor = Executors.newFixedThreadPool(4);
+			List<Future<Boolean>> results = executor.invokeAll(List.of(generator, generator, generator, generator));
+			for (Future<Boolean> result : results) {
+				assertThat(result.get()).isTrue();
+			}
+			assertThat(ids).hasSize(40_000);
+			executor.shutdown();
+		}
+	}
+
 	public static class MyIdGenerator implements IdGenerator {
 
 		@Override
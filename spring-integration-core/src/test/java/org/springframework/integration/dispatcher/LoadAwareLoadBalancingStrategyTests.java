@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.dispatcher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.ExecutorChannel;
+import org.springframework.integration.dsl.MessageChannels;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.GenericMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @since 6.0.3
+ */
+public class LoadAwareLoadBalancingStrategyTests {
+
+	private final MessageHandler handler1 = message -> { };
+
+	private final MessageHandler handler2 = message -> { };
+
+	@Test
+	void leastLoadedPrefersFewerInFlightThenLowerLatency() {
+		LeastLoadedLoadBalancingStrategy strategy = new LeastLoadedLoadBalancingStrategy();
+		List<MessageHandler> handlers = List.of(this.handler1, this.handler2);
+
+		strategy.handlerStarted(this.handler1);
+		for (int i = 0; i < 4; i++) {
+			assertThat(strategy.getHandlerIterator(new GenericMessage<>(i), handlers))
+					.toIterable()
+					.containsExactly(this.handler2, this.handler1);
+		}
+		strategy.handlerFinished(this.handler1, 1_000, true);
+		strategy.handlerStarted(this.handler2);
+		strategy.handlerFinished(this.handler2, 1_000_000, true);
+
+		assertThat(strategy.getInFlight(this.handler1)).isEqualTo(0);
+		assertThat(strategy.getAverageLatency(this.handler2)).isEqualTo(1_000_000);
+		for (int i = 0; i < 4; i++) {
+			assertThat(strategy.getHandlerIterator(new GenericMessage<>(i), handlers))
+					.toIterable()
+					.containsExactly(this.handler1, this.handler2);
+		}
+	}
+
+	@Test
+	void powerOfTwoChoicesPrefersLowerCost() {
+		PowerOfTwoChoicesLoadBalancingStrategy strategy = new PowerOfTwoChoicesLoadBalancingStrategy();
+		strategy.setLatencyWeight(1);
+		List<MessageHandler> handlers = List.of(this.handler1, this.handler2);
+
+		strategy.handlerStarted(this.handler1);
+		strategy.handlerFinished(this.handler1, 1_000, true);
+		assertThat(strategy.getHandlerIterator(new GenericMessage<>("test"), handlers))
+				.toIterable()
+				.containsExactly(this.handler2, this.handler1);
+
+		strategy.handlerStarted(this.handler2);
+		strategy.handlerFinished(this.handler2, 10_000, true);
+		assertThat(strategy.getHandlerIterator(new GenericMessage<>("test"), handlers))
+				.toIterable()
+				.containsExactly(this.handler1, this.handler2);
+
+		// 1000 * (10 + 1) > 10000 * (0 + 1)
+		for (int i = 0; i < 10; i++) {
+			strategy.handlerStarted(this.handler1);
+		}
+		assertThat(strategy.getHandlerIterator(new GenericMessage<>("test"), handlers))
+				.toIterable()
+				.containsExactly(this.handler2, this.handler1);
+	}
+
+	@Test
+	void leastLoadedDirectChannelAvoidsSlowSubscriber() {
+		DirectChannel channel = MessageChannels.direct().leastLoaded().get();
+		AtomicInteger slowCount = new AtomicInteger();
+		AtomicInteger fastCount = new AtomicInteger();
+		channel.subscribe(message -> {
+			slowCount.incrementAndGet();
+			sleep(10);
+		});
+		channel.subscribe(message -> fastCount.incrementAndGet());
+		for (int i = 0; i < 20; i++) {
+			channel.send(new GenericMessage<>(i));
+		}
+		assertThat(slowCount.get()).isEqualTo(1);
+		assertThat(fastCount.get()).isEqualTo(19);
+	}
+
+	@Test
+	void leastLoadedDirectChannelAvoidsFailingSubscriber() {
+		DirectChannel channel = MessageChannels.direct().leastLoaded().get();
+		AtomicInteger failedCount = new AtomicInteger();
+		AtomicInteger handledCount = new AtomicInteger();
+		channel.subscribe(message -> {
+			failedCount.incrementAndGet();
+			throw new IllegalStateException("intentional test failure");
+		});
+		channel.subscribe(message -> {
+			handledCount.incrementAndGet();
+			sleep(1);
+		});
+		for (int i = 0; i < 20; i++) {
+			assertThat(channel.send(new GenericMessage<>(i))).isTrue();
+		}
+		assertThat(failedCount.get()).isEqualTo(1);
+		assertThat(handledCount.get()).isEqualTo(20);
+	}
+
+	@Test
+	void failureIsRecordedWithPenalty() {
+		LeastLoadedLoadBalancingStrategy strategy = new LeastLoadedLoadBalancingStrategy();
+		strategy.setLatencyWeight(1);
+		strategy.setFailurePenalty(Duration.ofMillis(10));
+
+		strategy.handlerStarted(this.handler1);
+		strategy.handlerFinished(this.handler1, 1_000, false);
+		assertThat(strategy.getAverageLatency(this.handler1)).isEqualTo(10_000_000);
+
+		strategy.handlerStarted(this.handler1);
+		strategy.handlerFinished(this.handler1, 1_000, true);
+		assertThat(strategy.getAverageLatency(this.handler1)).isEqualTo(1_000);
+	}
+
+	@Test
+	void powerOfTwoChoicesExecutorChannelAvoidsSlowSubscriber() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(10);
+		ExecutorChannel channel = MessageChannels.executor(executor).powerOfTwoChoices().get();
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+		CountDownLatch latch = new CountDownLatch(100);
+		AtomicInteger slowCount = new AtomicInteger();
+		channel.subscribe(message -> {
+			slowCount.incrementAndGet();
+			sleep(50);
+			latch.countDown();
+		});
+		channel.subscribe(message -> latch.countDown());
+		for (int i = 0; i < 100; i++) {
+			channel.send(new GenericMessage<>(i));
+			sleep(1);
+		}
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(slowCount.get()).isLessThan(20);
+		executor.shutdownNow();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.endpoint;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.scheduling.AdaptivePollingConcurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @since 6.0.3
+ */
+public class AdaptivePollingControllerTests {
+
+	private static final Instant START = Instant.parse("2023-01-01T00:00:00Z");
+
+	private final AdaptivePollingConcurrency settings = new AdaptivePollingConcurrency(8);
+
+	private final TestClock clock = new TestClock();
+
+	private AdaptivePollingController controller;
+
+	@BeforeEach
+	void setup() {
+		this.settings.setInitialIdleInterval(Duration.ofMillis(100));
+		this.settings.setMaxIdleInterval(Duration.ofSeconds(1));
+		this.controller = new AdaptivePollingController(this.settings, this.clock);
+	}
+
+	@Test
+	void concurrentEmptyPollsBackOffOncePerIdleInterval() {
+		assertThat(this.controller.acquirePolls()).isEqualTo(1);
+		this.controller.pollCompleted(10, true);
+		assertThat(this.controller.acquirePolls()).isEqualTo(2);
+		this.controller.pollCompleted(10, true);
+		this.controller.pollCompleted(10, true);
+		assertThat(this.controller.getConcurrency()).isEqualTo(4);
+		assertThat(this.controller.acquirePolls()).isEqualTo(4);
+		for (int i = 0; i < 4; i++) {
+			this.controller.pollCompleted(0, false);
+		}
+		assertThat(this.controller.getConcurrency()).isEqualTo(2);
+		assertThat(this.controller.applyIdleInterval(START, this.clock)).isEqualTo(START.plusMillis(100));
+
+		this.clock.now = START.plusMillis(100);
+		assertThat(this.controller.acquirePolls()).isEqualTo(2);
+		this.controller.pollCompleted(0, false);
+		this.controller.pollCompleted(0, false);
+		assertThat(this.controller.getConcurrency()).isEqualTo(1);
+		assertThat(this.controller.applyIdleInterval(START, this.clock)).isEqualTo(START.plusMillis(300));
+	}
+
+	@Test
+	void idleIntervalIsBasedOnTriggerClock() {
+		this.controller.acquirePolls();
+		this.controller.pollCompleted(0, false);
+		Instant triggerTime = START.plus(Duration.ofDays(1));
+		Clock triggerClock = Clock.fixed(triggerTime, ZoneOffset.UTC);
+		assertThat(this.controller.applyIdleInterval(triggerTime.plusMillis(10), triggerClock))
+				.isEqualTo(triggerTime.plusMillis(100));
+		assertThat(this.controller.applyIdleInterval(triggerTime.plusMillis(500), triggerClock))
+				.isEqualTo(triggerTime.plusMillis(500));
+	}
+
+	private static final class TestClock extends Clock {
+
+		private Instant now = START;
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Instant instant() {
+			return this.now;
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2014-2022 the original author or authors.
+ * Copyright 2014-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,8 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -50,6 +52,7 @@ import org.springframework.integration.channel.NullChannel;
 import org.springframework.integration.config.EnableIntegration;
 import org.springframework.integration.config.ExpressionControlBusFactoryBean;
 import org.springframework.integration.core.MessageSource;
+import org.springframework.integration.scheduling.AdaptivePollingConcurrency;
 import org.springframework.integration.scheduling.PollSkipAdvice;
 import org.springframework.integration.scheduling.SimplePollSkipStrategy;
 import org.springframework.integration.test.util.OnlyOnceTrigger;
@@ -68,6 +71,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.spy;
@@ -364,6 +368,77 @@ public class PollerAdviceTests {
 		verify(override, atLeast(2)).nextExecution(any(TriggerContext.class));
 	}
 
+	@Test
+	public void testAdaptiveConcurrency() throws Exception {
+		SourcePollingChannelAdapter adapter = new SourcePollingChannelAdapter();
+		AtomicBoolean available = new AtomicBoolean(true);
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		AtomicInteger receives = new AtomicInteger();
+		adapter.setSource(() -> {
+			receives.incrementAndGet();
+			if (!available.get()) {
+				return null;
+			}
+			maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(1);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			active.decrementAndGet();
+			return new GenericMessage<>("foo");
+		});
+		adapter.setTrigger(new PeriodicTrigger(Duration.ofMillis(5)));
+		adapter.setMaxMessagesPerPoll(5);
+		ExecutorService executor = Executors.newCachedThreadPool();
+		adapter.setTaskExecutor(executor);
+		AdaptivePollingConcurrency adaptiveConcurrency = new AdaptivePollingConcurrency(3);
+		adaptiveConcurrency.setInitialIdleInterval(Duration.ofMillis(50));
+		adaptiveConcurrency.setMaxIdleInterval(Duration.ofMillis(200));
+		adapter.setAdaptiveConcurrency(adaptiveConcurrency);
+		configure(adapter);
+		adapter.afterPropertiesSet();
+		adapter.start();
+
+		await().until(() -> adapter.getCurrentConcurrency() == 3);
+		assertThat(maxActive.get()).isBetween(2, 3);
+
+		available.set(false);
+		await().until(() -> adapter.getCurrentConcurrency() == 1 && adapter.getIdleRatio() > 0.5);
+		receives.set(0);
+		Thread.sleep(500);
+		// Without back off there would be about 100 polls with the 5 millis trigger
+		assertThat(receives.get()).isLessThan(20);
+
+		adapter.stop();
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testAdaptiveConcurrencyPollSkip() throws Exception {
+		SourcePollingChannelAdapter adapter = new SourcePollingChannelAdapter();
+		CountDownLatch latch = new CountDownLatch(1);
+		adapter.setSource(() -> {
+			latch.countDown();
+			return null;
+		});
+		adapter.setTrigger(new PeriodicTrigger(Duration.ofMillis(5)));
+		SimplePollSkipStrategy skipStrategy = new SimplePollSkipStrategy();
+		skipStrategy.skipPolls();
+		AdaptivePollingConcurrency adaptiveConcurrency = new AdaptivePollingConcurrency(1);
+		adaptiveConcurrency.setPollSkipStrategy(skipStrategy);
+		adapter.setAdaptiveConcurrency(adaptiveConcurrency);
+		configure(adapter);
+		adapter.afterPropertiesSet();
+		adapter.start();
+		assertThat(latch.await(200, TimeUnit.MILLISECONDS)).isFalse();
+		skipStrategy.reset();
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		adapter.stop();
+	}
+
 	private void configure(SourcePollingChannelAdapter adapter) {
 		adapter.setOutputChannel(new NullChannel());
 		adapter.setBeanFactory(this.beanFactory);
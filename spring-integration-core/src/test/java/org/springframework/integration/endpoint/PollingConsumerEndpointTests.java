@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,15 +16,25 @@
 
 package org.springframework.integration.endpoint;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.aopalliance.intercept.MethodInterceptor;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.integration.MessageRejectedException;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.scheduling.AdaptivePollingConcurrency;
 import org.springframework.integration.support.MessagingExceptionWrapper;
 import org.springframework.integration.test.util.OnlyOnceTrigger;
 import org.springframework.messaging.Message;
@@ -32,9 +42,11 @@ import org.springframework.messaging.MessageHandler;
 import org.springframework.messaging.PollableChannel;
 import org.springframework.messaging.support.GenericMessage;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.PeriodicTrigger;
 import org.springframework.util.ErrorHandler;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -169,6 +181,140 @@ public class PollingConsumerEndpointTests {
 		assertThat(this.consumer.counter.get()).isEqualTo(1);
 	}
 
+	@Test
+	public void batchReceiveRespectsMaxMessagesPerPoll() {
+		QueueChannel channel = new QueueChannel();
+		for (int i = 0; i < 12; i++) {
+			channel.send(this.message);
+		}
+		AtomicInteger adviceInvocations = new AtomicInteger();
+		PollingConsumer batchEndpoint = batchEndpoint(channel, invocation -> {
+			adviceInvocations.incrementAndGet();
+			return invocation.proceed();
+		});
+		batchEndpoint.setMaxMessagesPerPoll(10);
+		batchEndpoint.start();
+		this.trigger.await();
+		batchEndpoint.stop();
+		assertThat(this.consumer.counter.get()).isEqualTo(10);
+		assertThat(adviceInvocations.get()).isEqualTo(3);
+		assertThat(channel.getQueueSize()).isEqualTo(2);
+	}
+
+	@Test(expected = MessageRejectedException.class)
+	public void batchReceiveHandlesRestOfBatchAfterFailure() throws Throwable {
+		QueueChannel channel = new QueueChannel();
+		channel.send(this.message);
+		channel.send(this.badMessage);
+		channel.send(this.message);
+		PollingConsumer batchEndpoint = batchEndpoint(channel, invocation -> invocation.proceed());
+		batchEndpoint.start();
+		this.trigger.await();
+		batchEndpoint.stop();
+		assertThat(this.consumer.counter.get()).isEqualTo(3);
+		assertThat(channel.getQueueSize()).isEqualTo(0);
+		this.errorHandler.throwLastErrorIfAvailable();
+	}
+
+	@Test
+	public void partialBatchesDoNotEndPollCycle() {
+		QueueChannel channel = new QueueChannel() {
+
+			@Override
+			public List<Message<?>> receive(int maxMessages, long timeout) {
+				return super.receive(1, timeout);
+			}
+
+		};
+		for (int i = 0; i < 7; i++) {
+			channel.send(this.message);
+		}
+		PollingConsumer batchEndpoint = batchEndpoint(channel, invocation -> invocation.proceed());
+		batchEndpoint.setMaxMessagesPerPoll(6);
+		batchEndpoint.start();
+		this.trigger.await();
+		batchEndpoint.stop();
+		assertThat(this.consumer.counter.get()).isEqualTo(6);
+		assertThat(channel.getQueueSize()).isEqualTo(1);
+	}
+
+	@Test
+	public void partialBatchesDoNotRaiseAdaptiveConcurrency() {
+		AtomicInteger receives = new AtomicInteger();
+		QueueChannel channel = new QueueChannel() {
+
+			@Override
+			public List<Message<?>> receive(int maxMessages, long timeout) {
+				return receives.incrementAndGet() % 2 == 1
+						? Collections.singletonList(new GenericMessage<>("test"))
+						: Collections.emptyList();
+			}
+
+		};
+		PollingConsumer batchEndpoint = new PollingConsumer(channel, this.consumer);
+		batchEndpoint.setTaskScheduler(this.taskScheduler);
+		batchEndpoint.setTrigger(new PeriodicTrigger(Duration.ofMillis(1)));
+		batchEndpoint.setBeanFactory(new DefaultListableBeanFactory());
+		batchEndpoint.setReceiveTimeout(0);
+		batchEndpoint.setReceiveBatchSize(4);
+		batchEndpoint.setMaxMessagesPerPoll(4);
+		ExecutorService executor = Executors.newCachedThreadPool();
+		batchEndpoint.setTaskExecutor(executor);
+		batchEndpoint.setAdaptiveConcurrency(new AdaptivePollingConcurrency(4));
+		batchEndpoint.afterPropertiesSet();
+		batchEndpoint.start();
+		try {
+			await().until(() -> this.consumer.counter.get() >= 20);
+			assertThat(batchEndpoint.getCurrentConcurrency()).isEqualTo(1);
+		}
+		finally {
+			batchEndpoint.stop();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void unboundedPollsDoNotRaiseAdaptiveConcurrency() throws InterruptedException {
+		QueueChannel channel = new QueueChannel();
+		for (int i = 0; i < 20; i++) {
+			channel.send(new GenericMessage<>("test"));
+		}
+		PollingConsumer unboundedEndpoint = new PollingConsumer(channel, this.consumer);
+		unboundedEndpoint.setTaskScheduler(this.taskScheduler);
+		unboundedEndpoint.setTrigger(new PeriodicTrigger(Duration.ofMinutes(1)));
+		unboundedEndpoint.setBeanFactory(new DefaultListableBeanFactory());
+		unboundedEndpoint.setReceiveTimeout(0);
+		ExecutorService executor = Executors.newCachedThreadPool();
+		unboundedEndpoint.setTaskExecutor(executor);
+		unboundedEndpoint.setAdaptiveConcurrency(new AdaptivePollingConcurrency(4));
+		unboundedEndpoint.afterPropertiesSet();
+		unboundedEndpoint.start();
+		try {
+			await().until(() -> this.consumer.counter.get() == 20);
+			executor.shutdown();
+			assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+			assertThat(unboundedEndpoint.getMaxMessagesPerPoll()).isLessThan(0);
+			assertThat(unboundedEndpoint.getCurrentConcurrency()).isEqualTo(1);
+		}
+		finally {
+			unboundedEndpoint.stop();
+			executor.shutdownNow();
+		}
+	}
+
+	private PollingConsumer batchEndpoint(QueueChannel channel, MethodInterceptor advice) {
+		PollingConsumer batchEndpoint = new PollingConsumer(channel, this.consumer);
+		batchEndpoint.setErrorHandler(this.errorHandler);
+		batchEndpoint.setTaskScheduler(this.taskScheduler);
+		batchEndpoint.setTrigger(this.trigger);
+		batchEndpoint.setBeanFactory(mock(BeanFactory.class));
+		batchEndpoint.setReceiveTimeout(0);
+		batchEndpoint.setReceiveBatchSize(4);
+		batchEndpoint.setAdviceChain(Collections.singletonList(advice));
+		batchEndpoint.afterPropertiesSet();
+		return batchEndpoint;
+	}
+
 
 	private static class TestConsumer implements MessageHandler {
 
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.expression;
+
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.config.EnableIntegration;
+import org.springframework.integration.context.IntegrationContextUtils;
+import org.springframework.integration.context.IntegrationProperties;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.expression.ExpressionCompilationRegistry.CompilationState;
+import org.springframework.integration.expression.ExpressionCompilationRegistry.ExpressionStatistics;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @since 6.0.3
+ */
+@SpringJUnitConfig
+@DirtiesContext
+public class ExpressionCompilationRegistryTests {
+
+	@Autowired
+	private ExpressionCompilationRegistry expressionCompilationRegistry;
+
+	@Autowired
+	@Qualifier("filterFlow.input")
+	private MessageChannel filterFlowInput;
+
+	@Autowired
+	@Qualifier("lengthFlow.input")
+	private MessageChannel lengthFlowInput;
+
+	@Autowired
+	private QueueChannel results;
+
+	@Test
+	void expressionsAreCompiledOnRefreshOrAfterFirstEvaluation() {
+		assertThat(this.expressionCompilationRegistry.getCompilerMode()).isEqualTo(SpelCompilerMode.MIXED);
+		assertThat(statistics("'constant'").getState()).isEqualTo(CompilationState.COMPILED);
+		assertThat(statistics("payload.length() > 2").getState()).isEqualTo(CompilationState.PENDING);
+
+		for (int i = 0; i < 3; i++) {
+			this.filterFlowInput.send(new GenericMessage<>("test"));
+			Message<?> result = this.results.receive(10_000);
+			assertThat(result).isNotNull();
+			assertThat(result.getPayload()).isEqualTo("TEST");
+			assertThat(result.getHeaders()).containsEntry("constant", "constant");
+		}
+		this.filterFlowInput.send(new GenericMessage<>("no"));
+		assertThat(this.results.receive(0)).isNull();
+
+		ExpressionStatistics filterStatistics = statistics("payload.length() > 2");
+		assertThat(filterStatistics.getState()).isEqualTo(CompilationState.COMPILED);
+		assertThat(filterStatistics.getEvaluationCount()).isEqualTo(4);
+		assertThat(filterStatistics.getTotalEvaluationTime()).isPositive();
+		assertThat(statistics("'constant'").getEvaluationCount()).isEqualTo(4);
+		assertThat(statistics("@service.upperCase(payload)").getState()).isEqualTo(CompilationState.INTERPRETED);
+	}
+
+	@Test
+	void compiledExpressionFallsBackToInterpreted() {
+		this.lengthFlowInput.send(new GenericMessage<>("test"));
+		assertThat(this.results.receive(10_000).getPayload()).isEqualTo(4);
+		ExpressionStatistics statistics = statistics("payload.length()");
+		assertThat(statistics.getState()).isEqualTo(CompilationState.COMPILED);
+
+		this.lengthFlowInput.send(new GenericMessage<>(new StringBuilder("other")));
+		assertThat(this.results.receive(10_000).getPayload()).isEqualTo(5);
+		assertThat(statistics.getState()).isEqualTo(CompilationState.INTERPRETED);
+		assertThat(statistics.getFallbackCount()).isEqualTo(1);
+		assertThat(statistics.getEvaluationCount()).isEqualTo(2);
+	}
+
+	private ExpressionStatistics statistics(String expression) {
+		return this.expressionCompilationRegistry.getStatistics()
+				.values()
+				.stream()
+				.flatMap(Collection::stream)
+				.filter(statistics -> statistics.getExpressionString().equals(expression))
+				.findFirst()
+				.orElseThrow();
+	}
+
+	@Configuration
+	@EnableIntegration
+	public static class ContextConfiguration {
+
+		@Bean(IntegrationContextUtils.INTEGRATION_GLOBAL_PROPERTIES_BEAN_NAME)
+		public IntegrationProperties integrationProperties() {
+			IntegrationProperties integrationProperties = new IntegrationProperties();
+			integrationProperties.setExpressionsCompilerMode(SpelCompilerMode.MIXED);
+			return integrationProperties;
+		}
+
+		@Bean
+		public QueueChannel results() {
+			return new QueueChannel();
+		}
+
+		@Bean
+		public Service service() {
+			return new Service();
+		}
+
+		@Bean
+		public IntegrationFlow filterFlow() {
+			return f -> f
+					.enrichHeaders(h -> h.headerExpression("constant", "'constant'"))
+					.filter("payload.length() > 2")
+					.transform("@service.upperCase(payload)")
+					.channel("results");
+		}
+
+		@Bean
+		public IntegrationFlow lengthFlow() {
+			return f -> f
+					.transform("payload.length()")
+					.channel("results");
+		}
+
+	}
+
+	public static class Service {
+
+		public String upperCase(String payload) {
+			return payload.toUpperCase();
+		}
+
+	}
+
+}
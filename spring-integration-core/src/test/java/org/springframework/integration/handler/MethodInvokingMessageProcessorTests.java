@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -78,6 +78,7 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
 import org.springframework.messaging.handler.annotation.support.MessageHandlerMethodFactory;
 import org.springframework.messaging.handler.invocation.HandlerMethodArgumentResolver;
+import org.springframework.messaging.handler.invocation.InvocableHandlerMethod;
 import org.springframework.messaging.support.GenericMessage;
 import org.springframework.util.StopWatch;
 
@@ -456,6 +457,37 @@ public class MethodInvokingMessageProcessorTests {
 				.withRootCauseInstanceOf(CheckedException.class);
 	}
 
+	@Test
+	public void testDirectInvoker() throws Exception {
+		DirectInvokerService service = new DirectInvokerService();
+		MethodInvokingMessageProcessor processor = new MethodInvokingMessageProcessor(service, "concat");
+		processor.setBeanFactory(mock(BeanFactory.class));
+		processor.setUseDirectInvoker(true);
+		assertThat(processor.processMessage(MessageBuilder.withPayload("foo").setHeader("bar", 42).build()))
+				.isEqualTo("foo42");
+		assertThat(service.resolved).isFalse();
+
+		assertThat(processor.processMessage(MessageBuilder.withPayload(1).setHeader("bar", "7").build()))
+				.isEqualTo("17");
+		assertThat(service.resolved).isTrue();
+
+		processor = new MethodInvokingMessageProcessor(service, "upperCase");
+		processor.setBeanFactory(mock(BeanFactory.class));
+		processor.setUseDirectInvoker(true);
+		assertThat(processor.processMessage(new GenericMessage<>("foo"))).isEqualTo("FOO");
+		assertThat(service.resolved).isFalse();
+		assertThat(TestUtils.getPropertyValue(processor, "delegate.handlerMethod.directInvoker.function"))
+				.isNotNull();
+
+		TestErrorService errorService = new TestErrorService();
+		MethodInvokingMessageProcessor errorProcessor = new MethodInvokingMessageProcessor(errorService, "checked");
+		errorProcessor.setBeanFactory(mock(BeanFactory.class));
+		errorProcessor.setUseDirectInvoker(true);
+		assertThatExceptionOfType(MessageHandlingException.class)
+				.isThrownBy(() -> errorProcessor.processMessage(new GenericMessage<>("foo")))
+				.withRootCauseInstanceOf(CheckedException.class);
+	}
+
 	@Test
 	@Disabled("See https://github.com/spring-projects/spring-framework/issues/23824")
 	public void testProcessMessageMethodNotFound() throws Exception {
@@ -1262,6 +1294,28 @@ public class MethodInvokingMessageProcessorTests {
 		return accessor;
 	}
 
+	@SuppressWarnings("unused")
+	private static class DirectInvokerService {
+
+		private volatile boolean resolved;
+
+		public String concat(String payload, @Header("bar") int bar) {
+			this.resolved = isResolved();
+			return payload + bar;
+		}
+
+		public String upperCase(String payload) {
+			this.resolved = isResolved();
+			return payload.toUpperCase();
+		}
+
+		private static boolean isResolved() {
+			return Arrays.stream(new Throwable().getStackTrace())
+					.anyMatch(element -> element.getClassName().equals(InvocableHandlerMethod.class.getName()));
+		}
+
+	}
+
 	@SuppressWarnings("unused")
 	private static class TestErrorService {
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,11 @@
 
 package org.springframework.integration.history;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
@@ -29,12 +34,21 @@ import org.mockito.Mockito;
 import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.config.ConsumerEndpointFactoryBean;
+import org.springframework.integration.config.EnableIntegration;
+import org.springframework.integration.config.EnableMessageHistory;
+import org.springframework.integration.dsl.IntegrationFlow;
+import org.springframework.integration.support.context.NamedComponent;
+import org.springframework.integration.test.util.TestUtils;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.GenericMessage;
 import org.springframework.util.StopWatch;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -231,6 +245,89 @@ public class MessageHistoryIntegrationTests {
 								MessageHistoryIntegrationTests.class));
 	}
 
+	@Test
+	public void testAppendOnlyHistory() throws Exception {
+		Message<String> message = new GenericMessage<>("test");
+		message = MessageHistory.write(message, namedComponent("first", "channel"));
+		MessageHistory firstHistory = MessageHistory.read(message);
+		message = MessageHistory.write(message, namedComponent("second", null));
+		message = MessageHistory.write(message, namedComponent("org.springframework.integration.internal", "channel"));
+		MessageHistory history = MessageHistory.read(message);
+
+		assertThat(firstHistory).hasSize(1);
+		assertThat(history).hasSize(2);
+		assertThat(history.get(0)).isSameAs(firstHistory.get(0));
+		assertThat(history.get(0))
+				.containsEntry(MessageHistory.NAME_PROPERTY, "first")
+				.containsEntry(MessageHistory.TYPE_PROPERTY, "channel")
+				.containsKey(MessageHistory.TIMESTAMP_PROPERTY);
+		assertThat(history.get(1))
+				.containsEntry(MessageHistory.NAME_PROPERTY, "second")
+				.doesNotContainKey(MessageHistory.TYPE_PROPERTY);
+		assertThat(history.toString()).isEqualTo("first,second");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new ObjectOutputStream(out).writeObject(history);
+		MessageHistory deserialized =
+				(MessageHistory) new ObjectInputStream(new ByteArrayInputStream(out.toByteArray())).readObject();
+		assertThat(deserialized).isEqualTo(history);
+		assertThat(TestUtils.getPropertyValue(deserialized, "components")).isInstanceOf(ArrayList.class);
+
+		message = MessageHistory.write(new GenericMessage<>("test", Map.of(MessageHistory.HEADER_NAME, deserialized)),
+				namedComponent("third", "handler"));
+		assertThat(MessageHistory.read(message).toString()).isEqualTo("first,second,third");
+	}
+
+	@Test
+	public void testSampledMessageHistory() {
+		try (ConfigurableApplicationContext ac =
+				new AnnotationConfigApplicationContext(SampledHistoryConfiguration.class)) {
+
+			try (ConfigurableApplicationContext unsampled =
+					new AnnotationConfigApplicationContext(UnsampledHistoryConfiguration.class)) {
+
+				MessageChannel input = unsampled.getBean("unsampledInput", MessageChannel.class);
+				QueueChannel output = unsampled.getBean("unsampledOutput", QueueChannel.class);
+				for (int i = 0; i < 2; i++) {
+					input.send(new GenericMessage<>(i));
+					assertThat(MessageHistory.read(output.receive(0))).hasSize(3);
+				}
+			}
+
+			MessageChannel input = ac.getBean("sampledInput", MessageChannel.class);
+			QueueChannel output = ac.getBean("sampledOutput", QueueChannel.class);
+			for (int i = 0; i < 4; i++) {
+				input.send(new GenericMessage<>(i));
+			}
+			int tracked = 0;
+			for (int i = 0; i < 4; i++) {
+				MessageHistory history = MessageHistory.read(output.receive(0));
+				assertThat(history).isNotNull();
+				if (!history.isEmpty()) {
+					assertThat(history.toString()).isEqualTo("sampledInput,sampledBridge,sampledOutput");
+					tracked++;
+				}
+			}
+			assertThat(tracked).isEqualTo(2);
+		}
+	}
+
+	private static NamedComponent namedComponent(String name, String type) {
+		return new NamedComponent() {
+
+			@Override
+			public String getComponentName() {
+				return name;
+			}
+
+			@Override
+			public String getComponentType() {
+				return type;
+			}
+
+		};
+	}
+
 	@Test
 	@Disabled
 	public void testMessageHistoryWithHistoryPerformance() {
@@ -277,4 +374,42 @@ public class MessageHistoryIntegrationTests {
 
 	}
 
+	// Not a @Configuration: the package is component-scanned by the 'annotated-config.xml'
+	@EnableIntegration
+	@EnableMessageHistory(sampleRate = 2)
+	public static class SampledHistoryConfiguration {
+
+		@Bean
+		public QueueChannel sampledOutput() {
+			return new QueueChannel();
+		}
+
+		@Bean
+		public IntegrationFlow sampledFlow() {
+			return IntegrationFlow.from("sampledInput")
+					.bridge(e -> e.id("sampledBridge"))
+					.channel("sampledOutput")
+					.get();
+		}
+
+	}
+
+	@EnableIntegration
+	@EnableMessageHistory
+	public static class UnsampledHistoryConfiguration {
+
+		@Bean
+		public QueueChannel unsampledOutput() {
+			return new QueueChannel();
+		}
+
+		@Bean
+		public IntegrationFlow unsampledFlow() {
+			return IntegrationFlow.from("unsampledInput")
+					.channel("unsampledOutput")
+					.get();
+		}
+
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -248,6 +248,28 @@ public class ErrorMessageExceptionTypeRouterTests {
 		assertThat(defaultChannel.receive(0)).isNull();
 	}
 
+	@Test
+	public void cachedMatchIsResetOnMappingChange() {
+		ErrorMessage message = new ErrorMessage(new IllegalArgumentException("bad argument"));
+		ErrorMessageExceptionTypeRouter router = new ErrorMessageExceptionTypeRouter();
+		router.setBeanFactory(this.context);
+		router.setApplicationContext(this.context);
+		router.setChannelMapping(RuntimeException.class.getName(), "runtimeExceptionChannel");
+		router.afterPropertiesSet();
+
+		router.handleMessage(message);
+		router.handleMessage(message);
+		assertThat(this.runtimeExceptionChannel.getQueueSize()).isEqualTo(2);
+
+		router.setChannelMapping(IllegalArgumentException.class.getName(), "illegalArgumentChannel");
+		router.handleMessage(message);
+		assertThat(this.illegalArgumentChannel.receive(0)).isSameAs(message);
+
+		router.removeChannelMapping(IllegalArgumentException.class.getName());
+		router.handleMessage(message);
+		assertThat(this.runtimeExceptionChannel.getQueueSize()).isEqualTo(3);
+	}
+
 	@Test
 	public void testInvalidMapping() {
 		ErrorMessageExceptionTypeRouter router = new ErrorMessageExceptionTypeRouter();
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.router;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.expression.common.LiteralExpression;
+import org.springframework.integration.annotation.ServiceActivator;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.config.EnableIntegration;
+import org.springframework.integration.dsl.context.IntegrationFlowContext;
+import org.springframework.integration.dsl.context.IntegrationFlowContext.IntegrationFlowRegistration;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.core.DestinationResolutionException;
+import org.springframework.messaging.core.DestinationResolver;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @since 6.0.3
+ */
+@SpringJUnitConfig
+@DirtiesContext
+public class MappingRouterChannelCacheTests {
+
+	private final Map<String, MessageChannel> channels = new HashMap<>();
+
+	private final AtomicInteger resolutions = new AtomicInteger();
+
+	@Autowired
+	private IntegrationFlowContext integrationFlowContext;
+
+	@Autowired
+	private MessageChannel routerInput;
+
+	@Autowired
+	private AbstractMappingMessageRouter cachingRouter;
+
+	@BeforeEach
+	void setUp() {
+		this.channels.put("foo", new QueueChannel());
+		this.channels.put("bar", new QueueChannel());
+	}
+
+	@Test
+	void resolvedChannelsAreCached() {
+		HeaderValueRouter router = router(10, null);
+		for (int i = 0; i < 3; i++) {
+			router.handleMessage(message("foo"));
+			router.handleMessage(message("bar"));
+		}
+		assertThat(this.resolutions.get()).isEqualTo(2);
+		assertThat(router.getChannelCacheMisses()).isEqualTo(2);
+		assertThat(router.getChannelCacheHits()).isEqualTo(4);
+		assertThat(router.getCachedChannelCount()).isEqualTo(2);
+		assertThat(((QueueChannel) this.channels.get("foo")).getQueueSize()).isEqualTo(3);
+		assertThat(((QueueChannel) this.channels.get("bar")).getQueueSize()).isEqualTo(3);
+
+		router.clearChannelCache();
+		assertThat(router.getCachedChannelCount()).isEqualTo(0);
+		router.handleMessage(message("foo"));
+		assertThat(this.resolutions.get()).isEqualTo(3);
+	}
+
+	@Test
+	void leastRecentlyUsedChannelIsEvicted() {
+		HeaderValueRouter router = router(1, null);
+		router.handleMessage(message("foo"));
+		router.handleMessage(message("foo"));
+		router.handleMessage(message("bar"));
+		router.handleMessage(message("foo"));
+		assertThat(this.resolutions.get()).isEqualTo(3);
+		assertThat(router.getCachedChannelCount()).isEqualTo(1);
+	}
+
+	@Test
+	void cachedChannelExpires() throws InterruptedException {
+		HeaderValueRouter router = router(10, Duration.ofMillis(50));
+		router.handleMessage(message("foo"));
+		router.handleMessage(message("foo"));
+		assertThat(this.resolutions.get()).isEqualTo(1);
+		Thread.sleep(100);
+		router.handleMessage(message("foo"));
+		assertThat(this.resolutions.get()).isEqualTo(2);
+	}
+
+	@Test
+	void cacheIsClearedOnMappingChange() {
+		HeaderValueRouter router = router(10, null);
+		router.handleMessage(message("foo"));
+		assertThat(((QueueChannel) this.channels.get("foo")).getQueueSize()).isEqualTo(1);
+
+		router.setChannelMapping("foo", "bar");
+		router.handleMessage(message("foo"));
+		assertThat(((QueueChannel) this.channels.get("bar")).getQueueSize()).isEqualTo(1);
+
+		router.removeChannelMapping("foo");
+		router.handleMessage(message("foo"));
+		assertThat(((QueueChannel) this.channels.get("foo")).getQueueSize()).isEqualTo(2);
+		assertThat(this.resolutions.get()).isEqualTo(3);
+	}
+
+	@Test
+	void cacheIsClearedOnFlowRemoval() {
+		IntegrationFlowRegistration registration =
+				this.integrationFlowContext.registration(f -> f.channel("dynamicChannel").bridge())
+						.register();
+		QueueChannel results = new QueueChannel();
+		Message<String> message = MessageBuilder.withPayload("test").setReplyChannel(results).build();
+		this.routerInput.send(message);
+		assertThat(results.receive(10_000)).isNotNull();
+		assertThat(this.cachingRouter.getCachedChannelCount()).isEqualTo(1);
+
+		registration.destroy();
+		assertThatExceptionOfType(MessagingException.class)
+				.isThrownBy(() -> this.routerInput.send(message))
+				.withRootCauseInstanceOf(NoSuchBeanDefinitionException.class);
+		assertThat(this.cachingRouter.getCachedChannelCount()).isEqualTo(0);
+	}
+
+	private HeaderValueRouter router(int cacheSize, Duration timeToLive) {
+		HeaderValueRouter router = new HeaderValueRouter("target");
+		router.setChannelResolver(new CountingDestinationResolver());
+		router.setChannelCacheSize(cacheSize);
+		if (timeToLive != null) {
+			router.setChannelCacheTimeToLive(timeToLive);
+		}
+		router.afterPropertiesSet();
+		return router;
+	}
+
+	private static Message<String> message(String target) {
+		return MessageBuilder.withPayload("test").setHeader("target", target).build();
+	}
+
+	private class CountingDestinationResolver implements DestinationResolver<MessageChannel> {
+
+		@Override
+		public MessageChannel resolveDestination(String name) {
+			resolutions.incrementAndGet();
+			MessageChannel channel = channels.get(name);
+			if (channel == null) {
+				throw new DestinationResolutionException("No channel: " + name);
+			}
+			return channel;
+		}
+
+	}
+
+	@Configuration
+	@EnableIntegration
+	public static class ContextConfiguration {
+
+		@Bean
+		@ServiceActivator(inputChannel = "routerInput")
+		public ExpressionEvaluatingRouter cachingRouter() {
+			ExpressionEvaluatingRouter router = new ExpressionEvaluatingRouter(new LiteralExpression("dynamicChannel"));
+			router.setChannelCacheSize(10);
+			return router;
+		}
+
+	}
+
+}
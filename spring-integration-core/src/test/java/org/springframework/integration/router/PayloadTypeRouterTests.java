@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.integration.router;
 
 import java.io.Serializable;
 import java.util.Map;
+import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.Test;
@@ -566,6 +567,33 @@ public class PayloadTypeRouterTests {
 	}
 
 	@SuppressWarnings("serial")
+	@Test
+	public void cachedClosestMatchIsResetOnMappingChange() {
+		QueueChannel serializableChannel = new QueueChannel();
+		QueueChannel stringChannel = new QueueChannel();
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("serializableChannel", serializableChannel);
+		beanFactory.registerSingleton("stringChannel", stringChannel);
+		PayloadTypeRouter router = new PayloadTypeRouter();
+		router.setChannelMapping(Serializable.class.getName(), "serializableChannel");
+		router.setBeanFactory(beanFactory);
+
+		Message<String> message = new GenericMessage<>("test");
+		router.handleMessage(message);
+		router.handleMessage(message);
+		assertThat(serializableChannel.getQueueSize()).isEqualTo(2);
+
+		router.setChannelMapping(String.class.getName(), "stringChannel");
+		router.handleMessage(message);
+		assertThat(stringChannel.receive(0)).isEqualTo(message);
+
+		router.replaceChannelMappings(new Properties());
+		router.setDefaultOutputChannel(serializableChannel);
+		router.handleMessage(message);
+		assertThat(serializableChannel.getQueueSize()).isEqualTo(3);
+		assertThat(stringChannel.receive(0)).isNull();
+	}
+
 	public static class C1 extends C2 implements I1A, I1B {
 
 	}
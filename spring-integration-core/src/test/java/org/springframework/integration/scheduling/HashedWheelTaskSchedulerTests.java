@@ -0,0 +1,169 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.expression.common.LiteralExpression;
+import org.springframework.integration.aggregator.AggregatingMessageHandler;
+import org.springframework.integration.aggregator.DefaultAggregatingMessageGroupProcessor;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.handler.DelayHandler;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.test.util.TestUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.scheduling.support.PeriodicTrigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @since 6.0.3
+ */
+public class HashedWheelTaskSchedulerTests {
+
+	private final HashedWheelTaskScheduler scheduler = new HashedWheelTaskScheduler(Duration.ofMillis(5), 8);
+
+	@AfterEach
+	void tearDown() {
+		this.scheduler.destroy();
+	}
+
+	@Test
+	void taskIsRunNotBeforeItsTime() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		long start = System.nanoTime();
+		// longer than the wheel to cover the rounds
+		Instant startTime = Instant.now().plusMillis(100);
+		ScheduledFuture<?> future = this.scheduler.schedule(latch::countDown, startTime);
+		assertThat(this.scheduler.getPendingTaskCount()).isEqualTo(1);
+		long remaining = Duration.between(Instant.now(), startTime).toMillis();
+		assertThat(future.getDelay(TimeUnit.MILLISECONDS)).isLessThanOrEqualTo(remaining).isGreaterThan(0);
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+		assertThat(future.get(10, TimeUnit.SECONDS)).isNull();
+		assertThat(future.isDone()).isTrue();
+		assertThat(this.scheduler.getPendingTaskCount()).isEqualTo(0);
+	}
+
+	@Test
+	void cancelledTaskIsNotRun() throws Exception {
+		AtomicInteger runs = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.schedule(runs::incrementAndGet, Instant.now().plusMillis(50));
+		assertThat(future.cancel(true)).isTrue();
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(future.cancel(true)).isFalse();
+		assertThat(this.scheduler.getPendingTaskCount()).isEqualTo(0);
+
+		CountDownLatch latch = new CountDownLatch(1);
+		this.scheduler.schedule(latch::countDown, Instant.now().plusMillis(100));
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(runs.get()).isEqualTo(0);
+	}
+
+	@Test
+	void repeatingTasksAreRescheduledUntilCancelled() throws Exception {
+		CountDownLatch fixedDelay = new CountDownLatch(3);
+		CountDownLatch fixedRate = new CountDownLatch(3);
+		CountDownLatch trigger = new CountDownLatch(3);
+		ScheduledFuture<?> fixedDelayFuture =
+				this.scheduler.scheduleWithFixedDelay(fixedDelay::countDown, Duration.ofMillis(10));
+		ScheduledFuture<?> fixedRateFuture =
+				this.scheduler.scheduleAtFixedRate(fixedRate::countDown, Duration.ofMillis(10));
+		ScheduledFuture<?> triggerFuture =
+				this.scheduler.schedule(trigger::countDown, new PeriodicTrigger(Duration.ofMillis(10)));
+		assertThat(fixedDelay.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(fixedRate.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(trigger.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(fixedDelayFuture.isDone()).isFalse();
+		assertThat(fixedDelayFuture.cancel(false)).isTrue();
+		assertThat(fixedRateFuture.cancel(false)).isTrue();
+		assertThat(triggerFuture.cancel(false)).isTrue();
+		assertThatExceptionOfType(CancellationException.class)
+				.isThrownBy(fixedDelayFuture::get);
+	}
+
+	@Test
+	void failureIsPropagatedToFuture() {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {
+			throw new IllegalStateException("test");
+		}, Instant.now());
+		assertThatExceptionOfType(ExecutionException.class)
+				.isThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+				.withCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void destroyCancelsPendingTasks() {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> { }, Instant.now().plusSeconds(60));
+		this.scheduler.destroy();
+		assertThat(future.isCancelled()).isTrue();
+		assertThatExceptionOfType(TaskRejectedException.class)
+				.isThrownBy(() -> this.scheduler.schedule(() -> { }, Instant.now()));
+	}
+
+	@Test
+	void aggregatorGroupTimeoutAndDelayerOnWheel() {
+		TestUtils.TestApplicationContext context = TestUtils.createTestApplicationContext();
+		context.refresh();
+		QueueChannel output = new QueueChannel();
+		AggregatingMessageHandler aggregator =
+				new AggregatingMessageHandler(new DefaultAggregatingMessageGroupProcessor());
+		aggregator.setGroupTimeoutExpression(new LiteralExpression("50"));
+		aggregator.setSendPartialResultOnExpiry(true);
+		aggregator.setOutputChannel(output);
+		aggregator.setTaskScheduler(this.scheduler);
+		aggregator.setBeanFactory(context);
+		aggregator.afterPropertiesSet();
+
+		DelayHandler delayer = new DelayHandler("delayer", this.scheduler);
+		delayer.setDefaultDelay(50);
+		delayer.setOutputChannel(output);
+		delayer.setBeanFactory(context);
+		delayer.afterPropertiesSet();
+
+		aggregator.handleMessage(MessageBuilder.withPayload("a")
+				.setCorrelationId("group")
+				.setSequenceNumber(1)
+				.setSequenceSize(2)
+				.build());
+		delayer.handleMessage(new GenericMessage<>("delayed"));
+		assertThat(output.receive(0)).isNull();
+
+		Message<?> first = output.receive(10_000);
+		Message<?> second = output.receive(10_000);
+		assertThat(first).isNotNull();
+		assertThat(second).isNotNull();
+		assertThat(new Object[] {first.getPayload(), second.getPayload()})
+				.containsExactlyInAnyOrder(List.of("a"), "delayed");
+		context.close();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,9 @@
 
 package org.springframework.integration.store;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.CountDownLatch;
@@ -36,6 +38,7 @@ import org.springframework.messaging.support.GenericMessage;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author Dave Syer
@@ -89,6 +92,47 @@ public class MessageGroupQueueTests {
 		exec.shutdownNow();
 	}
 
+	@Test
+	public void testDrainToRespectsMaxElements() {
+		MessageGroupQueue queue = new MessageGroupQueue(new SimpleMessageStore(), "FOO");
+		for (int i = 0; i < 5; i++) {
+			queue.offer(new GenericMessage<>(i));
+		}
+		List<Message<?>> drained = new ArrayList<>();
+		assertThat(queue.drainTo(drained, 2)).isEqualTo(2);
+		assertThat(drained).extracting("payload").containsExactly(0, 1);
+		assertThat(queue.size()).isEqualTo(3);
+	}
+
+	@Test
+	public void testPollBatch() throws Exception {
+		MessageGroupQueue queue = new MessageGroupQueue(new SimpleMessageStore(), "FOO", 3);
+		assertThat(queue.poll(2, 1, TimeUnit.MILLISECONDS)).isEmpty();
+		for (int i = 0; i < 3; i++) {
+			queue.offer(new GenericMessage<>(i));
+		}
+		assertThat(queue.poll(2, 100, TimeUnit.MILLISECONDS)).extracting("payload").containsExactly(0, 1);
+		assertThat(queue.remainingCapacity()).isEqualTo(2);
+		assertThat(queue.poll(2, 100, TimeUnit.MILLISECONDS)).extracting("payload").containsExactly(2);
+		assertThat(queue.size()).isEqualTo(0);
+	}
+
+	@Test
+	public void testPollBatchFromChannelMessageStoreInBulk() throws Exception {
+		SimpleMessageStore store = spy(new SimpleMessageStore());
+		MessageGroupQueue queue = new MessageGroupQueue(store, "FOO");
+		for (int i = 0; i < 5; i++) {
+			queue.offer(new GenericMessage<>(i));
+		}
+		assertThat(queue.poll(3, 100, TimeUnit.MILLISECONDS)).extracting("payload").containsExactly(0, 1, 2);
+		verify(store).pollMessagesFromGroup("FOO", 3);
+		List<Message<?>> drained = new ArrayList<>();
+		assertThat(queue.drainTo(drained)).isEqualTo(2);
+		assertThat(drained).extracting("payload").containsExactly(3, 4);
+		verify(store).pollMessagesFromGroup("FOO", Integer.MAX_VALUE);
+		verify(store).pollMessagesFromGroup("FOO", Integer.MAX_VALUE - 2);
+	}
+
 	@Test
 	public void testSize() throws Exception {
 		MessageGroupQueue queue = new MessageGroupQueue(new SimpleMessageStore(), "FOO");
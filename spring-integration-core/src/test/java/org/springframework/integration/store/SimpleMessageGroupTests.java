@@ -96,6 +96,93 @@ public class SimpleMessageGroupTests {
 		assertThat(grp.getMessages().size()).isEqualTo(2);
 	}
 
+	@Test
+	public void sequenceIndexTracksContiguousRun() {
+		List<Message<?>> messages = new ArrayList<>();
+		for (int i = 1; i <= 200; i++) {
+			messages.add(MessageBuilder.withPayload(i).setSequenceNumber(i).build());
+		}
+		for (int i = 199; i >= 0; i -= 2) {
+			this.group.add(messages.get(i));
+		}
+		assertThat(this.group.hasDistinctSequences()).isTrue();
+		assertThat(this.group.getFirstSequenceNumber()).isEqualTo(2);
+		assertThat(this.group.getContiguousSequenceCount()).isEqualTo(1);
+		assertThat(this.group.containsSequence(3)).isFalse();
+
+		for (int i = 198; i >= 0; i -= 2) {
+			this.group.add(messages.get(i));
+		}
+		assertThat(this.group.getFirstSequenceNumber()).isEqualTo(1);
+		assertThat(this.group.getContiguousSequenceCount()).isEqualTo(200);
+
+		this.group.remove(messages.get(0));
+		this.group.remove(messages.get(1));
+		assertThat(this.group.getFirstSequenceNumber()).isEqualTo(3);
+		assertThat(this.group.getContiguousSequenceCount()).isEqualTo(198);
+
+		this.group.remove(messages.get(99));
+		assertThat(this.group.getContiguousSequenceCount()).isEqualTo(97);
+		this.group.add(messages.get(99));
+		assertThat(this.group.getContiguousSequenceCount()).isEqualTo(198);
+
+		Message<?> farAway = MessageBuilder.withPayload("far").setSequenceNumber(1_000_000).build();
+		Message<?> negative = MessageBuilder.withPayload("negative").setSequenceNumber(-1).build();
+		this.group.add(farAway);
+		this.group.add(negative);
+		assertThat(this.group.getFirstSequenceNumber()).isEqualTo(-1);
+		assertThat(this.group.getContiguousSequenceCount()).isEqualTo(1);
+		this.group.remove(negative);
+		for (int i = 2; i < 200; i++) {
+			this.group.remove(messages.get(i));
+		}
+		assertThat(this.group.getFirstSequenceNumber()).isEqualTo(1_000_000);
+		assertThat(this.group.getContiguousSequenceCount()).isEqualTo(1);
+
+		this.group.clear();
+		assertThat(this.group.getContiguousSequenceCount()).isEqualTo(0);
+		assertThat(this.group.containsSequence(1_000_000)).isFalse();
+	}
+
+	@Test
+	public void messagesAreIndexedBySequence() {
+		List<Message<?>> messages = new ArrayList<>();
+		for (int i = 1; i <= 100; i++) {
+			messages.add(MessageBuilder.withPayload(i).setSequenceNumber(i).build());
+		}
+		messages.subList(0, 50).forEach(this.group::add);
+		assertThat(this.group.getMessageForSequence(10)).isSameAs(messages.get(9));
+		assertThat(this.group.getMessageForSequence(60)).isNull();
+
+		messages.subList(50, 100).forEach(this.group::add);
+		for (int i = 0; i < 90; i++) {
+			this.group.remove(messages.get(i));
+		}
+		for (int i = 1; i <= 100; i++) {
+			assertThat(this.group.getMessageForSequence(i)).isSameAs(i > 90 ? messages.get(i - 1) : null);
+		}
+
+		this.group.clear();
+		this.group.add(messages.get(0));
+		assertThat(this.group.getMessageForSequence(1)).isSameAs(messages.get(0));
+		assertThat(this.group.getMessageForSequence(100)).isNull();
+	}
+
+	@Test
+	public void duplicateSequencesAreNotDistinct() {
+		Message<?> message1 = MessageBuilder.withPayload("test").setSequenceNumber(1).build();
+		Message<?> message2 = MessageBuilder.withPayload("other").setSequenceNumber(1).build();
+		this.group.add(message1);
+		assertThat(this.group.hasDistinctSequences()).isTrue();
+		this.group.add(message2);
+		assertThat(this.group.hasDistinctSequences()).isFalse();
+		this.group.remove(message1);
+		assertThat(this.group.hasDistinctSequences()).isFalse();
+		assertThat(this.group.remove(message1)).isFalse();
+		this.group.remove(message2);
+		assertThat(this.group.hasDistinctSequences()).isTrue();
+	}
+
 	@Test
 	// This test used to take 2 min and half to run; now ~200 milliseconds.
 	public void testPerformance() {
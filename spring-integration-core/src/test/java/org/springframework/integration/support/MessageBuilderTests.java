@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2022 the original author or authors.
+ * Copyright 2017-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,21 @@
 
 package org.springframework.integration.support;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.codec.kryo.MessageCodec;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.GenericMessage;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -45,4 +57,86 @@ public class MessageBuilderTests {
 		assertThat(message.getHeaders().get("qux")).isNull();
 	}
 
+	@Test
+	public void testLayeredHeaders() {
+		DefaultMessageBuilderFactory factory = new DefaultMessageBuilderFactory();
+		factory.setMaxHeaderLayers(2);
+		Message<?> message = factory.withPayload("bar").setHeader("foo", "baz").setHeader("qux", "fiz").build();
+		assertThat(factory.fromMessage(message).setHeader("foo", "baz").build()).isSameAs(message);
+
+		Message<?> message1 = factory.fromMessage(message).setHeader("foo", "buz").removeHeader("qux").build();
+		assertThat(message1.getHeaders()).isInstanceOf(LayeredMessageHeaders.class);
+		assertThat(message1.getHeaders().getId()).isNotEqualTo(message.getHeaders().getId());
+		assertThat(message1.getHeaders().get("foo")).isEqualTo("buz");
+		assertThat(message1.getHeaders().containsKey("qux")).isFalse();
+		assertThat(message1.getHeaders())
+				.containsOnlyKeys("foo", MessageHeaders.ID, MessageHeaders.TIMESTAMP);
+
+		Message<?> message2 = factory.fromMessage(message1)
+				.pushSequenceDetails("corr", 1, 2)
+				.setHeaderIfAbsent("foo", "ignored")
+				.copyHeadersIfAbsent(Map.of("qux", "fuz"))
+				.build();
+		assertThat(((LayeredMessageHeaders) message2.getHeaders()).getDepth()).isEqualTo(2);
+		assertThat(message2.getHeaders())
+				.containsEntry("foo", "buz")
+				.containsEntry("qux", "fuz")
+				.containsEntry(IntegrationMessageHeaderAccessor.CORRELATION_ID, "corr");
+
+		Message<?> message3 = factory.fromMessage(message2)
+				.removeHeaders("q*", "sequence*", IntegrationMessageHeaderAccessor.CORRELATION_ID)
+				.build();
+		assertThat(message3.getHeaders()).isNotInstanceOf(LayeredMessageHeaders.class);
+		assertThat(message3.getHeaders()).containsOnlyKeys("foo", MessageHeaders.ID, MessageHeaders.TIMESTAMP);
+
+		Message<?> message4 = factory.fromMessage(message3).setHeader("baz", List.of()).build();
+		assertThat(((LayeredMessageHeaders) message4.getHeaders()).getDepth()).isEqualTo(1);
+
+		MessageHeaders layered = message4.getHeaders();
+		MessageHeaders plain = new MessageHeaders(layered, layered.getId(), layered.getTimestamp()) {
+
+		};
+		assertThat(plain).containsExactlyInAnyOrderEntriesOf(layered);
+		assertThat(layered.equals(plain)).isFalse();
+		assertThat(plain.equals(layered)).isFalse();
+
+		Message<?> mutable = MutableMessageBuilder.fromMessage(message).build();
+		assertThat(factory.fromMessage(mutable).setHeader("baz", "fiz").build().getHeaders())
+				.isNotInstanceOf(LayeredMessageHeaders.class);
+	}
+
+	@Test
+	public void testLayeredHeadersSerialization() throws Exception {
+		DefaultMessageBuilderFactory factory = new DefaultMessageBuilderFactory();
+		factory.setMaxHeaderLayers(2);
+		Message<?> message = factory.withPayload("bar").setHeader("foo", "baz").setHeader("qux", "fiz").build();
+		Message<?> message1 = factory.fromMessage(message).setHeader("foo", "buz").removeHeader("qux").build();
+		Message<?> message2 = factory.fromMessage(message1).setHeader("baz", 42).build();
+		assertThat(((LayeredMessageHeaders) message2.getHeaders()).getDepth()).isEqualTo(2);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new ObjectOutputStream(out).writeObject(message2);
+		Message<?> deserialized =
+				(Message<?>) new ObjectInputStream(new ByteArrayInputStream(out.toByteArray())).readObject();
+		assertThat(deserialized).isEqualTo(message2);
+		assertThat(deserialized.getHeaders()).isInstanceOf(LayeredMessageHeaders.class);
+		assertThat(((LayeredMessageHeaders) deserialized.getHeaders()).getDepth()).isEqualTo(1);
+		assertThat(deserialized.getHeaders().getId()).isEqualTo(message2.getHeaders().getId());
+		assertThat(deserialized.getHeaders().containsKey("qux")).isFalse();
+		assertThat(deserialized.getHeaders())
+				.containsOnlyKeys("foo", "baz", MessageHeaders.ID, MessageHeaders.TIMESTAMP);
+
+		MessageCodec codec = new MessageCodec();
+		out = new ByteArrayOutputStream();
+		codec.encode(message2, out);
+		Message<?> decoded = codec.decode(out.toByteArray(), GenericMessage.class);
+		assertThat(decoded.getPayload()).isEqualTo("bar");
+		Map<String, Object> expectedHeaders = new HashMap<>(message2.getHeaders());
+		expectedHeaders.remove(MessageHeaders.ID);
+		expectedHeaders.remove(MessageHeaders.TIMESTAMP);
+		assertThat(decoded.getHeaders())
+				.containsAllEntriesOf(expectedHeaders)
+				.containsOnlyKeys("foo", "baz", MessageHeaders.ID, MessageHeaders.TIMESTAMP);
+	}
+
 }
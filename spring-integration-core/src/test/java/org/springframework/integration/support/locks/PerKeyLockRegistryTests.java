@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.locks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * @since 6.0.3
+ */
+public class PerKeyLockRegistryTests {
+
+	private final PerKeyLockRegistry registry = new PerKeyLockRegistry();
+
+	@Test
+	void keysWithSameHashCodeDoNotShareLock() throws Exception {
+		Object key1 = new CollidingKey();
+		Object key2 = new CollidingKey();
+		Lock lock1 = this.registry.obtain(key1);
+		lock1.lockInterruptibly();
+		try {
+			assertThat(CompletableFuture.supplyAsync(() -> this.registry.obtain(key2).tryLock()).get(10, TimeUnit.SECONDS))
+					.isTrue();
+			assertThat(CompletableFuture.supplyAsync(() -> this.registry.obtain(key1).tryLock()).get(10, TimeUnit.SECONDS))
+					.isFalse();
+		}
+		finally {
+			lock1.unlock();
+		}
+		assertThat(this.registry.getLockCount()).isEqualTo(1);
+		assertThat(this.registry.getContendedAcquisitionCount()).isEqualTo(0);
+	}
+
+	@Test
+	void locksAreReentrantAndRemovedWhenReleased() throws Exception {
+		Lock lock = this.registry.obtain("foo");
+		lock.lock();
+		this.registry.obtain("foo").lockInterruptibly();
+		assertThat(this.registry.isHeldByCurrentThread("foo")).isTrue();
+		assertThat(this.registry.getLockCount()).isEqualTo(1);
+		lock.unlock();
+		assertThat(this.registry.isHeldByCurrentThread("foo")).isTrue();
+		lock.unlock();
+		assertThat(this.registry.isHeldByCurrentThread("foo")).isFalse();
+		assertThat(this.registry.getLockCount()).isEqualTo(0);
+		assertThatExceptionOfType(IllegalMonitorStateException.class).isThrownBy(lock::unlock);
+	}
+
+	@Test
+	void contentionIsRecorded() throws Exception {
+		Lock lock = this.registry.obtain("foo");
+		lock.lock();
+		CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+			Lock sameLock = this.registry.obtain("foo");
+			sameLock.lock();
+			sameLock.unlock();
+			return true;
+		});
+		await().until(() -> this.registry.getContendedLocks().containsKey("foo"));
+		assertThat(this.registry.getContendedLocks().get("foo").queueLength()).isEqualTo(1);
+		assertThat(this.registry.obtain("bar").tryLock(10, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(CompletableFuture.supplyAsync(() -> {
+			try {
+				return this.registry.obtain("bar").tryLock(10, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return true;
+			}
+		}).get(10, TimeUnit.SECONDS)).isFalse();
+		this.registry.obtain("bar").unlock();
+		lock.unlock();
+		assertThat(waiter.get(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(this.registry.getContendedAcquisitionCount()).isEqualTo(2);
+		assertThat(this.registry.getTotalWaitTime()).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+		assertThat(this.registry.getContendedLocks()).isEmpty();
+		assertThat(this.registry.getLockCount()).isEqualTo(0);
+	}
+
+	private static final class CollidingKey {
+
+		@Override
+		public int hashCode() {
+			return 42;
+		}
+
+	}
+
+}
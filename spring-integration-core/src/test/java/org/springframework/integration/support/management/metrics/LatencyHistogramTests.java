@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management.metrics;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.annotation.ServiceActivator;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.config.EnableIntegration;
+import org.springframework.integration.config.EnableIntegrationManagement;
+import org.springframework.integration.graph.Graph;
+import org.springframework.integration.graph.IntegrationGraphServer;
+import org.springframework.integration.graph.MessageChannelNode;
+import org.springframework.integration.graph.TimerStats;
+import org.springframework.integration.support.management.IntegrationManagement;
+import org.springframework.messaging.support.GenericMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @since 6.0.3
+ */
+public class LatencyHistogramTests {
+
+	@Test
+	void percentilesWithinBucketPrecision() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long i = 1; i <= 10_000; i++) {
+			histogram.record(i * 1_000);
+		}
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		assertThat(snapshot.getCount()).isEqualTo(10_000);
+		assertThat(snapshot.getMax()).isEqualTo(10_000_000);
+		assertThat(snapshot.getMean()).isEqualTo(5_000_500.0);
+		assertThat(snapshot.getValueAtPercentile(50)).isCloseTo(5_000_000L, Offset.offset(160_000L));
+		assertThat(snapshot.getValueAtPercentile(99)).isCloseTo(9_900_000L, Offset.offset(320_000L));
+		assertThat(snapshot.getValueAtPercentile(99.9)).isCloseTo(9_990_000L, Offset.offset(320_000L));
+		assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(10_000_000);
+		assertThat(new LatencyHistogram().snapshot().getValueAtPercentile(99)).isEqualTo(0);
+	}
+
+	@Test
+	void bucketsAreContiguous() {
+		assertThat(LatencyHistogram.bucketIndex(0)).isEqualTo(0);
+		assertThat(LatencyHistogram.bucketIndex(63)).isEqualTo(63);
+		assertThat(LatencyHistogram.bucketIndex(64)).isEqualTo(64);
+		assertThat(LatencyHistogram.bucketIndex(65)).isEqualTo(64);
+		assertThat(LatencyHistogram.bucketIndex(66)).isEqualTo(65);
+		assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE))
+				.isEqualTo(LatencyHistogram.bucketIndex((1L << 43) - 1))
+				.isEqualTo(LatencyHistogram.bucketIndex((1L << 42) + (1L << 41)) + 15);
+		for (long value = 1; value < 1L << 42; value = value * 3 + 1) {
+			long bucketValue = LatencyHistogram.bucketValue(LatencyHistogram.bucketIndex(value));
+			assertThat((double) Math.abs(bucketValue - value) / value).isLessThan(1.0 / 32);
+		}
+	}
+
+	@Test
+	void concurrentRecordsAndMerge() throws InterruptedException {
+		LatencyHistogram histogram = new LatencyHistogram();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		for (int i = 0; i < 8; i++) {
+			executor.execute(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					histogram.record(j);
+				}
+			});
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		assertThat(snapshot.getCount()).isEqualTo(80_000);
+		assertThat(snapshot.getSum()).isEqualTo(8L * 9_999 * 10_000 / 2);
+		assertThat(snapshot.getMax()).isEqualTo(9_999);
+
+		LatencyHistogram other = new LatencyHistogram();
+		other.record(1_000_000);
+		LatencyHistogram.Snapshot merged = snapshot.merge(other.snapshot());
+		assertThat(merged.getCount()).isEqualTo(80_001);
+		assertThat(merged.getMax()).isEqualTo(1_000_000);
+		assertThat(merged.getValueAtPercentile(100)).isEqualTo(1_000_000);
+		assertThat(merged.getValueAtPercentile(50)).isEqualTo(snapshot.getValueAtPercentile(50));
+	}
+
+	@Test
+	void histogramsInMeterRegistryWithoutGraphServer() {
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(Config.class)) {
+			DirectChannel input = context.getBean("input", DirectChannel.class);
+			QueueChannel output = context.getBean("output", QueueChannel.class);
+			for (int i = 0; i < 10; i++) {
+				input.send(new GenericMessage<>(i));
+				assertThat(output.receive(0)).isNotNull();
+			}
+			assertThat(input.getLatencyHistograms().getSendSuccesses().snapshot().getCount()).isEqualTo(10);
+			assertThat(output.getLatencyHistograms().getReceiveSuccesses().snapshot().getCount()).isEqualTo(10);
+
+			MeterRegistry registry = context.getBean(MeterRegistry.class);
+			assertThat(registry.find(IntegrationManagement.SEND_TIMER_NAME).timer()).isNull();
+			FunctionTimer timer = registry.get(IntegrationManagement.SEND_TIMER_NAME)
+					.tag("type", "channel")
+					.tag("name", "input")
+					.tag("result", "success")
+					.functionTimer();
+			assertThat(timer.count()).isEqualTo(10);
+			assertThat(registry.get(IntegrationManagement.SEND_TIMER_NAME)
+					.tag("type", "handler")
+					.tag("result", "success")
+					.functionTimers())
+					.extracting(FunctionTimer::count)
+					.contains(10.0);
+			TimeGauge p99 = registry.get(IntegrationManagement.SEND_TIMER_NAME + ".percentile")
+					.tag("name", "input")
+					.tag("result", "success")
+					.tag("phi", "0.99")
+					.timeGauge();
+			assertThat(p99.value(TimeUnit.NANOSECONDS))
+					.isEqualTo(input.getLatencyHistograms().getSendSuccesses().snapshot().getValueAtPercentile(99));
+			assertThat(registry.get("spring.integration.receive.duration")
+					.tag("name", "output")
+					.tag("result", "success")
+					.functionTimer()
+					.count())
+					.isEqualTo(10);
+
+			context.close();
+			assertThat(registry.find(IntegrationManagement.SEND_TIMER_NAME).functionTimer()).isNull();
+		}
+	}
+
+	@Test
+	void histogramsInGraph() {
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(GraphConfig.class)) {
+			DirectChannel input = context.getBean("input", DirectChannel.class);
+			for (int i = 0; i < 10; i++) {
+				input.send(new GenericMessage<>(i));
+			}
+
+			Graph graph = context.getBean(IntegrationGraphServer.class).getGraph();
+			TimerStats successes =
+					graph.getNodes()
+							.stream()
+							.filter(node -> node.getName().equals("input"))
+							.map(MessageChannelNode.class::cast)
+							.findFirst()
+							.get()
+							.getSendTimers()
+							.getSuccesses();
+			assertThat(successes.getCount()).isEqualTo(10);
+			assertThat(successes.getP50()).isGreaterThan(0);
+			assertThat(successes.getP99()).isGreaterThanOrEqualTo(successes.getP50());
+			assertThat(successes.getP999()).isLessThanOrEqualTo(successes.getMax());
+
+			TimeGauge p99 = context.getBean(MeterRegistry.class)
+					.get(IntegrationManagement.SEND_TIMER_NAME + ".percentile")
+					.tag("name", "input")
+					.tag("result", "success")
+					.tag("phi", "0.99")
+					.timeGauge();
+			assertThat(p99.value(TimeUnit.MILLISECONDS)).isEqualTo(successes.getP99());
+		}
+	}
+
+	@Configuration
+	@EnableIntegration
+	@EnableIntegrationManagement(latencyHistograms = "true")
+	public static class Config {
+
+		@Bean
+		public static MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		public DirectChannel input() {
+			return new DirectChannel();
+		}
+
+		@Bean
+		public QueueChannel output() {
+			return new QueueChannel();
+		}
+
+		@ServiceActivator(inputChannel = "input", outputChannel = "output")
+		public Object handle(Object payload) {
+			return payload;
+		}
+
+	}
+
+	@Configuration
+	public static class GraphConfig extends Config {
+
+		@Bean
+		public IntegrationGraphServer server() {
+			return new IntegrationGraphServer();
+		}
+
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.integration.channel.ExecutorChannel;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.dsl.MessageChannels;
+import org.springframework.integration.endpoint.PollingConsumer;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.PeriodicTrigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @since 6.0.3
+ */
+public class VirtualThreadPerTaskExecutorTests {
+
+	@Test
+	void concurrencyLimitIsRespected() throws InterruptedException {
+		VirtualThreadPerTaskExecutor executor = new VirtualThreadPerTaskExecutor("test-", 2);
+		executor.setAcquireTimeout(Duration.ofSeconds(10));
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		Set<String> threadNames = ConcurrentHashMap.newKeySet();
+		CountDownLatch latch = new CountDownLatch(10);
+		for (int i = 0; i < 10; i++) {
+			executor.execute(() -> {
+				maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+				threadNames.add(Thread.currentThread().getName());
+				try {
+					Thread.sleep(20);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				active.decrementAndGet();
+				latch.countDown();
+			});
+		}
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(maxActive.get()).isBetween(1, 2);
+		assertThat(threadNames).allMatch(name -> name.startsWith("test-"));
+	}
+
+	@Test
+	void taskIsRejectedWhenLimitReached() throws InterruptedException {
+		VirtualThreadPerTaskExecutor executor = new VirtualThreadPerTaskExecutor("test-", 1);
+		CountDownLatch taskStarted = new CountDownLatch(1);
+		CountDownLatch releaseTask = new CountDownLatch(1);
+		executor.execute(() -> {
+			taskStarted.countDown();
+			await(releaseTask);
+		});
+		assertThat(taskStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThatExceptionOfType(TaskRejectedException.class)
+				.isThrownBy(() -> executor.execute(() -> { }));
+
+		executor.setAcquireTimeout(Duration.ofMillis(50));
+		assertThatExceptionOfType(TaskRejectedException.class)
+				.isThrownBy(() -> executor.execute(() -> { }));
+
+		releaseTask.countDown();
+		executor.setAcquireTimeout(Duration.ofSeconds(10));
+		CountDownLatch nextTask = new CountDownLatch(1);
+		executor.execute(nextTask::countDown);
+		assertThat(nextTask.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void saturatedPollerDoesNotBlockSchedulerThread() throws InterruptedException {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.initialize();
+		QueueChannel channel = new QueueChannel();
+		CountDownLatch handlerStarted = new CountDownLatch(1);
+		CountDownLatch releaseHandler = new CountDownLatch(1);
+		PollingConsumer consumer = new PollingConsumer(channel, message -> {
+			handlerStarted.countDown();
+			await(releaseHandler);
+		});
+		consumer.setTaskExecutor(new VirtualThreadPerTaskExecutor("poller-", 1));
+		consumer.setTrigger(new PeriodicTrigger(Duration.ofMillis(10)));
+		consumer.setTaskScheduler(scheduler);
+		consumer.setBeanFactory(mock(BeanFactory.class));
+		consumer.afterPropertiesSet();
+		consumer.start();
+		try {
+			channel.send(new GenericMessage<>("test"));
+			assertThat(handlerStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+			// The only scheduler thread keeps running other tasks while the poller is saturated
+			CountDownLatch otherTask = new CountDownLatch(2);
+			scheduler.schedule(otherTask::countDown, Instant.now().plusMillis(50));
+			scheduler.schedule(otherTask::countDown, Instant.now().plusMillis(100));
+			assertThat(otherTask.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			releaseHandler.countDown();
+			consumer.stop();
+			scheduler.destroy();
+		}
+	}
+
+	@Test
+	void virtualThreadExecutorChannelRejectsWhenLimitReached() throws InterruptedException {
+		ExecutorChannel channel = MessageChannels.virtualThreadExecutor("limitedChannel", 1).get();
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+		CountDownLatch handlerStarted = new CountDownLatch(1);
+		CountDownLatch releaseHandler = new CountDownLatch(1);
+		channel.subscribe(message -> {
+			handlerStarted.countDown();
+			await(releaseHandler);
+		});
+		channel.send(new GenericMessage<>(1));
+		assertThat(handlerStarted.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThatExceptionOfType(MessageDeliveryException.class)
+				.isThrownBy(() -> channel.send(new GenericMessage<>(2)))
+				.withRootCauseInstanceOf(TaskRejectedException.class);
+		releaseHandler.countDown();
+	}
+
+	@Test
+	void invalidConcurrencyLimitIsRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new VirtualThreadPerTaskExecutor("test-", 0));
+	}
+
+	@Test
+	void threadsAreVirtualIfSupported() throws InterruptedException {
+		AtomicInteger daemon = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(1);
+		Thread thread = VirtualThreadPerTaskExecutor.threadFactory("test-")
+				.newThread(() -> {
+					daemon.set(Thread.currentThread().isDaemon() ? 1 : 0);
+					latch.countDown();
+				});
+		thread.start();
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		// Virtual threads are always daemon; so is the platform threads fallback
+		assertThat(daemon.get()).isEqualTo(1);
+		assertThat(thread.getClass().getSimpleName().equals("VirtualThread"))
+				.isEqualTo(VirtualThreadPerTaskExecutor.isVirtualThreadsAvailable());
+	}
+
+	@Test
+	void virtualThreadExecutorChannel() throws InterruptedException {
+		ExecutorChannel channel = MessageChannels.virtualThreadExecutor("virtualChannel",
+				VirtualThreadPerTaskExecutor.UNBOUNDED_CONCURRENCY).get();
+		channel.setBeanFactory(mock(BeanFactory.class));
+		channel.afterPropertiesSet();
+		Set<String> threadNames = ConcurrentHashMap.newKeySet();
+		CountDownLatch latch = new CountDownLatch(10);
+		channel.subscribe(message -> {
+			threadNames.add(Thread.currentThread().getName());
+			latch.countDown();
+		});
+		for (int i = 0; i < 10; i++) {
+			channel.send(new GenericMessage<>(i));
+		}
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(threadNames).allMatch(name -> name.startsWith("virtualChannel-"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,10 @@
 
 package org.springframework.integration.jdbc.store;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -47,8 +50,12 @@ import org.springframework.integration.store.SimpleMessageGroupFactory;
 import org.springframework.integration.support.converter.AllowListDeserializingConverter;
 import org.springframework.integration.util.UUIDConverter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
 import org.springframework.jdbc.support.lob.DefaultLobHandler;
 import org.springframework.jdbc.support.lob.LobHandler;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
@@ -99,6 +106,8 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 	 */
 	public static final String DEFAULT_TABLE_PREFIX = "INT_";
 
+	private static final int MAX_BULK_POLL_FETCH_SIZE = 100;
+
 	private enum Query {
 		CREATE_MESSAGE,
 		COUNT_GROUPS,
@@ -108,6 +117,8 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 		POLL_WITH_EXCLUSIONS,
 		PRIORITY,
 		PRIORITY_WITH_EXCLUSIONS,
+		POLL_MULTIPLE,
+		PRIORITY_MULTIPLE,
 		DELETE_MESSAGE
 	}
 
@@ -312,7 +323,13 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 	 * <p>If using the provided
 	 * {@link org.springframework.integration.jdbc.store.channel.OracleChannelMessageStoreQueryProvider},
 	 * don't set {@link #usingIdCache}
-	 * to true, as the Oracle query will ignore locked rows.</p>
+	 * to true, as the Oracle query will ignore locked rows.
+	 * The same applies to the
+	 * {@link org.springframework.integration.jdbc.store.channel.PostgresChannelMessageStoreQueryProvider},
+	 * {@link org.springframework.integration.jdbc.store.channel.MySqlChannelMessageStoreQueryProvider}
+	 * and {@link org.springframework.integration.jdbc.store.channel.SqlServerChannelMessageStoreQueryProvider}
+	 * since version 6.0.3, unless their {@code SKIP LOCKED} ({@code READPAST}) mode is turned off.
+	 * Unlike the id cache, skipping locked rows also works across the application instances.</p>
 	 * <p>Using the id cache, the {@link JdbcChannelMessageStore} will store each
 	 * message id in an in-memory collection for the duration of processing. With
 	 * that, any polling threads will explicitly exclude those messages from
@@ -586,6 +603,99 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 		return null;
 	}
 
+	/**
+	 * Poll the database for up to {@code maxMessages} messages persisted for the given
+	 * group id (the channel identifier) with a single query and delete them with a single
+	 * batch, instead of two statements per message.
+	 * Within a transaction, the selected rows are locked if the query of the
+	 * {@link ChannelMessageStoreQueryProvider} does so, the same way as for
+	 * {@link #pollMessageFromGroup(Object)}.
+	 * The messages which have been deleted meanwhile by another consumer are not returned.
+	 * Falls back to polling messages one by one if the id cache is used
+	 * or the {@link ChannelMessageStoreQueryProvider} does not provide a query for several messages.
+	 * @param groupId the group id (channel identifier).
+	 * @param maxMessages the max number of messages to poll.
+	 * @return the polled messages; empty if no messages.
+	 * @since 6.0.3
+	 * @see ChannelMessageStoreQueryProvider#getPollMessagesFromGroupQuery()
+	 */
+	@Override
+	public List<Message<?>> pollMessagesFromGroup(Object groupId, int maxMessages) {
+		Assert.isTrue(maxMessages > 0, "'maxMessages' must be greater than 0");
+		String query;
+		if (this.priorityEnabled) {
+			query = getQuery(Query.PRIORITY_MULTIPLE,
+					() -> this.channelMessageStoreQueryProvider.getPriorityPollMessagesFromGroupQuery());
+		}
+		else {
+			query = getQuery(Query.POLL_MULTIPLE,
+					() -> this.channelMessageStoreQueryProvider.getPollMessagesFromGroupQuery());
+		}
+		if (maxMessages == 1 || this.usingIdCache || query == null) {
+			return PriorityCapableChannelMessageStore.super.pollMessagesFromGroup(groupId, maxMessages);
+		}
+		String key = getKey(groupId);
+		List<Message<?>> polledMessages = doPollForMessages(query, key, maxMessages);
+		if (polledMessages.isEmpty()) {
+			return polledMessages;
+		}
+		return doRemoveMessagesFromGroup(key, polledMessages);
+	}
+
+	private List<Message<?>> doPollForMessages(String query, String groupIdKey, int maxMessages) {
+		MapSqlParameterSource parameters = new MapSqlParameterSource();
+		parameters.addValue("region", this.region);
+		parameters.addValue("group_key", groupIdKey);
+		parameters.addValue("max_messages", maxMessages);
+
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(query);
+		PreparedStatementCreator statementCreator =
+				new PreparedStatementCreatorFactory(NamedParameterUtils.substituteNamedParameters(parsedSql, parameters),
+						NamedParameterUtils.buildSqlParameterList(parsedSql, parameters))
+						.newPreparedStatementCreator(NamedParameterUtils.buildValueArray(parsedSql, parameters, null));
+
+		List<Message<?>> messages =
+				this.jdbcTemplate.execute(statementCreator, (PreparedStatement ps) -> {
+					// Override the single row settings of the JdbcTemplate for this statement
+					ps.setMaxRows(maxMessages);
+					ps.setFetchSize(Math.min(maxMessages, MAX_BULK_POLL_FETCH_SIZE));
+					List<Message<?>> result = new ArrayList<>();
+					try (ResultSet resultSet = ps.executeQuery()) {
+						while (resultSet.next()) {
+							result.add(this.messageRowMapper.mapRow(resultSet, result.size()));
+						}
+					}
+					return result;
+				});
+		return messages != null ? messages : new ArrayList<>();
+	}
+
+	private List<Message<?>> doRemoveMessagesFromGroup(String groupIdKey, List<Message<?>> messagesToRemove) {
+		int[][] updated = this.jdbcTemplate.batchUpdate(
+				getQuery(Query.DELETE_MESSAGE, () -> this.channelMessageStoreQueryProvider.getDeleteMessageQuery()),
+				messagesToRemove,
+				messagesToRemove.size(),
+				(ps, messageToRemove) -> {
+					ps.setString(1, getKey(messageToRemove.getHeaders().getId())); // NOSONAR - magic number
+					ps.setString(2, groupIdKey); // NOSONAR - magic number
+					ps.setString(3, this.region); // NOSONAR - magic number
+				});
+
+		int[] counts = updated[0];
+		List<Message<?>> removed = new ArrayList<>(messagesToRemove.size());
+		for (int i = 0; i < counts.length; i++) {
+			Message<?> message = messagesToRemove.get(i);
+			if (counts[i] != 0) {
+				removed.add(message);
+			}
+			else {
+				LOGGER.warn(() -> "Message with id '" + message.getHeaders().getId() + "' was not deleted.");
+			}
+		}
+		LOGGER.debug(() -> removed.size() + " messages were deleted.");
+		return removed;
+	}
+
 	private boolean doRemoveMessageFromGroup(Object groupId, Message<?> messageToRemove) {
 		UUID id = messageToRemove.getHeaders().getId();
 		int updated = this.jdbcTemplate.update(
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -346,42 +346,72 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 	@Override
 	public void addMessagesToGroup(Object groupId, Message<?>... messages) {
 		String groupKey = getKey(groupId);
-		MessageGroupMetadata groupMetadata = getGroupMetadata(groupKey);
 
-		boolean groupNotExist = groupMetadata == null;
-		Timestamp createdDate =
-				groupNotExist
-						? new Timestamp(System.currentTimeMillis())
-						: new Timestamp(groupMetadata.getTimestamp());
-
-		for (Message<?> message : messages) {
-			addMessage(message);
-		}
+		addMessages(messages);
 		this.jdbcTemplate.batchUpdate(getQuery(Query.CREATE_GROUP_TO_MESSAGE),
 				Arrays.asList(messages),
-				100, // NOSONAR magic number
+				getAddBatchSize(),
 				(ps, messageToAdd) -> {
 					String messageId = getKey(messageToAdd.getHeaders().getId());
 					if (logger.isDebugEnabled()) {
-						logger.debug("Inserting message with id key=" + messageId +
-								" and created date=" + createdDate);
+						logger.debug("Inserting message with id key=" + messageId + " into group with key=" + groupKey);
 					}
 					ps.setString(1, groupKey); // NOSONAR - magic number
 					ps.setString(2, messageId); // NOSONAR - magic number
 					ps.setString(3, JdbcMessageStore.this.region); // NOSONAR - magic number
 				});
 
-		if (groupNotExist) {
+		Timestamp updatedDate = new Timestamp(System.currentTimeMillis());
+		if (doUpdateMessageGroup(groupKey, updatedDate) == 0) {
 			try {
-				doCreateMessageGroup(groupKey, createdDate);
+				doCreateMessageGroup(groupKey, updatedDate);
 			}
 			catch (DataIntegrityViolationException ex) {
 				logger.warn("Lost race to create group; attempting update instead", ex);
 				updateMessageGroup(groupKey);
 			}
 		}
-		else {
-			updateMessageGroup(groupKey);
+	}
+
+	/**
+	 * Insert the messages in JDBC batches of the {@link #getAddBatchSize()}.
+	 * If any of them is already stored, the messages are inserted one by one ignoring
+	 * those existing, the same way as {@link #addMessage(Message)} does.
+	 * @param messages the messages to insert.
+	 */
+	private void addMessages(Message<?>... messages) {
+		if (messages.length == 1) {
+			addMessage(messages[0]);
+			return;
+		}
+		for (Message<?> message : messages) {
+			Assert.notNull(message.getHeaders().getId(), "Cannot store messages without an ID header");
+		}
+		try {
+			this.jdbcTemplate.batchUpdate(getQuery(Query.CREATE_MESSAGE),
+					Arrays.asList(messages),
+					getAddBatchSize(),
+					(ps, messageToAdd) -> {
+						String messageId = getKey(messageToAdd.getHeaders().getId());
+						if (logger.isDebugEnabled()) {
+							logger.debug("Inserting message with id key=" + messageId);
+						}
+						ps.setString(1, messageId); // NOSONAR - magic number
+						ps.setString(2, JdbcMessageStore.this.region); // NOSONAR - magic number
+						ps.setTimestamp(3, new Timestamp(System.currentTimeMillis())); // NOSONAR - magic number
+
+						JdbcMessageStore.this.lobHandler.getLobCreator()
+								.setBlobAsBytes(ps, 4, this.serializer.convert(messageToAdd)); // NOSONAR - magic number
+					});
+		}
+		catch (DataIntegrityViolationException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Some of the messages already exist.\n" +
+						"Inserting them one by one, ignoring existing...");
+			}
+			for (Message<?> message : messages) {
+				addMessage(message);
+			}
 		}
 	}
 
@@ -610,11 +640,14 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 	}
 
 	private void updateMessageGroup(String groupId) {
+		doUpdateMessageGroup(groupId, new Timestamp(System.currentTimeMillis()));
+	}
+
+	private int doUpdateMessageGroup(String groupId, Timestamp updatedDate) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Updating MessageGroup: " + groupId);
 		}
-		this.jdbcTemplate.update(getQuery(Query.UPDATE_GROUP),
-				new Timestamp(System.currentTimeMillis()), groupId, this.region);
+		return this.jdbcTemplate.update(getQuery(Query.UPDATE_GROUP), updatedDate, groupId, this.region);
 	}
 
 	private String getKey(Object input) {
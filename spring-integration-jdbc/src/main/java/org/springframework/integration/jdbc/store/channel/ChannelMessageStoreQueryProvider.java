@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -66,6 +66,28 @@ public interface ChannelMessageStoreQueryProvider {
 	 */
 	String getPriorityPollFromGroupQuery();
 
+	/**
+	 * Get the query used to retrieve up to {@code :max_messages} oldest messages for a channel.
+	 * Return {@code null} if bulk polling is not supported; the messages are then polled one by one.
+	 *
+	 * @return Sql Query
+	 * @since 6.0.3
+	 */
+	default String getPollMessagesFromGroupQuery() {
+		return null;
+	}
+
+	/**
+	 * Get the query used to retrieve up to {@code :max_messages} oldest messages by priority for a channel.
+	 * Return {@code null} if bulk polling is not supported; the messages are then polled one by one.
+	 *
+	 * @return Sql Query
+	 * @since 6.0.3
+	 */
+	default String getPriorityPollMessagesFromGroupQuery() {
+		return null;
+	}
+
 	/**
 	 * Query that retrieves a message for the provided message id, channel and
 	 * region.
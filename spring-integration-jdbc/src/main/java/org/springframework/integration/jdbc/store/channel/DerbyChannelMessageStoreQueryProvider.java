@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -57,4 +57,17 @@ public class DerbyChannelMessageStoreQueryProvider extends AbstractChannelMessag
 				+ "order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE FETCH FIRST ROW ONLY";
 	}
 
+	@Override
+	public String getPollMessagesFromGroupQuery() {
+		return SELECT_COMMON
+				+ "order by CREATED_DATE, MESSAGE_SEQUENCE FETCH FIRST :max_messages ROWS ONLY";
+	}
+
+	@Override
+	public String getPriorityPollMessagesFromGroupQuery() {
+		return SELECT_COMMON
+				+ "order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE "
+				+ "FETCH FIRST :max_messages ROWS ONLY";
+	}
+
 }
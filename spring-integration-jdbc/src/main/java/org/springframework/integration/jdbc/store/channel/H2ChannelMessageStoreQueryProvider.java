@@ -1,5 +1,5 @@
 /*
- * Copyright 2016-2022 the original author or authors.
+ * Copyright 2016-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,4 +64,16 @@ public class H2ChannelMessageStoreQueryProvider extends AbstractChannelMessageSt
 				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1";
 	}
 
+	@Override
+	public String getPollMessagesFromGroupQuery() {
+		return SELECT_COMMON +
+				"order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT :max_messages";
+	}
+
+	@Override
+	public String getPriorityPollMessagesFromGroupQuery() {
+		return SELECT_COMMON +
+				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE LIMIT :max_messages";
+	}
+
 }
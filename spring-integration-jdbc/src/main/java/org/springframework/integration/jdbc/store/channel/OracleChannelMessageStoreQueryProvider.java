@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,10 @@ package org.springframework.integration.jdbc.store.channel;
  * {@link org.springframework.integration.jdbc.store.JdbcChannelMessageStore}. Please
  * ensure that the used {@link org.springframework.jdbc.core.JdbcTemplate}'s fetchSize
  * property is <code>1</code>.
+ * The messages are polled with {@code FOR UPDATE SKIP LOCKED}, so concurrent consumers
+ * do not poll the same messages, but the next ones which are not locked yet.
+ * The queries for polling several messages are the same as for a single one: the store
+ * limits the rows to fetch (and therefore to lock) with the statement max rows.
  * <p>
  * Fore more details, please see:
  * https://stackoverflow.com/questions/6117254/force-oracle-to-return-top-n-rows-with-skip-locked
@@ -75,4 +79,14 @@ public class OracleChannelMessageStoreQueryProvider extends AbstractChannelMessa
 				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE FOR UPDATE SKIP LOCKED";
 	}
 
+	@Override
+	public String getPollMessagesFromGroupQuery() {
+		return getPollFromGroupQuery();
+	}
+
+	@Override
+	public String getPriorityPollMessagesFromGroupQuery() {
+		return getPriorityPollFromGroupQuery();
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,12 @@
 package org.springframework.integration.jdbc.store.channel;
 
 /**
+ * Contains PostgreSQL-specific queries for the
+ * {@link org.springframework.integration.jdbc.store.JdbcChannelMessageStore}.
+ * By default, the messages are polled with {@code FOR UPDATE SKIP LOCKED}, so concurrent
+ * consumers (also on different nodes) do not wait for each other on the same rows,
+ * but poll the next messages which are not locked yet.
+ *
  * @author Gunnar Hillert
  * @author Artem Bilan
  * @since 2.2
@@ -28,30 +34,69 @@ public class PostgresChannelMessageStoreQueryProvider extends AbstractChannelMes
 					+ "from %PREFIX%CHANNEL_MESSAGE "
 					+ "where %PREFIX%CHANNEL_MESSAGE.GROUP_KEY = :group_key and %PREFIX%CHANNEL_MESSAGE.REGION = :region ";
 
+	private boolean skipLocked = true;
+
+	/**
+	 * Set to {@code false} to poll messages with a plain {@code FOR UPDATE}, so a consumer
+	 * waits for the rows locked by other transactions instead of skipping them.
+	 * Must be set before the queries are requested by the store.
+	 * @param skipLocked false to not use {@code SKIP LOCKED}; defaults to true.
+	 * @since 6.0.3
+	 */
+	public void setSkipLocked(boolean skipLocked) {
+		this.skipLocked = skipLocked;
+	}
+
+	/**
+	 * Return whether the messages are polled with {@code FOR UPDATE SKIP LOCKED}
+	 * rather than a plain {@code FOR UPDATE}.
+	 * @return true if {@code SKIP LOCKED} is used.
+	 * @since 6.0.3
+	 */
+	public boolean isSkipLocked() {
+		return this.skipLocked;
+	}
+
 	@Override
 	public String getPollFromGroupExcludeIdsQuery() {
 		return SELECT_COMMON
 				+ "and %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID not in (:message_ids) "
-				+ "order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1 FOR UPDATE";
+				+ "order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1" + forUpdate();
 	}
 
 	@Override
 	public String getPollFromGroupQuery() {
 		return SELECT_COMMON +
-				"order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1 FOR UPDATE";
+				"order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1" + forUpdate();
 	}
 
 	@Override
 	public String getPriorityPollFromGroupExcludeIdsQuery() {
 		return SELECT_COMMON +
 				"and %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID not in (:message_ids) " +
-				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1 FOR UPDATE";
+				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1" + forUpdate();
 	}
 
 	@Override
 	public String getPriorityPollFromGroupQuery() {
 		return SELECT_COMMON +
-				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1 FOR UPDATE";
+				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1" + forUpdate();
+	}
+
+	@Override
+	public String getPollMessagesFromGroupQuery() {
+		return SELECT_COMMON +
+				"order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT :max_messages" + forUpdate();
+	}
+
+	@Override
+	public String getPriorityPollMessagesFromGroupQuery() {
+		return SELECT_COMMON +
+				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE LIMIT :max_messages" + forUpdate();
+	}
+
+	private String forUpdate() {
+		return this.skipLocked ? " FOR UPDATE SKIP LOCKED" : " FOR UPDATE";
 	}
 
 }
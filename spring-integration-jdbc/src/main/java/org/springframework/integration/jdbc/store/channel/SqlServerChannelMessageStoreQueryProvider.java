@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 the original author or authors.
+ * Copyright 2018-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,9 @@ package org.springframework.integration.jdbc.store.channel;
 
 /**
  * Channel message store query provider for Microsoft SQL Server / Azure SQL database.
+ * By default, the messages are polled with the {@code UPDLOCK, READPAST, ROWLOCK}
+ * table hints, so concurrent consumers (also on different nodes) do not poll the same
+ * messages, but the next ones which are not locked yet.
  * @author Sundara Balaji
  * @since 5.1
  */
@@ -25,31 +28,73 @@ public class SqlServerChannelMessageStoreQueryProvider extends AbstractChannelMe
 
 	private static final String SELECT_COMMON =
 			"SELECT TOP 1 %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID, %PREFIX%CHANNEL_MESSAGE.MESSAGE_BYTES "
-					+ "from %PREFIX%CHANNEL_MESSAGE "
-					+ "where %PREFIX%CHANNEL_MESSAGE.GROUP_KEY = :group_key and %PREFIX%CHANNEL_MESSAGE.REGION = :region ";
+					+ "from %PREFIX%CHANNEL_MESSAGE";
+
+	private static final String SELECT_MULTIPLE =
+			"SELECT TOP (:max_messages) %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID, %PREFIX%CHANNEL_MESSAGE.MESSAGE_BYTES "
+					+ "from %PREFIX%CHANNEL_MESSAGE";
+
+	private static final String WHERE_COMMON =
+			" where %PREFIX%CHANNEL_MESSAGE.GROUP_KEY = :group_key and %PREFIX%CHANNEL_MESSAGE.REGION = :region ";
+
+	private static final String READPAST_HINTS = " WITH (UPDLOCK, READPAST, ROWLOCK)";
+
+	private boolean readPast = true;
+
+	/**
+	 * Set to {@code false} to poll messages without the {@code UPDLOCK, READPAST, ROWLOCK}
+	 * table hints.
+	 * Must be set before the queries are requested by the store.
+	 * @param readPast false to not use the {@code READPAST} hints; defaults to true.
+	 * @since 6.0.3
+	 */
+	public void setReadPast(boolean readPast) {
+		this.readPast = readPast;
+	}
+
+	/**
+	 * Return whether the messages are polled with the {@code UPDLOCK, READPAST, ROWLOCK} table hints.
+	 * @return true if the {@code READPAST} hints are used.
+	 * @since 6.0.3
+	 */
+	public boolean isReadPast() {
+		return this.readPast;
+	}
 
 	@Override
 	public String getPollFromGroupExcludeIdsQuery() {
-		return SELECT_COMMON +
+		return selectCommon() +
 				"and %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID not in (:message_ids) order by CREATED_DATE, MESSAGE_SEQUENCE";
 	}
 
 	@Override
 	public String getPollFromGroupQuery() {
-		return SELECT_COMMON +
+		return selectCommon() +
 				"order by CREATED_DATE, MESSAGE_SEQUENCE";
 	}
 
 	@Override
 	public String getPriorityPollFromGroupExcludeIdsQuery() {
-		return SELECT_COMMON +
+		return selectCommon() +
 				"and %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID not in (:message_ids) " +
 				"order by MESSAGE_PRIORITY DESC, CREATED_DATE, MESSAGE_SEQUENCE";
 	}
 
 	@Override
 	public String getPriorityPollFromGroupQuery() {
-		return SELECT_COMMON +
+		return selectCommon() +
+				"order by MESSAGE_PRIORITY DESC, CREATED_DATE, MESSAGE_SEQUENCE";
+	}
+
+	@Override
+	public String getPollMessagesFromGroupQuery() {
+		return selectMultiple() +
+				"order by CREATED_DATE, MESSAGE_SEQUENCE";
+	}
+
+	@Override
+	public String getPriorityPollMessagesFromGroupQuery() {
+		return selectMultiple() +
 				"order by MESSAGE_PRIORITY DESC, CREATED_DATE, MESSAGE_SEQUENCE";
 	}
 
@@ -60,4 +105,12 @@ public class SqlServerChannelMessageStoreQueryProvider extends AbstractChannelMe
 				+ " values (?, ?, ?, ?, ?,(NEXT VALUE FOR %PREFIX%MESSAGE_SEQ), ?)";
 	}
 
+	private String selectCommon() {
+		return SELECT_COMMON + (this.readPast ? READPAST_HINTS : "") + WHERE_COMMON;
+	}
+
+	private String selectMultiple() {
+		return SELECT_MULTIPLE + (this.readPast ? READPAST_HINTS : "") + WHERE_COMMON;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -242,6 +242,26 @@ public class JdbcMessageStoreTests {
 		assertThat(group.size()).isEqualTo(0);
 	}
 
+	@Test
+	public void testAddMessagesToGroupInBatchesWithAlreadyStoredMessage() {
+		String groupId = "X";
+		this.messageStore.setAddBatchSize(10);
+		List<Message<?>> messages = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			messages.add(MessageBuilder.withPayload("foo" + i).setCorrelationId(groupId).build());
+		}
+		this.messageStore.addMessage(messages.get(12));
+		this.messageStore.addMessagesToGroup(groupId, messages.toArray(new Message<?>[0]));
+		MessageGroup group = this.messageStore.getMessageGroup(groupId);
+		assertThat(group.size()).isEqualTo(25);
+		assertThat(group.getMessages()).containsExactlyInAnyOrderElementsOf(messages);
+		assertThat(this.messageStore.getMessageCount()).isEqualTo(25);
+		this.messageStore.addMessagesToGroup(groupId, MessageBuilder.withPayload("bar").build(),
+				MessageBuilder.withPayload("baz").build());
+		assertThat(this.messageStore.messageGroupSize(groupId)).isEqualTo(27);
+		assertThat(this.messageStore.getMessageGroupCount()).isEqualTo(1);
+	}
+
 	@Test
 	public void testRemoveMessageGroup() {
 		JdbcTemplate template = new JdbcTemplate(this.dataSource);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,14 @@ package org.springframework.integration.jdbc.store.channel;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import javax.sql.DataSource;
 
@@ -131,6 +139,62 @@ public abstract class AbstractJdbcChannelMessageStoreTests {
 		assertThat(messageFromDb.getHeaders().getId()).isEqualTo(message.getHeaders().getId());
 	}
 
+	@Test
+	public void testPollMessagesFromGroup() {
+		for (int i = 0; i < 5; i++) {
+			messageStore.addMessageToGroup(TEST_MESSAGE_GROUP, MessageBuilder.withPayload(i).build());
+		}
+
+		final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setIsolationLevel(Isolation.READ_COMMITTED.value());
+
+		List<Message<?>> polled =
+				transactionTemplate.execute(status -> messageStore.pollMessagesFromGroup(TEST_MESSAGE_GROUP, 3));
+		assertThat(polled)
+				.extracting("payload")
+				.containsExactly(0, 1, 2);
+		assertThat(messageStore.messageGroupSize(TEST_MESSAGE_GROUP)).isEqualTo(2);
+		assertThat(messageStore.pollMessagesFromGroup(TEST_MESSAGE_GROUP, 10))
+				.extracting("payload")
+				.containsExactly(3, 4);
+		assertThat(messageStore.pollMessagesFromGroup(TEST_MESSAGE_GROUP, 10)).isEmpty();
+	}
+
+	@Test
+	public void testConcurrentConsumers() throws Exception {
+		int messageCount = 100;
+		for (int i = 0; i < messageCount; i++) {
+			messageStore.addMessageToGroup(TEST_MESSAGE_GROUP, MessageBuilder.withPayload(i).build());
+		}
+
+		final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setIsolationLevel(Isolation.READ_COMMITTED.value());
+
+		Queue<Object> payloads = new ConcurrentLinkedQueue<>();
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		CompletableFuture<?>[] consumers = new CompletableFuture<?>[4];
+		for (int i = 0; i < consumers.length; i++) {
+			int batchSize = i + 1;
+			consumers[i] = CompletableFuture.runAsync(() -> {
+				while (messageStore.messageGroupSize(TEST_MESSAGE_GROUP) > 0) {
+					transactionTemplate.executeWithoutResult(status ->
+							messageStore.pollMessagesFromGroup(TEST_MESSAGE_GROUP, batchSize)
+									.forEach(message -> payloads.add(message.getPayload())));
+				}
+			}, executorService);
+		}
+		try {
+			CompletableFuture.allOf(consumers).get(30, TimeUnit.SECONDS);
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+
+		assertThat(payloads)
+				.hasSize(messageCount)
+				.containsExactlyInAnyOrderElementsOf(IntStream.range(0, messageCount).boxed().toList());
+	}
+
 	private ChannelMessageStorePreparedStatementSetter getMessageGroupPreparedStatementSetter() {
 		return new ChannelMessageStorePreparedStatementSetter() {
 
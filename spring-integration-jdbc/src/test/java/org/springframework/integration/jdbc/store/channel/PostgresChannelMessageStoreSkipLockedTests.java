@@ -0,0 +1,165 @@
+/*
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.jdbc.store.channel;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.integration.jdbc.channel.PostgresContainerTest;
+import org.springframework.integration.jdbc.store.JdbcChannelMessageStore;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @since 6.0.3
+ */
+@SpringJUnitConfig
+@DirtiesContext
+public class PostgresChannelMessageStoreSkipLockedTests implements PostgresContainerTest {
+
+	private static final String GROUP = "PostgresChannelMessageStoreSkipLockedTests";
+
+	private static final String INTEGRATION_DB_SCRIPTS = """
+			CREATE SEQUENCE IF NOT EXISTS INT_MESSAGE_SEQ START WITH 1 INCREMENT BY 1 NO CYCLE;
+			^^^ END OF SCRIPT ^^^
+
+			CREATE TABLE IF NOT EXISTS INT_CHANNEL_MESSAGE (
+				MESSAGE_ID CHAR(36) NOT NULL,
+				GROUP_KEY CHAR(36) NOT NULL,
+				CREATED_DATE BIGINT NOT NULL,
+				MESSAGE_PRIORITY BIGINT,
+				MESSAGE_SEQUENCE BIGINT NOT NULL DEFAULT nextval('INT_MESSAGE_SEQ'),
+				MESSAGE_BYTES BYTEA,
+				REGION VARCHAR(100) NOT NULL,
+				constraint INT_CHANNEL_MESSAGE_PK primary key (REGION, GROUP_KEY, CREATED_DATE, MESSAGE_SEQUENCE)
+			);
+			^^^ END OF SCRIPT ^^^
+			""";
+
+	@Autowired
+	private JdbcChannelMessageStore messageStore;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void clearGroup() {
+		this.messageStore.removeMessageGroup(GROUP);
+	}
+
+	@Test
+	void lockedMessagesAreSkipped() throws Exception {
+		this.messageStore.addMessageToGroup(GROUP, new GenericMessage<>("first"));
+		this.messageStore.addMessageToGroup(GROUP, new GenericMessage<>("second"));
+		this.messageStore.addMessageToGroup(GROUP, new GenericMessage<>("third"));
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+		CountDownLatch polled = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Message<?>> lockingConsumer =
+				CompletableFuture.supplyAsync(() ->
+						transactionTemplate.execute(status -> {
+							Message<?> message = this.messageStore.pollMessageFromGroup(GROUP);
+							polled.countDown();
+							try {
+								release.await(10, TimeUnit.SECONDS);
+							}
+							catch (InterruptedException ex) {
+								Thread.currentThread().interrupt();
+							}
+							return message;
+						}));
+
+		try {
+			assertThat(polled.await(10, TimeUnit.SECONDS)).isTrue();
+			Message<?> message = transactionTemplate.execute(status -> this.messageStore.pollMessageFromGroup(GROUP));
+			assertThat(message).extracting("payload").isEqualTo("second");
+			List<Message<?>> messages =
+					transactionTemplate.execute(status -> this.messageStore.pollMessagesFromGroup(GROUP, 10));
+			assertThat(messages)
+					.extracting("payload")
+					.containsExactly("third");
+		}
+		finally {
+			release.countDown();
+		}
+
+		assertThat(lockingConsumer.get(10, TimeUnit.SECONDS)).extracting("payload").isEqualTo("first");
+		assertThat(this.messageStore.messageGroupSize(GROUP)).isEqualTo(0);
+	}
+
+	@Configuration
+	public static class Config {
+
+		@Bean
+		public DataSource dataSource() {
+			BasicDataSource dataSource = new BasicDataSource();
+			dataSource.setUrl(PostgresContainerTest.getJdbcUrl());
+			dataSource.setUsername(PostgresContainerTest.getUsername());
+			dataSource.setPassword(PostgresContainerTest.getPassword());
+			return dataSource;
+		}
+
+		@Bean
+		DataSourceInitializer dataSourceInitializer(DataSource dataSource) {
+			DataSourceInitializer dataSourceInitializer = new DataSourceInitializer();
+			dataSourceInitializer.setDataSource(dataSource);
+			ResourceDatabasePopulator databasePopulator =
+					new ResourceDatabasePopulator(new ByteArrayResource(INTEGRATION_DB_SCRIPTS.getBytes()));
+			databasePopulator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+			dataSourceInitializer.setDatabasePopulator(databasePopulator);
+			return dataSourceInitializer;
+		}
+
+		@Bean
+		public PlatformTransactionManager transactionManager(DataSource dataSource) {
+			return new DataSourceTransactionManager(dataSource);
+		}
+
+		@Bean
+		public JdbcChannelMessageStore jdbcChannelMessageStore(DataSource dataSource) {
+			JdbcChannelMessageStore messageStore = new JdbcChannelMessageStore(dataSource);
+			messageStore.setRegion("PostgresChannelMessageStoreSkipLockedTests");
+			messageStore.setChannelMessageStoreQueryProvider(new PostgresChannelMessageStoreQueryProvider());
+			return messageStore;
+		}
+
+	}
+
+}